@@ -57,6 +57,11 @@ def save_normalization(complaint_id, analysis, embedding):
     cur = conn.cursor()
     
     try:
+        # 민원별 현재 행은 하나뿐이다 (uq_complaint_normalizations_current) - 기존 현재 행을 같은 트랜잭션에서 내린다
+        cur.execute("""
+            UPDATE complaint_normalizations SET is_current = false
+            WHERE complaint_id = %s AND is_current = true
+        """, (complaint_id,))
         cur.execute("""
             INSERT INTO complaint_normalizations (
                 complaint_id, 
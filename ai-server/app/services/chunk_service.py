@@ -0,0 +1,70 @@
+import hashlib
+import math
+import os
+import re
+from typing import List
+
+# 이 길이(글자) 미만 본문은 조각으로 나누지 않는다 (한 사안짜리 짧은 민원은 전체 임베딩 하나로 충분)
+CHUNK_MIN_CHARS = int(os.getenv("CHUNK_MIN_CHARS", "400"))
+# 조각 하나의 목표 길이 (문장 단위로 채우다 이 길이를 넘으면 끊는다)
+CHUNK_TARGET_CHARS = int(os.getenv("CHUNK_TARGET_CHARS", "300"))
+# 민원당 최대 조각 수 (백엔드도 16개까지만 받는다)
+MAX_CHUNKS = int(os.getenv("MAX_CHUNKS", "8"))
+
+# 로컬/테스트용 임베딩 스텁 - OpenAI 를 부르지 않고 글자 3-gram 해시로 1024차원 벡터를 만든다.
+# 같은 표현이 겹치는 글끼리 가깝게 나오므로 조각 검색 흐름을 키 없이 확인할 수 있다.
+EMBEDDING_STUB = os.getenv("EMBEDDING_STUB", "false").lower() == "true"
+EMBEDDING_DIM = 1024
+
+_PARAGRAPH = re.compile(r"\n\s*\n|\n(?=\s*(?:\d+[.)]|[-*•]|[가-하][.)])\s)")
+_SENTENCE = re.compile(r"(?<=[.!?。])\s+|(?<=다\.)\s*|(?<=요\.)\s*")
+
+
+def split_into_chunks(body: str) -> List[str]:
+    """여러 사안이 섞인 긴 본문을 문단/번호 항목 → 문장 순으로 잘라 목표 길이만큼씩 묶는다.
+    조각이 2개 미만이면 빈 목록 (전체 임베딩만 쓴다)."""
+    if not body or len(body.strip()) < CHUNK_MIN_CHARS:
+        return []
+
+    chunks: List[str] = []
+    for paragraph in _PARAGRAPH.split(body):
+        paragraph = paragraph.strip()
+        if not paragraph:
+            continue
+        current = ""
+        for sentence in _SENTENCE.split(paragraph):
+            sentence = sentence.strip()
+            if not sentence:
+                continue
+            if current and len(current) + len(sentence) + 1 > CHUNK_TARGET_CHARS:
+                chunks.append(current)
+                current = sentence
+            else:
+                current = f"{current} {sentence}".strip()
+        if current:
+            chunks.append(current)
+
+    # 너무 짧은 조각은 앞 조각에 붙인다 (인사말/맺음말 한 줄이 따로 검색되지 않게)
+    merged: List[str] = []
+    for chunk in chunks:
+        if merged and len(chunk) < CHUNK_TARGET_CHARS // 3:
+            merged[-1] = f"{merged[-1]} {chunk}"
+        else:
+            merged.append(chunk)
+
+    merged = merged[:MAX_CHUNKS]
+    return merged if len(merged) >= 2 else []
+
+
+def stub_embedding(text: str) -> List[float]:
+    vector = [0.0] * EMBEDDING_DIM
+    compact = re.sub(r"\s+", " ", text or "").strip()
+    for i in range(max(0, len(compact) - 2)):
+        digest = hashlib.md5(compact[i:i + 3].encode("utf-8")).digest()
+        index = int.from_bytes(digest[:4], "little") % EMBEDDING_DIM
+        vector[index] += 1.0 if digest[4] & 1 else -1.0
+    norm = math.sqrt(sum(v * v for v in vector))
+    if norm == 0.0:
+        vector[0] = 1.0
+        return vector
+    return [v / norm for v in vector]
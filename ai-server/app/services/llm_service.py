@@ -116,8 +116,8 @@ class LLMService:
             "documents": laws if action != 'search_case' else cases  # 사례 검색이면 사례를 반환
         }
 
-    # AI 초안 작성
-    async def generate_draft(self, complaint_id: int, complaint_body: str) -> str:
+    # AI 초안 프롬프트 구성 (일반/스트리밍 공용)
+    async def _build_draft_prompt(self, complaint_id: int, complaint_body: str):
 
         past_answer = database.get_reference_answer(complaint_id)
 
@@ -174,6 +174,12 @@ class LLMService:
             """
             warning_msg = "(알림: 유사 사례가 없어 법령 기반으로만 작성되었습니다.)\n\n"
 
+        return system_role, prompt, warning_msg
+
+    # AI 초안 작성
+    async def generate_draft(self, complaint_id: int, complaint_body: str) -> str:
+        system_role, prompt, warning_msg = await self._build_draft_prompt(complaint_id, complaint_body)
+
         try:
             response = client.chat.completions.create(
                 model="gpt-4o-mini", 
@@ -187,4 +193,28 @@ class LLMService:
             return warning_msg + draft_content
 
         except Exception as e:
-            return f"오류가 발생하여 초안을 작성하지 못했습니다. ({str(e)})"
\ No newline at end of file
+            return f"오류가 발생하여 초안을 작성하지 못했습니다. ({str(e)})"
+
+    # AI 초안 작성 (토큰 단위 스트리밍)
+    async def generate_draft_stream(self, complaint_id: int, complaint_body: str):
+        system_role, prompt, warning_msg = await self._build_draft_prompt(complaint_id, complaint_body)
+
+        if warning_msg:
+            yield warning_msg
+
+        stream = client.chat.completions.create(
+            model="gpt-4o-mini",
+            messages=[
+                {"role": "system", "content": system_role},
+                {"role": "user", "content": prompt}
+            ],
+            temperature=0.3,
+            stream=True
+        )
+        try:
+            for chunk in stream:
+                if chunk.choices and chunk.choices[0].delta.content:
+                    yield chunk.choices[0].delta.content
+        finally:
+            # 클라이언트가 끊으면 OpenAI 쪽 스트림도 닫는다
+            stream.close()
\ No newline at end of file
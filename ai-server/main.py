@@ -3,7 +3,9 @@ from openai import OpenAI
 from pydantic import BaseModel
 from app import database
 from app.services.llm_service import LLMService
+from app.services.chunk_service import EMBEDDING_STUB, split_into_chunks, stub_embedding
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi.responses import StreamingResponse
 import requests
 import os
 import uuid
@@ -35,6 +37,8 @@ my_ai_bot = LLMService()
 client = OpenAI(api_key=os.getenv("OPENAI_API_KEY"))
 
 def get_embedding(text: str):
+    if EMBEDDING_STUB:
+        return stub_embedding(text)
     try:
         response = client.embeddings.create(
             model="text-embedding-3-large",
@@ -50,6 +54,22 @@ def get_embedding(text: str):
         print(f"OpenAI Embedding Error: {e}")
         return None
 
+# 여러 텍스트를 한 번의 요청으로 임베딩 (조각 임베딩용, 입력 순서대로 반환)
+def get_embeddings(texts):
+    if EMBEDDING_STUB:
+        return [stub_embedding(t) for t in texts]
+    try:
+        response = client.embeddings.create(
+            model="text-embedding-3-large",
+            input=texts,
+            dimensions=1024
+        )
+        return [d.embedding for d in sorted(response.data, key=lambda d: d.index)]
+
+    except Exception as e:
+        print(f"OpenAI Embedding Error: {e}")
+        return None
+
 @app.get("/")
 async def root():
     return {"message": "서버 연결 성공 "}
@@ -77,6 +97,24 @@ async def generate_draft_endpoint(complaint_id: int, request: ChatRequest):
         print(f"Error generating draft: {e}")
         return {"status": "error", "message": str(e)}
 
+# --- AI 초안 작성 (SSE 스트리밍) ---
+@app.post("/api/v2/complaints/{complaint_id}/generate-draft/stream")
+async def generate_draft_stream_endpoint(complaint_id: int, request: ChatRequest):
+    """
+    [AI 초안 작성 - 스트리밍]
+    토큰마다 `data: {"token": "..."}` 이벤트를 보내고, 끝나면 `event: done`, 실패하면 `event: error` 를 보냅니다.
+    """
+    async def event_stream():
+        try:
+            async for token in my_ai_bot.generate_draft_stream(complaint_id, request.query):
+                yield f"data: {json.dumps({'token': token}, ensure_ascii=False)}\n\n"
+            yield "event: done\ndata: {}\n\n"
+        except Exception as e:
+            print(f"Error streaming draft: {e}")
+            yield f"event: error\ndata: {json.dumps({'message': str(e)}, ensure_ascii=False)}\n\n"
+
+    return StreamingResponse(event_stream(), media_type="text/event-stream")
+
 # AI 채팅 엔드포인트
 @app.post("/api/v2/complaints/{complaint_id}/ai-chat")
 async def chat_with_ai(complaint_id: int, request: ChatRequest):
@@ -176,10 +214,19 @@ async def preprocess_complaint(req: ComplaintRequest, request: Request):
         except Exception as parse_err:
             print(f"임베딩 처리 중 파싱 오류: {parse_err}")
 
+        # 여러 사안이 섞인 긴 본문은 조각별 임베딩도 같이 보낸다 (짧은 본문은 None)
+        chunk_embeddings = None
+        chunk_texts = split_into_chunks(req.body)
+        if chunk_texts:
+            chunk_embeddings = get_embeddings(chunk_texts)
+            if chunk_embeddings:
+                print(f"조각 임베딩 생성 완료 ({len(chunk_embeddings)}개)")
+
         return {
             "status": "success",
             "data": ai_text,
-            "embedding": embedding_vector
+            "embedding": embedding_vector,
+            "chunk_embeddings": chunk_embeddings
         }
         
     except Exception as e:
@@ -0,0 +1,87 @@
+package com.smart.complaint.routing_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import com.smart.complaint.routing_system.applicant.service.ai.AiResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 전처리 응답 파싱 비교: 기존 방식(래퍼 역직렬화 → 정규식 2회 → 재파싱) vs 스트리밍 파서.
+ * 할당량은 build.gradle 의 gc 프로파일러(gc.alloc.rate.norm)로 함께 측정된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiResponseParserBenchmark {
+
+    @Param({ "3", "5" })
+    public int recommendationCount;
+
+    private ObjectMapper objectMapper;
+    private AiResponseParser parser;
+    private String payload;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper();
+        parser = new AiResponseParser(objectMapper);
+        payload = buildPayload(recommendationCount, new Random(42));
+    }
+
+    @Benchmark
+    public AiDto.Analysis legacy() throws Exception {
+        AiDto.Response responseWrapper = objectMapper.readValue(payload, AiDto.Response.class);
+        String cleanJson = responseWrapper.data()
+                .replaceAll("```json", "")
+                .replaceAll("```", "")
+                .trim();
+        return objectMapper.readValue(cleanJson, AiDto.Analysis.class);
+    }
+
+    @Benchmark
+    public AiDto.Preprocessed streaming() throws Exception {
+        return parser.parse(payload);
+    }
+
+    // 실제 Langflow 응답과 같은 모양: 코드펜스로 감싼 분석 JSON 문자열 + 1024차원 임베딩
+    static String buildPayload(int recommendationCount, Random random) throws Exception {
+        StringBuilder analysis = new StringBuilder("```json\n{\n  \"recommendations\": [\n");
+        String[] depts = { "도시교통국 주차관리과", "환경국 청소행정과", "안전건설국 도로관리과", "문화체육국 체육진흥과",
+                "복지국 노인복지과" };
+        for (int i = 0; i < recommendationCount; i++) {
+            if (i > 0) {
+                analysis.append(",\n");
+            }
+            analysis.append("    {\"rank\": ").append(i + 1)
+                    .append(", \"recommended_dept\": \"").append(depts[i % depts.length])
+                    .append("\", \"reason\": \"유사 민원 처리 이력과 민원 내용(불법 주정차, 보행 방해)을 근거로 추천합니다.\"")
+                    .append(", \"related_case\": \"2025년 11월 동일 지역 불법 주정차 단속 요청 건\"")
+                    .append(", \"confidence\": ").append(0.9 - i * 0.1).append('}');
+        }
+        analysis.append("\n  ],\n  \"original_analysis\": {\"topic\": \"아파트 단지 앞 불법 주정차\", ")
+                .append("\"keywords\": \"불법주정차, 보행안전, 단속요청, 어린이보호구역\", \"category\": \"교통\"}\n}\n```");
+
+        StringBuilder json = new StringBuilder(24 * 1024);
+        json.append("{\"status\": \"success\", \"data\": ")
+                .append(new ObjectMapper().writeValueAsString(analysis.toString()))
+                .append(", \"embedding\": [");
+        for (int i = 0; i < AiResponseParser.EMBEDDING_DIM; i++) {
+            if (i > 0) {
+                json.append(", ");
+            }
+            // 파이썬 json 직렬화처럼 double 전체 자릿수로 기록
+            json.append(random.nextGaussian() * 0.03);
+        }
+        return json.append("]}").toString();
+    }
+}
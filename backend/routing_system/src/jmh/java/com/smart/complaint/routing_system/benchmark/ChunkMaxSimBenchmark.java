@@ -0,0 +1,324 @@
+package com.smart.complaint.routing_system.benchmark;
+
+import com.smart.complaint.routing_system.benchmark.VectorSearchBenchmark.SearchBackend;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 조각 임베딩 max-sim 검색 비용 리포트 (민원당 조각 수별).
+ * 합성 민원마다 서로 다른 주제의 조각 c 개를 만들고 전체 임베딩은 조각 평균으로 둔다 (여러 사안이 섞인 긴 민원).
+ * 질의는 한 주제짜리 짧은 민원이고, 정답은 "전체·조각 중 최고 코사인" 기준 JVM 전수 탐색 top-k.
+ * <p>
+ * 백엔드
+ * - jvm-body-only: 전체 임베딩만 비교 (조각 도입 전 방식, 재현율 손실 확인용)
+ * - jvm-max-sim: 전체 + 조각 전수 탐색 (조각 수에 비례해 느려지는 기준선)
+ * - pgvector-max-sim: 저장소 쿼리와 같은 모양 - 전체/조각 halfvec HNSW 에서 candidates 개씩 뽑아 민원별 최소 거리
+ *   (--jdbc 를 줄 때만. 읽는 행 수가 candidates 로 묶여 조각 수가 늘어도 지연이 거의 그대로여야 한다)
+ * <p>
+ * 실행: {@code ./gradlew chunkSearchReport -PbenchArgs="--jdbc=jdbc:postgresql://localhost:5432/postgres"}
+ * 옵션: --size=N --queries=N --k=N --chunks=a,b --candidates=N --jdbc=URL --user= --password= --out=경로
+ */
+public class ChunkMaxSimBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = VectorSearchBenchmark.parse(args);
+        int size = Integer.parseInt(options.getOrDefault("size", "5000"));
+        int queryCount = Integer.parseInt(options.getOrDefault("queries", "200"));
+        int k = Integer.parseInt(options.getOrDefault("k", "10"));
+        int candidates = Integer.parseInt(options.getOrDefault("candidates", "40"));
+        int[] chunkCounts = VectorSearchBenchmark.ints(options.getOrDefault("chunks", "1,2,4,8"));
+        int maxChunks = Arrays.stream(chunkCounts).max().orElse(1);
+        Path out = Path.of(options.getOrDefault("out", "build/reports/vector-search/chunks.json"));
+
+        // 조각 풀은 한 번만 만들고, 조각 수 c 일 때 민원 i 는 앞에서부터 c 개를 쓴다
+        Random random = new Random(42);
+        int clusters = Math.max(1, size / 10);
+        float[][] pool = HalfPrecisionBenchmark.synthetic(size * maxChunks + queryCount, clusters, random);
+        float[][] queries = Arrays.copyOfRange(pool, size * maxChunks, pool.length);
+
+        List<String> results = new ArrayList<>();
+        Connection connection = options.containsKey("jdbc")
+                ? DriverManager.getConnection(options.get("jdbc"), options.getOrDefault("user", "postgres"),
+                        options.getOrDefault("password", "0000"))
+                : null;
+        try {
+            for (int c : chunkCounts) {
+                Corpus corpus = Corpus.of(pool, size, c, maxChunks);
+                int[][] truth = new int[queries.length][];
+                for (int q = 0; q < queries.length; q++) {
+                    truth[q] = corpus.exactMaxSim(queries[q], k);
+                }
+
+                List<SearchBackend> backends = new ArrayList<>();
+                backends.add(new JvmBodyOnly(corpus));
+                backends.add(new JvmMaxSim(corpus));
+                if (connection != null) {
+                    long buildStart = System.nanoTime();
+                    PgMaxSim.load(connection, corpus);
+                    PgMaxSim pg = new PgMaxSim(connection, corpus, candidates);
+                    pg.params.put("indexBuildMillis", (System.nanoTime() - buildStart) / 1_000_000);
+                    backends.add(pg);
+                }
+                for (SearchBackend backend : backends) {
+                    results.add(VectorSearchBenchmark.measure(backend, queries, truth, k));
+                }
+            }
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+
+        String report = String.format(Locale.ROOT,
+                "{\"corpus\":{\"source\":\"synthetic\",\"complaints\":%d,\"dim\":%d},\"queries\":%d,\"k\":%d,"
+                        + "\"backends\":[%s]}",
+                size, pool[0].length, queries.length, k, String.join(",", results));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+
+    // 민원 size 건, 민원당 조각 chunks 개 (chunkOwner[j] = 조각 j 의 민원 번호)
+    record Corpus(float[][] bodies, float[][] chunks, int[] chunkOwner, int chunksPerComplaint) {
+
+        static Corpus of(float[][] pool, int size, int c, int stride) {
+            float[][] bodies = new float[size][];
+            float[][] chunks = new float[size * c][];
+            int[] owner = new int[size * c];
+            for (int i = 0; i < size; i++) {
+                float[] body = new float[pool[0].length];
+                for (int j = 0; j < c; j++) {
+                    float[] chunk = pool[i * stride + j];
+                    chunks[i * c + j] = chunk;
+                    owner[i * c + j] = i;
+                    for (int d = 0; d < body.length; d++) {
+                        body[d] += chunk[d];
+                    }
+                }
+                bodies[i] = normalize(body);
+            }
+            return new Corpus(bodies, chunks, owner, c);
+        }
+
+        int[] exactMaxSim(float[] query, int k) {
+            float[] scores = new float[bodies.length];
+            for (int i = 0; i < bodies.length; i++) {
+                scores[i] = cosine(query, bodies[i]);
+            }
+            for (int j = 0; j < chunks.length; j++) {
+                scores[chunkOwner[j]] = Math.max(scores[chunkOwner[j]], cosine(query, chunks[j]));
+            }
+            return VectorSearchBenchmark.topK(scores, k);
+        }
+
+        // 정답은 double 누적 코사인으로 만든다 (측정 대상 커널과 독립)
+        private static float cosine(float[] a, float[] b) {
+            double dot = 0.0, na = 0.0, nb = 0.0;
+            for (int i = 0; i < a.length; i++) {
+                dot += (double) a[i] * b[i];
+                na += (double) a[i] * a[i];
+                nb += (double) b[i] * b[i];
+            }
+            return (float) (dot / Math.sqrt(na * nb));
+        }
+
+        private static float[] normalize(float[] v) {
+            double norm = 0.0;
+            for (float x : v) {
+                norm += x * x;
+            }
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < v.length; i++) {
+                v[i] *= inv;
+            }
+            return v;
+        }
+    }
+
+    static final class JvmBodyOnly implements SearchBackend {
+        private final Corpus corpus;
+
+        JvmBodyOnly(Corpus corpus) {
+            this.corpus = corpus;
+        }
+
+        @Override
+        public String name() {
+            return "jvm-body-only";
+        }
+
+        @Override
+        public Map<String, Object> params() {
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("chunks", corpus.chunksPerComplaint());
+            return params;
+        }
+
+        @Override
+        public int[] search(float[] query, int k) {
+            float[] scores = new float[corpus.bodies().length];
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = HalfPrecisionBenchmark.cosine(query, corpus.bodies()[i]);
+            }
+            return VectorSearchBenchmark.topK(scores, k);
+        }
+    }
+
+    static final class JvmMaxSim implements SearchBackend {
+        private final Corpus corpus;
+
+        JvmMaxSim(Corpus corpus) {
+            this.corpus = corpus;
+        }
+
+        @Override
+        public String name() {
+            return "jvm-max-sim";
+        }
+
+        @Override
+        public Map<String, Object> params() {
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("chunks", corpus.chunksPerComplaint());
+            params.put("vectors", corpus.bodies().length + corpus.chunks().length);
+            return params;
+        }
+
+        @Override
+        public int[] search(float[] query, int k) {
+            float[] scores = new float[corpus.bodies().length];
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = HalfPrecisionBenchmark.cosine(query, corpus.bodies()[i]);
+            }
+            float[][] chunks = corpus.chunks();
+            int[] owner = corpus.chunkOwner();
+            for (int j = 0; j < chunks.length; j++) {
+                scores[owner[j]] = Math.max(scores[owner[j]], HalfPrecisionBenchmark.cosine(query, chunks[j]));
+            }
+            return VectorSearchBenchmark.topK(scores, k);
+        }
+    }
+
+    /**
+     * 임시 테이블 두 개(bench_bodies / bench_chunks)에 올리고 halfvec HNSW 를 건다.
+     * 쿼리는 ComplaintRepositoryImpl.findRoutedNeighbors (HALF 정밀도) 와 같은 UNION ALL + GROUP BY 모양.
+     */
+    static final class PgMaxSim implements SearchBackend {
+        private static final String SQL = "SELECT h.id FROM ( " +
+                "(SELECT id, embedding_half <=> CAST(? AS halfvec) AS dist FROM bench_bodies " +
+                " ORDER BY embedding_half <=> CAST(? AS halfvec) LIMIT ?) " +
+                "UNION ALL " +
+                "(SELECT complaint_id, embedding_half <=> CAST(? AS halfvec) FROM bench_chunks " +
+                " ORDER BY embedding_half <=> CAST(? AS halfvec) LIMIT ?) " +
+                ") h GROUP BY h.id ORDER BY MIN(h.dist) LIMIT ?";
+
+        private final Connection connection;
+        private final int candidates;
+        private final Map<String, Object> params = new LinkedHashMap<>();
+        private PreparedStatement statement;
+
+        PgMaxSim(Connection connection, Corpus corpus, int candidates) {
+            this.connection = connection;
+            this.candidates = candidates;
+            params.put("chunks", corpus.chunksPerComplaint());
+            params.put("candidates", candidates);
+        }
+
+        static void load(Connection connection, Corpus corpus) throws Exception {
+            int dim = corpus.bodies()[0].length;
+            try (Statement st = connection.createStatement()) {
+                st.execute("CREATE EXTENSION IF NOT EXISTS vector");
+                st.execute("DROP TABLE IF EXISTS bench_bodies");
+                st.execute("DROP TABLE IF EXISTS bench_chunks");
+                st.execute("CREATE TEMP TABLE bench_bodies (id int PRIMARY KEY, embedding_half halfvec(" + dim + "))");
+                st.execute("CREATE TEMP TABLE bench_chunks (complaint_id int, chunk_index smallint, "
+                        + "embedding_half halfvec(" + dim + "), PRIMARY KEY (complaint_id, chunk_index))");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement bodies = connection.prepareStatement(
+                    "INSERT INTO bench_bodies (id, embedding_half) VALUES (?, CAST(? AS halfvec))");
+                    PreparedStatement chunks = connection.prepareStatement(
+                            "INSERT INTO bench_chunks (complaint_id, chunk_index, embedding_half) "
+                                    + "VALUES (?, ?, CAST(? AS halfvec))")) {
+                for (int i = 0; i < corpus.bodies().length; i++) {
+                    bodies.setInt(1, i);
+                    bodies.setString(2, Arrays.toString(corpus.bodies()[i]));
+                    bodies.addBatch();
+                }
+                bodies.executeBatch();
+                int c = corpus.chunksPerComplaint();
+                for (int j = 0; j < corpus.chunks().length; j++) {
+                    chunks.setInt(1, corpus.chunkOwner()[j]);
+                    chunks.setInt(2, j % c);
+                    chunks.setString(3, Arrays.toString(corpus.chunks()[j]));
+                    chunks.addBatch();
+                    if ((j + 1) % 500 == 0) {
+                        chunks.executeBatch();
+                    }
+                }
+                chunks.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement st = connection.createStatement()) {
+                st.execute("CREATE INDEX ON bench_bodies USING hnsw (embedding_half halfvec_cosine_ops)");
+                st.execute("CREATE INDEX ON bench_chunks USING hnsw (embedding_half halfvec_cosine_ops)");
+                st.execute("ANALYZE bench_bodies");
+                st.execute("ANALYZE bench_chunks");
+            }
+        }
+
+        @Override
+        public String name() {
+            return "pgvector-max-sim";
+        }
+
+        @Override
+        public Map<String, Object> params() {
+            return params;
+        }
+
+        @Override
+        public void prepare() throws Exception {
+            try (Statement st = connection.createStatement()) {
+                st.execute("SET hnsw.ef_search = " + Math.max(40, candidates));
+            }
+            statement = connection.prepareStatement(SQL);
+        }
+
+        @Override
+        public int[] search(float[] query, int k) throws Exception {
+            String literal = Arrays.toString(query);
+            statement.setString(1, literal);
+            statement.setString(2, literal);
+            statement.setInt(3, candidates);
+            statement.setString(4, literal);
+            statement.setString(5, literal);
+            statement.setInt(6, candidates);
+            statement.setInt(7, k);
+            List<Integer> ids = new ArrayList<>(k);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
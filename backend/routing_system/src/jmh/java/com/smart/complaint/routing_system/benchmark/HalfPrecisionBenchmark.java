@@ -0,0 +1,193 @@
+package com.smart.complaint.routing_system.benchmark;
+
+import com.smart.complaint.routing_system.applicant.service.similarity.Float16Codec;
+import com.smart.complaint.routing_system.applicant.service.similarity.HalfVectorKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * float32 vs half 임베딩 비교.
+ * - 벤치마크: 1024차원 코사인 점수 계산 비용 (float[] vs short[] 커널)
+ * - main(): 유사 민원 top-k 재현율 리포트 (JSON 한 줄)
+ * <p>
+ * 실데이터로 재현율을 보려면 psql 로 임베딩을 내보낸 뒤 경로를 넘긴다:
+ * {@code \copy (SELECT embedding FROM complaint_normalizations WHERE is_current) TO 'emb.txt'}
+ * {@code java -cp <jmh classpath> ...HalfPrecisionBenchmark emb.txt}
+ * 경로가 없으면 군집 구조를 흉내 낸 합성 벡터를 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HalfPrecisionBenchmark {
+
+    static final int DIM = 1024;
+
+    private float[] queryFloat;
+    private float[] docFloat;
+    private short[] queryHalf;
+    private short[] docHalf;
+
+    @Setup
+    public void setup() {
+        float[][] data = synthetic(2, 1, new Random(7));
+        queryFloat = data[0];
+        docFloat = data[1];
+        queryHalf = Float16Codec.encode(queryFloat);
+        docHalf = Float16Codec.encode(docFloat);
+    }
+
+    @Benchmark
+    public float cosineFloat() {
+        return cosine(queryFloat, docFloat);
+    }
+
+    @Benchmark
+    public float cosineHalf() {
+        return HalfVectorKernels.cosine(queryHalf, docHalf);
+    }
+
+    @Benchmark
+    public float cosineHalfVsFloatQuery() {
+        return HalfVectorKernels.cosine(docHalf, queryFloat);
+    }
+
+    public static void main(String[] args) throws Exception {
+        float[][] corpus = args.length > 0 ? load(Path.of(args[0])) : synthetic(20000, 400, new Random(42));
+        int queries = Math.min(300, corpus.length);
+        int[] ks = { 3, 5, 10 };
+
+        short[][] half = new short[corpus.length][];
+        for (int i = 0; i < corpus.length; i++) {
+            half[i] = Float16Codec.encode(corpus[i]);
+        }
+
+        double[] recallHalf = new double[ks.length];
+        double[] recallMixed = new double[ks.length];
+        double maxScoreError = 0.0;
+        Random pick = new Random(1);
+        for (int qi = 0; qi < queries; qi++) {
+            int q = pick.nextInt(corpus.length);
+            float[] exact = new float[corpus.length];
+            float[] halfScores = new float[corpus.length];
+            float[] mixedScores = new float[corpus.length];
+            for (int d = 0; d < corpus.length; d++) {
+                exact[d] = d == q ? Float.NEGATIVE_INFINITY : cosine(corpus[q], corpus[d]);
+                halfScores[d] = d == q ? Float.NEGATIVE_INFINITY : HalfVectorKernels.cosine(half[q], half[d]);
+                mixedScores[d] = d == q ? Float.NEGATIVE_INFINITY : HalfVectorKernels.cosine(half[d], corpus[q]);
+                if (d != q) {
+                    maxScoreError = Math.max(maxScoreError, Math.abs(exact[d] - halfScores[d]));
+                }
+            }
+            for (int ki = 0; ki < ks.length; ki++) {
+                List<Integer> truth = topK(exact, ks[ki]);
+                recallHalf[ki] += overlap(truth, topK(halfScores, ks[ki])) / (double) ks[ki];
+                recallMixed[ki] += overlap(truth, topK(mixedScores, ks[ki])) / (double) ks[ki];
+            }
+        }
+
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT, "{\"source\":\"%s\",\"corpus\":%d,\"queries\":%d,\"maxScoreError\":%.6f",
+                args.length > 0 ? args[0] : "synthetic", corpus.length, queries, maxScoreError));
+        for (int ki = 0; ki < ks.length; ki++) {
+            json.append(String.format(Locale.ROOT, ",\"recallAt%d\":{\"half\":%.4f,\"halfStoredFloatQuery\":%.4f}",
+                    ks[ki], recallHalf[ki] / queries, recallMixed[ki] / queries));
+        }
+        System.out.println(json.append('}'));
+    }
+
+    static float cosine(float[] a, float[] b) {
+        float dot = 0f, na = 0f, nb = 0f;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return dot / (float) Math.sqrt(na * nb);
+    }
+
+    private static List<Integer> topK(float[] scores, int k) {
+        List<Integer> result = new ArrayList<>(k);
+        boolean[] taken = new boolean[scores.length];
+        for (int n = 0; n < k; n++) {
+            int best = -1;
+            for (int i = 0; i < scores.length; i++) {
+                if (!taken[i] && (best < 0 || scores[i] > scores[best])) {
+                    best = i;
+                }
+            }
+            taken[best] = true;
+            result.add(best);
+        }
+        return result;
+    }
+
+    private static int overlap(List<Integer> a, List<Integer> b) {
+        int n = 0;
+        for (Integer x : a) {
+            if (b.contains(x)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    // 군집 중심 + 잡음, L2 정규화 (실제 민원 임베딩처럼 주제별로 뭉쳐 있는 분포)
+    static float[][] synthetic(int count, int clusters, Random random) {
+        float[][] centers = new float[clusters][DIM];
+        for (float[] c : centers) {
+            for (int i = 0; i < DIM; i++) {
+                c[i] = (float) random.nextGaussian();
+            }
+        }
+        float[][] result = new float[count][DIM];
+        for (int n = 0; n < count; n++) {
+            float[] c = centers[random.nextInt(clusters)];
+            double norm = 0.0;
+            for (int i = 0; i < DIM; i++) {
+                result[n][i] = c[i] + (float) (random.nextGaussian() * 0.9);
+                norm += result[n][i] * result[n][i];
+            }
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < DIM; i++) {
+                result[n][i] *= inv;
+            }
+        }
+        return result;
+    }
+
+    // pgvector 텍스트 형식 "[0.1,0.2,...]" 한 줄에 벡터 하나
+    static float[][] load(Path path) throws Exception {
+        List<float[]> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() < 2) {
+                    continue;
+                }
+                String[] parts = line.substring(1, line.length() - 1).split(",");
+                float[] v = new float[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    v[i] = Float.parseFloat(parts[i]);
+                }
+                rows.add(v);
+            }
+        }
+        return rows.toArray(new float[0][]);
+    }
+}
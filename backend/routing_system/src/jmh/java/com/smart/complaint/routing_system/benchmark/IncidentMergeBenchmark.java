@@ -0,0 +1,240 @@
+package com.smart.complaint.routing_system.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 사건 병합(민원 이동) 비용 리포트. 민원 n 건짜리 사건 B 를 n 건짜리 사건 A 로 통째로 옮긴다.
+ * 임시 테이블(bench_incidents / bench_complaints)에 같은 모양의 데이터를 만들고 두 방식을 잰다.
+ * <p>
+ * - row-by-row: 이전 IncidentService.moveComplaints 와 같은 순서.
+ *   이동 민원 조회 1번, 원래 사건 소속 조회 1번(JPA 컬렉션은 한 번만 읽힘) 후 민원마다
+ *   소속 전체를 훑어 상태 판단(메모리 O(n)) + 민원 UPDATE 1번, 마지막에 사건 UPDATE 2번. 배치 설정이 없어 UPDATE 는 건마다 왕복한다.
+ * - set-based: IncidentMoveRepository 와 같은 SQL. 원래 사건별 묶음 조회 1번 + 재지정 UPDATE 1번 + 사건 수치 UPDATE 1번.
+ * <p>
+ * 실행: {@code ./gradlew incidentMergeReport -PbenchArgs="--jdbc=jdbc:postgresql://localhost:5432/postgres"}
+ * 옵션: --sizes=a,b (사건당 민원 수) --repeats=N --closed-ratio=0.3 --jdbc=URL --user= --password= --out=경로
+ */
+public class IncidentMergeBenchmark {
+
+    private static final String SELECT_SOURCES = "SELECT c.incident_id, array_agg(c.id), " +
+            "COUNT(*) FILTER (WHERE c.status IN ('CLOSED', 'CANCELED')), " +
+            "(SELECT COUNT(*) FROM bench_complaints m WHERE m.incident_id = c.incident_id) " +
+            "FROM bench_complaints c " +
+            "WHERE c.id = ANY (?) AND c.incident_id IS DISTINCT FROM ? " +
+            "GROUP BY c.incident_id";
+
+    private static final String REPOINT = "UPDATE bench_complaints SET incident_id = ?, " +
+            "incident_linked_at = CURRENT_TIMESTAMP WHERE id = ANY (?) AND incident_id IS DISTINCT FROM ?";
+
+    private static final String APPLY_DELTAS = "UPDATE bench_incidents i SET " +
+            "complaint_count = GREATEST(0, i.complaint_count + d.total), " +
+            "open_member_count = GREATEST(0, i.open_member_count + d.open), " +
+            "terminal_member_count = GREATEST(0, i.terminal_member_count + d.terminal), " +
+            "status = CASE WHEN i.open_member_count + d.open > 0 THEN 'OPEN' " +
+            "              WHEN i.terminal_member_count + d.terminal > 0 THEN 'CLOSED' ELSE i.status END " +
+            "FROM unnest(?, ?, ?, ?) AS d(incident_id, total, open, terminal) WHERE i.id = d.incident_id";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = VectorSearchBenchmark.parse(args);
+        if (!options.containsKey("jdbc")) {
+            System.err.println("--jdbc=URL 이 필요합니다 (임시 테이블만 만들고 세션이 끝나면 사라집니다)");
+            return;
+        }
+        int[] sizes = VectorSearchBenchmark.ints(options.getOrDefault("sizes", "1000,10000"));
+        int repeats = Integer.parseInt(options.getOrDefault("repeats", "3"));
+        double closedRatio = Double.parseDouble(options.getOrDefault("closed-ratio", "0.3"));
+        Path out = Path.of(options.getOrDefault("out", "build/reports/incident-merge/report.json"));
+
+        List<String> results = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(options.get("jdbc"),
+                options.getOrDefault("user", "postgres"), options.getOrDefault("password", "0000"))) {
+            connection.setAutoCommit(false);
+            createTables(connection);
+            for (int n : sizes) {
+                long[] rowByRow = new long[repeats];
+                long[] setBased = new long[repeats];
+                for (int r = 0; r < repeats; r++) {
+                    seed(connection, n, closedRatio);
+                    rowByRow[r] = time(() -> rowByRowMerge(connection, n));
+                    verify(connection, n);
+                    seed(connection, n, closedRatio);
+                    setBased[r] = time(() -> setBasedMerge(connection, n));
+                    verify(connection, n);
+                }
+                results.add(result("row-by-row", n, rowByRow));
+                results.add(result("set-based", n, setBased));
+            }
+        }
+
+        String report = String.format(Locale.ROOT, "{\"repeats\":%d,\"closedRatio\":%.2f,\"results\":[%s]}",
+                repeats, closedRatio, String.join(",", results));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+
+    interface Run {
+        void run() throws Exception;
+    }
+
+    private static long time(Run run) throws Exception {
+        long start = System.nanoTime();
+        run.run();
+        return (System.nanoTime() - start) / 1_000;
+    }
+
+    private static String result(String strategy, int n, long[] micros) {
+        long[] sorted = micros.clone();
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT,
+                "{\"strategy\":\"%s\",\"complaintsPerIncident\":%d,\"medianMillis\":%.1f,\"minMillis\":%.1f}",
+                strategy, n, sorted[sorted.length / 2] / 1000.0, sorted[0] / 1000.0);
+    }
+
+    private static void createTables(Connection connection) throws Exception {
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TEMP TABLE bench_incidents (id bigint PRIMARY KEY, complaint_count int NOT NULL, "
+                    + "open_member_count int NOT NULL, terminal_member_count int NOT NULL, status text NOT NULL)");
+            st.execute("CREATE TEMP TABLE bench_complaints (id bigint PRIMARY KEY, incident_id bigint, "
+                    + "status text NOT NULL, incident_linked_at timestamp)");
+            st.execute("CREATE INDEX ON bench_complaints (incident_id)");
+        }
+        connection.commit();
+    }
+
+    // 사건 1(A), 2(B)에 민원 n 건씩. closedRatio 만큼은 종료 상태
+    private static void seed(Connection connection, int n, double closedRatio) throws Exception {
+        int closed = (int) Math.round(n * closedRatio);
+        try (Statement st = connection.createStatement()) {
+            st.execute("TRUNCATE bench_incidents, bench_complaints");
+            st.execute(String.format(Locale.ROOT,
+                    "INSERT INTO bench_incidents VALUES (1, %d, %d, %d, 'OPEN'), (2, %d, %d, %d, 'OPEN')",
+                    n, n - closed, closed, n, n - closed, closed));
+            st.execute(String.format(Locale.ROOT,
+                    "INSERT INTO bench_complaints (id, incident_id, status) "
+                            + "SELECT g, CASE WHEN g <= %d THEN 1 ELSE 2 END, "
+                            + "CASE WHEN (g - 1) %% %d < %d THEN 'CLOSED' ELSE 'RECEIVED' END "
+                            + "FROM generate_series(1, %d) g",
+                    n, n, closed, 2 * n));
+            st.execute("ANALYZE bench_complaints");
+        }
+        connection.commit();
+    }
+
+    private static Long[] incidentBIds(int n) {
+        Long[] ids = new Long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = (long) (n + 1 + i);
+        }
+        return ids;
+    }
+
+    private static void rowByRowMerge(Connection connection, int n) throws Exception {
+        Long[] ids = incidentBIds(n);
+        List<long[]> moving = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, incident_id, status FROM bench_complaints WHERE id = ANY (?)")) {
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    moving.add(new long[] { rs.getLong(1), rs.getLong(2) });
+                }
+            }
+        }
+        List<String> sourceMembers = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT status FROM bench_complaints WHERE incident_id = 2")) {
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    sourceMembers.add(rs.getString(1));
+                }
+            }
+        }
+
+        int sourceCount = n;
+        boolean allClosed = false;
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE bench_complaints SET incident_id = 1, incident_linked_at = CURRENT_TIMESTAMP WHERE id = ?")) {
+            for (long[] complaint : moving) {
+                sourceCount--;
+                // refreshIncidentStatus: 캐시된 소속 컬렉션 전체를 다시 훑는다
+                allClosed = sourceMembers.stream().allMatch(s -> s.equals("CLOSED") || s.equals("CANCELED"));
+                update.setLong(1, complaint[0]);
+                update.executeUpdate();
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "UPDATE bench_incidents SET complaint_count = ?, status = ? WHERE id = ?")) {
+            ps.setInt(1, Math.max(0, sourceCount));
+            ps.setString(2, allClosed ? "CLOSED" : "OPEN");
+            ps.setLong(3, 2);
+            ps.executeUpdate();
+            ps.setInt(1, n + moving.size());
+            ps.setString(2, "OPEN");
+            ps.setLong(3, 1);
+            ps.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    private static void setBasedMerge(Connection connection, int n) throws Exception {
+        Long[] ids = incidentBIds(n);
+        // {원래 사건, 이동 수, 종료 수}
+        List<long[]> groups = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_SOURCES)) {
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            ps.setLong(2, 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Array members = rs.getArray(2);
+                    int moved = ((Object[]) members.getArray()).length;
+                    groups.add(new long[] { rs.getLong(1), moved, rs.getLong(3) });
+                }
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(REPOINT)) {
+            ps.setLong(1, 1);
+            ps.setArray(2, connection.createArrayOf("bigint", ids));
+            ps.setLong(3, 1);
+            ps.executeUpdate();
+        }
+        long moved = groups.stream().mapToLong(g -> g[1]).sum();
+        long terminal = groups.stream().mapToLong(g -> g[2]).sum();
+        try (PreparedStatement ps = connection.prepareStatement(APPLY_DELTAS)) {
+            ps.setArray(1, connection.createArrayOf("bigint", new Long[] { 1L, 2L }));
+            ps.setArray(2, connection.createArrayOf("integer", new Integer[] { (int) moved, (int) -moved }));
+            ps.setArray(3, connection.createArrayOf("integer",
+                    new Integer[] { (int) (moved - terminal), (int) -(moved - terminal) }));
+            ps.setArray(4, connection.createArrayOf("integer", new Integer[] { (int) terminal, (int) -terminal }));
+            ps.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    private static void verify(Connection connection, int n) throws Exception {
+        try (Statement st = connection.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FILTER (WHERE incident_id = 1), "
+                        + "(SELECT complaint_count FROM bench_incidents WHERE id = 1) FROM bench_complaints")) {
+            rs.next();
+            if (rs.getLong(1) != 2L * n || rs.getLong(2) != 2L * n) {
+                throw new IllegalStateException("병합 결과 불일치: 소속 " + rs.getLong(1) + ", 민원 수 " + rs.getLong(2));
+            }
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,177 @@
+package com.smart.complaint.routing_system.benchmark;
+
+import com.smart.complaint.routing_system.applicant.service.duplicate.LshIndex;
+import com.smart.complaint.routing_system.applicant.service.duplicate.MinHasher;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 접수 시점 거의 같은 민원 감지(MinHash/LSH) 리포트. NearDuplicateDetector 와 같은 서명/색인으로
+ * 민원 size 건을 색인한 뒤, 질의 종류별로 서명+조회 지연과 감지율을 잰다.
+ * <p>
+ * 말뭉치
+ * - synthetic (기본): 단어 사전에서 치우친 분포로 뽑은 문장 (자주 쓰는 표현이 겹치는 민원 글 흉내)
+ * - --jdbc 를 주면 complaints 의 제목+본문 앞 size 건 (실제 민원 분포에서의 밴드 충돌/후보 수 확인용)
+ * 질의 (말뭉치에서 무작위로 고른 민원 기준)
+ * - exact: 그대로 다시 제출 / wrapped: 앞뒤에 한마디 덧붙임 / edited: 단어 하나 바꿈 / unrelated: 새 글 (오탐률)
+ * <p>
+ * 실행: {@code ./gradlew nearDuplicateReport -PbenchArgs="--size=1000000"}
+ * 옵션: --size=N --queries=N --shingle=N --min-similarity=0.85 --max-candidates=N --jdbc=URL --user= --password= --out=경로
+ */
+public class NearDuplicateBenchmark {
+
+    private static final String SYLLABLES = "가나다라마바사아자차카타파하거너더러머버서어저처커터퍼허고노도로모보소오조초코토포호";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = VectorSearchBenchmark.parse(args);
+        int size = Integer.parseInt(options.getOrDefault("size", "200000"));
+        int queryCount = Integer.parseInt(options.getOrDefault("queries", "2000"));
+        int shingle = Integer.parseInt(options.getOrDefault("shingle", "4"));
+        double minSimilarity = Double.parseDouble(options.getOrDefault("min-similarity", "0.85"));
+        int maxCandidates = Integer.parseInt(options.getOrDefault("max-candidates", "64"));
+        Path out = Path.of(options.getOrDefault("out", "build/reports/near-duplicate/report.json"));
+
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 2000);
+        List<String> corpus = options.containsKey("jdbc")
+                ? load(options, size)
+                : synthetic(random, vocabulary, size);
+        String source = options.containsKey("jdbc") ? "jdbc" : "synthetic";
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long buildStart = System.nanoTime();
+        LshIndex index = new LshIndex(maxCandidates);
+        for (int i = 0; i < corpus.size(); i++) {
+            MinHasher.Signature s = MinHasher.sign(corpus.get(i), shingle);
+            if (s != null) {
+                index.add(i + 1, s.bandKeys(), s.sketch());
+            }
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        System.gc();
+        long indexMb = Math.max(0, usedHeap() - heapBefore) >> 20;
+
+        List<String> results = new ArrayList<>();
+        for (String kind : new String[] { "exact", "wrapped", "edited", "unrelated" }) {
+            String[] queries = new String[queryCount];
+            for (int q = 0; q < queryCount; q++) {
+                String base = corpus.get(random.nextInt(corpus.size()));
+                queries[q] = switch (kind) {
+                    case "exact" -> base;
+                    case "wrapped" -> "[재제출] " + base + " 빠른 처리 부탁드립니다";
+                    case "edited" -> replaceOneWord(base, vocabulary, random);
+                    default -> sentence(random, vocabulary);
+                };
+            }
+            results.add(measure(kind, queries, index, shingle, minSimilarity));
+        }
+
+        String report = String.format(Locale.ROOT,
+                "{\"corpus\":{\"source\":\"%s\",\"complaints\":%d},\"shingle\":%d,\"minSimilarity\":%.2f,"
+                        + "\"maxCandidates\":%d,\"buildMillis\":%d,\"indexHeapMb\":%d,\"queries\":[%s]}",
+                source, index.size(), shingle, minSimilarity, maxCandidates, buildMillis, indexMb,
+                String.join(",", results));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+
+    // 서명 + 조회 한 번의 지연과 임계값 이상으로 찾은 비율
+    private static String measure(String kind, String[] queries, LshIndex index, int shingle, double minSimilarity) {
+        for (int i = 0; i < Math.min(200, queries.length); i++) {
+            MinHasher.Signature s = MinHasher.sign(queries[i], shingle);
+            index.findBest(s.bandKeys(), s.sketch(), minSimilarity);
+        }
+        long[] latencies = new long[queries.length];
+        int hits = 0;
+        for (int q = 0; q < queries.length; q++) {
+            long start = System.nanoTime();
+            MinHasher.Signature s = MinHasher.sign(queries[q], shingle);
+            LshIndex.Match match = s != null ? index.findBest(s.bandKeys(), s.sketch(), minSimilarity) : null;
+            latencies[q] = System.nanoTime() - start;
+            if (match != null) {
+                hits++;
+            }
+        }
+        Arrays.sort(latencies);
+        return String.format(Locale.ROOT,
+                "{\"kind\":\"%s\",\"hitRate\":%.4f,\"p50Micros\":%.1f,\"p99Micros\":%.1f,\"maxMicros\":%.1f}",
+                kind, hits / (double) queries.length, latencies[latencies.length / 2] / 1_000.0,
+                latencies[(int) Math.ceil(0.99 * latencies.length) - 1] / 1_000.0,
+                latencies[latencies.length - 1] / 1_000.0);
+    }
+
+    private static List<String> load(Map<String, String> options, int size) throws Exception {
+        List<String> texts = new ArrayList<>(size);
+        try (Connection connection = DriverManager.getConnection(options.get("jdbc"),
+                options.getOrDefault("user", "postgres"), options.getOrDefault("password", "0000"));
+                PreparedStatement ps = connection.prepareStatement(
+                        "SELECT title, body FROM complaints ORDER BY id LIMIT ?")) {
+            ps.setInt(1, size);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    texts.add(rs.getString(1) + " " + rs.getString(2));
+                }
+            }
+        }
+        return texts;
+    }
+
+    private static String[] vocabulary(Random random, int words) {
+        String[] vocabulary = new String[words];
+        for (int i = 0; i < words; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 2 + random.nextInt(2); j > 0; j--) {
+                sb.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+            }
+            vocabulary[i] = sb.toString();
+        }
+        return vocabulary;
+    }
+
+    private static List<String> synthetic(Random random, String[] vocabulary, int size) {
+        List<String> texts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            texts.add(sentence(random, vocabulary));
+        }
+        return texts;
+    }
+
+    // 앞쪽 단어일수록 자주 나오도록 치우쳐 뽑은 30 단어
+    private static String sentence(Random random, String[] vocabulary) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(vocabulary[random.nextInt(random.nextInt(vocabulary.length) + 1)]);
+        }
+        return sb.toString();
+    }
+
+    private static String replaceOneWord(String text, String[] vocabulary, Random random) {
+        String[] words = text.split(" ");
+        words[random.nextInt(words.length)] = vocabulary[random.nextInt(vocabulary.length)];
+        return String.join(" ", words);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,486 @@
+package com.smart.complaint.routing_system.benchmark;
+
+import com.smart.complaint.routing_system.applicant.service.similarity.Float16Codec;
+import com.smart.complaint.routing_system.applicant.service.similarity.HalfVectorKernels;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 유사 민원 검색 백엔드별 재현율/지연 리포트.
+ * 고정 코퍼스(합성 또는 psql 로 내보낸 임베딩)에 대해 JVM 전수 탐색으로 정답 top-k 를 만들고,
+ * 백엔드마다 recall@k, p50/p99 지연, 단일 스레드 처리량을 JSON 리포트로 남긴다.
+ * <p>
+ * 백엔드
+ * - jvm-exact-float / jvm-exact-half: 메모리 전수 탐색 (float32, half 저장 + float 질의)
+ * - pgvector-current: 지금 findSimilarComplaint 가 쓰는 형태 (1 - L2 거리 내림차순, 인덱스 미사용)
+ * - pgvector-exact: 코사인 거리 순 정렬, 인덱스 스캔 끔
+ * - pgvector-hnsw: 코사인 HNSW 인덱스, ef_search 값별
+ * - jvm-two-stage / pgvector-two-stage: 앞쪽 prefix 차원으로 shortlist 개 추린 뒤 전체 차원으로 재채점
+ *   (findSimilarComplaint 의 TWO_STAGE 모드, pgvector 쪽은 V5 와 같은 subvector 표현식 HNSW 인덱스)
+ * pgvector 계열은 --jdbc 를 줄 때만 돈다 (docker-compose 의 db 서비스면 충분). 없으면 JVM 백엔드만 측정한다.
+ * 합성 코퍼스는 앞쪽 차원에 정보가 몰려 있지 않아 two-stage 수치가 실제 임베딩과 다르다. 리포트에 representative=false 로
+ * 표시하며, TWO_STAGE 를 켤지는 --corpus(실제 임베딩) 와 --jdbc 로 돌린 결과로만 판단한다.
+ * <p>
+ * 실행: {@code ./gradlew vectorSearchReport -PbenchArgs="--jdbc=jdbc:postgresql://localhost:5432/postgres --ef=40,100,200"}
+ * 옵션: --corpus=파일 --size=N --queries=N --k=N --jdbc=URL --user= --password= --ef=a,b
+ * --prefix=a,b --shortlist=a,b --out=경로
+ */
+public class VectorSearchBenchmark {
+
+    private static final int WARMUP_QUERIES = 50;
+
+    interface SearchBackend {
+        String name();
+
+        Map<String, Object> params();
+
+        // 측정 직전에 한 번 (세션 설정 등, 지연에 포함되지 않음)
+        default void prepare() throws Exception {
+        }
+
+        int[] search(float[] query, int k) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int size = Integer.parseInt(options.getOrDefault("size", "20000"));
+        int queryCount = Integer.parseInt(options.getOrDefault("queries", "200"));
+        int k = Integer.parseInt(options.getOrDefault("k", "10"));
+        Path out = Path.of(options.getOrDefault("out", "build/reports/vector-search/report.json"));
+
+        // 질의는 코퍼스에서 떼어 낸 벡터라 자기 자신이 결과에 섞이지 않는다
+        float[][] all = options.containsKey("corpus")
+                ? HalfPrecisionBenchmark.load(Path.of(options.get("corpus")))
+                : HalfPrecisionBenchmark.synthetic(size + queryCount, Math.max(1, size / 50), new Random(42));
+        queryCount = Math.min(queryCount, all.length / 2);
+        float[][] corpus = Arrays.copyOfRange(all, 0, all.length - queryCount);
+        float[][] queries = Arrays.copyOfRange(all, all.length - queryCount, all.length);
+
+        int[][] truth = new int[queries.length][];
+        for (int q = 0; q < queries.length; q++) {
+            truth[q] = exactTopK(corpus, queries[q], k);
+        }
+
+        int[] prefixes = ints(options.getOrDefault("prefix", "128,256"));
+        int[] shortlists = ints(options.getOrDefault("shortlist", "50,100,200"));
+
+        List<SearchBackend> backends = new ArrayList<>();
+        backends.add(new JvmExactFloat(corpus));
+        backends.add(new JvmExactHalf(corpus));
+        for (int prefix : prefixes) {
+            for (int shortlist : shortlists) {
+                backends.add(new JvmTwoStage(corpus, prefix, shortlist));
+            }
+        }
+
+        List<String> results = new ArrayList<>();
+        Connection connection = null;
+        try {
+            if (options.containsKey("jdbc")) {
+                connection = DriverManager.getConnection(options.get("jdbc"),
+                        options.getOrDefault("user", "postgres"), options.getOrDefault("password", "0000"));
+                PgVectorBackend.load(connection, corpus);
+                backends.add(new PgVectorBackend(connection, "pgvector-current", null));
+                backends.add(new PgVectorBackend(connection, "pgvector-exact", null));
+                long buildStart = System.nanoTime();
+                PgVectorBackend.createIndex(connection);
+                long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+                for (String ef : options.getOrDefault("ef", "40,100,200").split(",")) {
+                    PgVectorBackend hnsw = new PgVectorBackend(connection, "pgvector-hnsw", Integer.parseInt(ef.trim()));
+                    hnsw.params.put("indexBuildMillis", buildMillis);
+                    backends.add(hnsw);
+                }
+                for (int prefix : prefixes) {
+                    long prefixStart = System.nanoTime();
+                    PgVectorBackend.createPrefixIndex(connection, prefix);
+                    long prefixBuildMillis = (System.nanoTime() - prefixStart) / 1_000_000;
+                    for (int shortlist : shortlists) {
+                        PgVectorBackend twoStage = new PgVectorBackend(connection, "pgvector-two-stage",
+                                Math.max(40, shortlist));
+                        twoStage.prefix = prefix;
+                        twoStage.shortlist = shortlist;
+                        twoStage.params.put("prefix", prefix);
+                        twoStage.params.put("shortlist", shortlist);
+                        twoStage.params.put("indexBuildMillis", prefixBuildMillis);
+                        backends.add(twoStage);
+                    }
+                }
+            }
+            for (SearchBackend backend : backends) {
+                results.add(measure(backend, queries, truth, k));
+            }
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+
+        boolean representative = options.containsKey("corpus") && options.containsKey("jdbc");
+        if (!representative) {
+            System.err.println("주의: 실제 임베딩(--corpus)과 pgvector(--jdbc)로 돌린 결과가 아니므로 수치는 참고용입니다.");
+        }
+        String report = String.format(Locale.ROOT,
+                "{\"corpus\":{\"source\":\"%s\",\"size\":%d,\"dim\":%d},\"representative\":%b,"
+                        + "\"queries\":%d,\"k\":%d,\"backends\":[%s]}",
+                options.getOrDefault("corpus", "synthetic"), corpus.length, corpus[0].length, representative,
+                queries.length, k, String.join(",", results));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+
+    static String measure(SearchBackend backend, float[][] queries, int[][] truth, int k) throws Exception {
+        backend.prepare();
+        for (int i = 0; i < Math.min(WARMUP_QUERIES, queries.length); i++) {
+            backend.search(queries[i], k);
+        }
+
+        long[] latencies = new long[queries.length];
+        double recall = 0.0;
+        long total = 0L;
+        for (int q = 0; q < queries.length; q++) {
+            long start = System.nanoTime();
+            int[] found = backend.search(queries[q], k);
+            latencies[q] = System.nanoTime() - start;
+            total += latencies[q];
+            recall += overlap(truth[q], found) / (double) k;
+        }
+        Arrays.sort(latencies);
+
+        StringBuilder params = new StringBuilder("{");
+        for (Map.Entry<String, Object> e : backend.params().entrySet()) {
+            if (params.length() > 1) {
+                params.append(',');
+            }
+            params.append('"').append(e.getKey()).append("\":").append(e.getValue());
+        }
+        params.append('}');
+
+        return String.format(Locale.ROOT,
+                "{\"name\":\"%s\",\"params\":%s,\"recallAtK\":%.4f,\"p50Micros\":%.1f,\"p99Micros\":%.1f,\"qps\":%.1f}",
+                backend.name(), params, recall / queries.length,
+                percentile(latencies, 0.50) / 1_000.0, percentile(latencies, 0.99) / 1_000.0,
+                queries.length / (total / 1_000_000_000.0));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static int overlap(int[] truth, int[] found) {
+        int n = 0;
+        for (int t : truth) {
+            for (int f : found) {
+                if (t == f) {
+                    n++;
+                    break;
+                }
+            }
+        }
+        return n;
+    }
+
+    // 정답은 double 누적 코사인으로 만든다 (측정 대상 커널과 독립)
+    static int[] exactTopK(float[][] corpus, float[] query, int k) {
+        float[] scores = new float[corpus.length];
+        for (int d = 0; d < corpus.length; d++) {
+            double dot = 0.0, nq = 0.0, nd = 0.0;
+            for (int i = 0; i < query.length; i++) {
+                dot += (double) query[i] * corpus[d][i];
+                nq += (double) query[i] * query[i];
+                nd += (double) corpus[d][i] * corpus[d][i];
+            }
+            scores[d] = (float) (dot / Math.sqrt(nq * nd));
+        }
+        return topK(scores, k);
+    }
+
+    // 크기 k 최소 힙 대신 삽입 정렬 버퍼 (k 가 작아서 충분)
+    static int[] topK(float[] scores, int k) {
+        int n = Math.min(k, scores.length);
+        int[] ids = new int[n];
+        float[] best = new float[n];
+        Arrays.fill(best, Float.NEGATIVE_INFINITY);
+        Arrays.fill(ids, -1);
+        for (int d = 0; d < scores.length; d++) {
+            float s = scores[d];
+            if (s <= best[n - 1]) {
+                continue;
+            }
+            int pos = n - 1;
+            while (pos > 0 && best[pos - 1] < s) {
+                best[pos] = best[pos - 1];
+                ids[pos] = ids[pos - 1];
+                pos--;
+            }
+            best[pos] = s;
+            ids[pos] = d;
+        }
+        return ids;
+    }
+
+    static final class JvmExactFloat implements SearchBackend {
+        private final float[][] corpus;
+
+        JvmExactFloat(float[][] corpus) {
+            this.corpus = corpus;
+        }
+
+        @Override
+        public String name() {
+            return "jvm-exact-float";
+        }
+
+        @Override
+        public Map<String, Object> params() {
+            return Map.of();
+        }
+
+        @Override
+        public int[] search(float[] query, int k) {
+            float[] scores = new float[corpus.length];
+            for (int d = 0; d < corpus.length; d++) {
+                scores[d] = HalfPrecisionBenchmark.cosine(query, corpus[d]);
+            }
+            return topK(scores, k);
+        }
+    }
+
+    static final class JvmExactHalf implements SearchBackend {
+        private final short[][] corpus;
+
+        JvmExactHalf(float[][] source) {
+            this.corpus = new short[source.length][];
+            for (int i = 0; i < source.length; i++) {
+                corpus[i] = Float16Codec.encode(source[i]);
+            }
+        }
+
+        @Override
+        public String name() {
+            return "jvm-exact-half";
+        }
+
+        @Override
+        public Map<String, Object> params() {
+            return Map.of();
+        }
+
+        @Override
+        public int[] search(float[] query, int k) {
+            float[] scores = new float[corpus.length];
+            for (int d = 0; d < corpus.length; d++) {
+                scores[d] = HalfVectorKernels.cosine(corpus[d], query);
+            }
+            return topK(scores, k);
+        }
+    }
+
+    // 앞쪽 prefix 차원(미리 잘라 둔 float 배열)으로 전수 채점 → 상위 shortlist 개만 전체 차원 재채점
+    static final class JvmTwoStage implements SearchBackend {
+        private final float[][] corpus;
+        private final float[][] prefixes;
+        private final int prefix;
+        private final int shortlist;
+
+        JvmTwoStage(float[][] corpus, int prefix, int shortlist) {
+            this.corpus = corpus;
+            this.prefix = Math.min(prefix, corpus[0].length);
+            this.shortlist = shortlist;
+            this.prefixes = new float[corpus.length][];
+            for (int i = 0; i < corpus.length; i++) {
+                prefixes[i] = Arrays.copyOf(corpus[i], this.prefix);
+            }
+        }
+
+        @Override
+        public String name() {
+            return "jvm-two-stage";
+        }
+
+        @Override
+        public Map<String, Object> params() {
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("prefix", prefix);
+            params.put("shortlist", shortlist);
+            return params;
+        }
+
+        @Override
+        public int[] search(float[] query, int k) {
+            float[] queryPrefix = Arrays.copyOf(query, prefix);
+            float[] scores = new float[corpus.length];
+            for (int d = 0; d < corpus.length; d++) {
+                scores[d] = HalfPrecisionBenchmark.cosine(queryPrefix, prefixes[d]);
+            }
+            int[] candidates = topK(scores, Math.max(shortlist, k));
+            float[] rescored = new float[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                rescored[i] = HalfPrecisionBenchmark.cosine(query, corpus[candidates[i]]);
+            }
+            int[] order = topK(rescored, k);
+            int[] result = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                result[i] = candidates[order[i]];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 임시 테이블(bench_vectors)에 코퍼스를 올려 두고 같은 커넥션에서 질의한다.
+     * 운영 테이블은 건드리지 않으며 커넥션을 닫으면 테이블도 사라진다.
+     */
+    static final class PgVectorBackend implements SearchBackend {
+        private final Connection connection;
+        private final String name;
+        private final Integer efSearch;
+        private final Map<String, Object> params = new LinkedHashMap<>();
+        private PreparedStatement statement;
+        private int prefix;
+        private int shortlist;
+
+        PgVectorBackend(Connection connection, String name, Integer efSearch) {
+            this.connection = connection;
+            this.name = name;
+            this.efSearch = efSearch;
+            if (efSearch != null) {
+                params.put("efSearch", efSearch);
+            }
+        }
+
+        static void load(Connection connection, float[][] corpus) throws Exception {
+            try (Statement st = connection.createStatement()) {
+                st.execute("CREATE EXTENSION IF NOT EXISTS vector");
+                st.execute("CREATE TEMP TABLE bench_vectors (id int PRIMARY KEY, embedding vector("
+                        + corpus[0].length + "))");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO bench_vectors (id, embedding) VALUES (?, CAST(? AS vector))")) {
+                for (int i = 0; i < corpus.length; i++) {
+                    ps.setInt(1, i);
+                    ps.setString(2, Arrays.toString(corpus[i]));
+                    ps.addBatch();
+                    if ((i + 1) % 500 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement st = connection.createStatement()) {
+                st.execute("ANALYZE bench_vectors");
+            }
+        }
+
+        static void createIndex(Connection connection) throws Exception {
+            try (Statement st = connection.createStatement()) {
+                st.execute("CREATE INDEX bench_vectors_hnsw ON bench_vectors USING hnsw (embedding vector_cosine_ops)");
+                st.execute("ANALYZE bench_vectors");
+            }
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Map<String, Object> params() {
+            return params;
+        }
+
+        static void createPrefixIndex(Connection connection, int prefix) throws Exception {
+            try (Statement st = connection.createStatement()) {
+                st.execute("CREATE INDEX bench_vectors_prefix" + prefix + " ON bench_vectors USING hnsw (("
+                        + prefixExpression("embedding", prefix) + ") vector_cosine_ops)");
+                st.execute("ANALYZE bench_vectors");
+            }
+        }
+
+        private static String prefixExpression(String column, int prefix) {
+            return "subvector(" + column + ", 1, " + prefix + ")::vector(" + prefix + ")";
+        }
+
+        @Override
+        public void prepare() throws Exception {
+            String sql;
+            if (prefix > 0) {
+                // ComplaintRepositoryImpl.findSimilarComplaintTwoStage 와 같은 모양
+                sql = "WITH q AS (SELECT CAST(? AS vector) AS emb), "
+                        + "shortlist AS (SELECT b.id, b.embedding FROM bench_vectors b, q ORDER BY "
+                        + prefixExpression("b.embedding", prefix) + " <=> " + prefixExpression("q.emb", prefix)
+                        + " LIMIT " + shortlist + ") "
+                        + "SELECT s.id FROM shortlist s, q ORDER BY s.embedding <=> q.emb LIMIT ?";
+            } else if ("pgvector-current".equals(name)) {
+                sql = "SELECT id FROM bench_vectors ORDER BY 1 - (embedding <-> CAST(? AS vector)) DESC LIMIT ?";
+            } else {
+                sql = "SELECT id FROM bench_vectors ORDER BY embedding <=> CAST(? AS vector) LIMIT ?";
+            }
+            try (Statement st = connection.createStatement()) {
+                st.execute("SET enable_indexscan = " + ("pgvector-exact".equals(name) ? "off" : "on"));
+                if (efSearch != null) {
+                    st.execute("SET hnsw.ef_search = " + efSearch);
+                }
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            statement = connection.prepareStatement(sql);
+        }
+
+        @Override
+        public int[] search(float[] query, int k) throws Exception {
+            statement.setString(1, Arrays.toString(query));
+            statement.setInt(2, k);
+            List<Integer> ids = new ArrayList<>(k);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).filter(v -> !v.isEmpty())
+                .mapToInt(Integer::parseInt).toArray();
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                options.put(arg.substring(2), "true");
+            }
+        }
+        return options;
+    }
+}
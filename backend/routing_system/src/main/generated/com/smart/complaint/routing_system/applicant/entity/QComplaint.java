@@ -44,6 +44,11 @@ public class QComplaint extends EntityPathBase<Complaint> {
 
     public final QDistrict district;
 
+    public final NumberPath<Long> duplicateOfId = createNumber("duplicateOfId", Long.class);
+
+    public final NumberPath<java.math.BigDecimal> duplicateSimilarity = createNumber("duplicateSimilarity",
+            java.math.BigDecimal.class);
+
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
     public final QIncident incident;
@@ -61,6 +66,12 @@ public class QComplaint extends EntityPathBase<Complaint> {
     public final DateTimePath<java.time.LocalDateTime> receivedAt = createDateTime("receivedAt",
             java.time.LocalDateTime.class);
 
+    public final NumberPath<java.math.BigDecimal> routingConfidence = createNumber("routingConfidence",
+            java.math.BigDecimal.class);
+
+    public final EnumPath<com.smart.complaint.routing_system.applicant.domain.RoutingEngine> routingEngine = createEnum(
+            "routingEngine", com.smart.complaint.routing_system.applicant.domain.RoutingEngine.class);
+
     public final EnumPath<com.smart.complaint.routing_system.applicant.domain.ComplaintStatus> status = createEnum(
             "status", com.smart.complaint.routing_system.applicant.domain.ComplaintStatus.class);
 
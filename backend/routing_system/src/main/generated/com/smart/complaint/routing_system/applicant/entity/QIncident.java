@@ -30,16 +30,26 @@ public class QIncident extends EntityPathBase<Incident> {
 
     public final NumberPath<Integer> districtId = createNumber("districtId", Integer.class);
 
+    public final DateTimePath<java.time.LocalDateTime> firstReceivedAt = createDateTime("firstReceivedAt",
+            java.time.LocalDateTime.class);
+
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
     public final StringPath keywords = createString("keywords");
 
+    public final DateTimePath<java.time.LocalDateTime> lastReceivedAt = createDateTime("lastReceivedAt",
+            java.time.LocalDateTime.class);
+
+    public final NumberPath<Integer> openMemberCount = createNumber("openMemberCount", Integer.class);
+
     public final DateTimePath<java.time.LocalDateTime> openedAt = createDateTime("openedAt",
             java.time.LocalDateTime.class);
 
     public final EnumPath<com.smart.complaint.routing_system.applicant.domain.IncidentStatus> status = createEnum(
             "status", com.smart.complaint.routing_system.applicant.domain.IncidentStatus.class);
 
+    public final NumberPath<Integer> terminalMemberCount = createNumber("terminalMemberCount", Integer.class);
+
     public final StringPath title = createString("title");
 
     public QIncident(String variable) {
@@ -0,0 +1,108 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import com.smart.complaint.routing_system.applicant.service.ai.AdaptiveConcurrencyLimiter;
+import com.smart.complaint.routing_system.applicant.service.ai.AdaptiveConcurrencyLimiter.LimitExceededException;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+// AI 서버(FastAPI) 호출 전용 HTTP 클라이언트 설정
+@Configuration
+public class AiClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient aiHttpClient(
+            @Value("${app.ai-server.pool.max-total:50}") int maxTotal,
+            @Value("${app.ai-server.pool.max-per-route:20}") int maxPerRoute,
+            @Value("${app.ai-server.pool.idle-evict-seconds:30}") long idleEvictSeconds,
+            @Value("${app.ai-server.connect-timeout-ms:2000}") long connectTimeoutMs) {
+
+        // keep-alive 커넥션을 재사용하는 풀 (AI 서버는 단일 호스트라 per-route 한도가 실질적인 상한)
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public CircuitBreaker aiCircuitBreaker(
+            @Value("${app.ai-server.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${app.ai-server.circuit-breaker.slow-call-ms:20000}") long slowCallMs,
+            @Value("${app.ai-server.circuit-breaker.open-state-seconds:30}") long openStateSeconds) {
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+                .waitDurationInOpenState(Duration.ofSeconds(openStateSeconds))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 4xx는 요청 문제이지 서버 장애가 아니므로 실패율에서 제외
+                .ignoreExceptions(HttpClientErrorException.class, LimitExceededException.class)
+                .build();
+
+        return CircuitBreaker.of("ai-server", config);
+    }
+
+    // AI 서버 동시 호출 한도 (지연 기반 자동 조절). 현재 한도/대기열/거절 수는 /actuator/metrics 의 ai.server.concurrency.*
+    @Bean
+    public AdaptiveConcurrencyLimiter aiConcurrencyLimiter(MeterRegistry meterRegistry,
+            @Value("${app.ai-server.concurrency.initial-limit:10}") int initialLimit,
+            @Value("${app.ai-server.concurrency.min-limit:2}") int minLimit,
+            @Value("${app.ai-server.concurrency.max-limit:40}") int maxLimit,
+            @Value("${app.ai-server.concurrency.max-wait-ms:500}") long maxWaitMs,
+            @Value("${app.ai-server.concurrency.max-queue:100}") int maxQueue,
+            @Value("${app.ai-server.concurrency.rtt-tolerance:1.5}") double tolerance,
+            @Value("${app.ai-server.concurrency.smoothing:0.2}") double smoothing,
+            @Value("${app.ai-server.concurrency.baseline-window-ms:60000}") long baselineWindowMs) {
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                maxWaitMs, maxQueue, tolerance, smoothing, baselineWindowMs);
+
+        Gauge.builder("ai.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("AI 서버 동시 호출 한도").register(meterRegistry);
+        Gauge.builder("ai.server.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("AI 서버 진행 중 호출 수").register(meterRegistry);
+        Gauge.builder("ai.server.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::queued)
+                .description("한도 대기 중 호출 수").register(meterRegistry);
+        FunctionCounter.builder("ai.server.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::rejectedCount)
+                .description("대기열 초과/대기 시간 초과로 거절된 호출 수").register(meterRegistry);
+        FunctionCounter.builder("ai.server.concurrency.dropped", limiter, AdaptiveConcurrencyLimiter::droppedCount)
+                .description("타임아웃/5xx 로 한도를 줄인 호출 수").register(meterRegistry);
+
+        return limiter;
+    }
+}
@@ -0,0 +1,86 @@
+package com.smart.complaint.routing_system.applicant.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // 로컬 라우팅으로 부서가 먼저 정해진 민원의 LLM 분석(요약/키워드/임베딩)을 뒤에서 처리
+    @Bean(name = "aiAnalysisExecutor")
+    public ThreadPoolTaskExecutor aiAnalysisExecutor(
+            @Value("${app.routing.cascade.async-pool-size:4}") int poolSize,
+            @Value("${app.routing.cascade.async-queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-analysis-");
+        // 큐가 차면 요청 스레드에서 바로 실행 (기존 동기 방식과 같은 동작)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 답변 초안 SSE 중계 (스트림 하나당 스레드 하나, 큐 없이 한도를 넘으면 바로 거절)
+    @Bean(name = "draftStreamExecutor")
+    public ThreadPoolTaskExecutor draftStreamExecutor(
+            @Value("${app.ai-server.draft-stream.pool-size:16}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("draft-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 민원 급증 알림 SSE 푸시 (알림은 드물어 스레드 하나, 밀리면 오래된 알림부터 버린다 - 조회 API 에는 남아 있다)
+    @Bean(name = "spikeAlertExecutor")
+    public ThreadPoolTaskExecutor spikeAlertExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("spike-alert-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 새벽 전체 재계산(유사 민원 그래프, OPEN 사건 중심값). 스케줄러 스레드는 바로 돌려주고 여기서 오래 돈다.
+    // 같은 작업이 아직 돌고 있으면 각 작업이 스스로 건너뛰므로, 큐가 차면 새 요청은 버린다 (다음 주기에 다시 돈다)
+    @Bean(name = "maintenanceExecutor")
+    public ThreadPoolTaskExecutor maintenanceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(4);
+        executor.setThreadNamePrefix("maintenance-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 유사 민원 그래프 전체 재계산의 민원 묶음 작업 (재계산 하나가 묶음을 나눠 넣고 모두 끝날 때까지 기다린다)
+    @Bean(name = "graphRebuildExecutor")
+    public ThreadPoolTaskExecutor graphRebuildExecutor(
+            @Value("${app.similarity.graph.rebuild-threads:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("graph-rebuild-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,52 @@
+package com.smart.complaint.routing_system.applicant.controller;
+
+import com.smart.complaint.routing_system.applicant.dto.BackfillProgressResponse;
+import com.smart.complaint.routing_system.applicant.dto.BackfillRequest;
+import com.smart.complaint.routing_system.applicant.service.backfill.NormalizationBackfillService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "정규화 재생성 API", description = "모델/프롬프트 변경 시 과거 민원의 정규화·임베딩을 다시 만드는 작업")
+@RestController
+@RequestMapping("/api/admin/backfill/normalizations")
+@RequiredArgsConstructor
+public class AdminBackfillController {
+
+    private final NormalizationBackfillService backfillService;
+
+    @Operation(summary = "재생성 작업 시작", description = "민원 ID 구간을 지정해 정규화·임베딩 재생성을 시작합니다.")
+    @PostMapping
+    public ResponseEntity<BackfillProgressResponse> start(@RequestBody(required = false) BackfillRequest request) {
+        BackfillRequest body = request != null ? request : new BackfillRequest(null, null, null, null, null);
+        return ResponseEntity.ok(backfillService.start(body));
+    }
+
+    @Operation(summary = "재생성 작업 목록", description = "전체 작업의 진행률과 처리량을 조회합니다.")
+    @GetMapping
+    public ResponseEntity<List<BackfillProgressResponse>> list() {
+        return ResponseEntity.ok(backfillService.list());
+    }
+
+    @Operation(summary = "재생성 작업 진행 현황", description = "체크포인트, 처리/실패 건수, 처리량(건/초), 예상 남은 시간을 조회합니다.")
+    @GetMapping("/{id}")
+    public ResponseEntity<BackfillProgressResponse> get(@PathVariable Long id) {
+        return ResponseEntity.ok(backfillService.get(id));
+    }
+
+    @Operation(summary = "재생성 작업 일시정지", description = "진행 중인 배치를 마친 뒤 멈춥니다.")
+    @PostMapping("/{id}/pause")
+    public ResponseEntity<BackfillProgressResponse> pause(@PathVariable Long id) {
+        return ResponseEntity.ok(backfillService.pause(id));
+    }
+
+    @Operation(summary = "재생성 작업 재개", description = "마지막 체크포인트부터 이어서 진행합니다.")
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<BackfillProgressResponse> resume(@PathVariable Long id) {
+        return ResponseEntity.ok(backfillService.resume(id));
+    }
+}
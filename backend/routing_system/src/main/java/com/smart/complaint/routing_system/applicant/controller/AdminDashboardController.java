@@ -1,13 +1,19 @@
 package com.smart.complaint.routing_system.applicant.controller;
 
 import com.smart.complaint.routing_system.applicant.dto.AdminDashboardStatsDto.*;
+import com.smart.complaint.routing_system.applicant.dto.SpikeAlert;
 import com.smart.complaint.routing_system.applicant.service.AdminDashboardService;
+import com.smart.complaint.routing_system.applicant.service.spike.SpikeAlertBroadcaster;
+import com.smart.complaint.routing_system.applicant.service.spike.SpikeDetector;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,6 +22,8 @@ import java.util.List;
 public class AdminDashboardController {
 
     private final AdminDashboardService dashboardService;
+    private final SpikeDetector spikeDetector;
+    private final SpikeAlertBroadcaster spikeAlertBroadcaster;
 
     // 민원 접수 추이
     @GetMapping("/trend")
@@ -68,4 +76,17 @@ public class AdminDashboardController {
     public ResponseEntity<List<DepartmentFilterDto>> getDepartmentFilters() {
         return ResponseEntity.ok(dashboardService.getBureauList());
     }
+
+    // 민원 유입 급증 알림 (최근 minutes 분, 최신 순)
+    @GetMapping("/spikes")
+    public ResponseEntity<List<SpikeAlert>> getSpikeAlerts(
+            @RequestParam(defaultValue = "60") int minutes) {
+        return ResponseEntity.ok(spikeDetector.recentAlerts(LocalDateTime.now().minusMinutes(Math.max(1, minutes))));
+    }
+
+    // 민원 유입 급증 알림 실시간 구독 (SSE, 이벤트 이름: spike)
+    @GetMapping(value = "/spikes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSpikeAlerts() {
+        return spikeAlertBroadcaster.subscribe();
+    }
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import com.smart.complaint.routing_system.applicant.dto.*;
 import com.smart.complaint.routing_system.applicant.entity.User;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
 import com.smart.complaint.routing_system.applicant.service.ComplaintService;
+import com.smart.complaint.routing_system.applicant.service.ai.DraftStreamService;
+import com.smart.complaint.routing_system.applicant.service.law.LawRetrievalService;
+import com.smart.complaint.routing_system.applicant.service.similarity.AnswerSuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,7 +19,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @Tag(name = "민원 API", description = "민원 관리 및 조회 API")
 @RestController
@@ -26,6 +33,9 @@ public class ComplaintController {
 
     private final ComplaintRepository complaintRepository;
     private final ComplaintService complaintService;
+    private final AnswerSuggestionService answerSuggestionService;
+    private final LawRetrievalService lawRetrievalService;
+    private final DraftStreamService draftStreamService;
 
     @Operation(summary = "민원 리스트 조회", description = "로그인한 사용자의 부서에 배정된 민원 리스트를 전부 조회합니다.")
     @GetMapping
@@ -41,7 +51,33 @@ public class ComplaintController {
     @Operation(summary = "민원 상세 조회", description = "민원 ID로 상세 정보(원문, 요약, 분석결과, 사건연결정보 등)를 조회합니다.")
     @GetMapping("/{id}")
     public ComplaintDetailResponse getComplaintDetail(@PathVariable Long id) {
-        return complaintRepository.getComplaintDetail(id);
+        ComplaintDetailResponse detail = complaintRepository.getComplaintDetail(id);
+        if (detail != null) {
+            detail.setRelatedLaws(lawRetrievalService.searchForComplaint(id, 3));
+        }
+        return detail;
+    }
+
+    @Operation(summary = "관련 법령 조회", description = "민원의 정규화 임베딩과 키워드로 관련 법령 조문을 찾습니다. (백엔드 메모리 인덱스, 벡터 + BM25 혼합)")
+    @GetMapping("/{id}/laws")
+    public List<LawArticleDto> getRelatedLaws(
+            @Parameter(description = "민원 ID", example = "1") @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit) {
+        return lawRetrievalService.searchForComplaint(id, Math.min(Math.max(limit, 1), 20));
+    }
+
+    @Operation(summary = "답변 재사용 추천", description = "거의 같은 내용으로 처리 완료된 민원의 최종 답변을 유사도·최신순으로 돌려줍니다. (LLM 초안 없이 바로 쓸 수 있는 초안)")
+    @GetMapping("/{id}/answer-suggestions")
+    public List<AnswerSuggestionDto> getAnswerSuggestions(
+            @Parameter(description = "민원 ID", example = "1") @PathVariable Long id) {
+        return answerSuggestionService.suggest(id);
+    }
+
+    @Operation(summary = "AI 답변 초안 스트리밍", description = "AI 서버가 생성하는 답변 초안을 토큰 단위 SSE(token / done / error 이벤트)로 전달합니다. 연결을 끊으면 생성도 중단됩니다.")
+    @GetMapping(value = "/{id}/draft/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDraft(
+            @Parameter(description = "민원 ID", example = "1") @PathVariable Long id) {
+        return draftStreamService.stream(id);
     }
 
     @Operation(summary = "담당자 배정 (Assign)", description = "해당 민원을 내 업무로 가져옵니다. (상태가 '처리중'으로 변경됨)")
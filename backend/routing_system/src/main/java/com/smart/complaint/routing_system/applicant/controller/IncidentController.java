@@ -1,11 +1,16 @@
 package com.smart.complaint.routing_system.applicant.controller;
 
+import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
 import com.smart.complaint.routing_system.applicant.domain.IncidentStatus;
+import com.smart.complaint.routing_system.applicant.dto.IncidentComplaintPage;
 import com.smart.complaint.routing_system.applicant.dto.IncidentDetailResponse;
+import com.smart.complaint.routing_system.applicant.dto.IncidentDetailStats;
 import com.smart.complaint.routing_system.applicant.dto.IncidentListResponse;
-import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.dto.IncidentMemberRow;
+import com.smart.complaint.routing_system.applicant.dto.IncidentMergeRequestDto;
+import com.smart.complaint.routing_system.applicant.dto.IncidentOperationResponse;
+import com.smart.complaint.routing_system.applicant.dto.IncidentSplitRequestDto;
 import com.smart.complaint.routing_system.applicant.entity.Incident;
-import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
 import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
 import com.smart.complaint.routing_system.applicant.service.IncidentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,8 +25,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,9 +35,14 @@ import java.util.stream.Collectors;
 public class IncidentController {
 
     private final IncidentRepository incidentRepository;
-    private final ComplaintRepository complaintRepository;
     private final IncidentService incidentService;
 
+    private static final int DEFAULT_MEMBER_PAGE_SIZE = 50;
+    private static final int MAX_MEMBER_PAGE_SIZE = 200;
+    // 접수 시각이 없는 민원 커서의 시각 자리 (정렬에서 맨 앞에 온다)
+    private static final String NO_RECEIVED_AT = "null";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     @Operation(summary = "사건 목록 조회")
     @GetMapping
     public Page<IncidentListResponse> getIncidents(
@@ -45,67 +53,44 @@ public class IncidentController {
         return incidentRepository.searchIncidents(search, status, pageable);
     }
 
-    @Operation(summary = "사건 상세 조회")
+    @Operation(summary = "사건 상세 조회", description = "상단 수치는 집계 쿼리 1번, 민원 목록은 최근 접수 순 첫 페이지만 반환")
     @GetMapping("/{idStr}")
-    public IncidentDetailResponse getIncidentDetail(@PathVariable String idStr) {
-        Long id;
-        try {
-            String[] parts = idStr.split("-");
-            id = Long.parseLong(parts[parts.length - 1]);
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID 형식이 잘못되었습니다.");
-        }
+    public IncidentDetailResponse getIncidentDetail(@PathVariable String idStr,
+            @RequestParam(defaultValue = "" + DEFAULT_MEMBER_PAGE_SIZE) int size) {
+        Long id = parseId(idStr);
 
         Incident incident = incidentRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사건 없음"));
 
-        List<Complaint> complaints = complaintRepository.findAllByIncidentId(id);
-        if (complaints == null)
-            complaints = new ArrayList<>();
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
-        String firstOccurredStr = "-";
-        LocalDateTime minDate = complaints.stream()
-                .map(Complaint::getReceivedAt)
-                .filter(java.util.Objects::nonNull)
-                .min(Comparator.naturalOrder())
-                .orElse(null);
-        if (minDate != null)
-            firstOccurredStr = minDate.format(formatter);
-
-        String lastOccurredStr = "-";
-        LocalDateTime maxDate = complaints.stream()
-                .map(Complaint::getReceivedAt)
-                .filter(java.util.Objects::nonNull)
-                .max(Comparator.naturalOrder())
-                .orElse(null);
-        if (maxDate != null)
-            lastOccurredStr = maxDate.format(formatter);
-
-        List<IncidentDetailResponse.IncidentComplaintDto> complaintDtos = complaints.stream()
-                .map(c -> IncidentDetailResponse.IncidentComplaintDto.builder()
-                        .originalId(c.getId())
-                        .id(String.format("C2026-%04d", c.getId()))
-                        .title(c.getTitle())
-                        .receivedAt(c.getReceivedAt() != null ? c.getReceivedAt().format(formatter) : "-")
-                        .status(c.getStatus())
-                        .build())
-                .collect(Collectors.toList());
+        IncidentDetailStats stats = incidentRepository.getDetailStats(id);
+        IncidentComplaintPage firstPage = memberPage(id, null, null, null, size);
 
         return IncidentDetailResponse.builder()
                 .id(idStr)
                 .title(incident.getTitle())
                 .status(incident.getStatus())
                 .district("-")
-                .firstOccurred(firstOccurredStr)
-                .lastOccurred(lastOccurredStr)
-                .complaintCount(complaints.size())
-                .avgProcessTime(calculateAverageProcessTime(complaints))
-                .complaints(complaintDtos)
+                .firstOccurred(stats.firstReceivedAt() != null ? stats.firstReceivedAt().format(FORMATTER) : "-")
+                .lastOccurred(stats.lastReceivedAt() != null ? stats.lastReceivedAt().format(FORMATTER) : "-")
+                .complaintCount((int) stats.complaintCount())
+                .avgProcessTime(formatAverageProcessTime(stats))
+                .centroidLat(incident.getCentroidLat())
+                .centroidLon(incident.getCentroidLon())
+                .complaints(firstPage.getComplaints())
+                .nextCursor(firstPage.getNextCursor())
                 .build();
     }
 
+    @Operation(summary = "사건 소속 민원 목록 (키셋 페이지)", description = "cursor 는 이전 응답의 nextCursor. 검색어는 제목 또는 민원 ID")
+    @GetMapping("/{idStr}/complaints")
+    public IncidentComplaintPage getIncidentComplaints(@PathVariable String idStr,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "" + DEFAULT_MEMBER_PAGE_SIZE) int size) {
+        return memberPage(parseId(idStr), cursor, status, search, size);
+    }
+
     @PatchMapping("/{idStr}")
     public void updateIncidentTitle(@PathVariable String idStr, @RequestBody java.util.Map<String, String> body) {
         Long id = parseId(idStr);
@@ -125,25 +110,75 @@ public class IncidentController {
         incidentService.createNewIncident(request.getComplaintIds());
     }
 
-    private String calculateAverageProcessTime(List<Complaint> complaints) {
-        if (complaints == null || complaints.isEmpty())
-            return "0분";
+    @Operation(summary = "사건 병합", description = "원래 사건들의 소속 민원을 이 사건으로 모두 옮긴다. 응답의 operationId 로 되돌릴 수 있다")
+    @PostMapping("/{idStr}/merge")
+    public IncidentOperationResponse mergeIncidents(@PathVariable String idStr,
+            @RequestBody IncidentMergeRequestDto request) {
+        return incidentService.mergeIncidents(parseId(idStr), request.getSourceIncidentIds());
+    }
+
+    @Operation(summary = "사건 분리", description = "이 사건의 일부 민원을 새 사건으로 떼어낸다. 응답의 operationId 로 되돌릴 수 있다")
+    @PostMapping("/{idStr}/split")
+    public IncidentOperationResponse splitIncident(@PathVariable String idStr,
+            @RequestBody IncidentSplitRequestDto request) {
+        return incidentService.splitIncident(parseId(idStr), request.getComplaintIds(), request.getTitle());
+    }
 
-        long totalMinutes = 0;
-        int count = 0;
+    @Operation(summary = "사건 병합/분리 되돌리기")
+    @PostMapping("/operations/{operationId}/undo")
+    public IncidentOperationResponse undoOperation(@PathVariable Long operationId) {
+        return incidentService.undoOperation(operationId);
+    }
 
-        for (Complaint c : complaints) {
-            if (c.getReceivedAt() != null && c.getClosedAt() != null) {
-                java.time.Duration duration = java.time.Duration.between(c.getReceivedAt(), c.getClosedAt());
-                totalMinutes += duration.toMinutes();
-                count++;
+    // 한 개 더 읽어 다음 페이지가 있는지 판단하고, 마지막 행의 (접수 시각, ID)를 다음 커서로 준다
+    // 커서는 "접수시각_ID" 이고, 접수 시각이 없으면 "null_ID"
+    private IncidentComplaintPage memberPage(Long incidentId, String cursor, ComplaintStatus status, String search,
+            int size) {
+        int limit = Math.max(1, Math.min(size, MAX_MEMBER_PAGE_SIZE));
+        LocalDateTime cursorAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                int sep = cursor.lastIndexOf('_');
+                String at = cursor.substring(0, sep);
+                cursorAt = NO_RECEIVED_AT.equals(at) ? null : LocalDateTime.parse(at);
+                cursorId = Long.parseLong(cursor.substring(sep + 1));
+            } catch (Exception e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "커서 형식이 잘못되었습니다.");
             }
         }
 
-        if (count == 0)
+        List<IncidentMemberRow> rows = incidentRepository.findMembers(incidentId, cursorAt, cursorId, status, search,
+                limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            IncidentMemberRow last = rows.get(limit - 1);
+            nextCursor = (last.receivedAt() != null ? last.receivedAt().toString() : NO_RECEIVED_AT) + "_" + last.id();
+        }
+
+        List<IncidentDetailResponse.IncidentComplaintDto> complaints = rows.stream()
+                .map(c -> IncidentDetailResponse.IncidentComplaintDto.builder()
+                        .originalId(c.id())
+                        .id(String.format("C2026-%04d", c.id()))
+                        .title(c.title())
+                        .receivedAt(c.receivedAt() != null ? c.receivedAt().format(FORMATTER) : "-")
+                        .status(c.status())
+                        .build())
+                .collect(Collectors.toList());
+        return IncidentComplaintPage.builder()
+                .complaints(complaints)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private String formatAverageProcessTime(IncidentDetailStats stats) {
+        if (stats.complaintCount() == 0)
+            return "0분";
+        if (stats.avgProcessMinutes() == null)
             return "-";
 
-        long avgMinutes = totalMinutes / count;
+        long avgMinutes = stats.avgProcessMinutes().longValue();
         long days = avgMinutes / (24 * 60);
         long remainingMinutesAfterDays = avgMinutes % (24 * 60);
         long hours = remainingMinutesAfterDays / 60;
@@ -0,0 +1,8 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+public enum BackfillStatus {
+    RUNNING,
+    PAUSED,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,147 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 사건 중심값의 누적 합 (임베딩 합/개수, 좌표 합/개수). incident_centroids 한 행과 같은 모양이다.
+ * <p>
+ * 임베딩 합은 성분마다 round(x * 2^36) 고정소수점 정수로 들고 있어서, 민원을 더했다가 빼면 정확히 원래 합으로 돌아간다.
+ * 성분 절댓값이 1 이하이므로 사건 하나에 민원이 2^27 건 가까이 쌓여도 long 범위를 넘지 않는다.
+ * 좌표 합은 DECIMAL 그대로 더하고 뺀다. 동기화는 하지 않으며 공유가 필요하면 쓰는 쪽에서 잠근다.
+ */
+@Getter
+public class CentroidSum {
+
+    public static final double SCALE = 0x1p36;
+
+    private long[] embedding;
+    private long embeddingCount;
+    private BigDecimal latSum = BigDecimal.ZERO;
+    private BigDecimal lonSum = BigDecimal.ZERO;
+    private long geoCount;
+
+    public CentroidSum() {
+    }
+
+    public CentroidSum(long[] embedding, long embeddingCount, BigDecimal latSum, BigDecimal lonSum, long geoCount) {
+        this.embedding = embedding;
+        this.embeddingCount = embeddingCount;
+        this.latSum = latSum != null ? latSum : BigDecimal.ZERO;
+        this.lonSum = lonSum != null ? lonSum : BigDecimal.ZERO;
+        this.geoCount = geoCount;
+    }
+
+    // add/remove 는 증감분을 만들 때도 쓰므로 개수가 음수로 내려가도 그대로 둔다
+    public void add(float[] vector, BigDecimal lat, BigDecimal lon) {
+        apply(vector, lat, lon, 1);
+    }
+
+    public void remove(float[] vector, BigDecimal lat, BigDecimal lon) {
+        apply(vector, lat, lon, -1);
+    }
+
+    // 다른 합(음수 포함 증감분)을 그대로 더한다
+    public void merge(CentroidSum delta) {
+        if (delta.embedding != null) {
+            if (embedding == null) {
+                embedding = new long[delta.embedding.length];
+            }
+            if (embedding.length == delta.embedding.length) {
+                for (int i = 0; i < embedding.length; i++) {
+                    embedding[i] += delta.embedding[i];
+                }
+                embeddingCount += delta.embeddingCount;
+            }
+        }
+        latSum = latSum.add(delta.latSum);
+        lonSum = lonSum.add(delta.lonSum);
+        geoCount += delta.geoCount;
+        normalizeEmpty();
+    }
+
+    private void apply(float[] vector, BigDecimal lat, BigDecimal lon, int sign) {
+        if (vector != null) {
+            if (embedding == null) {
+                embedding = new long[vector.length];
+            }
+            if (embedding.length == vector.length) {
+                for (int i = 0; i < embedding.length; i++) {
+                    embedding[i] += sign * quantize(vector[i]);
+                }
+                embeddingCount += sign;
+            }
+        }
+        if (lat != null && lon != null) {
+            latSum = sign > 0 ? latSum.add(lat) : latSum.subtract(lat);
+            lonSum = sign > 0 ? lonSum.add(lon) : lonSum.subtract(lon);
+            geoCount += sign;
+        }
+        normalizeEmpty();
+    }
+
+    // 마지막 민원이 빠져 합이 정확히 0 이 되면 비운다 (다음 민원의 차원으로 다시 시작).
+    // 하나 더하고 하나 뺀 증감분처럼 개수만 0 이고 합이 남은 경우와 음수 개수는 그대로 둔다 (음수는 isConsistent 로 드러낸다)
+    private void normalizeEmpty() {
+        if (embeddingCount == 0 && embedding != null && isZero(embedding)) {
+            embedding = null;
+        }
+        if (geoCount == 0 && latSum.signum() == 0 && lonSum.signum() == 0) {
+            latSum = BigDecimal.ZERO;
+            lonSum = BigDecimal.ZERO;
+        }
+    }
+
+    private static boolean isZero(long[] values) {
+        for (long v : values) {
+            if (v != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 증감분을 반영한 결과가 음수 개수면 누적 합이 실제 소속과 어긋난 것이다 (재계산 대상) */
+    public boolean isConsistent() {
+        return embeddingCount >= 0 && geoCount >= 0;
+    }
+
+    static long quantize(float x) {
+        return Math.round(x * SCALE);
+    }
+
+    /** 평균 임베딩의 단위 벡터 (코사인 비교용). 소속 임베딩이 없으면 null */
+    public float[] unit() {
+        if (embedding == null || embeddingCount <= 0) {
+            return null;
+        }
+        double norm = 0.0;
+        for (long x : embedding) {
+            double d = x / SCALE;
+            norm += d * d;
+        }
+        if (norm == 0.0) {
+            return null;
+        }
+        double inv = 1.0 / Math.sqrt(norm);
+        float[] out = new float[embedding.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (float) (embedding[i] / SCALE * inv);
+        }
+        return out;
+    }
+
+    public boolean hasGeo() {
+        return geoCount > 0;
+    }
+
+    public BigDecimal centroidLat() {
+        return geoCount > 0 ? latSum.divide(BigDecimal.valueOf(geoCount), 7, RoundingMode.HALF_UP) : null;
+    }
+
+    public BigDecimal centroidLon() {
+        return geoCount > 0 ? lonSum.divide(BigDecimal.valueOf(geoCount), 7, RoundingMode.HALF_UP) : null;
+    }
+}
@@ -7,5 +7,10 @@ public enum ComplaintStatus {
     CLOSED,
     RESOLVED,
     CANCELED,
-    NORMALIZED
+    NORMALIZED;
+
+    // 사건 상태 집계에서 끝난 민원으로 치는 상태 (사건의 모든 민원이 이 상태면 사건 CLOSED)
+    public boolean isTerminal() {
+        return this == CLOSED || this == CANCELED;
+    }
 }
\ No newline at end of file
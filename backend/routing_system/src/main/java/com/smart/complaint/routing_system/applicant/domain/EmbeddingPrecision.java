@@ -0,0 +1,23 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+// 유사도 검색에 쓸 임베딩 컬럼 (float32 원본 / halfvec 사본)
+public enum EmbeddingPrecision {
+    SINGLE("embedding", "vector"),
+    HALF("embedding_half", "halfvec");
+
+    private final String column;
+    private final String sqlType;
+
+    EmbeddingPrecision(String column, String sqlType) {
+        this.column = column;
+        this.sqlType = sqlType;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public String sqlType() {
+        return sqlType;
+    }
+}
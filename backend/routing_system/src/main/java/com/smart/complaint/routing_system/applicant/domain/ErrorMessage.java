@@ -15,7 +15,14 @@ public enum ErrorMessage {
     EMAIL_SEND_FAILURE(454, "EMAIL_SEND_FAILURE", "이메일 전송에 실패했습니다."),
     NOT_ALLOWED(400, "NOT_ALLOWED", "잘못된 요청입니다."),
     PENDING_ANSWER_EXISTS(422, "PENDING_ANSWER_EXISTS", "이전 문의에 대한 답변이 아직 완료되지 않았습니다."),
-    DATABASE_ERROR(500, "DATABASE_ERROR", "서버 내부 오류가 발생했습니다. 잠시 후 다시 시도해주세요.");
+    DATABASE_ERROR(500, "DATABASE_ERROR", "서버 내부 오류가 발생했습니다. 잠시 후 다시 시도해주세요."),
+    AI_SERVER_UNAVAILABLE(503, "AI_SERVER_UNAVAILABLE", "AI 분석 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요."),
+    AI_SERVER_BUSY(429, "AI_SERVER_BUSY", "AI 분석 요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
+    BACKFILL_JOB_NOT_FOUND(404, "BACKFILL_JOB_NOT_FOUND", "재생성 작업을 찾을 수 없습니다."),
+    BACKFILL_ALREADY_RUNNING(409, "BACKFILL_ALREADY_RUNNING", "이미 진행 중인 재생성 작업이 있습니다."),
+    INCIDENT_NOT_FOUND(404, "INCIDENT_NOT_FOUND", "사건을 찾을 수 없습니다."),
+    INCIDENT_OPERATION_NOT_FOUND(404, "INCIDENT_OPERATION_NOT_FOUND", "되돌릴 병합/분리 기록을 찾을 수 없습니다."),
+    INCIDENT_OPERATION_ALREADY_UNDONE(409, "INCIDENT_OPERATION_ALREADY_UNDONE", "이미 되돌린 병합/분리입니다.");
 
     private final int status;
     private final String code;
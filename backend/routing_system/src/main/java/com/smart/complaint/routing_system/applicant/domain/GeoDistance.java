@@ -0,0 +1,22 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+/**
+ * 위경도 좌표 사이 거리. 사건 실시간 연결의 반경 확인과 접수 시점 중복 연결의 거리 확인이 같이 쓴다.
+ */
+public final class GeoDistance {
+
+    private static final double EARTH_RADIUS_M = 6_371_000.0;
+
+    private GeoDistance() {
+    }
+
+    // 하버사인 대원 거리 (m)
+    public static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
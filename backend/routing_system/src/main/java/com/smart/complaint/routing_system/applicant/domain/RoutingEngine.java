@@ -0,0 +1,9 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+// 민원 최초 부서 배정을 결정한 엔진
+public enum RoutingEngine {
+    LLM,
+    KNN_EMBEDDING,
+    KNN_TEXT,
+    DUPLICATE // 접수 때 거의 같은 원 민원의 부서를 그대로 따름
+}
@@ -0,0 +1,7 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+// 유사 민원 검색 방식 (전체 차원 1회 / 앞쪽 차원으로 후보 추린 뒤 전체 차원 재채점)
+public enum VectorSearchMode {
+    EXACT,
+    TWO_STAGE
+}
@@ -15,6 +15,7 @@ public class AdminDashboardStatsDto {
     @AllArgsConstructor
     public static class GeneralStatsResponse {
         private Double aiAccuracy;
+        private List<RoutingAgreementDto> routingAgreement;
         private List<CategoryStatDto> categoryStats;
         private List<RecurringIncidentDto> recurringIncidents;
     }
@@ -57,6 +58,17 @@ public class AdminDashboardStatsDto {
         private Long trend;
     }
 
+    // 엔진 / 신뢰도 구간별로 최초 예측 부서가 최종 부서와 일치한 비율 (로컬 우선 임계값 조정용)
+    @Data
+    @AllArgsConstructor
+    public static class RoutingAgreementDto {
+        private String engine;
+        private Double minConfidence;
+        private Long total;
+        private Long matched;
+        private Double accuracy;
+    }
+
     @Data
     @AllArgsConstructor
     public static class DepartmentFilterDto {
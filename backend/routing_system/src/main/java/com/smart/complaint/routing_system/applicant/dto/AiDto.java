@@ -9,6 +9,11 @@ public class AiDto {
         public record Response(String status, String data, float[] embedding) {
         }
 
+        // 스트리밍 파서 결과 (data 를 Analysis 로 바로 바인딩한 형태)
+        // chunkEmbeddings: 본문이 길어 AI 서버가 조각별로 임베딩한 경우에만 채워진다 (없으면 빈 배열)
+        public record Preprocessed(String status, Analysis analysis, float[] embedding, float[][] chunkEmbeddings) {
+        }
+
         public record Analysis(
                         List<Recommendation> recommendations,
                         @JsonProperty("original_analysis") OriginalAnalysis originalAnalysis) {
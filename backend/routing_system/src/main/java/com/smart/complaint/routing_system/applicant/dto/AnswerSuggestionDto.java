@@ -0,0 +1,13 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import java.time.LocalDateTime;
+
+// 처리 완료된 유사 민원의 최종 답변 (답변 재사용 추천)
+public record AnswerSuggestionDto(
+        Long complaintId,
+        String title,
+        String answer,
+        LocalDateTime closedAt,
+        Double similarity,
+        Double score) {
+}
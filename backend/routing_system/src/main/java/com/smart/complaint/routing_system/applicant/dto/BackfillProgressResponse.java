@@ -0,0 +1,24 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import com.smart.complaint.routing_system.applicant.domain.BackfillStatus;
+
+import java.time.LocalDateTime;
+
+public record BackfillProgressResponse(
+        Long id,
+        BackfillStatus status,
+        Long fromId,
+        Long toId,
+        Long cursorId,
+        Long processed,
+        Long failed,
+        double percent,
+        // 이번 실행 시작 이후 평균 / 직전 배치 기준 처리량 (건/초)
+        double averagePerSecond,
+        double recentPerSecond,
+        Long etaSeconds,
+        String lastError,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt,
+        LocalDateTime finishedAt) {
+}
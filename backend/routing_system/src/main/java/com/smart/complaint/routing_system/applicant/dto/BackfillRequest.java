@@ -0,0 +1,10 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+// 정규화 재생성 요청. 비워 둔 값은 app.backfill.* 기본값을 쓴다 (toId 기본값: 현재 최대 민원 ID)
+public record BackfillRequest(
+        Long fromId,
+        Long toId,
+        Integer batchSize,
+        Integer parallelism,
+        Double ratePerSecond) {
+}
@@ -40,6 +40,10 @@ public class ComplaintDetailResponse {
 
     private List<ComplaintHistoryDto> history = new ArrayList<>();
 
+    private List<ComplaintSearchResult> similarComplaints = new ArrayList<>();
+
+    private List<LawArticleDto> relatedLaws = new ArrayList<>();
+
     public ComplaintDetailResponse(Complaint c, ComplaintNormalization n, Incident i, Long incidentCount,
             String deptName) {
         this.originalId = c.getId();
@@ -0,0 +1,15 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+// 사건 소속 민원 키셋 페이지 (nextCursor 가 null 이면 마지막 페이지)
+@Data
+@Builder
+public class IncidentComplaintPage {
+
+    private List<IncidentDetailResponse.IncidentComplaintDto> complaints;
+    private String nextCursor;
+}
@@ -6,6 +6,7 @@ import com.smart.complaint.routing_system.applicant.domain.UrgencyLevel;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -20,7 +21,12 @@ public class IncidentDetailResponse {
     private String lastOccurred;
     private int complaintCount;
     private String avgProcessTime;
+    // 사건 지도 중심 (incident_centroids 로 유지되는 소속 민원 좌표 평균)
+    private BigDecimal centroidLat;
+    private BigDecimal centroidLon;
+    // 소속 민원 첫 페이지 (최근 접수 순). 다음 페이지는 /{id}/complaints?cursor=nextCursor
     private List<IncidentComplaintDto> complaints;
+    private String nextCursor;
 
     @Data
     @Builder
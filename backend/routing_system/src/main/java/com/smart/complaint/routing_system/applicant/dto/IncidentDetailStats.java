@@ -0,0 +1,11 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import java.time.LocalDateTime;
+
+// 사건 상세 상단 수치 (소속 민원 집계 1번으로 계산). 종결된 민원이 없으면 avgProcessMinutes 는 null
+public record IncidentDetailStats(
+        long complaintCount,
+        LocalDateTime firstReceivedAt,
+        LocalDateTime lastReceivedAt,
+        Double avgProcessMinutes) {
+}
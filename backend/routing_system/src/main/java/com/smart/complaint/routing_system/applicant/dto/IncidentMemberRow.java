@@ -0,0 +1,13 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
+
+import java.time.LocalDateTime;
+
+// 사건 상세 민원 목록 한 줄 (엔티티 대신 필요한 컬럼만 조회)
+public record IncidentMemberRow(
+        Long id,
+        String title,
+        LocalDateTime receivedAt,
+        ComplaintStatus status) {
+}
@@ -0,0 +1,10 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class IncidentMergeRequestDto {
+    // 대상 사건으로 흡수할 사건들
+    private List<Long> sourceIncidentIds;
+}
@@ -0,0 +1,9 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+// 사건 병합/분리/되돌리기 결과. operationId 로 되돌리고, incidentId 는 민원이 옮겨 간 사건(분리면 새 사건)
+public record IncidentOperationResponse(
+        Long operationId,
+        String type,
+        Long incidentId,
+        int movedCount) {
+}
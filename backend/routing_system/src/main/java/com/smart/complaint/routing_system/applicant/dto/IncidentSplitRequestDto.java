@@ -0,0 +1,12 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class IncidentSplitRequestDto {
+    // 새 사건으로 떼어낼 민원 (모두 원래 사건 소속이어야 한다)
+    private List<Long> complaintIds;
+    // 비우면 "[분리] 원래 사건 제목"
+    private String title;
+}
@@ -0,0 +1,11 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+// 민원과 관련된 법령 조문 (벡터 + BM25 혼합 순위)
+public record LawArticleDto(
+        String lawTitle,
+        String articleNo,
+        String chunkText,
+        Double score,
+        Double vectorSimilarity,
+        Double lexicalScore) {
+}
@@ -0,0 +1,49 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.List;
+
+// complaint_normalizations 한 행 (실시간 분석과 재생성 작업이 같은 규칙으로 만든다)
+public record NormalizationRow(
+        Long complaintId,
+        String respDept,
+        String neutralSummary,
+        String coreRequest,
+        String targetObject,
+        String keywordsJson,
+        String routingRankJson,
+        float[] embedding,
+        float[][] chunkEmbeddings) {
+
+    public static NormalizationRow of(Long complaintId, AiDto.Preprocessed preprocessed, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        AiDto.Analysis analysis = preprocessed.analysis();
+        List<String> keywordList = keywords(analysis);
+
+        String neutralSummary = String.format("%s %s %s",
+                analysis.originalAnalysis().topic(),
+                analysis.originalAnalysis().keywords(),
+                analysis.originalAnalysis().category());
+
+        return new NormalizationRow(
+                complaintId,
+                analysis.recommendations().isEmpty() ? "미지정" : analysis.recommendations().get(0).recommendedDept(),
+                neutralSummary,
+                analysis.originalAnalysis().topic(),
+                analysis.originalAnalysis().category(),
+                objectMapper.writeValueAsString(keywordList),
+                objectMapper.writeValueAsString(analysis.recommendations()),
+                preprocessed.embedding(),
+                preprocessed.chunkEmbeddings());
+    }
+
+    public static List<String> keywords(AiDto.Analysis analysis) {
+        return Arrays.stream(analysis.originalAnalysis().keywords().split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,11 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import java.time.LocalDateTime;
+
+// 로컬 라우팅 투표에 쓰이는 과거 민원 이웃 (최종 부서 + 유사도)
+public record RoutingNeighborDto(
+        Long complaintId,
+        Long departmentId,
+        LocalDateTime receivedAt,
+        Double similarity) {
+}
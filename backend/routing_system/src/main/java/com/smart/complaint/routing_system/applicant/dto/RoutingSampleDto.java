@@ -0,0 +1,12 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import java.time.LocalDateTime;
+
+// 텍스트 기반 로컬 라우팅 인덱스 적재용 과거 민원
+public record RoutingSampleDto(
+        Long complaintId,
+        String title,
+        String body,
+        Long departmentId,
+        LocalDateTime receivedAt) {
+}
@@ -0,0 +1,20 @@
+package com.smart.complaint.routing_system.applicant.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 민원 유입 급증 알림.
+ * dimension: TOTAL(전체 유입) / DISTRICT_TARGET(지역·대상물, label = "지역ID/대상물") / KEYWORD
+ * count 는 bucketStart 부터 지금까지 들어온 건수, expected 는 같은 길이 구간의 평소 건수(EWMA),
+ * history 는 직전 구간들의 건수 (오래된 것 → 현재 구간)
+ */
+public record SpikeAlert(
+        String dimension,
+        String label,
+        LocalDateTime bucketStart,
+        int count,
+        double expected,
+        double zScore,
+        LocalDateTime detectedAt,
+        int[] history) {
+}
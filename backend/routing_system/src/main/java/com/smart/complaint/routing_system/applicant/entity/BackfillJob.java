@@ -0,0 +1,95 @@
+package com.smart.complaint.routing_system.applicant.entity;
+
+import com.smart.complaint.routing_system.applicant.domain.BackfillStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "backfill_jobs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class BackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BackfillStatus status;
+
+    @Column(name = "from_id", nullable = false)
+    private Long fromId;
+
+    @Column(name = "to_id", nullable = false)
+    private Long toId;
+
+    // 이 ID 까지의 민원은 처리(또는 실패 기록)가 커밋됨. 재시작 시 다음 ID 부터 이어서 진행
+    @Column(name = "cursor_id", nullable = false)
+    private Long cursorId;
+
+    @Column(name = "batch_size", nullable = false)
+    private Integer batchSize;
+
+    @Column(nullable = false)
+    private Integer parallelism;
+
+    @Column(name = "rate_per_second", nullable = false)
+    private Double ratePerSecond;
+
+    @Column(nullable = false)
+    private Long processed;
+
+    // 아직 backfill_job_failures 에 남아 있는(성공하지 못한) 민원 수
+    @Column(nullable = false)
+    private Long failed;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public void advance(Long cursorId, int succeeded, int failed, String lastError) {
+        this.cursorId = cursorId;
+        this.processed += succeeded;
+        this.failed += failed;
+        if (lastError != null) {
+            this.lastError = lastError;
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // 실패로 남았던 민원을 다시 처리해 성공한 만큼 실패 건수에서 옮긴다 (체크포인트는 그대로)
+    public void recover(int succeeded, String lastError) {
+        this.processed += succeeded;
+        this.failed -= succeeded;
+        if (lastError != null) {
+            this.lastError = lastError;
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void changeStatus(BackfillStatus status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+        if (status == BackfillStatus.COMPLETED || status == BackfillStatus.FAILED) {
+            this.finishedAt = this.updatedAt;
+        }
+    }
+
+    public void fail(String error) {
+        this.lastError = error;
+        changeStatus(BackfillStatus.FAILED);
+    }
+}
@@ -1,6 +1,7 @@
 package com.smart.complaint.routing_system.applicant.entity;
 
 import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
+import com.smart.complaint.routing_system.applicant.domain.RoutingEngine;
 
 import jakarta.persistence.*;
 import lombok.*;
@@ -10,6 +11,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -77,6 +79,14 @@ public class Complaint {
     @Column(name = "ai_predicted_department_id")
     private Long aiPredictedDepartmentId;
 
+    // 최초 예측을 낸 엔진 (LLM / 로컬 kNN)과 그 신뢰도
+    @Enumerated(EnumType.STRING)
+    @Column(name = "routing_engine", length = 20)
+    private RoutingEngine routingEngine;
+
+    @Column(name = "routing_confidence", precision = 5, scale = 4)
+    private BigDecimal routingConfidence;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "incident_id")
     private Incident incident;
@@ -87,6 +97,13 @@ public class Complaint {
     @Column(name = "incident_link_score", precision = 6, scale = 4)
     private BigDecimal incidentLinkScore;
 
+    // 접수 때 거의 같은 내용으로 판정된 원 민원 (MinHash 추정 유사도와 함께)
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    @Column(name = "duplicate_similarity", precision = 5, scale = 4)
+    private BigDecimal duplicateSimilarity;
+
     @Column(name = "received_at", nullable = false) // DB는 snake_case, 자바는 camelCase
     private LocalDateTime receivedAt;
 
@@ -159,6 +176,19 @@ public class Complaint {
         this.incidentLinkedAt = LocalDateTime.now(); // 이동한 시간 기록
     }
 
+    // 실시간 사건 연결 (점수는 군집 루프와 같은 하이브리드 척도)
+    public void linkIncident(Incident incident, double score) {
+        this.incident = incident;
+        this.incidentLinkedAt = LocalDateTime.now();
+        this.incidentLinkScore = BigDecimal.valueOf(score).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    public void markDuplicateOf(Long originalId, double similarity) {
+        this.duplicateOfId = originalId;
+        this.duplicateSimilarity = BigDecimal.valueOf(Math.max(0.0, Math.min(1.0, similarity)))
+                .setScale(4, RoundingMode.HALF_UP);
+    }
+
     public void newInquiry() {
         this.status = ComplaintStatus.IN_PROGRESS;
     }
@@ -175,6 +205,18 @@ public class Complaint {
         this.aiPredictedDepartmentId = departmentId;
     }
 
+    public void recordRouting(Long departmentId, RoutingEngine engine, double confidence) {
+        this.aiPredictedDepartmentId = departmentId;
+        this.routingEngine = engine;
+        this.routingConfidence = BigDecimal.valueOf(Math.max(0.0, Math.min(1.0, confidence)))
+                .setScale(4, RoundingMode.HALF_UP);
+    }
+
+    // 로컬 우선 단계(kNN, 중복 민원)에서 배정된 민원인지
+    public boolean isRoutedLocally() {
+        return routingEngine != null && routingEngine != RoutingEngine.LLM;
+    }
+
     public void closeComplaint() {
         this.status = ComplaintStatus.CLOSED;
     }
@@ -3,6 +3,7 @@ package com.smart.complaint.routing_system.applicant.entity;
 import com.smart.complaint.routing_system.applicant.domain.IncidentStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -10,7 +11,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// 상태/민원 수는 네이티브 쿼리로도 갱신하므로, 플러시 때 바뀐 컬럼만 써서 그 값을 덮지 않게 한다
 @Entity
+@DynamicUpdate
 @Table(name = "incidents")
 @Getter
 @Setter
@@ -40,12 +43,27 @@ public class Incident {
     @Column(name = "district_id")
     private Integer districtId;
 
-    @Column(name = "centroid_lat", precision = 10, scale = 7)
+    // incident_centroids 를 갱신할 때 같이 쓰는 값이라 JPA 플러시가 덮어쓰지 않게 읽기 전용으로 둔다
+    @Column(name = "centroid_lat", precision = 10, scale = 7, insertable = false, updatable = false)
     private BigDecimal centroidLat;
 
-    @Column(name = "centroid_lon", precision = 10, scale = 7)
+    @Column(name = "centroid_lon", precision = 10, scale = 7, insertable = false, updatable = false)
     private BigDecimal centroidLon;
 
+    // 소속 민원 수 (진행 중 / CLOSED·CANCELED). DB 에서 증감하므로 JPA 는 읽기만 한다
+    @Column(name = "open_member_count", insertable = false, updatable = false)
+    private Integer openMemberCount;
+
+    @Column(name = "terminal_member_count", insertable = false, updatable = false)
+    private Integer terminalMemberCount;
+
+    // 소속 민원의 최초/최근 접수 시각. 연결/이동 때 DB 에서 갱신하므로 JPA 는 읽기만 한다
+    @Column(name = "first_received_at", insertable = false, updatable = false)
+    private LocalDateTime firstReceivedAt;
+
+    @Column(name = "last_received_at", insertable = false, updatable = false)
+    private LocalDateTime lastReceivedAt;
+
     @Column(name = "opened_at")
     private LocalDateTime openedAt;
 
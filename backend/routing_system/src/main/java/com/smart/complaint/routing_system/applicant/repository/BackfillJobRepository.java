@@ -0,0 +1,14 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.domain.BackfillStatus;
+import com.smart.complaint.routing_system.applicant.entity.BackfillJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long> {
+
+    List<BackfillJob> findByStatus(BackfillStatus status);
+
+    boolean existsByStatus(BackfillStatus status);
+}
@@ -0,0 +1,60 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * complaint_chunk_embeddings 쓰기 (실시간 분석과 재생성 작업 공용).
+ * 조회는 유사 민원/라우팅 쿼리가 complaint_normalizations 와 함께 직접 읽는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComplaintChunkEmbeddingRepository {
+
+    private static final String DELETE_CHUNKS = "DELETE FROM complaint_chunk_embeddings WHERE complaint_id = ?";
+
+    private static final String INSERT_CHUNK = "INSERT INTO complaint_chunk_embeddings " +
+            "(complaint_id, chunk_index, embedding, created_at) " +
+            "VALUES (?, ?, CAST(? AS vector), CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record ChunkRow(Long complaintId, int chunkIndex, float[] embedding) {
+    }
+
+    /**
+     * 민원별 조각 임베딩을 새 정규화 결과로 통째로 바꾼다 (조각이 없는 민원은 기존 조각만 지운다).
+     * 호출하는 쪽 트랜잭션에서 정규화 행과 같이 커밋된다.
+     */
+    public void replace(List<NormalizationRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<ChunkRow> chunks = new ArrayList<>();
+        for (NormalizationRow row : rows) {
+            float[][] embeddings = row.chunkEmbeddings();
+            for (int i = 0; embeddings != null && i < embeddings.length; i++) {
+                if (embeddings[i] != null) {
+                    chunks.add(new ChunkRow(row.complaintId(), i, embeddings[i]));
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_CHUNKS, rows, rows.size(),
+                (ps, row) -> ps.setLong(1, row.complaintId()));
+        if (!chunks.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CHUNK, chunks, chunks.size(), (ps, chunk) -> {
+                ps.setLong(1, chunk.complaintId());
+                ps.setInt(2, chunk.chunkIndex());
+                ps.setString(3, Arrays.toString(chunk.embedding()));
+            });
+        }
+    }
+}
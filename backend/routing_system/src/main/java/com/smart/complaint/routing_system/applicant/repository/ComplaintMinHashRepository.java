@@ -0,0 +1,111 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * complaint_minhash (거의 같은 민원 감지용 LSH 밴드 키/스케치) 읽기/쓰기와 원 민원 조회.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ComplaintMinHashRepository {
+
+    private static final String INSERT = "INSERT INTO complaint_minhash (complaint_id, band_keys, sketch) " +
+            "VALUES (?, ?, ?) ON CONFLICT (complaint_id) DO NOTHING";
+
+    private static final String SELECT_ALL = "SELECT complaint_id, band_keys, sketch FROM complaint_minhash " +
+            "ORDER BY complaint_id";
+
+    // 서명이 아직 없는 민원 (마이그레이션 이전 민원, 군집 루프 등 다른 경로로 들어온 민원)
+    private static final String SELECT_MISSING = "SELECT c.id, c.title, c.body FROM complaints c " +
+            "WHERE c.id > ? AND NOT EXISTS (SELECT 1 FROM complaint_minhash m WHERE m.complaint_id = c.id) " +
+            "ORDER BY c.id LIMIT ?";
+
+    // 후보가 이미 다른 민원의 사본이면 그 원 민원을 원본으로 본다 (자동 연결 판단용으로 사건 상태와 접수 시각/좌표도 같이)
+    private static final String SELECT_ORIGIN = "SELECT o.id, o.incident_id, o.current_department_id, " +
+            "i.status = 'OPEN', o.received_at, o.lat, o.lon " +
+            "FROM complaints c JOIN complaints o ON o.id = COALESCE(c.duplicate_of_id, c.id) " +
+            "LEFT JOIN incidents i ON i.id = o.incident_id " +
+            "WHERE c.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Entry(long complaintId, int[] bandKeys, byte[] sketch) {
+    }
+
+    public record Text(long complaintId, String title, String body) {
+    }
+
+    public record Origin(Long complaintId, Long incidentId, Long departmentId, boolean incidentOpen,
+            LocalDateTime receivedAt, BigDecimal lat, BigDecimal lon) {
+    }
+
+    public void insert(long complaintId, int[] bandKeys, byte[] sketch) {
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT);
+            ps.setLong(1, complaintId);
+            ps.setArray(2, con.createArrayOf("integer", boxed(bandKeys)));
+            ps.setBytes(3, sketch);
+            return ps;
+        });
+    }
+
+    public void insertAll(List<Entry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, 500, (ps, entry) -> {
+            ps.setLong(1, entry.complaintId());
+            ps.setArray(2, ps.getConnection().createArrayOf("integer", boxed(entry.bandKeys())));
+            ps.setBytes(3, entry.sketch());
+        });
+    }
+
+    // 호출하는 쪽 트랜잭션 안에서 불러야 fetchSize 단위로 끊어 읽는다
+    public void forEach(Consumer<Entry> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ALL, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(5000);
+            return ps;
+        }, (ResultSet rs) -> {
+            Array array = rs.getArray(2);
+            Object[] values = (Object[]) array.getArray();
+            int[] bandKeys = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                bandKeys[i] = ((Number) values[i]).intValue();
+            }
+            consumer.accept(new Entry(rs.getLong(1), bandKeys, rs.getBytes(3)));
+        });
+    }
+
+    public List<Text> findMissing(long afterId, int limit) {
+        return jdbcTemplate.query(SELECT_MISSING,
+                (rs, rowNum) -> new Text(rs.getLong(1), rs.getString(2), rs.getString(3)), afterId, limit);
+    }
+
+    public Optional<Origin> findOrigin(long complaintId) {
+        return jdbcTemplate.query(SELECT_ORIGIN, (rs, rowNum) -> new Origin(rs.getLong(1),
+                rs.getObject(2) != null ? rs.getLong(2) : null,
+                rs.getObject(3) != null ? rs.getLong(3) : null,
+                rs.getBoolean(4),
+                rs.getTimestamp(5) != null ? rs.getTimestamp(5).toLocalDateTime() : null,
+                rs.getBigDecimal(6),
+                rs.getBigDecimal(7)), complaintId).stream().findFirst();
+    }
+
+    private static Integer[] boxed(int[] values) {
+        Integer[] result = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.domain.EmbeddingPrecision;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * complaint_neighbors (민원 → top-K 유사 민원) 쓰기 전용 쿼리.
+ * 조회는 ComplaintRepositoryCustom.findGraphNeighbors 에서 한다.
+ */
+@Repository
+public class ComplaintNeighborRepository {
+
+    // 대상 민원의 현재 임베딩을 스칼라 서브쿼리로 넘겨 벡터 인덱스 순서로 top-K 를 뽑는다 (임베딩이 없으면 아무것도 넣지 않는다)
+    private static final String INSERT_FORWARD_EDGES = "INSERT INTO complaint_neighbors (complaint_id, neighbor_id, score, updated_at) "
+            +
+            "SELECT :id, cn.complaint_id, 1 - (cn.{col} <=> " + query("{col}") + "), CURRENT_TIMESTAMP " +
+            "FROM complaint_normalizations cn " +
+            "WHERE cn.is_current = true AND cn.{col} IS NOT NULL AND cn.complaint_id <> :id " +
+            "AND " + query("{col}") + " IS NOT NULL " +
+            "ORDER BY cn.{col} <=> " + query("{col}") + " LIMIT :k " +
+            "ON CONFLICT (complaint_id, neighbor_id) DO UPDATE " +
+            "SET score = EXCLUDED.score, updated_at = EXCLUDED.updated_at";
+
+    /**
+     * 조각 임베딩 포함 버전: 전체 임베딩 후보와 조각 임베딩 후보를 candidates 개씩 뽑아 민원별 최소 거리(max-sim)로 top-K.
+     * 질의 쪽은 대상 민원의 전체 임베딩 하나라, 역방향 간선 점수는 근사치다 (주기 재계산에서 양쪽 모두 다시 계산됨).
+     */
+    private static final String INSERT_FORWARD_EDGES_MAX_SIM = "INSERT INTO complaint_neighbors (complaint_id, neighbor_id, score, updated_at) "
+            +
+            "SELECT :id, h.complaint_id, 1 - MIN(h.dist), CURRENT_TIMESTAMP FROM ( " +
+            "  (SELECT cn.complaint_id, cn.{col} <=> " + query("{col}") + " AS dist " +
+            "   FROM complaint_normalizations cn " +
+            "   WHERE cn.is_current = true AND cn.{col} IS NOT NULL AND cn.complaint_id <> :id " +
+            "   ORDER BY cn.{col} <=> " + query("{col}") + " LIMIT :candidates) " +
+            "  UNION ALL " +
+            "  (SELECT ce.complaint_id, ce.embedding_half <=> " + query("embedding_half") + " AS dist " +
+            "   FROM complaint_chunk_embeddings ce WHERE ce.complaint_id <> :id " +
+            "   ORDER BY ce.embedding_half <=> " + query("embedding_half") + " LIMIT :candidates) " +
+            ") h WHERE h.dist IS NOT NULL " +
+            "GROUP BY h.complaint_id ORDER BY MIN(h.dist) LIMIT :k " +
+            "ON CONFLICT (complaint_id, neighbor_id) DO UPDATE " +
+            "SET score = EXCLUDED.score, updated_at = EXCLUDED.updated_at";
+
+    // 스칼라 서브쿼리라야 상수로 취급돼 HNSW 정렬 인덱스를 탄다
+    private static String query(String column) {
+        return "(SELECT " + column + " FROM complaint_normalizations " +
+                "WHERE complaint_id = :id AND is_current = true AND embedding IS NOT NULL ORDER BY id DESC LIMIT 1)";
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final String insertForwardEdges;
+    private final boolean chunkMaxSim;
+    private final int chunkCandidates;
+
+    public ComplaintNeighborRepository(
+            @Value("${app.similarity.embedding-precision:SINGLE}") EmbeddingPrecision precision,
+            @Value("${app.similarity.chunks.max-sim:false}") boolean chunkMaxSim,
+            @Value("${app.similarity.chunks.candidates:40}") int chunkCandidates) {
+        this.chunkMaxSim = chunkMaxSim;
+        this.chunkCandidates = chunkCandidates;
+        this.insertForwardEdges = (chunkMaxSim ? INSERT_FORWARD_EDGES_MAX_SIM : INSERT_FORWARD_EDGES)
+                .replace("{col}", precision.column());
+    }
+
+    // 정방향 간선(id → 이웃)을 현재 인덱스 기준으로 다시 계산
+    public int replaceForwardEdges(Long complaintId, int k) {
+        entityManager.createNativeQuery("DELETE FROM complaint_neighbors WHERE complaint_id = :id")
+                .setParameter("id", complaintId)
+                .executeUpdate();
+        Query insert = entityManager.createNativeQuery(insertForwardEdges)
+                .setParameter("id", complaintId)
+                .setParameter("k", k);
+        if (chunkMaxSim) {
+            insert.setParameter("candidates", Math.max(chunkCandidates, k));
+        }
+        return insert.executeUpdate();
+    }
+
+    /**
+     * 역방향 간선(이웃 → id)을 넣고, top-K 를 넘친 이웃의 목록만 잘라낸다.
+     * 새 민원이 이웃의 K 번째보다 가까우면 그 이웃의 목록이 바뀌고, 아니면 곧바로 잘려 나간다.
+     */
+    public int mergeReverseEdges(Long complaintId, int k) {
+        entityManager.createNativeQuery(
+                "INSERT INTO complaint_neighbors (complaint_id, neighbor_id, score, updated_at) " +
+                        "SELECT neighbor_id, complaint_id, score, CURRENT_TIMESTAMP FROM complaint_neighbors " +
+                        "WHERE complaint_id = :id " +
+                        "ON CONFLICT (complaint_id, neighbor_id) DO UPDATE " +
+                        "SET score = EXCLUDED.score, updated_at = EXCLUDED.updated_at")
+                .setParameter("id", complaintId)
+                .executeUpdate();
+
+        return entityManager.createNativeQuery(
+                "DELETE FROM complaint_neighbors e USING ( " +
+                        "  SELECT complaint_id, neighbor_id, " +
+                        "         ROW_NUMBER() OVER (PARTITION BY complaint_id ORDER BY score DESC, neighbor_id) AS rn "
+                        +
+                        "  FROM complaint_neighbors " +
+                        "  WHERE complaint_id IN (SELECT neighbor_id FROM complaint_neighbors WHERE complaint_id = :id) "
+                        +
+                        ") ranked " +
+                        "WHERE e.complaint_id = ranked.complaint_id AND e.neighbor_id = ranked.neighbor_id " +
+                        "AND ranked.rn > :k")
+                .setParameter("id", complaintId)
+                .setParameter("k", k)
+                .executeUpdate();
+    }
+
+    // 양 끝 중 하나라도 현재 임베딩이 없어진 간선 (재계산 대상에서 빠져 정방향 교체로는 지워지지 않는다)
+    public int deleteOrphanedEdges() {
+        return entityManager.createNativeQuery(
+                "DELETE FROM complaint_neighbors e " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM complaint_normalizations cn " +
+                        "  WHERE cn.complaint_id = e.complaint_id AND cn.is_current = true AND cn.embedding IS NOT NULL) " +
+                        "OR NOT EXISTS (SELECT 1 FROM complaint_normalizations cn " +
+                        "  WHERE cn.complaint_id = e.neighbor_id AND cn.is_current = true AND cn.embedding IS NOT NULL)")
+                .executeUpdate();
+    }
+
+    // 재계산 대상: 현재 임베딩이 있는 모든 민원 ID
+    public List<Long> findEmbeddedComplaintIds() {
+        @SuppressWarnings("unchecked")
+        List<Object> rows = entityManager.createNativeQuery(
+                "SELECT DISTINCT complaint_id FROM complaint_normalizations " +
+                        "WHERE is_current = true AND embedding IS NOT NULL ORDER BY complaint_id")
+                .getResultList();
+        return rows.stream()
+                .map(row -> ((Number) row).longValue())
+                .collect(Collectors.toList());
+    }
+}
@@ -11,6 +11,13 @@ import jakarta.transaction.Transactional;
 
 public interface ComplaintNormalizationRepository extends JpaRepository<ComplaintNormalization, Long> {
 
+        // 민원별 현재 행은 하나뿐이므로 (uq_complaint_normalizations_current) 새 현재 행을 넣기 전에 내린다
+        @Modifying
+        @Transactional
+        @Query(value = "UPDATE complaint_normalizations SET is_current = false " +
+                        "WHERE complaint_id = :complaintId AND is_current = true", nativeQuery = true)
+        void retireCurrent(@Param("complaintId") Long complaintId);
+
         @Modifying
         @Transactional
         @Query(value = "INSERT INTO complaint_normalizations " +
@@ -1,5 +1,6 @@
 package com.smart.complaint.routing_system.applicant.repository;
 
+import com.smart.complaint.routing_system.applicant.dto.AnswerSuggestionDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintDetailResponse;
 import com.smart.complaint.routing_system.applicant.dto.ChildComplaintDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintDetailDto;
@@ -11,6 +12,8 @@ import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchCondition
 import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintStatDto;
 import com.smart.complaint.routing_system.applicant.dto.KeywordsDto;
+import com.smart.complaint.routing_system.applicant.dto.RoutingNeighborDto;
+import com.smart.complaint.routing_system.applicant.dto.RoutingSampleDto;
 import com.smart.complaint.routing_system.applicant.dto.AdminDashboardStatsDto.*;
 import java.time.LocalDateTime;
 
@@ -23,6 +26,8 @@ public interface ComplaintRepositoryCustom {
 
     List<ComplaintSearchResult> findSimilarComplaint(double[] queryEmbedding, int limit);
 
+    List<ComplaintSearchResult> findGraphNeighbors(Long complaintId, int limit);
+
     public ComplaintDetailResponse getComplaintDetail(Long complaintId);
 
     List<ComplaintDto> findTop3RecentComplaintByApplicantId(Long id);
@@ -41,6 +46,8 @@ public interface ComplaintRepositoryCustom {
 
     Double getAiAccuracy(LocalDateTime start, LocalDateTime end);
 
+    List<RoutingAgreementDto> getRoutingAgreement(LocalDateTime start, LocalDateTime end);
+
     List<CategoryStatDto> getCategoryStats(LocalDateTime start, LocalDateTime end);
 
     List<RecurringIncidentDto> getTopRecurringIncidents(LocalDateTime start, LocalDateTime end, LocalDateTime prevStart,
@@ -51,4 +58,13 @@ public interface ComplaintRepositoryCustom {
     ComplaintStatDto geComplaintStatus();
 
     List<KeywordsDto> calculateKeywords();
+
+    List<RoutingNeighborDto> findRoutedNeighbors(float[] embedding, int limit, Long excludeComplaintId,
+            Long unassignedDepartmentId);
+
+    List<RoutingSampleDto> findRecentRoutedSamples(int limit, Long unassignedDepartmentId);
+
+    List<AnswerSuggestionDto> findAnsweredNeighbors(Long complaintId, double minSimilarity, int limit);
+
+    List<Long> findComplaintIdsWithin(Long complaintId, double minSimilarity, int limit);
 }
\ No newline at end of file
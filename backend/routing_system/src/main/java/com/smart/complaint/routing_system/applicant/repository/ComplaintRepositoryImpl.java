@@ -5,10 +5,14 @@ import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.core.types.dsl.NumberTemplate;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
+import com.smart.complaint.routing_system.applicant.domain.EmbeddingPrecision;
+import com.smart.complaint.routing_system.applicant.domain.VectorSearchMode;
+import com.smart.complaint.routing_system.applicant.dto.AnswerSuggestionDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintDetailResponse;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintResponse;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchCondition;
@@ -23,16 +27,20 @@ import com.smart.complaint.routing_system.applicant.dto.AdminDashboardStatsDto.*
 import com.smart.complaint.routing_system.applicant.dto.CategoryAvgDto;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintListDto;
+import com.smart.complaint.routing_system.applicant.dto.RoutingNeighborDto;
+import com.smart.complaint.routing_system.applicant.dto.RoutingSampleDto;
 
 import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -115,6 +123,17 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
 
         @Override
         public List<ComplaintSearchResult> findSimilarComplaint(double[] queryEmbedding, int limit) {
+                if (searchMode == VectorSearchMode.TWO_STAGE) {
+                        return findSimilarComplaintTwoStage(queryEmbedding, limit);
+                }
+                if (chunkMaxSim) {
+                        return findSimilarComplaintMaxSim(queryEmbedding, limit,
+                                        "(SELECT cn.complaint_id, cn.embedding <=> CAST(:query AS vector) AS dist " +
+                                                        "FROM complaint_normalizations cn " +
+                                                        "WHERE cn.is_current = true AND cn.embedding IS NOT NULL " +
+                                                        "ORDER BY cn.embedding <=> CAST(:query AS vector) LIMIT :candidates)",
+                                        chunkCandidates);
+                }
                 String vectorString = java.util.Arrays.toString(queryEmbedding);
                 NumberTemplate<Double> similarity = Expressions.numberTemplate(Double.class,
                                 "1 - ({0} <-> cast({1} as vector))",
@@ -135,6 +154,84 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                                 .fetch();
         }
 
+        /**
+         * 2단계 검색: 임베딩 앞쪽 prefixDimensions 차원(text-embedding-3 는 앞쪽 차원에 정보가 몰리도록 학습됨)으로
+         * shortlist 개 후보를 뽑고, 후보만 1024차원 전체 코사인으로 다시 정렬한다.
+         * 1단계 식은 V5 의 표현식 HNSW 인덱스와 똑같아야 인덱스를 탄다 (기본 256차원).
+         */
+        private List<ComplaintSearchResult> findSimilarComplaintTwoStage(double[] queryEmbedding, int limit) {
+                int dims = Math.min(prefixDimensions, queryEmbedding.length);
+                String prefix = "subvector(%s, 1, " + dims + ")::vector(" + dims + ")";
+                String bodyHits = "SELECT s.complaint_id, s.embedding <=> CAST(:query AS vector) AS dist FROM ( " +
+                                "  SELECT cn.complaint_id, cn.embedding FROM complaint_normalizations cn " +
+                                "  WHERE cn.is_current = true AND cn.embedding IS NOT NULL " +
+                                "  ORDER BY " + String.format(prefix, "cn.embedding") + " <=> "
+                                + String.format(prefix, "CAST(:query AS vector)") +
+                                "  LIMIT :shortlist) s";
+                return findSimilarComplaintMaxSim(queryEmbedding, limit, bodyHits, Math.max(shortlist, limit));
+        }
+
+        /**
+         * 민원 전체 임베딩 후보(bodyHits)와 조각 임베딩 후보를 합쳐 민원별 최소 거리(max-sim)로 정렬한다.
+         * 두 쪽 모두 인덱스 순서로 후보 수만큼만 읽으므로, 민원당 조각이 늘어도 읽는 행 수는 늘지 않는다.
+         * 질의 벡터는 바인드 파라미터로 직접 넘긴다 (조인한 값이면 HNSW 정렬 인덱스를 타지 못한다).
+         * HNSW 는 ef_search 보다 많이 돌려주지 않아 후보 수 이상으로 올려 둔다.
+         */
+        private List<ComplaintSearchResult> findSimilarComplaintMaxSim(double[] queryEmbedding, int limit,
+                        String bodyHits, int candidates) {
+                String hits = chunkMaxSim ? bodyHits + " UNION ALL " + CHUNK_HITS : bodyHits;
+                String sql = "SELECT c.id, c.title, c.body, 1 - MIN(h.dist) AS score " +
+                                "FROM (" + hits + ") h JOIN complaints c ON c.id = h.complaint_id " +
+                                "GROUP BY c.id, c.title, c.body " +
+                                "ORDER BY MIN(h.dist) LIMIT :limit";
+
+                raiseEfSearch(candidates);
+
+                Query query = entityManager.createNativeQuery(sql)
+                                .setParameter("query", java.util.Arrays.toString(queryEmbedding))
+                                .setParameter("limit", limit);
+                if (sql.contains(":shortlist")) {
+                        query.setParameter("shortlist", candidates);
+                }
+                if (sql.contains(":candidates")) {
+                        query.setParameter("candidates", candidates);
+                }
+
+                @SuppressWarnings("unchecked")
+                List<Object[]> rows = query.getResultList();
+
+                return rows.stream()
+                                .map(row -> new ComplaintSearchResult(
+                                                ((Number) row[0]).longValue(),
+                                                (String) row[1],
+                                                (String) row[2],
+                                                ((Number) row[3]).doubleValue()))
+                                .collect(Collectors.toList());
+        }
+
+        // 미리 계산된 유사 민원 그래프(complaint_neighbors)에서 인덱스 조회 한 번으로 가져온다
+        @Override
+        public List<ComplaintSearchResult> findGraphNeighbors(Long complaintId, int limit) {
+                String sql = "SELECT c.id, c.title, c.body, n.score " +
+                                "FROM complaint_neighbors n JOIN complaints c ON c.id = n.neighbor_id " +
+                                "WHERE n.complaint_id = :id " +
+                                "ORDER BY n.score DESC LIMIT :limit";
+
+                @SuppressWarnings("unchecked")
+                List<Object[]> rows = entityManager.createNativeQuery(sql)
+                                .setParameter("id", complaintId)
+                                .setParameter("limit", limit)
+                                .getResultList();
+
+                return rows.stream()
+                                .map(row -> new ComplaintSearchResult(
+                                                ((Number) row[0]).longValue(),
+                                                (String) row[1],
+                                                (String) row[2],
+                                                ((Number) row[3]).doubleValue()))
+                                .collect(Collectors.toList());
+        }
+
         @Override
         public List<ComplaintDto> findTop3RecentComplaintByApplicantId(Long applicantId) {
                 QComplaint complaint = QComplaint.complaint;
@@ -281,6 +378,7 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 }
                 ComplaintDetailResponse res = new ComplaintDetailResponse(c, n, c.getIncident(), iCount, deptName);
                 res.setManagerName(mgrName);
+                res.setSimilarComplaints(findGraphNeighbors(complaintId, 5));
                 return res;
         }
 
@@ -515,6 +613,45 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                 return Math.round(accuracy * 10) / 10.0;
         }
 
+        @Override
+        public List<RoutingAgreementDto> getRoutingAgreement(LocalDateTime start, LocalDateTime end) {
+                // 신뢰도를 0.1 단위 구간으로 묶어 엔진별 일치율을 본다
+                NumberTemplate<Integer> band = Expressions.numberTemplate(Integer.class,
+                                "cast(floor({0} * 10) as integer)", complaint.routingConfidence);
+                NumberExpression<Long> matchedSum = new CaseBuilder()
+                                .when(complaint.aiPredictedDepartmentId.eq(complaint.currentDepartmentId))
+                                .then(1L)
+                                .otherwise(0L)
+                                .sum();
+
+                List<Tuple> rows = queryFactory
+                                .select(complaint.routingEngine, band, complaint.count(), matchedSum)
+                                .from(complaint)
+                                .where(complaint.receivedAt.between(start, end)
+                                                .and(complaint.routingEngine.isNotNull())
+                                                .and(complaint.routingConfidence.isNotNull())
+                                                .and(complaint.aiPredictedDepartmentId.isNotNull()))
+                                .groupBy(complaint.routingEngine, band)
+                                .orderBy(complaint.routingEngine.asc(), band.asc())
+                                .fetch();
+
+                List<RoutingAgreementDto> result = new ArrayList<>(rows.size());
+                for (Tuple row : rows) {
+                        long total = row.get(complaint.count());
+                        Long matchedValue = row.get(matchedSum);
+                        long matched = matchedValue != null ? matchedValue : 0L;
+                        Integer bandValue = row.get(band);
+                        double accuracy = total == 0 ? 0.0 : Math.round((double) matched / total * 1000) / 10.0;
+                        result.add(new RoutingAgreementDto(
+                                        row.get(complaint.routingEngine).name(),
+                                        bandValue != null ? Math.min(bandValue, 10) / 10.0 : 0.0,
+                                        total,
+                                        matched,
+                                        accuracy));
+                }
+                return result;
+        }
+
         @Override
         public ComplaintStatDto geComplaintStatus() {
 
@@ -569,6 +706,32 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
         @PersistenceContext
         private EntityManager entityManager;
 
+        @Value("${app.similarity.embedding-precision:SINGLE}")
+        private EmbeddingPrecision embeddingPrecision;
+
+        @Value("${app.similarity.search.mode:EXACT}")
+        private VectorSearchMode searchMode;
+
+        @Value("${app.similarity.search.prefix-dimensions:256}")
+        private int prefixDimensions;
+
+        @Value("${app.similarity.search.shortlist:100}")
+        private int shortlist;
+
+        @Value("${app.similarity.chunks.max-sim:false}")
+        private boolean chunkMaxSim;
+
+        @Value("${app.similarity.chunks.candidates:40}")
+        private int chunkCandidates;
+
+        // 조각 임베딩 후보 (halfvec HNSW, V6). 조각 점수는 half 정밀도로 계산된다.
+        private static final String CHUNK_HITS = "(SELECT ce.complaint_id, " +
+                        "ce.embedding_half <=> CAST(:query AS halfvec) AS dist FROM complaint_chunk_embeddings ce " +
+                        "ORDER BY ce.embedding_half <=> CAST(:query AS halfvec) LIMIT :candidates)";
+
+        // 답변 추천은 답변이 확정된 민원만 남기므로 limit 보다 넉넉히 후보를 읽는다
+        private static final int ANSWERED_SCAN_FACTOR = 4;
+
         @Override
         public List<KeywordsDto> calculateKeywords() {
                 String sql = "SELECT word as text, count(*) as value " +
@@ -606,4 +769,159 @@ public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
                                 .where(complaint.id.eq(id))
                                 .fetchOne();
         }
-}
\ No newline at end of file
+
+        /**
+         * 라우팅 투표용 이웃. 조각 임베딩이 켜져 있으면 전체/조각 후보를 합쳐 민원별 max-sim 으로 점수를 매긴다.
+         * 부서 조건은 후보를 뽑은 뒤에 거른다 (HNSW 후보 수가 ef_search 기본값 40 을 넘지 않게 candidates 를 잡는다).
+         */
+        @Override
+        public List<RoutingNeighborDto> findRoutedNeighbors(float[] embedding, int limit, Long excludeComplaintId,
+                        Long unassignedDepartmentId) {
+                String col = "cn." + embeddingPrecision.column();
+                String query = "CAST(:query AS " + embeddingPrecision.sqlType() + ")";
+                String sql;
+                if (chunkMaxSim) {
+                        sql = "SELECT c.id, c.current_department_id, c.received_at, 1 - MIN(h.dist) AS sim FROM ( " +
+                                        "  (SELECT cn.complaint_id, " + col + " <=> " + query + " AS dist " +
+                                        "   FROM complaint_normalizations cn " +
+                                        "   WHERE cn.is_current = true AND cn.complaint_id <> :excludeId " +
+                                        "   ORDER BY " + col + " <=> " + query + " LIMIT :candidates) " +
+                                        "  UNION ALL " +
+                                        "  (SELECT ce.complaint_id, ce.embedding_half <=> CAST(:query AS halfvec) " +
+                                        "   FROM complaint_chunk_embeddings ce WHERE ce.complaint_id <> :excludeId " +
+                                        "   ORDER BY ce.embedding_half <=> CAST(:query AS halfvec) LIMIT :candidates) " +
+                                        ") h JOIN complaints c ON c.id = h.complaint_id " +
+                                        "WHERE c.current_department_id IS NOT NULL AND c.current_department_id <> :unassigned " +
+                                        "GROUP BY c.id, c.current_department_id, c.received_at " +
+                                        "ORDER BY MIN(h.dist) LIMIT :limit";
+                } else {
+                        sql = "SELECT c.id, c.current_department_id, c.received_at, " +
+                                        "1 - (" + col + " <=> " + query + ") AS sim " +
+                                        "FROM complaint_normalizations cn JOIN complaints c ON c.id = cn.complaint_id " +
+                                        "WHERE cn.is_current = true AND c.current_department_id IS NOT NULL " +
+                                        "AND c.current_department_id <> :unassigned AND c.id <> :excludeId " +
+                                        "ORDER BY " + col + " <=> " + query + " LIMIT :limit";
+                }
+
+                Query nativeQuery = entityManager.createNativeQuery(sql)
+                                .setParameter("query", java.util.Arrays.toString(embedding))
+                                .setParameter("unassigned", unassignedDepartmentId)
+                                .setParameter("excludeId", excludeComplaintId != null ? excludeComplaintId : -1L)
+                                .setParameter("limit", limit);
+                if (chunkMaxSim) {
+                        nativeQuery.setParameter("candidates", Math.max(chunkCandidates, limit));
+                }
+
+                @SuppressWarnings("unchecked")
+                List<Object[]> rows = nativeQuery.getResultList();
+
+                return rows.stream()
+                                .map(row -> new RoutingNeighborDto(
+                                                ((Number) row[0]).longValue(),
+                                                ((Number) row[1]).longValue(),
+                                                toLocalDateTime(row[2]),
+                                                ((Number) row[3]).doubleValue()))
+                                .collect(Collectors.toList());
+        }
+
+        private static LocalDateTime toLocalDateTime(Object value) {
+                if (value instanceof Timestamp ts) {
+                        return ts.toLocalDateTime();
+                }
+                return (LocalDateTime) value;
+        }
+
+        @Override
+        public List<RoutingSampleDto> findRecentRoutedSamples(int limit, Long unassignedDepartmentId) {
+                return queryFactory
+                                .select(Projections.constructor(RoutingSampleDto.class,
+                                                complaint.id,
+                                                complaint.title,
+                                                complaint.body,
+                                                complaint.currentDepartmentId,
+                                                complaint.receivedAt))
+                                .from(complaint)
+                                .where(complaint.currentDepartmentId.isNotNull(),
+                                                complaint.currentDepartmentId.ne(unassignedDepartmentId),
+                                                complaint.status.ne(ComplaintStatus.CANCELED))
+                                .orderBy(complaint.receivedAt.desc())
+                                .limit(limit)
+                                .fetch();
+        }
+
+        /**
+         * 기준 민원의 현재 임베딩과 가까운 순으로 후보를 뽑은 뒤, 답변이 확정된 민원만 임계값으로 거른다.
+         * 후보는 인덱스 순서로 limit 의 ANSWERED_SCAN_FACTOR 배만 읽는다 (질의 벡터가 스칼라 서브쿼리라야 HNSW 를 탄다).
+         */
+        @Override
+        public List<AnswerSuggestionDto> findAnsweredNeighbors(Long complaintId, double minSimilarity, int limit) {
+                String col = embeddingPrecision.column();
+                int scan = limit * ANSWERED_SCAN_FACTOR;
+                String sql = "SELECT c.id, c.title, c.answer, c.closed_at, 1 - h.dist AS sim FROM ( " +
+                                "  SELECT cn.complaint_id, cn." + col + " <=> " + currentEmbedding(col) + " AS dist " +
+                                "  FROM complaint_normalizations cn " +
+                                "  WHERE cn.is_current = true AND cn." + col + " IS NOT NULL AND cn.complaint_id <> :id " +
+                                "  ORDER BY cn." + col + " <=> " + currentEmbedding(col) + " LIMIT :scan) h " +
+                                "JOIN complaints c ON c.id = h.complaint_id " +
+                                "WHERE c.status IN ('RESOLVED', 'CLOSED') AND c.answer IS NOT NULL AND c.answer <> '' " +
+                                "AND 1 - h.dist >= :minSimilarity " +
+                                "ORDER BY h.dist LIMIT :limit";
+
+                raiseEfSearch(scan);
+                @SuppressWarnings("unchecked")
+                List<Object[]> rows = entityManager.createNativeQuery(sql)
+                                .setParameter("id", complaintId)
+                                .setParameter("minSimilarity", minSimilarity)
+                                .setParameter("scan", scan)
+                                .setParameter("limit", limit)
+                                .getResultList();
+
+                return rows.stream()
+                                .map(row -> new AnswerSuggestionDto(
+                                                ((Number) row[0]).longValue(),
+                                                (String) row[1],
+                                                (String) row[2],
+                                                row[3] != null ? toLocalDateTime(row[3]) : null,
+                                                ((Number) row[4]).doubleValue(),
+                                                null))
+                                .collect(Collectors.toList());
+        }
+
+        // 기준 민원과 임계값 이상으로 가까운 민원 ID (답변 추천 캐시 무효화 범위)
+        @Override
+        public List<Long> findComplaintIdsWithin(Long complaintId, double minSimilarity, int limit) {
+                String col = embeddingPrecision.column();
+                String sql = "SELECT h.complaint_id FROM ( " +
+                                "  SELECT cn.complaint_id, cn." + col + " <=> " + currentEmbedding(col) + " AS dist " +
+                                "  FROM complaint_normalizations cn " +
+                                "  WHERE cn.is_current = true AND cn." + col + " IS NOT NULL AND cn.complaint_id <> :id " +
+                                "  ORDER BY cn." + col + " <=> " + currentEmbedding(col) + " LIMIT :limit) h " +
+                                "WHERE 1 - h.dist >= :minSimilarity";
+
+                raiseEfSearch(limit);
+                @SuppressWarnings("unchecked")
+                List<Object> rows = entityManager.createNativeQuery(sql)
+                                .setParameter("id", complaintId)
+                                .setParameter("minSimilarity", minSimilarity)
+                                .setParameter("limit", limit)
+                                .getResultList();
+
+                return rows.stream()
+                                .map(row -> ((Number) row).longValue())
+                                .collect(Collectors.toList());
+        }
+
+        // 기준 민원의 현재 임베딩 (스칼라 서브쿼리라 상수로 취급돼 HNSW 정렬 인덱스를 탄다, 없으면 NULL)
+        private static String currentEmbedding(String col) {
+                return "(SELECT " + col + " FROM complaint_normalizations " +
+                                "WHERE complaint_id = :id AND is_current = true AND " + col + " IS NOT NULL " +
+                                "ORDER BY id DESC LIMIT 1)";
+        }
+
+        // HNSW 는 ef_search 보다 많이 돌려주지 않으므로 트랜잭션 안에서 후보 수 이상으로 올려 둔다
+        private void raiseEfSearch(int candidates) {
+                entityManager.createNativeQuery("SELECT set_config('hnsw.ef_search', :ef, true)")
+                                .setParameter("ef", String.valueOf(Math.max(40, candidates)))
+                                .getSingleResult();
+        }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.smart.complaint.routing_system.applicant.entity.Department;
 
@@ -11,4 +12,7 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
     Optional<Department> findByName(String targetDeptName);
     List<Department> findAllByIsActiveTrue();
+
+    @Query("select d from Department d left join fetch d.parent")
+    List<Department> findAllWithParent();
 }
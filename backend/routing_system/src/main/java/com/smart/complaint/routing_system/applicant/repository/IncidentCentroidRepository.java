@@ -0,0 +1,239 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.domain.CentroidSum;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * incident_centroids 읽기/쓰기.
+ * 실시간 연결은 잠금 없이 증감분만 더하고(addDelta), 사건 간 이동/재계산만 사건별 누적 합 한 행을 잠그고 고친다.
+ * 소속 민원 전체를 읽는 건 재계산(reconcile) 때뿐이다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IncidentCentroidRepository {
+
+    private static final String SELECT_OPEN_CENTROIDS = "SELECT i.id, i.keywords, " +
+            "ic.embedding_sum, ic.embedding_count, ic.lat_sum, ic.lon_sum, ic.geo_count " +
+            "FROM incidents i " +
+            "JOIN incident_centroids ic ON ic.incident_id = i.id " +
+            "WHERE i.status = 'OPEN'";
+
+    private static final String SELECT_OPEN_CENTROIDS_BY_IDS = SELECT_OPEN_CENTROIDS + " AND i.id = ANY (?)";
+
+    private static final String INSERT_EMPTY = "INSERT INTO incident_centroids (incident_id) VALUES (?) " +
+            "ON CONFLICT (incident_id) DO NOTHING";
+
+    private static final String SELECT_FOR_UPDATE = "SELECT embedding_sum, embedding_count, lat_sum, lon_sum, geo_count " +
+            "FROM incident_centroids WHERE incident_id = ? FOR UPDATE";
+
+    private static final String UPSERT = "INSERT INTO incident_centroids " +
+            "(incident_id, embedding_sum, embedding_count, lat_sum, lon_sum, geo_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (incident_id) DO UPDATE SET embedding_sum = EXCLUDED.embedding_sum, " +
+            "embedding_count = EXCLUDED.embedding_count, lat_sum = EXCLUDED.lat_sum, lon_sum = EXCLUDED.lon_sum, " +
+            "geo_count = EXCLUDED.geo_count, updated_at = EXCLUDED.updated_at";
+
+    /**
+     * 증감분을 잠금 없이 한 문장으로 더한다 (READ COMMITTED 에서 행 값을 다시 읽어 더하므로 동시 갱신이 덮이지 않는다).
+     * 임베딩 차원이 다르면 (모델 교체 직후) 임베딩 쪽은 건너뛰고 새벽 재계산에 맡긴다.
+     */
+    private static final String ADD_DELTA = "INSERT INTO incident_centroids AS ic " +
+            "(incident_id, embedding_sum, embedding_count, lat_sum, lon_sum, geo_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (incident_id) DO UPDATE SET " +
+            "embedding_sum = CASE WHEN EXCLUDED.embedding_sum IS NULL THEN ic.embedding_sum " +
+            "  WHEN ic.embedding_sum IS NULL THEN EXCLUDED.embedding_sum " +
+            "  WHEN cardinality(ic.embedding_sum) <> cardinality(EXCLUDED.embedding_sum) THEN ic.embedding_sum " +
+            "  ELSE ARRAY(SELECT t.a + t.b FROM unnest(ic.embedding_sum, EXCLUDED.embedding_sum) " +
+            "    WITH ORDINALITY AS t(a, b, n) ORDER BY t.n) END, " +
+            "embedding_count = ic.embedding_count + CASE WHEN ic.embedding_sum IS NOT NULL " +
+            "  AND EXCLUDED.embedding_sum IS NOT NULL " +
+            "  AND cardinality(ic.embedding_sum) <> cardinality(EXCLUDED.embedding_sum) " +
+            "  THEN 0 ELSE EXCLUDED.embedding_count END, " +
+            "lat_sum = ic.lat_sum + EXCLUDED.lat_sum, lon_sum = ic.lon_sum + EXCLUDED.lon_sum, " +
+            "geo_count = ic.geo_count + EXCLUDED.geo_count, updated_at = EXCLUDED.updated_at " +
+            "RETURNING ic.lat_sum, ic.lon_sum, ic.geo_count";
+
+    private static final String UPDATE_INCIDENT_CENTER = "UPDATE incidents SET centroid_lat = ?, centroid_lon = ? " +
+            "WHERE id = ?";
+
+    private static final String SELECT_MEMBERS_BY_IDS = "SELECT c.id, c.lat, c.lon, cn.embedding::text " +
+            "FROM complaints c " +
+            "LEFT JOIN complaint_normalizations cn ON cn.complaint_id = c.id AND cn.is_current = true " +
+            "WHERE c.id = ANY (?)";
+
+    private static final String SELECT_MEMBERS_OF_INCIDENT = "SELECT c.id, c.lat, c.lon, cn.embedding::text " +
+            "FROM complaints c " +
+            "LEFT JOIN complaint_normalizations cn ON cn.complaint_id = c.id AND cn.is_current = true " +
+            "WHERE c.incident_id = ?";
+
+    private static final String SELECT_LINKED_SINCE = "SELECT DISTINCT incident_id FROM complaints " +
+            "WHERE incident_id IS NOT NULL AND incident_linked_at > ?";
+
+    private static final String SELECT_WITHOUT_CENTROID = "SELECT i.id FROM incidents i " +
+            "WHERE NOT EXISTS (SELECT 1 FROM incident_centroids ic WHERE ic.incident_id = i.id)";
+
+    private static final String SELECT_OPEN_IDS = "SELECT id FROM incidents WHERE status = 'OPEN'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Row(Long incidentId, String keywords, CentroidSum sum) {
+    }
+
+    // 민원 한 건의 현재 임베딩과 좌표 (임베딩이 아직 없으면 null)
+    public record Member(Long complaintId, float[] embedding, BigDecimal lat, BigDecimal lon) {
+    }
+
+    public void forEachOpenIncident(Consumer<Row> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_OPEN_CENTROIDS, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(500);
+            return ps;
+        }, (ResultSet rs) -> {
+            consumer.accept(new Row(rs.getLong(1), rs.getString(2), readSum(rs, 3)));
+        });
+    }
+
+    // 지정한 사건 중 OPEN 인 것만 (닫힌 사건은 결과에서 빠진다)
+    public List<Row> findOpenIncidents(Collection<Long> incidentIds) {
+        if (incidentIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_OPEN_CENTROIDS_BY_IDS);
+            ps.setArray(1, con.createArrayOf("bigint", incidentIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2), readSum(rs, 3)));
+    }
+
+    /**
+     * 사건 중심값 행을 잠그고 읽는다 (없으면 빈 행을 먼저 만든다).
+     * 이동/재계산이 같은 사건을 동시에 고쳐도 합이 한쪽 갱신으로 덮이지 않도록 호출하는 트랜잭션 끝까지 잠금을 쥔다.
+     */
+    public CentroidSum lock(Long incidentId) {
+        jdbcTemplate.update(INSERT_EMPTY, incidentId);
+        return jdbcTemplate.queryForObject(SELECT_FOR_UPDATE, (rs, rowNum) -> readSum(rs, 1), incidentId);
+    }
+
+    // 누적 합과 incidents.centroid_lat/lon 을 같이 쓴다
+    public void save(Long incidentId, CentroidSum sum) {
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(UPSERT);
+            ps.setLong(1, incidentId);
+            if (sum.getEmbedding() != null) {
+                ps.setArray(2, toSqlArray(con, sum.getEmbedding()));
+            } else {
+                ps.setNull(2, Types.ARRAY);
+            }
+            ps.setLong(3, sum.getEmbeddingCount());
+            ps.setBigDecimal(4, sum.getLatSum());
+            ps.setBigDecimal(5, sum.getLonSum());
+            ps.setLong(6, sum.getGeoCount());
+            return ps;
+        });
+        jdbcTemplate.update(UPDATE_INCIDENT_CENTER, sum.centroidLat(), sum.centroidLon(), incidentId);
+    }
+
+    // 더하기만 하는 증감분(실시간 연결)을 잠금 없이 반영하고, 좌표가 바뀌었으면 incidents.centroid_lat/lon 도 고친다
+    public void addDelta(Long incidentId, CentroidSum delta) {
+        CentroidSum after = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ADD_DELTA);
+            ps.setLong(1, incidentId);
+            if (delta.getEmbedding() != null) {
+                ps.setArray(2, toSqlArray(con, delta.getEmbedding()));
+            } else {
+                ps.setNull(2, Types.ARRAY);
+            }
+            ps.setLong(3, delta.getEmbeddingCount());
+            ps.setBigDecimal(4, delta.getLatSum());
+            ps.setBigDecimal(5, delta.getLonSum());
+            ps.setLong(6, delta.getGeoCount());
+            return ps;
+        }, rs -> rs.next()
+                ? new CentroidSum(null, 0, rs.getBigDecimal(1), rs.getBigDecimal(2), rs.getLong(3))
+                : null);
+        if (after != null && delta.getGeoCount() != 0) {
+            jdbcTemplate.update(UPDATE_INCIDENT_CENTER, after.centroidLat(), after.centroidLon(), incidentId);
+        }
+    }
+
+    public List<Member> findMembers(Collection<Long> complaintIds) {
+        if (complaintIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_MEMBERS_BY_IDS);
+            ps.setArray(1, con.createArrayOf("bigint", complaintIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> readMember(rs));
+    }
+
+    public void forEachMember(Long incidentId, Consumer<Member> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_MEMBERS_OF_INCIDENT, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(500);
+            ps.setLong(1, incidentId);
+            return ps;
+        }, (ResultSet rs) -> {
+            consumer.accept(readMember(rs));
+        });
+    }
+
+    public List<Long> findIncidentsLinkedSince(LocalDateTime since) {
+        return jdbcTemplate.queryForList(SELECT_LINKED_SINCE, Long.class, Timestamp.valueOf(since));
+    }
+
+    public List<Long> findIncidentsWithoutCentroid() {
+        return jdbcTemplate.queryForList(SELECT_WITHOUT_CENTROID, Long.class);
+    }
+
+    public List<Long> findOpenIncidentIds() {
+        return jdbcTemplate.queryForList(SELECT_OPEN_IDS, Long.class);
+    }
+
+    private static Member readMember(ResultSet rs) throws SQLException {
+        String vector = rs.getString(4);
+        return new Member(rs.getLong(1), vector != null ? PgVectors.parse(vector) : null,
+                rs.getBigDecimal(2), rs.getBigDecimal(3));
+    }
+
+    private static CentroidSum readSum(ResultSet rs, int from) throws SQLException {
+        long[] embedding = null;
+        Array array = rs.getArray(from);
+        if (array != null) {
+            Object[] values = (Object[]) array.getArray();
+            embedding = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                embedding[i] = ((Number) values[i]).longValue();
+            }
+        }
+        return new CentroidSum(embedding, rs.getLong(from + 1), rs.getBigDecimal(from + 2),
+                rs.getBigDecimal(from + 3), rs.getLong(from + 4));
+    }
+
+    private static Array toSqlArray(Connection con, long[] values) throws SQLException {
+        Long[] boxed = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return con.createArrayOf("bigint", boxed);
+    }
+}
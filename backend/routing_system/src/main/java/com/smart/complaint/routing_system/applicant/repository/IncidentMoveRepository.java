@@ -0,0 +1,180 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 사건 간 민원 이동(병합/분리)을 집합 단위 SQL 로 처리한다.
+ * 민원 엔티티를 하나씩 읽고 고치지 않고, 원래 사건별 묶음 조회 1번 + 재지정 UPDATE 1번 + 사건 수치 UPDATE 1번으로 끝낸다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IncidentMoveRepository {
+
+    // 원래 사건별 이동 민원 묶음 (이미 대상 사건 소속인 민원은 제외, 사건이 없던 민원은 incident_id NULL 묶음)
+    private static final String SELECT_SOURCES = "SELECT c.incident_id, array_agg(c.id), " +
+            "COUNT(*) FILTER (WHERE c.status IN ('CLOSED', 'CANCELED')), " +
+            "(SELECT COUNT(*) FROM complaints m WHERE m.incident_id = c.incident_id), " +
+            "MIN(c.received_at), MAX(c.received_at) " +
+            "FROM complaints c " +
+            "WHERE c.id = ANY (?) AND c.incident_id IS DISTINCT FROM ? " +
+            "GROUP BY c.incident_id";
+
+    // 병합: 원래 사건의 소속 민원 전체를 사건별로 묶는다 (언제나 통째 이동)
+    private static final String SELECT_WHOLE_SOURCES = "SELECT c.incident_id, array_agg(c.id ORDER BY c.id), " +
+            "COUNT(*) FILTER (WHERE c.status IN ('CLOSED', 'CANCELED')), COUNT(*), " +
+            "MIN(c.received_at), MAX(c.received_at) " +
+            "FROM complaints c " +
+            "WHERE c.incident_id = ANY (?) AND c.incident_id <> ? " +
+            "GROUP BY c.incident_id";
+
+    private static final String REPOINT = "UPDATE complaints SET incident_id = ?, incident_linked_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ANY (?) AND incident_id IS DISTINCT FROM ?";
+
+    // 사건별 증감분을 한 번에 반영하고 상태도 같은 규칙(진행 중 민원이 있으면 OPEN, 모두 종료면 CLOSED)으로 정한다.
+    // 최초/최근 접수 시각은 대상 사건은 들어온 범위로 넓히고, 민원이 빠진 사건은 재지정 후 소속에서 다시 구한다
+    // (idx_complaints_incident_received 의 양 끝만 읽으므로 소속 수와 상관없다)
+    private static final String APPLY_DELTAS = "UPDATE incidents i SET " +
+            "complaint_count = GREATEST(0, COALESCE(i.complaint_count, 0) + d.total), " +
+            "open_member_count = GREATEST(0, i.open_member_count + d.open), " +
+            "terminal_member_count = GREATEST(0, i.terminal_member_count + d.terminal), " +
+            "status = CASE WHEN i.open_member_count + d.open > 0 THEN CAST('OPEN' AS incident_status) " +
+            "              WHEN i.terminal_member_count + d.terminal > 0 THEN CAST('CLOSED' AS incident_status) " +
+            "              ELSE i.status END, " +
+            "first_received_at = CASE WHEN d.total < 0 " +
+            "    THEN (SELECT MIN(c.received_at) FROM complaints c WHERE c.incident_id = i.id) " +
+            "    ELSE LEAST(i.first_received_at, d.first_received_at) END, " +
+            "last_received_at = CASE WHEN d.total < 0 " +
+            "    THEN (SELECT MAX(c.received_at) FROM complaints c WHERE c.incident_id = i.id) " +
+            "    ELSE GREATEST(i.last_received_at, d.last_received_at) END " +
+            "FROM unnest(?, ?, ?, ?, ?, ?) AS d(incident_id, total, open, terminal, first_received_at, last_received_at) " +
+            "WHERE i.id = d.incident_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param incidentId  원래 사건 ID (사건이 없던 민원 묶음이면 null)
+     * @param whole       원래 사건의 소속 민원이 전부 옮겨지는지 (병합) - 중심값을 행 단위로 넘길 수 있다
+     * @param firstReceivedAt 묶음 안 민원의 최초 접수 시각
+     * @param lastReceivedAt  묶음 안 민원의 최근 접수 시각
+     */
+    public record SourceGroup(Long incidentId, List<Long> complaintIds, int terminalCount, boolean whole,
+            LocalDateTime firstReceivedAt, LocalDateTime lastReceivedAt) {
+
+        public int openCount() {
+            return complaintIds.size() - terminalCount;
+        }
+    }
+
+    public List<SourceGroup> findSources(Long targetIncidentId, Collection<Long> complaintIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SOURCES);
+            ps.setArray(1, con.createArrayOf("bigint", complaintIds.toArray()));
+            ps.setLong(2, targetIncidentId);
+            return ps;
+        }, (rs, rowNum) -> readGroup(rs));
+    }
+
+    public List<SourceGroup> findWholeSources(Long targetIncidentId, Collection<Long> sourceIncidentIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_WHOLE_SOURCES);
+            ps.setArray(1, con.createArrayOf("bigint", sourceIncidentIds.toArray()));
+            ps.setLong(2, targetIncidentId);
+            return ps;
+        }, (rs, rowNum) -> readGroup(rs));
+    }
+
+    public int repoint(Long targetIncidentId, Collection<Long> complaintIds) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(REPOINT);
+            ps.setLong(1, targetIncidentId);
+            ps.setArray(2, con.createArrayOf("bigint", complaintIds.toArray()));
+            ps.setLong(3, targetIncidentId);
+            return ps;
+        });
+    }
+
+    /** 원래 사건마다 빠진 만큼, 대상 사건에 들어온 만큼 민원 수/접수 시각/상태를 한 문장으로 고친다. 재지정 뒤에 부른다 */
+    public int applyDeltas(Long targetIncidentId, List<SourceGroup> sources) {
+        // 사건 ID → {전체, 진행 중, 종료} 증감분. ID 순으로 넘겨 잠금 순서를 고정한다
+        Map<Long, int[]> deltas = new TreeMap<>();
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (SourceGroup group : sources) {
+            first = earlier(first, group.firstReceivedAt());
+            last = later(last, group.lastReceivedAt());
+            int[] target = deltas.computeIfAbsent(targetIncidentId, k -> new int[3]);
+            target[0] += group.complaintIds().size();
+            target[1] += group.openCount();
+            target[2] += group.terminalCount();
+            if (group.incidentId() != null) {
+                int[] source = deltas.computeIfAbsent(group.incidentId(), k -> new int[3]);
+                source[0] -= group.complaintIds().size();
+                source[1] -= group.openCount();
+                source[2] -= group.terminalCount();
+            }
+        }
+        Long[] ids = deltas.keySet().toArray(new Long[0]);
+        Integer[][] columns = new Integer[3][ids.length];
+        Timestamp[] firsts = new Timestamp[ids.length];
+        Timestamp[] lasts = new Timestamp[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            int[] delta = deltas.get(ids[row]);
+            for (int col = 0; col < 3; col++) {
+                columns[col][row] = delta[col];
+            }
+            // 원래 사건 쪽은 SQL 에서 소속으로 다시 구하므로 대상 사건에만 넘긴다
+            if (ids[row].equals(targetIncidentId)) {
+                firsts[row] = first != null ? Timestamp.valueOf(first) : null;
+                lasts[row] = last != null ? Timestamp.valueOf(last) : null;
+            }
+        }
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(APPLY_DELTAS);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("integer", columns[0]));
+            ps.setArray(3, con.createArrayOf("integer", columns[1]));
+            ps.setArray(4, con.createArrayOf("integer", columns[2]));
+            ps.setArray(5, con.createArrayOf("timestamp", firsts));
+            ps.setArray(6, con.createArrayOf("timestamp", lasts));
+            return ps;
+        });
+    }
+
+    private static SourceGroup readGroup(ResultSet rs) throws SQLException {
+        Long incidentId = rs.getObject(1) != null ? rs.getLong(1) : null;
+        Array ids = rs.getArray(2);
+        List<Long> members = new ArrayList<>();
+        for (Object id : (Object[]) ids.getArray()) {
+            members.add(((Number) id).longValue());
+        }
+        boolean whole = incidentId != null && rs.getLong(4) == members.size();
+        return new SourceGroup(incidentId, members, rs.getInt(3), whole,
+                toLocalDateTime(rs.getTimestamp(5)), toLocalDateTime(rs.getTimestamp(6)));
+    }
+
+    private static LocalDateTime earlier(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isBefore(a)) ? b : a;
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.repository.IncidentMoveRepository.SourceGroup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * incident_operations (사건 병합/분리 되돌리기 기록) 읽기/쓰기.
+ * 민원별 이전 사건 ID 를 원래 사건 단위 묶음으로 압축해 배열 3개(민원 ID, 원래 사건 ID, 묶음 크기)로 저장한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IncidentOperationRepository {
+
+    public static final String MERGE = "MERGE";
+    public static final String SPLIT = "SPLIT";
+
+    private static final String INSERT = "INSERT INTO incident_operations " +
+            "(op_type, target_incident_id, created_incident, complaint_ids, source_incident_ids, source_sizes) " +
+            "VALUES (?, ?, ?, ?, ?, ?) RETURNING id";
+
+    private static final String SELECT_FOR_UPDATE = "SELECT id, op_type, target_incident_id, created_incident, " +
+            "complaint_ids, source_incident_ids, source_sizes, undone_at IS NOT NULL " +
+            "FROM incident_operations WHERE id = ? FOR UPDATE";
+
+    private static final String MARK_UNDONE = "UPDATE incident_operations SET undone_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND undone_at IS NULL";
+
+    // 되돌리기 시점에 아직 대상 사건에 남아 있는 민원만 (그 뒤 다른 사건으로 옮겨진 민원은 건드리지 않는다)
+    private static final String SELECT_STILL_IN_TARGET = "SELECT id FROM complaints " +
+            "WHERE id = ANY (?) AND incident_id = ?";
+
+    private static final String CLOSE_IF_EMPTY = "UPDATE incidents i SET status = CAST('CLOSED' AS incident_status), " +
+            "closed_at = CURRENT_TIMESTAMP " +
+            "WHERE i.id = ? AND NOT EXISTS (SELECT 1 FROM complaints c WHERE c.incident_id = i.id)";
+
+    // 되돌리기로 민원이 돌아와 진행 중 민원이 생긴 사건 (병합 때 닫힌 원래 사건)을 다시 연다
+    private static final String REOPEN_IF_ACTIVE = "UPDATE incidents SET status = CAST('OPEN' AS incident_status), " +
+            "closed_at = NULL WHERE id = ? AND open_member_count > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param sources 원래 사건 ID → 그 사건에서 온 민원 ID (기록 순서 유지)
+     */
+    public record Operation(Long id, String type, Long targetIncidentId, boolean createdIncident,
+            Map<Long, List<Long>> sources, boolean undone) {
+    }
+
+    /** 이동한 묶음을 그대로 압축해 기록하고 기록 ID 를 돌려준다 */
+    public Long record(String type, Long targetIncidentId, boolean createdIncident, List<SourceGroup> groups) {
+        List<Long> complaintIds = new ArrayList<>();
+        Long[] sourceIds = new Long[groups.size()];
+        Integer[] sizes = new Integer[groups.size()];
+        for (int i = 0; i < groups.size(); i++) {
+            SourceGroup group = groups.get(i);
+            complaintIds.addAll(group.complaintIds());
+            sourceIds[i] = group.incidentId();
+            sizes[i] = group.complaintIds().size();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT);
+            ps.setString(1, type);
+            ps.setLong(2, targetIncidentId);
+            ps.setBoolean(3, createdIncident);
+            ps.setArray(4, con.createArrayOf("bigint", complaintIds.toArray()));
+            ps.setArray(5, con.createArrayOf("bigint", sourceIds));
+            ps.setArray(6, con.createArrayOf("integer", sizes));
+            return ps;
+        }, rs -> {
+            rs.next();
+            return rs.getLong(1);
+        });
+    }
+
+    // 같은 기록을 동시에 되돌리지 않도록 행을 잠그고 읽는다
+    public Optional<Operation> lock(Long operationId) {
+        return jdbcTemplate.query(SELECT_FOR_UPDATE, (rs, rowNum) -> {
+            long[] complaintIds = longs(rs.getArray(5));
+            long[] sourceIds = longs(rs.getArray(6));
+            long[] sizes = longs(rs.getArray(7));
+            Map<Long, List<Long>> sources = new LinkedHashMap<>();
+            int offset = 0;
+            for (int i = 0; i < sourceIds.length; i++) {
+                List<Long> members = sources.computeIfAbsent(sourceIds[i], k -> new ArrayList<>());
+                for (int j = 0; j < sizes[i]; j++) {
+                    members.add(complaintIds[offset++]);
+                }
+            }
+            return new Operation(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getBoolean(4), sources,
+                    rs.getBoolean(8));
+        }, operationId).stream().findFirst();
+    }
+
+    public boolean markUndone(Long operationId) {
+        return jdbcTemplate.update(MARK_UNDONE, operationId) > 0;
+    }
+
+    public List<Long> findStillIn(Long incidentId, Collection<Long> complaintIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_STILL_IN_TARGET);
+            ps.setArray(1, con.createArrayOf("bigint", complaintIds.toArray()));
+            ps.setLong(2, incidentId);
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    /**
+     * 병합으로 비워진 원래 사건, 되돌리기 후 빈 분리 사건을 CLOSED 로 닫는다.
+     * 지우지 않는 건 실시간 연결기의 메모리 중심값이 다음 적재 전까지 그 사건을 가리킬 수 있어서다.
+     */
+    public boolean closeIfEmpty(Long incidentId) {
+        return jdbcTemplate.update(CLOSE_IF_EMPTY, incidentId) > 0;
+    }
+
+    public boolean reopenIfActive(Long incidentId) {
+        return jdbcTemplate.update(REOPEN_IF_ACTIVE, incidentId) > 0;
+    }
+
+    private static long[] longs(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = ((Number) values[i]).longValue();
+        }
+        return result;
+    }
+}
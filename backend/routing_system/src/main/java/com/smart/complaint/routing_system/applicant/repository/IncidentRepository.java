@@ -1,12 +1,88 @@
 package com.smart.complaint.routing_system.applicant.repository;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import com.smart.complaint.routing_system.applicant.entity.Incident;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface IncidentRepository extends JpaRepository<Incident, Long>, IncidentRepositoryCustom {
 
-    @Query("SELECT i FROM Incident i WHERE i.status = 'OPEN' AND i.complaintCount >= 5 ORDER BY i.closedAt DESC")
-    List<Incident> findMajorIncidents();
+    long countByIdIn(Collection<Long> ids);
+
+    // 민원 5건 이상 OPEN 사건을 최근 접수 순으로 (idx_incidents_major_recent 범위 스캔 + DB 페이지)
+    @Query(value = "SELECT i FROM Incident i WHERE i.status = 'OPEN' AND i.complaintCount >= 5 " +
+            "ORDER BY i.lastReceivedAt DESC NULLS LAST, i.id DESC",
+            countQuery = "SELECT COUNT(i) FROM Incident i WHERE i.status = 'OPEN' AND i.complaintCount >= 5")
+    Page<Incident> findMajorIncidents(Pageable pageable);
+
+    /**
+     * 민원 한 건이 사건에 연결될 때 사건 집계를 한 문장으로 고친다.
+     * 민원 수(동시에 여러 민원이 붙어도 누락되지 않게 DB 에서 더한다), 진행 중/종료 민원 수,
+     * 최초/최근 접수 시각(LEAST/GREATEST 는 NULL 을 건너뛴다),
+     * 그리고 상태(진행 중 민원이 하나라도 있으면 OPEN, 모두 종료면 CLOSED, 소속이 비면 그대로).
+     * SET 절의 컬럼은 갱신 전 값이라 CASE 에서도 증감분을 더해 판단한다.
+     * 영속성 컨텍스트를 통째로 비우면(clearAutomatically) 호출하는 쪽이 들고 있는 민원 엔티티까지 분리되므로,
+     * 갱신 뒤에는 refreshIfLoaded 로 이미 읽어 둔 사건 엔티티만 다시 읽는다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE incidents SET " +
+            "complaint_count = COALESCE(complaint_count, 0) + 1, " +
+            "open_member_count = GREATEST(0, open_member_count + :open), " +
+            "terminal_member_count = GREATEST(0, terminal_member_count + :terminal), " +
+            "first_received_at = LEAST(first_received_at, CAST(:receivedAt AS timestamp)), " +
+            "last_received_at = GREATEST(last_received_at, CAST(:receivedAt AS timestamp)), " +
+            "status = CASE WHEN open_member_count + :open > 0 THEN CAST('OPEN' AS incident_status) " +
+            "              WHEN terminal_member_count + :terminal > 0 THEN CAST('CLOSED' AS incident_status) " +
+            "              ELSE status END " +
+            "WHERE id = :id", nativeQuery = true)
+    int applyLinkedMember(@Param("id") Long incidentId, @Param("receivedAt") LocalDateTime receivedAt,
+            @Param("open") int openDelta, @Param("terminal") int terminalDelta);
+
+    // 대기열 재집계: 지정한 사건들의 소속 민원 수를 다시 세고 달라진 사건만 민원 수와 상태를 쓴다
+    @Modifying
+    @Query(value = "WITH s AS ( " +
+            "  SELECT i.id, " +
+            "         COUNT(c.id) FILTER (WHERE c.status NOT IN ('CLOSED', 'CANCELED')) AS open_count, " +
+            "         COUNT(c.id) FILTER (WHERE c.status IN ('CLOSED', 'CANCELED')) AS terminal_count " +
+            "  FROM incidents i LEFT JOIN complaints c ON c.incident_id = i.id " +
+            "  WHERE i.id IN (:ids) " +
+            "  GROUP BY i.id) " +
+            "UPDATE incidents i SET open_member_count = s.open_count, terminal_member_count = s.terminal_count, " +
+            "status = CASE WHEN s.open_count > 0 THEN CAST('OPEN' AS incident_status) " +
+            "              WHEN s.terminal_count > 0 THEN CAST('CLOSED' AS incident_status) " +
+            "              ELSE i.status END " +
+            "FROM s WHERE i.id = s.id " +
+            "AND (i.open_member_count <> s.open_count OR i.terminal_member_count <> s.terminal_count)",
+            nativeQuery = true)
+    int recountMembers(@Param("ids") Collection<Long> incidentIds);
+
+    // 주기 재집계: 실제 소속과 다른 사건만 민원 수/최초·최근 접수 시각/상태를 다시 쓴다 (군집 루프가 붙인 민원 반영)
+    @Modifying
+    @Query(value = "WITH s AS ( " +
+            "  SELECT i.id, " +
+            "         COUNT(c.id) AS member_count, " +
+            "         COUNT(c.id) FILTER (WHERE c.status NOT IN ('CLOSED', 'CANCELED')) AS open_count, " +
+            "         COUNT(c.id) FILTER (WHERE c.status IN ('CLOSED', 'CANCELED')) AS terminal_count, " +
+            "         MIN(c.received_at) AS first_received_at, " +
+            "         MAX(c.received_at) AS last_received_at " +
+            "  FROM incidents i LEFT JOIN complaints c ON c.incident_id = i.id " +
+            "  GROUP BY i.id) " +
+            "UPDATE incidents i SET complaint_count = s.member_count, " +
+            "open_member_count = s.open_count, terminal_member_count = s.terminal_count, " +
+            "first_received_at = s.first_received_at, last_received_at = s.last_received_at, " +
+            "status = CASE WHEN s.open_count > 0 THEN CAST('OPEN' AS incident_status) " +
+            "              WHEN s.terminal_count > 0 THEN CAST('CLOSED' AS incident_status) " +
+            "              ELSE i.status END " +
+            "FROM s WHERE i.id = s.id " +
+            "AND (i.open_member_count <> s.open_count OR i.terminal_member_count <> s.terminal_count " +
+            "     OR i.complaint_count IS DISTINCT FROM s.member_count " +
+            "     OR i.first_received_at IS DISTINCT FROM s.first_received_at " +
+            "     OR i.last_received_at IS DISTINCT FROM s.last_received_at)",
+            nativeQuery = true)
+    int reconcileMemberCounts();
 }
\ No newline at end of file
@@ -1,10 +1,25 @@
 package com.smart.complaint.routing_system.applicant.repository;
 
+import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
 import com.smart.complaint.routing_system.applicant.domain.IncidentStatus;
+import com.smart.complaint.routing_system.applicant.dto.IncidentDetailStats;
 import com.smart.complaint.routing_system.applicant.dto.IncidentListResponse;
+import com.smart.complaint.routing_system.applicant.dto.IncidentMemberRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface IncidentRepositoryCustom {
     Page<IncidentListResponse> searchIncidents(String searchQuery, IncidentStatus status, Pageable pageable);
+
+    IncidentDetailStats getDetailStats(Long incidentId);
+
+    // 최근 접수 순 키셋 페이지 (cursorId 가 null 이면 첫 페이지, cursorReceivedAt 만 null 이면 접수 시각 없는 행의 커서)
+    List<IncidentMemberRow> findMembers(Long incidentId, LocalDateTime cursorReceivedAt, Long cursorId,
+            ComplaintStatus status, String searchQuery, int limit);
+
+    // 네이티브 UPDATE 로 고친 사건이 이 트랜잭션에서 이미 읽혀 있으면 DB 값으로 다시 읽는다 (아직 안 읽은 프록시는 그대로)
+    void refreshIfLoaded(Long incidentId);
 }
\ No newline at end of file
@@ -2,16 +2,23 @@ package com.smart.complaint.routing_system.applicant.repository;
 
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
 import com.smart.complaint.routing_system.applicant.domain.IncidentStatus;
+import com.smart.complaint.routing_system.applicant.dto.IncidentDetailStats;
 import com.smart.complaint.routing_system.applicant.dto.IncidentListResponse;
+import com.smart.complaint.routing_system.applicant.dto.IncidentMemberRow;
+import com.smart.complaint.routing_system.applicant.entity.Incident;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.smart.complaint.routing_system.applicant.entity.QIncident.incident;
@@ -22,23 +29,31 @@ import static com.smart.complaint.routing_system.applicant.entity.QComplaint.com
 public class IncidentRepositoryImpl implements IncidentRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
 
+    // 건수/최초·최근 접수/평균 처리 시간(분)을 소속 민원 한 번 훑어 계산한다
+    private static final String DETAIL_STATS_SQL = "SELECT COUNT(*), MIN(received_at), MAX(received_at), " +
+            "AVG(EXTRACT(EPOCH FROM (closed_at - received_at)) / 60) FILTER (WHERE closed_at IS NOT NULL) " +
+            "FROM complaints WHERE incident_id = :incidentId";
+
+    /**
+     * 사건 행에 유지되는 집계(complaint_count, first/last_received_at)만 읽는다.
+     * 소속 민원 GROUP BY 없이 idx_incidents_list_recent 를 최근 접수 순으로 훑고 DB 에서 자른다.
+     */
     @Override
     public Page<IncidentListResponse> searchIncidents(String searchQuery, IncidentStatus status, Pageable pageable) {
         List<IncidentListResponse> content = queryFactory
                 .select(Projections.constructor(IncidentListResponse.class,
                         incident,
-                        complaint.count(),
-                        complaint.receivedAt.min(),
-                        complaint.receivedAt.max()))
+                        incident.complaintCount.longValue(),
+                        incident.firstReceivedAt,
+                        incident.lastReceivedAt))
                 .from(incident)
-                .leftJoin(complaint).on(complaint.incident.eq(incident))
                 .where(
+                        listed(),
                         containsSearchQuery(searchQuery),
                         eqStatus(status))
-                .groupBy(incident.id)
-                .having(complaint.count().goe(3))
-                .orderBy(complaint.receivedAt.max().desc())
+                .orderBy(incident.lastReceivedAt.desc().nullsLast(), incident.id.desc())
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
@@ -47,13 +62,9 @@ public class IncidentRepositoryImpl implements IncidentRepositoryCustom {
                 .select(incident.count())
                 .from(incident)
                 .where(
+                        listed(),
                         containsSearchQuery(searchQuery),
-                        eqStatus(status),
-                        incident.id.in(
-                                JPAExpressions.select(complaint.incident.id)
-                                        .from(complaint)
-                                        .groupBy(complaint.incident.id)
-                                        .having(complaint.count().goe(3))))
+                        eqStatus(status))
                 .fetchOne();
 
         long total = (count != null) ? count : 0L;
@@ -61,6 +72,81 @@ public class IncidentRepositoryImpl implements IncidentRepositoryCustom {
         return new PageImpl<>(content, pageable, total);
     }
 
+    @Override
+    public IncidentDetailStats getDetailStats(Long incidentId) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(DETAIL_STATS_SQL)
+                .setParameter("incidentId", incidentId)
+                .getSingleResult();
+        return new IncidentDetailStats(
+                row[0] != null ? ((Number) row[0]).longValue() : 0L,
+                toLocalDateTime(row[1]),
+                toLocalDateTime(row[2]),
+                row[3] != null ? ((Number) row[3]).doubleValue() : null);
+    }
+
+    @Override
+    public List<IncidentMemberRow> findMembers(Long incidentId, LocalDateTime cursorReceivedAt, Long cursorId,
+            ComplaintStatus status, String searchQuery, int limit) {
+        return queryFactory
+                .select(Projections.constructor(IncidentMemberRow.class,
+                        complaint.id,
+                        complaint.title,
+                        complaint.receivedAt,
+                        complaint.status))
+                .from(complaint)
+                .where(
+                        complaint.incident.id.eq(incidentId),
+                        afterCursor(cursorReceivedAt, cursorId),
+                        status != null ? complaint.status.eq(status) : null,
+                        memberSearch(searchQuery))
+                .orderBy(complaint.receivedAt.desc().nullsFirst(), complaint.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    // (received_at, id) 가 커서보다 뒤(더 오래된 쪽)인 행만.
+    // 접수 시각이 없는 행은 맨 앞에 온다 (인덱스의 DESC 기본값 NULLS FIRST 와 같은 순서).
+    // 그 구간의 커서면 남은 NULL 행과 시각이 있는 행 전부, 시각이 있는 커서면 NULL 행은 이미 지나갔다
+    private BooleanExpression afterCursor(LocalDateTime receivedAt, Long id) {
+        if (id == null) {
+            return null;
+        }
+        if (receivedAt == null) {
+            return complaint.receivedAt.isNull().and(complaint.id.lt(id)).or(complaint.receivedAt.isNotNull());
+        }
+        return complaint.receivedAt.lt(receivedAt)
+                .or(complaint.receivedAt.eq(receivedAt).and(complaint.id.lt(id)));
+    }
+
+    private BooleanExpression memberSearch(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = query.trim();
+        // 화면 표시 ID(C2026-0012)로 찾으면 마지막 '-' 뒤 숫자가 민원 ID
+        String idPart = trimmed.substring(trimmed.lastIndexOf('-') + 1);
+        String digits = idPart.replaceAll("[^0-9]", "");
+        if (digits.isEmpty() || digits.length() > 18) {
+            return complaint.title.containsIgnoreCase(trimmed);
+        }
+        return complaint.title.containsIgnoreCase(trimmed).or(complaint.id.eq(Long.parseLong(digits)));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime ldt) {
+            return ldt;
+        }
+        return null;
+    }
+
+    // 목록 대상(민원 3건 이상). 부분 인덱스 조건과 맞도록 바인딩 값이 아닌 리터럴로 넣는다
+    private BooleanExpression listed() {
+        return Expressions.booleanTemplate("{0} >= 3", incident.complaintCount);
+    }
+
     private BooleanExpression containsSearchQuery(String query) {
         if (query == null || query.trim().isEmpty()) {
             return null;
@@ -79,4 +165,12 @@ public class IncidentRepositoryImpl implements IncidentRepositoryCustom {
         }
         return incident.status.eq(status);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void refreshIfLoaded(Long incidentId) {
+        Incident loaded = entityManager.getReference(Incident.class, incidentId);
+        if (entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(loaded)) {
+            entityManager.refresh(loaded);
+        }
+    }
+}
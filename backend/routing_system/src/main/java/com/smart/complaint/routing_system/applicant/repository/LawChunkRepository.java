@@ -0,0 +1,62 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 법령 검색용 JDBC 쿼리.
+ * law_chunks / law_documents 는 AI 서버가 채우는 테이블이라 JPA 엔티티 없이 읽기만 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LawChunkRepository {
+
+    private static final String SELECT_CHUNKS = "SELECT d.title, lc.article_no, lc.chunk_text, lc.embedding::text " +
+            "FROM law_chunks lc JOIN law_documents d ON lc.document_id = d.id";
+
+    private static final String SELECT_QUERY_SOURCE = "SELECT embedding::text, keywords_jsonb::text, " +
+            "target_object, core_request FROM complaint_normalizations " +
+            "WHERE complaint_id = ? AND is_current = true ORDER BY id DESC LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Chunk(String lawTitle, String articleNo, String chunkText, float[] embedding) {
+    }
+
+    // 민원 쪽 검색 키: 현재 정규화의 임베딩 + 키워드/대상/핵심 요구
+    public record QuerySource(float[] embedding, String keywordsJson, String targetObject, String coreRequest) {
+    }
+
+    // 전체 조문을 한 번 훑는다. 호출하는 쪽 트랜잭션 안에서 불러야 fetch size 단위로 끊어 읽는다
+    // (autocommit 연결에서는 PostgreSQL 드라이버가 결과 전체를 한 번에 받는다)
+    public void forEachChunk(Consumer<Chunk> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_CHUNKS, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(500);
+            return ps;
+        }, (ResultSet rs) -> {
+            consumer.accept(new Chunk(
+                    rs.getString(1),
+                    rs.getString(2),
+                    rs.getString(3),
+                    PgVectors.parse(rs.getString(4))));
+        });
+    }
+
+    public Optional<QuerySource> findQuerySource(Long complaintId) {
+        List<QuerySource> rows = jdbcTemplate.query(SELECT_QUERY_SOURCE, (rs, rowNum) -> new QuerySource(
+                PgVectors.parse(rs.getString(1)),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4)), complaintId);
+        return rows.stream().findFirst();
+    }
+}
@@ -0,0 +1,135 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 정규화 재생성 작업용 JDBC 쿼리.
+ * 원본은 ID 키셋 구간으로 읽고, 결과는 배치 INSERT 로 쓴다 (JPA 영속성 컨텍스트를 거치지 않음).
+ */
+@Repository
+@RequiredArgsConstructor
+public class NormalizationBackfillRepository {
+
+    private static final String SELECT_SOURCES = "SELECT id, title, body, address_text, lat, lon, applicant_id " +
+            "FROM complaints WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+
+    private static final String RETIRE_CURRENT = "UPDATE complaint_normalizations SET is_current = false " +
+            "WHERE complaint_id = ? AND is_current = true";
+
+    private static final String INSERT_NORMALIZATION = "INSERT INTO complaint_normalizations " +
+            "(complaint_id, resp_dept, neutral_summary, core_request, target_object, " +
+            "keywords_jsonb, routing_rank, embedding, is_current, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), CAST(? AS vector), true, CURRENT_TIMESTAMP)";
+
+    private static final String SELECT_FAILED_SOURCES = "SELECT c.id, c.title, c.body, c.address_text, c.lat, c.lon, " +
+            "c.applicant_id FROM backfill_job_failures f JOIN complaints c ON c.id = f.complaint_id " +
+            "WHERE f.job_id = ? AND f.complaint_id > ? ORDER BY f.complaint_id LIMIT ?";
+
+    // 같은 민원이 다시 실패하면 시도 횟수만 올린다
+    private static final String UPSERT_FAILURE = "INSERT INTO backfill_job_failures " +
+            "(job_id, complaint_id, attempts, last_error, updated_at) VALUES (?, ?, 1, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (job_id, complaint_id) DO UPDATE SET attempts = backfill_job_failures.attempts + 1, " +
+            "last_error = EXCLUDED.last_error, updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_FAILURE = "DELETE FROM backfill_job_failures WHERE job_id = ? AND complaint_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Source(Long id, String title, String body, String addressText, BigDecimal lat, BigDecimal lon,
+            Long applicantId) {
+    }
+
+    public record Failure(Long complaintId, String error) {
+    }
+
+    // afterId 다음부터 toId 까지 최대 limit 건 (fetch size 만큼씩 스트리밍)
+    public List<Source> findSources(long afterId, long toId, int limit) {
+        List<Source> result = new ArrayList<>(limit);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SOURCES, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Math.min(limit, 500));
+            ps.setLong(1, afterId);
+            ps.setLong(2, toId);
+            ps.setInt(3, limit);
+            return ps;
+        }, (ResultSet rs) -> {
+            result.add(toSource(rs));
+        });
+        return result;
+    }
+
+    // 작업에서 실패로 남은 민원 중 afterId 다음부터 최대 limit 건
+    public List<Source> findFailedSources(long jobId, long afterId, int limit) {
+        return jdbcTemplate.query(SELECT_FAILED_SOURCES, (rs, rowNum) -> toSource(rs), jobId, afterId, limit);
+    }
+
+    /**
+     * 배치 결과에 맞춰 실패 기록을 고친다. 성공한 민원은 지우고 실패한 민원은 남긴다(또는 시도 횟수를 올린다).
+     * 정규화 행 교체와 같은 트랜잭션에서 호출해 체크포인트와 실패 기록이 어긋나지 않게 한다.
+     */
+    public void updateFailures(long jobId, List<NormalizationRow> succeeded, List<Failure> failures) {
+        if (!succeeded.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_FAILURE, succeeded, succeeded.size(), (ps, row) -> {
+                ps.setLong(1, jobId);
+                ps.setLong(2, row.complaintId());
+            });
+        }
+        if (!failures.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_FAILURE, failures, failures.size(), (ps, failure) -> {
+                ps.setLong(1, jobId);
+                ps.setLong(2, failure.complaintId());
+                ps.setString(3, failure.error());
+            });
+        }
+    }
+
+    private static Source toSource(ResultSet rs) throws SQLException {
+        return new Source(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("body"),
+                rs.getString("address_text"),
+                rs.getBigDecimal("lat"),
+                rs.getBigDecimal("lon"),
+                rs.getObject("applicant_id", Long.class));
+    }
+
+    /**
+     * 기존 현재 행을 내리고 새 행을 현재로 넣는다.
+     * 호출하는 쪽 트랜잭션 하나로 묶이므로, 민원별로 is_current 가 0건이거나 2건인 순간이 밖에서 보이지 않는다.
+     */
+    public void replaceCurrent(List<NormalizationRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RETIRE_CURRENT, rows, rows.size(),
+                (ps, row) -> ps.setLong(1, row.complaintId()));
+        jdbcTemplate.batchUpdate(INSERT_NORMALIZATION, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.complaintId());
+            ps.setString(2, row.respDept());
+            ps.setString(3, row.neutralSummary());
+            ps.setString(4, row.coreRequest());
+            ps.setString(5, row.targetObject());
+            ps.setString(6, row.keywordsJson());
+            ps.setString(7, row.routingRankJson());
+            ps.setString(8, row.embedding() != null ? Arrays.toString(row.embedding()) : null);
+        });
+    }
+
+    public Long findMaxComplaintId() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM complaints", Long.class);
+    }
+}
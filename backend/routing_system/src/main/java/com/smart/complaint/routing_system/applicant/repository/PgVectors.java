@@ -0,0 +1,23 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+/**
+ * pgvector 텍스트 형식 "[0.1,0.2,...]" 읽기. 임베딩을 embedding::text 로 읽는 JDBC 저장소들이 같이 쓴다.
+ */
+public final class PgVectors {
+
+    private PgVectors() {
+    }
+
+    // 값이 없거나 "[]" 보다 짧으면 null
+    public static float[] parse(String literal) {
+        if (literal == null || literal.length() < 2) {
+            return null;
+        }
+        String[] parts = literal.substring(1, literal.length() - 1).split(",");
+        float[] v = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            v[i] = Float.parseFloat(parts[i].trim());
+        }
+        return v;
+    }
+}
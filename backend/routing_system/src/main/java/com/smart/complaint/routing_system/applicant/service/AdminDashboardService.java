@@ -47,6 +47,7 @@ public class AdminDashboardService {
 
         return AdminDashboardStatsDto.GeneralStatsResponse.builder()
                 .aiAccuracy(complaintRepository.getAiAccuracy(start, end))
+                .routingAgreement(complaintRepository.getRoutingAgreement(start, end))
                 .categoryStats(complaintRepository.getCategoryStats(start, end))
                 .recurringIncidents(complaintRepository.getTopRecurringIncidents(start, end, prevStart, prevEnd))
                 .build();
@@ -4,25 +4,27 @@ import com.smart.complaint.routing_system.applicant.dto.ComplaintDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintSearchResult;
 import com.smart.complaint.routing_system.applicant.dto.NormalizationResponse;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient.AiOperation;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatusCode;
 
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Service
 public class AiService {
 
-    private final RestClient restClient;
+    private final AiServerClient aiServerClient;
     private final ComplaintRepository complaintRepository;
 
-    public AiService(ComplaintRepository complaintRepository) {
+    public AiService(AiServerClient aiServerClient, ComplaintRepository complaintRepository) {
+        this.aiServerClient = aiServerClient;
         this.complaintRepository = complaintRepository;
-        this.restClient = RestClient.builder()
-                .baseUrl("http://localhost:8000") // FastAPI 주소
-                .build();
     }
 
     /*
@@ -34,7 +36,7 @@ public class AiService {
                 "district", dto.district()
         );
 
-        return restClient.post()
+        return aiServerClient.execute(() -> aiServerClient.client(AiOperation.PREPROCESS).post()
                 .uri("/analyze") // Python 엔드포인트
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(pythonRequestBody)
@@ -42,10 +44,12 @@ public class AiService {
                 .onStatus(HttpStatusCode::isError, (request, response) -> {
                     throw new RuntimeException("AI 서버 호출 실패");
                 })
-                .body(NormalizationResponse.class);
+                .body(NormalizationResponse.class));
     }
     */
 
+    // 2단계 검색 모드의 ef_search 설정이 검색 쿼리와 같은 트랜잭션에 걸리도록 트랜잭션 안에서 호출
+    @Transactional(readOnly = true)
     public List<ComplaintSearchResult> getSimilarityScore(double[] queryEmbedding) {
 
         // 리포지토리를 호출하여 상위 3개의 유사 민원 가져오기
@@ -58,4 +62,16 @@ public class AiService {
 
         return results;
     }
+
+    // 저장된 민원은 벡터 스캔 없이 유사 민원 그래프에서 바로 읽는다
+    public List<ComplaintSearchResult> getSimilarityScore(Long complaintId) {
+
+        List<ComplaintSearchResult> results = complaintRepository.findGraphNeighbors(complaintId, 3);
+
+        if (results.isEmpty()) {
+            log.debug("유사한 과거 민원 없음 - 민원 ID: {}", complaintId);
+        }
+
+        return results;
+    }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smart.complaint.routing_system.applicant.config.BusinessException;
 import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
 import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.domain.RoutingEngine;
 import com.smart.complaint.routing_system.applicant.dto.AiDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintAnswerRequest;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintInquiryDto;
@@ -11,30 +12,37 @@ import com.smart.complaint.routing_system.applicant.dto.ComplaintRerouteRequest;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintStatDto;
 import com.smart.complaint.routing_system.applicant.dto.ComplaintSubmitDto;
 import com.smart.complaint.routing_system.applicant.dto.KeywordsDto;
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
 import com.smart.complaint.routing_system.applicant.entity.ChildComplaint;
 import com.smart.complaint.routing_system.applicant.entity.Complaint;
 import com.smart.complaint.routing_system.applicant.entity.ComplaintReroute;
-import com.smart.complaint.routing_system.applicant.entity.Department;
 import com.smart.complaint.routing_system.applicant.entity.User;
 import com.smart.complaint.routing_system.applicant.repository.ChildComplaintRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintChunkEmbeddingRepository;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintNormalizationRepository;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRerouteRepository;
-import com.smart.complaint.routing_system.applicant.repository.DepartmentRepository;
 import com.smart.complaint.routing_system.applicant.repository.UserRepository;
+import com.smart.complaint.routing_system.applicant.service.ai.AiResponseParser;
+import com.smart.complaint.routing_system.applicant.service.incident.OnlineIncidentLinker;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient;
+import com.smart.complaint.routing_system.applicant.service.duplicate.NearDuplicateDetector;
+import com.smart.complaint.routing_system.applicant.service.routing.DeferredAnalysisEvent;
+import com.smart.complaint.routing_system.applicant.service.routing.DepartmentDirectory;
+import com.smart.complaint.routing_system.applicant.service.routing.LocalRoutingEngine;
+import com.smart.complaint.routing_system.applicant.service.routing.LocalRoutingResult;
+import com.smart.complaint.routing_system.applicant.service.routing.RoutingCascade;
+import com.smart.complaint.routing_system.applicant.service.similarity.AnswerCompletedEvent;
+import com.smart.complaint.routing_system.applicant.service.similarity.NormalizationSavedEvent;
+import com.smart.complaint.routing_system.applicant.service.spike.ComplaintIntakeEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -50,27 +58,34 @@ public class ComplaintService {
     private final ComplaintRepository complaintRepository;
     private final ComplaintRerouteRepository rerouteRepository;
     private final ChildComplaintRepository childComplaintRepository;
-    private final DepartmentRepository departmentRepository;
+    private final DepartmentDirectory departmentDirectory;
     private final ComplaintNormalizationRepository complaintNormalizationRepository;
+    private final ComplaintChunkEmbeddingRepository chunkEmbeddingRepository;
     private final UserRepository userRepository;
-    private final RestTemplate restTemplate;
+    private final AiServerClient aiServerClient;
+    private final AiResponseParser aiResponseParser;
     private final IncidentService incidentService;
+    private final OnlineIncidentLinker incidentLinker;
+    private final LocalRoutingEngine localRoutingEngine;
+    private final RoutingCascade routingCascade;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void assignManager(Long complaintId, Long userId) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 민원을 찾을 수 없습니다. ID=" + complaintId));
 
+        ComplaintStatus before = complaint.getStatus();
         complaint.assignManager(userId);
 
-        if (complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
-        }
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 
     public void saveAnswer(Long complaintId, ComplaintAnswerRequest request) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 민원을 찾을 수 없습니다. ID=" + complaintId));
 
+        ComplaintStatus before = complaint.getStatus();
         List<ChildComplaint> children = complaint.getChildComplaints();
 
         if (children != null && !children.isEmpty()) {
@@ -92,8 +107,12 @@ public class ComplaintService {
             }
         }
 
-        if (!request.isTemporary() && complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
+        if (!request.isTemporary()) {
+            incidentService.onComplaintStatusChanged(complaint, before);
+        }
+
+        if (!request.isTemporary()) {
+            eventPublisher.publishEvent(new AnswerCompletedEvent(complaintId));
         }
     }
 
@@ -112,11 +131,10 @@ public class ComplaintService {
 
         rerouteRepository.save(reroute);
 
+        ComplaintStatus before = complaint.getStatus();
         complaint.statusToReroute();
 
-        if (complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
-        }
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 
     public void approveReroute(Long rerouteId, Long reviewerId) {
@@ -129,11 +147,10 @@ public class ComplaintService {
 
         reroute.process("APPROVED", reviewerId);
         Complaint complaint = reroute.getComplaint();
+        ComplaintStatus before = complaint.getStatus();
         complaint.rerouteTo(reroute.getTargetDepartmentId());
 
-        if (complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
-        }
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 
     public void rejectReroute(Long rerouteId, Long reviewerId) {
@@ -146,11 +163,10 @@ public class ComplaintService {
 
         reroute.process("REJECTED", reviewerId);
         Complaint complaint = reroute.getComplaint();
+        ComplaintStatus before = complaint.getStatus();
         complaint.rejectReroute();
 
-        if (complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
-        }
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 
     public void releaseManager(Long complaintId, Long userId) {
@@ -160,23 +176,21 @@ public class ComplaintService {
         if (complaint.getAnsweredBy() == null || !complaint.getAnsweredBy().equals(userId)) {
             throw new IllegalStateException("본인이 담당한 민원만 취소할 수 있습니다.");
         }
+        ComplaintStatus before = complaint.getStatus();
         complaint.releaseManager();
-        if (complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
-        }
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 
     public void updateComplaintStatus(Long complaintId, ComplaintStatus newStatus) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 민원을 찾을 수 없습니다."));
 
+        ComplaintStatus before = complaint.getStatus();
         complaint.setStatus(newStatus);
         if (newStatus == ComplaintStatus.CLOSED) {
             complaint.setClosedAt(LocalDateTime.now());
         }
-        if (complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
-        }
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 
     private boolean isPureNumeric(String str) {
@@ -217,82 +231,104 @@ public class ComplaintService {
         complaintRepository.save(newComplaint);
         log.info("민원 기본 저장 완료. ID: {}", newComplaint.getId());
 
+        // AI 분석 전에 거의 같은 민원(재제출, 복사 붙여넣기)을 표시하고, 충분히 같고 같은 곳의 진행 중 사안이면 원 민원의 사건에 바로 붙인다
+        nearDuplicateDetector.register(newComplaint.getId(), newComplaint.getTitle(), newComplaint.getBody(),
+                        newComplaint.getLat(), newComplaint.getLon())
+                .ifPresent(match -> {
+                    newComplaint.markDuplicateOf(match.originalId(), match.similarity());
+                    if (match.link()) {
+                        incidentService.linkDuplicate(newComplaint, match.incidentId(), match.similarity());
+                    }
+                    log.info("거의 같은 민원 - 민원 ID: {}, 원 민원 ID: {}, 유사도: {}, 사건 ID: {}", newComplaint.getId(),
+                            match.originalId(), String.format("%.3f", match.similarity()),
+                            match.link() ? match.incidentId() : null);
+                });
+        eventPublisher.publishEvent(ComplaintIntakeEvent.received(newComplaint.getId()));
+
         return newComplaint.getId();
     }
 
     @Transactional
     public void processAiResponse(String rawResponseBody, Long complaintId) {
         try {
-            AiDto.Response responseWrapper = objectMapper.readValue(rawResponseBody, AiDto.Response.class);
-
-            String cleanJson = responseWrapper.data()
-                    .replaceAll("```json", "")
-                    .replaceAll("```", "")
-                    .trim();
-
-            AiDto.Analysis analysis = objectMapper.readValue(cleanJson, AiDto.Analysis.class);
+            AiDto.Preprocessed preprocessed = aiResponseParser.parse(rawResponseBody);
 
-            saveNormalizationData(complaintId, analysis, responseWrapper.embedding());
+            saveNormalizationData(complaintId, preprocessed);
 
         } catch (Exception e) {
             log.error("AI 데이터 파싱 및 저장 실패: {}", e.getMessage());
+            routeLocally(complaintId, null);
         }
     }
 
-    private void saveNormalizationData(Long complaintId, AiDto.Analysis analysis, float[] embeddingArray)
-            throws Exception {
+    private void saveNormalizationData(Long complaintId, AiDto.Preprocessed preprocessed) throws Exception {
 
-        List<String> keywordList = Arrays.stream(analysis.originalAnalysis().keywords().split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .toList();
-
-        String keywordsJson = objectMapper.writeValueAsString(keywordList);
-        String routingRankJson = objectMapper.writeValueAsString(analysis.recommendations());
-
-        String neutralSummary = String.format("%s %s %s",
-                analysis.originalAnalysis().topic(),
-                analysis.originalAnalysis().keywords(),
-                analysis.originalAnalysis().category());
+        NormalizationRow row = NormalizationRow.of(complaintId, preprocessed, objectMapper);
+        AiDto.Analysis analysis = preprocessed.analysis();
+        float[] embeddingArray = preprocessed.embedding();
 
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
 
-        String targetDeptName = "미지정";
-        if (!analysis.recommendations().isEmpty()) {
-            String fullDept = analysis.recommendations().get(0).recommendedDept();
-            String[] parts = fullDept.split(" ");
-            targetDeptName = parts[parts.length - 1].trim();
+        // LLM 이 추천한 "국 과" 문자열을 메모리 디렉터리에서 해석 (DB 조회 없음, 실패 시 "미정")
+        Long departmentId = departmentDirectory.unassignedId();
+        if (complaint.isRoutedLocally()) {
+            // 로컬 우선 단계에서 이미 배정됨 - LLM 결과는 요약/키워드/임베딩으로만 쓴다
+            if (!analysis.recommendations().isEmpty()) {
+                Long llmDepartmentId = departmentDirectory
+                        .resolveOrUnassigned(analysis.recommendations().get(0).recommendedDept());
+                log.info("로컬 배정 vs LLM 추천 - 민원 ID: {}, 로컬: {}, LLM: {}", complaintId,
+                        complaint.getAiPredictedDepartmentId(), llmDepartmentId);
+            }
+        } else if (!analysis.recommendations().isEmpty()) {
+            AiDto.Recommendation top = analysis.recommendations().get(0);
+            departmentId = departmentDirectory.resolveOrUnassigned(top.recommendedDept());
+            complaint.recordRouting(departmentId, RoutingEngine.LLM, top.confidence());
+            complaint.setDepartment(departmentId);
+        } else {
+            // LLM 이 추천을 못 하면 같은 임베딩으로 유사 민원 투표
+            LocalRoutingResult local = localRoutingEngine
+                    .route(complaintId, embeddingArray, complaint.getTitle() + " " + complaint.getBody())
+                    .orElse(null);
+            if (local != null) {
+                departmentId = local.departmentId();
+                complaint.recordRouting(departmentId, local.engine(), local.confidence());
+            } else {
+                complaint.setAiPredicted(departmentId);
+            }
+            complaint.setDepartment(departmentId);
         }
 
-        Long nullDepartment = departmentRepository.findByName("미정")
-                .map(Department::getId)
-                .orElse(1L);
-
-        Long departmentId = departmentRepository.findByName(targetDeptName)
-                .map(Department::getId)
-                .orElse(nullDepartment);
-
-        complaint.setDepartment(departmentId);
-        complaint.setAiPredicted(departmentId);
-
+        complaintNormalizationRepository.retireCurrent(complaintId);
         complaintNormalizationRepository.insertNormalization(
                 complaintId,
-                analysis.recommendations().isEmpty() ? "미지정" : analysis.recommendations().get(0).recommendedDept(),
-                neutralSummary,
-                analysis.originalAnalysis().topic(),
-                analysis.originalAnalysis().category(),
-                keywordsJson,
-                routingRankJson,
-                embeddingArray,
+                row.respDept(),
+                row.neutralSummary(),
+                row.coreRequest(),
+                row.targetObject(),
+                row.keywordsJson(),
+                row.routingRankJson(),
+                row.embedding(),
                 true);
+        // 여러 사안이 섞인 긴 민원은 조각 임베딩도 같이 저장 (유사 민원/라우팅의 max-sim 점수용)
+        chunkEmbeddingRepository.replace(List.of(row));
+
+        // 군집 루프를 기다리지 않고 OPEN 사건 중심값과 비교해 바로 연결 (접수 때 중복으로 먼저 붙었으면 임베딩만 더한다)
+        List<String> keywords = NormalizationRow.keywords(analysis);
+        if (complaint.getDuplicateOfId() != null && complaint.getIncident() != null) {
+            incidentService.addDuplicateEmbedding(complaint, embeddingArray);
+        } else {
+            incidentLinker.link(complaint, embeddingArray, keywords);
+        }
+        eventPublisher.publishEvent(ComplaintIntakeEvent.analyzed(complaintId,
+                complaint.getDistrict() != null ? complaint.getDistrict().getId() : null, row.targetObject(), keywords));
+
+        if (embeddingArray != null) {
+            eventPublisher.publishEvent(new NormalizationSavedEvent(complaintId));
+        }
     }
 
     public void analyzeComplaint(Long id, String applicantId, ComplaintSubmitDto complaintSubmitDto) {
-        String pythonUrl = "http://complaint-ai-server:8000/api/complaints/preprocess";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
         Map<String, Object> pythonRequest = new HashMap<>();
         pythonRequest.put("id", id);
         pythonRequest.put("title", complaintSubmitDto.getTitle());
@@ -303,20 +339,76 @@ public class ComplaintService {
         pythonRequest.put("applicantId", applicantId);
         pythonRequest.put("districtId", 3);
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(pythonRequest, headers);
-        try {
-            ResponseEntity<String> response = restTemplate.postForEntity(pythonUrl, entity, String.class);
+        String text = complaintSubmitDto.getTitle() + " " + complaintSubmitDto.getBody();
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String responseBody = response.getBody();
-                log.info("AI 분석 서버 응답 수신 성공");
-                processAiResponse(responseBody, id);
-                log.info("AI 분석 및 정규화 데이터 저장 성공");
-            } else {
-                log.warn("AI 분석 서버 응답은 성공이나 상태 코드가 2xx가 아님: {}", response.getStatusCode());
+        // 0단계: 거의 같은 원 민원이 이미 배정돼 있으면 그 부서를 따르고 LLM 분석(요약/임베딩)은 커밋 후 비동기로
+        Complaint received = complaintRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
+        if (received.getDuplicateOfId() != null) {
+            Long originalDepartmentId = complaintRepository.findById(received.getDuplicateOfId())
+                    .map(Complaint::getCurrentDepartmentId)
+                    .filter(deptId -> !deptId.equals(departmentDirectory.unassignedId()))
+                    .orElse(null);
+            if (originalDepartmentId != null) {
+                double similarity = received.getDuplicateSimilarity().doubleValue();
+                received.setDepartment(originalDepartmentId);
+                received.recordRouting(originalDepartmentId, RoutingEngine.DUPLICATE, similarity);
+                log.info("중복 민원 배정 - 민원 ID: {}, 원 민원 ID: {}, 부서 ID: {}", id, received.getDuplicateOfId(),
+                        originalDepartmentId);
+                eventPublisher.publishEvent(new DeferredAnalysisEvent(id, pythonRequest, text));
+                return;
             }
+        }
+
+        // 1단계: 과거 유사 민원으로 확신할 수 있으면 바로 배정하고 LLM 분석은 커밋 후 비동기로
+        LocalRoutingResult local = routingCascade.tryLocalFirst(id, text).orElse(null);
+        if (local != null) {
+            received.setDepartment(local.departmentId());
+            received.recordRouting(local.departmentId(), local.engine(), local.confidence());
+            log.info("로컬 우선 배정 - 민원 ID: {}, 부서 ID: {}, 신뢰도: {}, {}ms", id, local.departmentId(),
+                    String.format("%.3f", local.confidence()), local.elapsedMs());
+            eventPublisher.publishEvent(new DeferredAnalysisEvent(id, pythonRequest, text));
+            return;
+        }
+
+        // 2단계: 확신이 낮으면 기존대로 LLM 이 부서까지 결정
+        requestAiAnalysis(id, pythonRequest, text);
+    }
+
+    public void requestAiAnalysis(Long id, Map<String, Object> pythonRequest, String text) {
+        try {
+            String responseBody = aiServerClient.preprocess(pythonRequest);
+            log.info("AI 분석 서버 응답 수신 성공");
+            processAiResponse(responseBody, id);
+            log.info("AI 분석 및 정규화 데이터 저장 성공");
+        } catch (BusinessException e) {
+            log.warn("AI 분석 서버 호출 차단 (민원은 접수됨): {}", e.getMessage());
+            routeLocally(id, text);
         } catch (Exception e) {
             log.error("AI 분석 서버 통신 실패 (민원은 접수됨): {}", e.getMessage());
+            routeLocally(id, text);
+        }
+    }
+
+    // AI 서버를 못 쓸 때의 대체 경로: 과거 유사 민원의 최종 부서로 kNN 투표 (시간 예산 내, 실패 시 미배정 유지)
+    private void routeLocally(Long complaintId, String text) {
+        try {
+            Complaint complaint = complaintRepository.findById(complaintId)
+                    .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
+            if (complaint.getCurrentDepartmentId() != null) {
+                return;
+            }
+            String query = text != null ? text : complaint.getTitle() + " " + complaint.getBody();
+            localRoutingEngine.route(complaintId, null, query).ifPresentOrElse(result -> {
+                complaint.setDepartment(result.departmentId());
+                complaint.recordRouting(result.departmentId(), result.engine(), result.confidence());
+                complaintRepository.save(complaint);
+                log.info("로컬 라우팅 배정 - 민원 ID: {}, 부서 ID: {}, 신뢰도: {}, {}ms",
+                        complaintId, result.departmentId(), String.format("%.3f", result.confidence()),
+                        result.elapsedMs());
+            }, () -> log.warn("로컬 라우팅 후보 없음 - 민원 ID: {} (미배정 유지)", complaintId));
+        } catch (Exception e) {
+            log.error("로컬 라우팅 실패 - 민원 ID: {}: {}", complaintId, e.getMessage());
         }
     }
 
@@ -339,13 +431,12 @@ public class ComplaintService {
                         .body(inquiryDto.body())
                         .status(ComplaintStatus.RECEIVED)
                         .build();
+                ComplaintStatus before = parent.getStatus();
                 parent.newInquiry();
                 complaintRepository.save(parent);
                 childComplaintRepository.save(child);
 
-                if (parent.getIncident() != null) {
-                    incidentService.refreshIncidentStatus(parent.getIncident().getId());
-                }
+                incidentService.onComplaintStatusChanged(parent, before);
 
             } catch (Exception e) {
                 log.error("새 문의 저장 중 문제 발생: {}", e.getMessage());
@@ -380,11 +471,10 @@ public class ComplaintService {
                 .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
 
         log.info("찾은 민원: {}, 상태: {}", complaint.getId(), complaint.getStatus());
+        ComplaintStatus before = complaint.getStatus();
         complaint.cancelComplaint();
         log.info("변경 후 상태 찾은 민원: {}, 상태: {}", complaint.getId(), complaint.getStatus());
-        if (complaint.getIncident() != null) {
-            incidentService.refreshIncidentStatus(complaint.getIncident().getId());
-        }
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 
     @Transactional
@@ -392,7 +482,9 @@ public class ComplaintService {
         Complaint complaint = complaintRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
         log.info("찾은 민원: {}, 상태: {}", complaint.getId(), complaint.getStatus());
+        ComplaintStatus before = complaint.getStatus();
         complaint.closeComplaint();
         log.info("변경 후 상태 찾은 민원: {}, 상태: {}", complaint.getId(), complaint.getStatus());
+        incidentService.onComplaintStatusChanged(complaint, before);
     }
 }
\ No newline at end of file
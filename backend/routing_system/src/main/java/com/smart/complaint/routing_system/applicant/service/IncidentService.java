@@ -1,20 +1,36 @@
 package com.smart.complaint.routing_system.applicant.service;
 
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
 import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus; // [필수] Import 추가
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
 import com.smart.complaint.routing_system.applicant.domain.IncidentStatus; // [필수] Import 추가
+import com.smart.complaint.routing_system.applicant.dto.IncidentOperationResponse;
 import com.smart.complaint.routing_system.applicant.entity.Complaint;
 import com.smart.complaint.routing_system.applicant.entity.Incident;
 import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentMoveRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentMoveRepository.SourceGroup;
+import com.smart.complaint.routing_system.applicant.repository.IncidentOperationRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentOperationRepository.Operation;
 import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
+import com.smart.complaint.routing_system.applicant.service.incident.IncidentCentroidService;
+import com.smart.complaint.routing_system.applicant.service.incident.IncidentRefreshQueue;
+import com.smart.complaint.routing_system.applicant.service.incident.OnlineIncidentLinker;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -22,19 +38,14 @@ public class IncidentService {
 
     private final IncidentRepository incidentRepository;
     private final ComplaintRepository complaintRepository;
+    private final IncidentMoveRepository incidentMoveRepository;
+    private final IncidentOperationRepository incidentOperationRepository;
+    private final IncidentCentroidService incidentCentroidService;
+    private final IncidentRefreshQueue incidentRefreshQueue;
+    private final OnlineIncidentLinker incidentLinker;
 
     public Page<Incident> getMajorIncidents(Pageable pageable) {
-        List<Incident> majorList = incidentRepository.findMajorIncidents();
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), majorList.size());
-
-        if (start > majorList.size()) {
-            return new PageImpl<>(List.of(), pageable, majorList.size());
-        }
-
-        List<Incident> subList = majorList.subList(start, end);
-        return new PageImpl<>(subList, pageable, majorList.size());
+        return incidentRepository.findMajorIncidents(pageable);
     }
 
     @Transactional
@@ -44,41 +55,191 @@ public class IncidentService {
         incident.updateTitle(newTitle);
     }
 
+    /**
+     * 민원 묶음을 대상 사건으로 옮긴다 (병합/분리 공용). 민원 엔티티를 하나씩 읽지 않고 집합 단위로 처리한다.
+     * 원래 사건별 묶음 조회 → 중심값 이동 → 재지정 UPDATE 1번 → 관련 사건 민원 수/상태 UPDATE 1번.
+     * 이미 대상 사건 소속인 민원은 건너뛴다.
+     */
     @Transactional
     public void moveComplaints(Long targetIncidentId, List<Long> complaintIds) {
-        Incident targetIncident = incidentRepository.findById(targetIncidentId)
-                .orElseThrow(() -> new IllegalArgumentException("이동할 대상 사건이 없습니다. ID: " + targetIncidentId));
+        if (!incidentRepository.existsById(targetIncidentId)) {
+            throw new IllegalArgumentException("이동할 대상 사건이 없습니다. ID: " + targetIncidentId);
+        }
+        if (complaintIds == null || complaintIds.isEmpty()) {
+            return;
+        }
+        // 아래 갱신은 JDBC 로 바로 나가므로 영속성 컨텍스트의 변경을 먼저 내보낸다
+        incidentRepository.flush();
 
-        List<Complaint> complaintsToMove = complaintRepository.findAllById(complaintIds);
+        List<SourceGroup> sources = lockSources(targetIncidentId, complaintIds);
+        if (sources.isEmpty()) {
+            return;
+        }
+        int moved = applyMove(targetIncidentId, sources);
+        log.info("사건 민원 이동 - 대상 사건 ID: {}, 민원 {}건, 원래 사건 {}개", targetIncidentId, moved, sources.size());
+    }
 
-        for (Complaint c : complaintsToMove) {
-            Incident oldIncident = c.getIncident();
-            if (oldIncident != null && !oldIncident.getId().equals(targetIncidentId)) {
-                int currentCount = oldIncident.getComplaintCount() == null ? 0 : oldIncident.getComplaintCount();
-                oldIncident.updateComplaintCount(Math.max(0, currentCount - 1));
-                refreshIncidentStatus(oldIncident.getId());
+    /**
+     * 원래 사건들의 소속 민원을 대상 사건으로 모두 옮긴다 (병합).
+     * 원래 사건별 소속 조회 1번으로 묶음을 만들고 moveComplaints 와 같은 집합 단위 경로를 탄다.
+     * 묶음이 모두 통째 이동이라 중심값은 행째 넘어가고, 민원 수/접수 시각/상태는 증감분으로 고친다. 비워진 원래 사건은 닫는다.
+     */
+    @Transactional
+    public IncidentOperationResponse mergeIncidents(Long targetIncidentId, List<Long> sourceIncidentIds) {
+        if (sourceIncidentIds == null || sourceIncidentIds.isEmpty() || sourceIncidentIds.contains(targetIncidentId)) {
+            throw new BusinessException(ErrorMessage.NOT_ALLOWED);
+        }
+        Set<Long> incidentIds = new HashSet<>(sourceIncidentIds);
+        incidentIds.add(targetIncidentId);
+        if (incidentRepository.countByIdIn(incidentIds) != incidentIds.size()) {
+            throw new BusinessException(ErrorMessage.INCIDENT_NOT_FOUND);
+        }
+        incidentRepository.flush();
+
+        // 반대 방향 병합이 동시에 와도 뒤에 잠근 쪽이 먼저 끝난 병합 결과를 읽도록 소속 조회 전에 잠근다
+        incidentCentroidService.lock(incidentIds);
+        List<SourceGroup> sources = incidentMoveRepository.findWholeSources(targetIncidentId, sourceIncidentIds);
+        int moved = sources.isEmpty() ? 0 : applyMove(targetIncidentId, sources);
+        // 비워진 원래 사건은 OPEN 으로 남지 않게 같은 트랜잭션에서 닫는다.
+        // 실시간 연결 후보에서는 커밋 후 빼고, 민원이 늘어난 대상 사건은 중심값을 다시 읽는다
+        sources.stream().map(SourceGroup::incidentId).forEach(incidentOperationRepository::closeIfEmpty);
+        incidentLinker.refresh(incidentIds);
+        Long operationId = incidentOperationRepository.record(IncidentOperationRepository.MERGE, targetIncidentId,
+                false, sources);
+        log.info("사건 병합 - 대상 사건 ID: {}, 원래 사건 {}개, 민원 {}건, 기록 ID: {}", targetIncidentId,
+                sourceIncidentIds.size(), moved, operationId);
+        return new IncidentOperationResponse(operationId, IncidentOperationRepository.MERGE, targetIncidentId, moved);
+    }
+
+    /**
+     * 사건의 일부 민원을 새 사건으로 떼어낸다 (분리). 떼어낼 민원은 모두 원래 사건 소속이어야 한다.
+     */
+    @Transactional
+    public IncidentOperationResponse splitIncident(Long incidentId, List<Long> complaintIds, String title) {
+        if (complaintIds == null || complaintIds.isEmpty()) {
+            throw new BusinessException(ErrorMessage.NOT_ALLOWED);
+        }
+        Incident original = incidentRepository.findById(incidentId)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.INCIDENT_NOT_FOUND));
+
+        // 민원 수/상태/접수 시각은 옮긴 만큼 더한다
+        Incident split = incidentRepository.save(Incident.builder()
+                .title(title != null && !title.isBlank() ? title : "[분리] " + original.getTitle())
+                .status(IncidentStatus.OPEN)
+                .districtId(original.getDistrictId())
+                .keywords(original.getKeywords())
+                .complaintCount(0)
+                .openedAt(java.time.LocalDateTime.now())
+                .build());
+        incidentRepository.flush();
+
+        List<SourceGroup> sources = lockSources(split.getId(), complaintIds);
+        int found = sources.stream().mapToInt(g -> g.complaintIds().size()).sum();
+        if (sources.size() != 1 || !incidentId.equals(sources.get(0).incidentId())
+                || found != new HashSet<>(complaintIds).size()) {
+            // 다른 사건 소속이거나 없는 민원이 섞였다 - 새 사건까지 롤백된다
+            throw new BusinessException(ErrorMessage.NOT_ALLOWED);
+        }
+        int moved = applyMove(split.getId(), sources);
+        incidentLinker.refresh(List.of(incidentId, split.getId()));
+        Long operationId = incidentOperationRepository.record(IncidentOperationRepository.SPLIT, split.getId(),
+                true, sources);
+        log.info("사건 분리 - 원래 사건 ID: {}, 새 사건 ID: {}, 민원 {}건, 기록 ID: {}", incidentId, split.getId(), moved,
+                operationId);
+        return new IncidentOperationResponse(operationId, IncidentOperationRepository.SPLIT, split.getId(), moved);
+    }
+
+    /**
+     * 병합/분리를 되돌린다. 기록의 원래 사건 묶음마다 민원을 한 번에 돌려보내고(집합 단위 이동 재생),
+     * 그 사이 다른 사건으로 옮겨진 민원은 건드리지 않는다. 병합 때 닫힌 원래 사건은 다시 열고, 분리로 만든 사건이 비면 닫는다.
+     */
+    @Transactional
+    public IncidentOperationResponse undoOperation(Long operationId) {
+        Operation operation = incidentOperationRepository.lock(operationId)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.INCIDENT_OPERATION_NOT_FOUND));
+        if (operation.undone()) {
+            throw new BusinessException(ErrorMessage.INCIDENT_OPERATION_ALREADY_UNDONE);
+        }
+        incidentRepository.flush();
+
+        // 기록에 남은 사건들을 소속 조회 전에 잠근다 (지워진 사건은 되돌릴 곳이 없어 아래에서 건너뛴다)
+        Set<Long> incidentIds = new HashSet<>();
+        incidentIds.add(operation.targetIncidentId());
+        operation.sources().keySet().stream().filter(Objects::nonNull).forEach(incidentIds::add);
+        incidentCentroidService.lock(incidentIds.stream().filter(incidentRepository::existsById).toList());
+        List<Long> recorded = operation.sources().values().stream().flatMap(List::stream).toList();
+        Set<Long> remaining = recorded.isEmpty() ? Set.of()
+                : new HashSet<>(incidentOperationRepository.findStillIn(operation.targetIncidentId(), recorded));
+        int restored = 0;
+        Set<Long> touched = new HashSet<>();
+        touched.add(operation.targetIncidentId());
+        for (Map.Entry<Long, List<Long>> entry : operation.sources().entrySet()) {
+            List<Long> back = entry.getValue().stream().filter(remaining::contains).toList();
+            if (back.isEmpty() || !incidentRepository.existsById(entry.getKey())) {
+                continue;
+            }
+            List<SourceGroup> sources = incidentMoveRepository.findSources(entry.getKey(), back);
+            if (!sources.isEmpty()) {
+                restored += applyMove(entry.getKey(), sources);
+                // 병합 때 닫힌 원래 사건은 진행 중 민원이 돌아왔으면 다시 연다
+                incidentOperationRepository.reopenIfActive(entry.getKey());
+                touched.add(entry.getKey());
             }
+        }
+        incidentOperationRepository.markUndone(operationId);
+        if (operation.createdIncident()) {
+            incidentOperationRepository.closeIfEmpty(operation.targetIncidentId());
+        }
+        // 다시 열린 원래 사건은 커밋 후 연결 후보로 다시 넣고, 민원이 빠진 대상 사건은 중심값을 다시 읽거나 (닫혔으면) 뺀다
+        incidentLinker.refresh(touched);
+        log.info("사건 {} 되돌리기 - 기록 ID: {}, 민원 {}/{}건 복원", operation.type(), operationId, restored,
+                recorded.size());
+        return new IncidentOperationResponse(operationId, operation.type(), operation.targetIncidentId(), restored);
+    }
 
-            c.setIncident(targetIncident);
+    /**
+     * 옮길 민원의 원래 사건 묶음을 관련 사건을 잠근 뒤의 소속으로 읽는다.
+     * 원래 사건은 읽어 봐야 알 수 있으므로 읽기 → 잠금 → 다시 읽기를 하고, 그 사이 다른 이동으로 새 사건이 끼어들었으면 그 사건도 잠근다.
+     */
+    private List<SourceGroup> lockSources(Long targetIncidentId, List<Long> complaintIds) {
+        Set<Long> locked = new HashSet<>();
+        while (true) {
+            List<SourceGroup> sources = incidentMoveRepository.findSources(targetIncidentId, complaintIds);
+            Set<Long> needed = new HashSet<>();
+            needed.add(targetIncidentId);
+            sources.stream().map(SourceGroup::incidentId).filter(Objects::nonNull).forEach(needed::add);
+            needed.removeAll(locked);
+            if (needed.isEmpty()) {
+                return sources;
+            }
+            incidentCentroidService.lock(needed);
+            locked.addAll(needed);
         }
+    }
 
-        int currentTargetCount = targetIncident.getComplaintCount() == null ? 0 : targetIncident.getComplaintCount();
-        targetIncident.updateComplaintCount(currentTargetCount + complaintsToMove.size());
-        refreshIncidentStatus(targetIncidentId);
+    // 중심값 이동 → 재지정 UPDATE 1번 → 관련 사건 집계 UPDATE 1번. 호출 전에 영속성 컨텍스트를 내보내야 한다
+    private int applyMove(Long targetIncidentId, List<SourceGroup> sources) {
+        incidentCentroidService.move(targetIncidentId, sources);
+        List<Long> complaintIds = sources.stream().flatMap(g -> g.complaintIds().stream()).toList();
+        int moved = incidentMoveRepository.repoint(targetIncidentId, complaintIds);
+        incidentMoveRepository.applyDeltas(targetIncidentId, sources);
+        return moved;
     }
 
     @Transactional
     public void createNewIncident(List<Long> complaintIds) {
-        List<Complaint> complaints = complaintRepository.findAllById(complaintIds);
-        if (complaints.isEmpty())
+        if (complaintIds == null || complaintIds.isEmpty())
+            return;
+        Complaint representative = complaintRepository.findById(complaintIds.get(0)).orElse(null);
+        if (representative == null)
             return;
 
-        Complaint representative = complaints.get(0);
+        // 민원 수/상태는 moveComplaints 가 옮긴 만큼 더한다
         Incident newIncident = Incident.builder()
                 .title("[신규] " + representative.getTitle())
                 .status(IncidentStatus.OPEN)
                 .districtId(representative.getDistrict() != null ? representative.getDistrict().getId() : null)
-                .complaintCount(complaints.size())
+                .complaintCount(0)
                 .openedAt(java.time.LocalDateTime.now())
                 .build();
 
@@ -87,29 +248,50 @@ public class IncidentService {
         moveComplaints(newIncident.getId(), complaintIds);
     }
 
+    /**
+     * 접수 때 거의 같은 민원으로 판정된 민원을 원 민원의 OPEN 사건에 바로 붙인다 (판단은 NearDuplicateDetector).
+     * 사건 집계는 실시간 연결과 같은 한 문장으로 고친다.
+     * 아직 임베딩이 없어 중심값에는 위치만 더하고, 임베딩은 분석이 끝난 뒤 addDuplicateEmbedding 으로 더한다.
+     */
     @Transactional
-    public void refreshIncidentStatus(Long incidentId) {
-        Incident incident = incidentRepository.findById(incidentId)
-                .orElseThrow(() -> new IllegalArgumentException("사건을 찾을 수 없습니다. ID: " + incidentId));
+    public void linkDuplicate(Complaint complaint, Long incidentId, double similarity) {
+        complaint.linkIncident(incidentRepository.getReferenceById(incidentId), similarity);
+        boolean terminal = complaint.getStatus() != null && complaint.getStatus().isTerminal();
+        incidentRepository.applyLinkedMember(incidentId, complaint.getReceivedAt(), terminal ? 0 : 1, terminal ? 1 : 0);
+        incidentRepository.refreshIfLoaded(incidentId);
+        incidentCentroidService.add(incidentId, null, complaint.getLat(), complaint.getLon());
+    }
 
-        List<Complaint> complaints = incident.getComplaints();
-        if (complaints == null || complaints.isEmpty())
+    @Transactional
+    public void addDuplicateEmbedding(Complaint complaint, float[] embedding) {
+        if (complaint.getIncident() == null || embedding == null) {
             return;
+        }
+        incidentCentroidService.add(complaint.getIncident().getId(), embedding, null, null);
+    }
 
-        boolean allClosed = complaints.stream()
-                .allMatch(c -> c.getStatus() == ComplaintStatus.CLOSED || c.getStatus() == ComplaintStatus.CANCELED);
-
-        IncidentStatus newStatus;
-
-        if (allClosed) {
-            newStatus = IncidentStatus.CLOSED;
-        } else {
-            newStatus = IncidentStatus.OPEN;
+    /**
+     * 민원 상태 전이를 사건 상태 갱신 대기열에 올린다. 요청 트랜잭션에서는 사건 행을 건드리지 않고,
+     * 커밋 후 워커가 사건별로 모아 재집계한다. 진행 중 ↔ 종료(CLOSED/CANCELED)가 바뀌지 않는 전이(접수 → 처리 중 등)는
+     * 사건 상태에 영향이 없어 올리지 않는다.
+     */
+    public void onComplaintStatusChanged(Complaint complaint, ComplaintStatus before) {
+        ComplaintStatus after = complaint.getStatus();
+        if (complaint.getIncident() == null || before == null || after == null
+                || before.isTerminal() == after.isTerminal()) {
+            return;
         }
+        incidentRefreshQueue.enqueue(complaint.getIncident().getId());
+    }
 
-        if (incident.getStatus() != newStatus) {
-            incident.updateStatus(newStatus);
-            incidentRepository.save(incident);
+    // 군집 루프가 붙인 민원, 놓친 전이 등으로 어긋난 사건 집계(민원 수/접수 시각)와 사건 상태를 바로잡는다
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.incident.status.reconcile-ms:300000}",
+            initialDelayString = "${app.incident.status.reconcile-ms:300000}")
+    public void reconcileMemberCounts() {
+        int fixed = incidentRepository.reconcileMemberCounts();
+        if (fixed > 0) {
+            log.info("사건 집계 재계산 - {}건 보정", fixed);
         }
     }
-}
\ No newline at end of file
+}
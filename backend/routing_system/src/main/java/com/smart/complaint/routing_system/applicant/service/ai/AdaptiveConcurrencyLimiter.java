@@ -0,0 +1,205 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * AI 서버 동시 호출 한도를 관측 지연에 맞춰 조절한다 (고정 벌크헤드 대체).
+ * <p>
+ * - 지연 기울기: 최근 평균 RTT 가 무부하 기준 RTT(관측 최솟값) 의 tolerance 배를 넘으면
+ *   (= AI 서버 안에 큐가 생기기 시작) 한도를 그 비율만큼 줄이고, 그 안이면 sqrt(limit) 만큼 늘린다.
+ * - 기준 RTT 는 최근 두 구간(baseline-window) 의 최솟값이라, LLM 제공자 지연이 영구히 올라가면 그만큼 따라 올라간다.
+ *   과부하 중에는 한도가 줄면서 곧 낮은 샘플이 다시 들어오므로 기준이 혼잡 지연으로 끌려가지 않는다.
+ * - AIMD: 타임아웃/5xx/연결 실패는 과부하 신호로 보고 곧바로 한도를 곱으로 줄인다.
+ * - 한도를 넘은 호출은 maxWait 동안 대기열에서 기다리고, 대기열이 꽉 찼거나 시간이 지나면 거절한다.
+ * 호출이 한도의 절반도 안 쓰는 동안에는 늘리지 않는다 (한가할 때 한도가 무한정 커지는 것 방지).
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double SHORT_ALPHA = 0.3;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final double tolerance;
+    private final double smoothing;
+    private final long baselineWindowNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double shortRtt;
+    private long windowStartNanos;
+    private long currentWindowMin = Long.MAX_VALUE;
+    private long previousWindowMin = Long.MAX_VALUE;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public static class LimitExceededException extends RuntimeException {
+        LimitExceededException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long maxWaitMs, int maxQueue,
+            double tolerance, double smoothing, long baselineWindowMs) {
+        this(initialLimit, minLimit, maxLimit, maxWaitMs, maxQueue, tolerance, smoothing, baselineWindowMs,
+                System::nanoTime);
+    }
+
+    // RTT 와 기준 구간을 재는 시계를 바꿔 끼운다 (테스트용)
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long maxWaitMs, int maxQueue,
+            double tolerance, double smoothing, long baselineWindowMs, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.maxQueue = maxQueue;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.baselineWindowNanos = TimeUnit.MILLISECONDS.toNanos(baselineWindowMs);
+        this.nanoClock = nanoClock;
+        this.windowStartNanos = nanoClock.getAsLong();
+    }
+
+    // 호출 하나의 슬롯. 끝나면 success / dropped / ignore 중 하나를 반드시 부른다.
+    public final class Permit {
+        private final long startNanos = nanoClock.getAsLong();
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void success() {
+            release(this, nanoClock.getAsLong() - startNanos, false);
+        }
+
+        public void dropped() {
+            release(this, nanoClock.getAsLong() - startNanos, true);
+        }
+
+        // 4xx 처럼 AI 서버 부하와 무관한 실패 - 한도 계산에 넣지 않는다
+        public void ignore() {
+            release(this, -1L, false);
+        }
+    }
+
+    public Permit acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                return new Permit(++inFlight);
+            }
+            if (waiting >= maxQueue) {
+                rejected.increment();
+                throw new LimitExceededException("AI 서버 동시 호출 대기열 초과");
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0L) {
+                        rejected.increment();
+                        throw new LimitExceededException("AI 서버 동시 호출 대기 시간 초과");
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return new Permit(++inFlight);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new LimitExceededException("AI 서버 호출 대기 중 인터럽트");
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Permit permit, long rttNanos, boolean drop) {
+        lock.lock();
+        try {
+            if (permit.released) {
+                return;
+            }
+            permit.released = true;
+            inFlight--;
+            if (drop) {
+                dropped.increment();
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (rttNanos > 0L) {
+                update(rttNanos, permit.inFlightAtStart);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtStart) {
+        long now = nanoClock.getAsLong();
+        if (now - windowStartNanos > baselineWindowNanos) {
+            previousWindowMin = currentWindowMin;
+            currentWindowMin = Long.MAX_VALUE;
+            windowStartNanos = now;
+        }
+        currentWindowMin = Math.min(currentWindowMin, rttNanos);
+        double baselineRtt = Math.min(previousWindowMin, currentWindowMin);
+        shortRtt = shortRtt == 0.0 ? rttNanos : shortRtt + SHORT_ALPHA * (rttNanos - shortRtt);
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRtt / shortRtt));
+        if (gradient >= 1.0 && inFlightAtStart < limit / 2) {
+            return;
+        }
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.min(maxLimit, Math.max(minLimit, limit * (1.0 - smoothing) + target * smoothing));
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,181 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AI 서버 전처리 응답({"status", "data", "embedding", "chunk_embeddings"})을 토큰 단위로 한 번에 읽는 파서.
+ * <p>
+ * - embedding 은 미리 할당한 float[] 에 바로 채운다 (박싱/리스트 경유 없음).
+ *   숫자 변환은 Jackson 의 빠른 실수 파서에 맡긴다 (Float.parseFloat 과 같은 값으로 정확히 반올림).
+ * - data 문자열은 파서 내부 char 버퍼에서 코드펜스(```json ... ```) 위치만 잘라내고,
+ * 복사 없이 그 구간을 다시 파싱해 {@link AiDto.Analysis} 로 바인딩한다.
+ */
+@Component
+public class AiResponseParser {
+
+    public static final int EMBEDDING_DIM = 1024;
+
+    // 조각 임베딩은 민원당 이 개수까지만 받는다 (나머지는 건너뜀)
+    public static final int MAX_CHUNKS = 16;
+
+    private static final float[][] NO_CHUNKS = new float[0][];
+
+    private static final char[] FENCE = { '`', '`', '`' };
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+
+    public AiResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public AiDto.Preprocessed parse(String rawResponseBody) throws IOException {
+        String status = null;
+        AiDto.Analysis analysis = null;
+        float[] embedding = null;
+        float[][] chunkEmbeddings = NO_CHUNKS;
+
+        try (JsonParser parser = jsonFactory.createParser(rawResponseBody)) {
+            parser.enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER.mappedFeature());
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("AI 응답이 JSON 객체가 아닙니다.");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+
+                switch (field) {
+                    case "status" -> status = parser.getText();
+                    case "data" -> analysis = readAnalysis(parser);
+                    case "embedding" -> embedding = readEmbedding(parser);
+                    case "chunk_embeddings" -> chunkEmbeddings = readChunkEmbeddings(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (analysis == null) {
+            throw new IOException("AI 응답에 분석 데이터가 없습니다. status=" + status);
+        }
+        return new AiDto.Preprocessed(status, analysis, embedding, chunkEmbeddings);
+    }
+
+    private float[][] readChunkEmbeddings(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("chunk_embeddings 필드가 배열이 아닙니다.");
+        }
+
+        List<float[]> chunks = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (chunks.size() >= MAX_CHUNKS || parser.currentToken() == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                continue;
+            }
+            chunks.add(readEmbedding(parser));
+        }
+        return chunks.toArray(new float[0][]);
+    }
+
+    private float[] readEmbedding(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("embedding 필드가 배열이 아닙니다.");
+        }
+
+        float[] buffer = new float[EMBEDDING_DIM];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = parser.getFloatValue();
+        }
+        return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    private AiDto.Analysis readAnalysis(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            // 서버가 이미 객체로 내려준 경우 그대로 바인딩
+            return objectMapper.readValue(parser, AiDto.Analysis.class);
+        }
+
+        // getTextCharacters() 버퍼는 다음 토큰을 읽기 전까지만 유효하므로 여기서 바로 파싱한다.
+        char[] chars = parser.getTextCharacters();
+        int start = parser.getTextOffset();
+        int end = start + parser.getTextLength();
+
+        start = skipWhitespace(chars, start, end);
+        end = trimWhitespace(chars, start, end);
+
+        if (startsWith(chars, start, end, FENCE)) {
+            start += FENCE.length;
+            // ```json 처럼 붙은 언어 태그 건너뛰기
+            while (start < end && Character.isLetter(chars[start])) {
+                start++;
+            }
+            start = skipWhitespace(chars, start, end);
+        }
+        if (endsWith(chars, start, end, FENCE)) {
+            end = trimWhitespace(chars, start, end - FENCE.length);
+        }
+
+        try (JsonParser inner = jsonFactory.createParser(chars, start, end - start)) {
+            return objectMapper.readValue(inner, AiDto.Analysis.class);
+        }
+    }
+
+    private static int skipWhitespace(char[] chars, int from, int end) {
+        while (from < end && Character.isWhitespace(chars[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimWhitespace(char[] chars, int start, int end) {
+        while (end > start && Character.isWhitespace(chars[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean startsWith(char[] chars, int start, int end, char[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (chars[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean endsWith(char[] chars, int start, int end, char[] suffix) {
+        if (end - start < suffix.length) {
+            return false;
+        }
+        int base = end - suffix.length;
+        for (int i = 0; i < suffix.length; i++) {
+            if (chars[base + i] != suffix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,174 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+
+import com.smart.complaint.routing_system.applicant.service.ai.AdaptiveConcurrencyLimiter.LimitExceededException;
+import com.smart.complaint.routing_system.applicant.service.ai.AdaptiveConcurrencyLimiter.Permit;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 백엔드 → AI 서버 호출의 단일 진입점.
+ * 커넥션 풀은 공유하고, 작업 종류별로 읽기 타임아웃만 다르게 적용한다.
+ * 모든 호출은 서킷 브레이커와 적응형 동시 호출 한도를 거치므로 AI 서버가 느려져도 요청 스레드가 묶이지 않는다.
+ */
+@Slf4j
+@Component
+public class AiServerClient {
+
+    public enum AiOperation {
+        PREPROCESS,
+        DRAFT,
+        CHAT
+    }
+
+    private final Map<AiOperation, RestClient> clients = new EnumMap<>(AiOperation.class);
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CloseableHttpClient httpClient;
+    private final String baseUrl;
+    private final RequestConfig streamRequestConfig;
+
+    public AiServerClient(CloseableHttpClient aiHttpClient,
+            CircuitBreaker aiCircuitBreaker,
+            AdaptiveConcurrencyLimiter aiConcurrencyLimiter,
+            @Value("${app.ai-server.base-url:http://complaint-ai-server:8000}") String baseUrl,
+            @Value("${app.ai-server.connection-request-timeout-ms:1000}") long connectionRequestTimeoutMs,
+            @Value("${app.ai-server.timeout.preprocess-ms:30000}") long preprocessTimeoutMs,
+            @Value("${app.ai-server.timeout.draft-ms:60000}") long draftTimeoutMs,
+            @Value("${app.ai-server.timeout.chat-ms:60000}") long chatTimeoutMs) {
+        this.circuitBreaker = aiCircuitBreaker;
+        this.concurrencyLimiter = aiConcurrencyLimiter;
+        this.httpClient = aiHttpClient;
+        this.baseUrl = baseUrl;
+        // 스트리밍은 전체 시간이 아니라 "다음 토큰까지" 대기 시간에 읽기 타임아웃을 건다
+        this.streamRequestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(draftTimeoutMs))
+                .build();
+
+        clients.put(AiOperation.PREPROCESS,
+                buildClient(aiHttpClient, baseUrl, connectionRequestTimeoutMs, preprocessTimeoutMs));
+        clients.put(AiOperation.DRAFT,
+                buildClient(aiHttpClient, baseUrl, connectionRequestTimeoutMs, draftTimeoutMs));
+        clients.put(AiOperation.CHAT,
+                buildClient(aiHttpClient, baseUrl, connectionRequestTimeoutMs, chatTimeoutMs));
+    }
+
+    private RestClient buildClient(CloseableHttpClient httpClient, String baseUrl,
+            long connectionRequestTimeoutMs, long readTimeoutMs) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectionRequestTimeout(Duration.ofMillis(connectionRequestTimeoutMs));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(factory)
+                .build();
+    }
+
+    // 민원 전처리 (LLM 분석 + 임베딩). 원문 응답 문자열을 그대로 돌려준다.
+    public String preprocess(Map<String, Object> request) {
+        return execute(() -> clients.get(AiOperation.PREPROCESS).post()
+                .uri("/api/complaints/preprocess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(String.class));
+    }
+
+    // 스트리밍 요청 (취소하려면 다른 스레드에서 request.cancel() - 읽던 스트림이 바로 끊긴다)
+    public HttpPost streamingPost(String path, String jsonBody) {
+        HttpPost request = new HttpPost(baseUrl + path);
+        request.setConfig(streamRequestConfig);
+        request.setHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        request.setEntity(new StringEntity(jsonBody, ContentType.APPLICATION_JSON));
+        return request;
+    }
+
+    /**
+     * 응답 헤더까지만 서킷 브레이커/동시 호출 한도를 거친다 (본문 스트림은 호출한 쪽이 읽고 닫는다).
+     * 토큰이 도는 수십 초 전체를 느린 호출로 세거나 한도 슬롯을 잡아 두지 않기 위함.
+     * 5xx 는 서버 장애로 기록하고, 4xx 는 응답을 그대로 돌려준다.
+     */
+    public ClassicHttpResponse openStream(HttpPost request) {
+        return execute(() -> {
+            try {
+                ClassicHttpResponse response = httpClient.executeOpen(null, request, null);
+                if (response.getCode() >= 500) {
+                    response.close();
+                    throw new HttpServerErrorException(HttpStatusCode.valueOf(response.getCode()));
+                }
+                return response;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public RestClient client(AiOperation operation) {
+        return clients.get(operation);
+    }
+
+    // 서킷이 열려 있으면 즉시 실패하고, 동시 호출 한도를 넘으면 짧게 대기 후 거절한다.
+    public <T> T execute(Supplier<T> call) {
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreaker, () -> limited(call));
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException e) {
+            log.warn("AI 서버 서킷 오픈 상태 - 호출 차단");
+            throw new BusinessException(ErrorMessage.AI_SERVER_UNAVAILABLE);
+        } catch (LimitExceededException e) {
+            log.warn("AI 서버 동시 호출 한도 초과 - 호출 거절 (한도 {}, 대기 {})", concurrencyLimiter.limit(),
+                    concurrencyLimiter.queued());
+            throw new BusinessException(ErrorMessage.AI_SERVER_BUSY);
+        }
+    }
+
+    // 결과에 따라 한도를 조절: 성공은 지연 샘플, 4xx 는 무시, 그 외(타임아웃/5xx/연결 실패)는 과부하 신호
+    private <T> T limited(Supplier<T> call) {
+        Permit permit = concurrencyLimiter.acquire();
+        try {
+            T result = call.get();
+            permit.success();
+            return result;
+        } catch (HttpClientErrorException e) {
+            permit.ignore();
+            throw e;
+        } catch (RuntimeException | Error e) {
+            permit.dropped();
+            throw e;
+        }
+    }
+
+    public boolean isAvailable() {
+        return circuitBreaker.getState() != CircuitBreaker.State.OPEN
+                && circuitBreaker.getState() != CircuitBreaker.State.FORCED_OPEN;
+    }
+}
@@ -0,0 +1,194 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient.AiOperation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * AI 서버의 답변 초안 스트림을 브라우저로 SSE 중계한다.
+ * - 요청 스레드는 SseEmitter 를 돌려주고 바로 반환되고, 중계는 draftStreamExecutor 스레드가 맡는다.
+ * - 받은 줄을 바로 emitter 로 써서 전체 응답을 모으지 않는다. send 는 브라우저 쪽 소켓에 쓰일 때까지 막히므로
+ *   브라우저가 느리면 AI 서버 스트림도 그만큼 천천히 읽힌다 (TCP 흐름 제어로 이어지는 backpressure).
+ * - 브라우저가 끊거나 emitter 가 만료되면 AI 서버 연결을 끊어(cancel) 스레드와 LLM 호출을 같이 정리한다.
+ * <p>
+ * 이벤트: token (data = {"token": "..."}), done, error (data = {"message": "..."})
+ */
+@Slf4j
+@Service
+public class DraftStreamService {
+
+    private final AiServerClient aiServerClient;
+    private final ComplaintRepository complaintRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor draftStreamExecutor;
+    private final long emitterTimeoutMs;
+
+    public DraftStreamService(AiServerClient aiServerClient, ComplaintRepository complaintRepository,
+            ObjectMapper objectMapper,
+            @Qualifier("draftStreamExecutor") ThreadPoolTaskExecutor draftStreamExecutor,
+            @Value("${app.ai-server.draft-stream.emitter-timeout-ms:180000}") long emitterTimeoutMs) {
+        this.aiServerClient = aiServerClient;
+        this.complaintRepository = complaintRepository;
+        this.objectMapper = objectMapper;
+        this.draftStreamExecutor = draftStreamExecutor;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    public SseEmitter stream(Long complaintId) {
+        Complaint complaint = complaintRepository.findById(complaintId)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.COMPLAINT_NOT_FOUND));
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Relay relay = new Relay(complaintId, complaint.getBody(), emitter);
+        emitter.onCompletion(relay::cancel);
+        emitter.onTimeout(relay::cancel);
+        emitter.onError(e -> relay.cancel());
+
+        try {
+            draftStreamExecutor.execute(relay::run);
+        } catch (TaskRejectedException e) {
+            log.warn("초안 스트림 한도 초과 - 민원 ID: {}", complaintId);
+            relay.fail(ErrorMessage.AI_SERVER_UNAVAILABLE.getMessage());
+        }
+        return emitter;
+    }
+
+    private final class Relay {
+        private final Long complaintId;
+        private final String complaintBody;
+        private final SseEmitter emitter;
+        private volatile boolean cancelled;
+        private volatile HttpPost request;
+
+        private Relay(Long complaintId, String complaintBody, SseEmitter emitter) {
+            this.complaintId = complaintId;
+            this.complaintBody = complaintBody;
+            this.emitter = emitter;
+        }
+
+        void cancel() {
+            cancelled = true;
+            HttpPost current = request;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                HttpPost post = aiServerClient.streamingPost(
+                        "/api/v2/complaints/" + complaintId + "/generate-draft/stream", requestBody());
+                request = post;
+                if (cancelled) {
+                    return;
+                }
+                try (ClassicHttpResponse response = aiServerClient.openStream(post)) {
+                    if (response.getCode() == 404) {
+                        // 스트리밍 엔드포인트가 없는 AI 서버 - 한 번에 받아 한 이벤트로 보낸다
+                        relayBuffered();
+                        return;
+                    }
+                    if (response.getCode() != 200 || response.getEntity() == null) {
+                        fail("AI 서버 응답 오류 (" + response.getCode() + ")");
+                        return;
+                    }
+                    relayLines(response);
+                }
+            } catch (BusinessException e) {
+                fail(e.getErrorMessage().getMessage());
+            } catch (Exception e) {
+                if (cancelled) {
+                    log.debug("초안 스트림 취소 - 민원 ID: {}", complaintId);
+                    return;
+                }
+                log.warn("초안 스트림 중계 실패 - 민원 ID: {}, {}", complaintId, e.getMessage());
+                fail("초안 생성 중 오류가 발생했습니다.");
+            }
+        }
+
+        // AI 서버 SSE 를 줄 단위로 읽어 이벤트 이름과 data 를 그대로 넘긴다
+        private void relayLines(ClassicHttpResponse response) throws IOException {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8))) {
+                String event = "token";
+                String line;
+                while (!cancelled && (line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        event = "token";
+                    } else if (line.startsWith("event:")) {
+                        event = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        emitter.send(SseEmitter.event().name(event).data(line.substring(5).trim(),
+                                MediaType.APPLICATION_JSON));
+                        if ("done".equals(event) || "error".equals(event)) {
+                            break;
+                        }
+                    }
+                }
+            }
+            if (!cancelled) {
+                emitter.complete();
+            }
+        }
+
+        private void relayBuffered() throws IOException {
+            Map<?, ?> result = aiServerClient.execute(() -> aiServerClient.client(AiOperation.DRAFT).post()
+                    .uri("/api/v2/complaints/{id}/generate-draft", complaintId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("query", complaintBody != null ? complaintBody : "", "action", "draft"))
+                    .retrieve()
+                    .body(Map.class));
+            Object data = result != null ? result.get("data") : null;
+            if (data == null) {
+                fail("초안 생성 중 오류가 발생했습니다.");
+                return;
+            }
+            emitter.send(SseEmitter.event().name("token")
+                    .data(objectMapper.writeValueAsString(Map.of("token", data)), MediaType.APPLICATION_JSON));
+            emitter.send(SseEmitter.event().name("done").data("{}", MediaType.APPLICATION_JSON));
+            emitter.complete();
+        }
+
+        void fail(String message) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name("error")
+                        .data(objectMapper.writeValueAsString(Map.of("message", message)), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        private String requestBody() throws JsonProcessingException {
+            return objectMapper.writeValueAsString(
+                    Map.of("query", complaintBody != null ? complaintBody : "", "action", "draft"));
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.smart.complaint.routing_system.applicant.service.backfill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.BackfillStatus;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import com.smart.complaint.routing_system.applicant.dto.BackfillProgressResponse;
+import com.smart.complaint.routing_system.applicant.dto.BackfillRequest;
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
+import com.smart.complaint.routing_system.applicant.entity.BackfillJob;
+import com.smart.complaint.routing_system.applicant.repository.BackfillJobRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintChunkEmbeddingRepository;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationBackfillRepository;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationBackfillRepository.Failure;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationBackfillRepository.Source;
+import com.smart.complaint.routing_system.applicant.service.ai.AiResponseParser;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient;
+import com.smart.complaint.routing_system.applicant.service.similarity.ComplaintNeighborGraph;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 과거 민원 정규화/임베딩 재생성 (모델·프롬프트 변경 시).
+ * <p>
+ * - 민원 ID 구간을 키셋 방식으로 batch-size 건씩 읽고, AI 서버에 parallelism 개까지 동시에 보낸다.
+ * - 호출은 초당 rate-per-second 건으로 제한하고 AiServerClient 의 서킷/동시 호출 한도를 그대로 거치므로,
+ *   실시간 민원 처리와 같은 한도를 나눠 쓴다. 서킷이 열리면 닫힐 때까지 기다린다.
+ * - 배치 결과 저장(기존 행 내림 + 새 행 INSERT)과 체크포인트(cursor_id) 갱신은 한 트랜잭션이라,
+ *   재시작하면 마지막으로 커밋된 배치 다음부터 이어서 진행한다.
+ * - 체크포인트는 실패한 민원도 지나가므로 실패한 민원은 같은 트랜잭션에서 backfill_job_failures 에 남기고,
+ *   구간 끝에 다다르면 완료 처리 전에 failure-retry-rounds 번까지 다시 시도한다.
+ */
+@Slf4j
+@Service
+public class NormalizationBackfillService {
+
+    private final BackfillJobRepository jobRepository;
+    private final NormalizationBackfillRepository backfillRepository;
+    private final ComplaintChunkEmbeddingRepository chunkEmbeddingRepository;
+    private final AiServerClient aiServerClient;
+    private final AiResponseParser aiResponseParser;
+    private final ObjectMapper objectMapper;
+    private final ComplaintNeighborGraph neighborGraph;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int defaultBatchSize;
+    private final int defaultParallelism;
+    private final int maxParallelism;
+    private final double defaultRatePerSecond;
+    private final long unavailableWaitMs;
+    private final int maxAttempts;
+    private final int failureRetryRounds;
+
+    // 작업은 한 번에 하나씩 전용 스레드에서 실행
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "normalization-backfill");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Set<Long> pauseRequested = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Throughput> throughput = new ConcurrentHashMap<>();
+
+    public NormalizationBackfillService(BackfillJobRepository jobRepository,
+            NormalizationBackfillRepository backfillRepository,
+            ComplaintChunkEmbeddingRepository chunkEmbeddingRepository,
+            AiServerClient aiServerClient,
+            AiResponseParser aiResponseParser,
+            ObjectMapper objectMapper,
+            ComplaintNeighborGraph neighborGraph,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.backfill.batch-size:100}") int defaultBatchSize,
+            @Value("${app.backfill.parallelism:4}") int defaultParallelism,
+            @Value("${app.backfill.max-parallelism:8}") int maxParallelism,
+            @Value("${app.backfill.rate-per-second:2.0}") double defaultRatePerSecond,
+            @Value("${app.backfill.unavailable-wait-ms:5000}") long unavailableWaitMs,
+            @Value("${app.backfill.max-attempts:3}") int maxAttempts,
+            @Value("${app.backfill.failure-retry-rounds:2}") int failureRetryRounds) {
+        this.jobRepository = jobRepository;
+        this.backfillRepository = backfillRepository;
+        this.chunkEmbeddingRepository = chunkEmbeddingRepository;
+        this.aiServerClient = aiServerClient;
+        this.aiResponseParser = aiResponseParser;
+        this.objectMapper = objectMapper;
+        this.neighborGraph = neighborGraph;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultBatchSize = defaultBatchSize;
+        this.defaultParallelism = defaultParallelism;
+        this.maxParallelism = maxParallelism;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.unavailableWaitMs = unavailableWaitMs;
+        this.maxAttempts = maxAttempts;
+        this.failureRetryRounds = failureRetryRounds;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    public BackfillProgressResponse start(BackfillRequest request) {
+        BackfillJob job = transactionTemplate.execute(status -> {
+            if (jobRepository.existsByStatus(BackfillStatus.RUNNING)) {
+                throw new BusinessException(ErrorMessage.BACKFILL_ALREADY_RUNNING);
+            }
+            long fromId = request.fromId() != null ? request.fromId() : 1L;
+            long toId = request.toId() != null ? request.toId() : backfillRepository.findMaxComplaintId();
+            if (fromId > toId) {
+                throw new BusinessException(ErrorMessage.NOT_ALLOWED);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            return jobRepository.save(BackfillJob.builder()
+                    .status(BackfillStatus.RUNNING)
+                    .fromId(fromId)
+                    .toId(toId)
+                    .cursorId(fromId - 1)
+                    .batchSize(positiveOr(request.batchSize(), defaultBatchSize))
+                    .parallelism(Math.min(positiveOr(request.parallelism(), defaultParallelism), maxParallelism))
+                    .ratePerSecond(request.ratePerSecond() != null && request.ratePerSecond() > 0
+                            ? request.ratePerSecond()
+                            : defaultRatePerSecond)
+                    .processed(0L)
+                    .failed(0L)
+                    .startedAt(now)
+                    .updatedAt(now)
+                    .build());
+        });
+        log.info("정규화 재생성 작업 시작 - 작업 ID: {}, 민원 ID {} ~ {}", job.getId(), job.getFromId(), job.getToId());
+        launch(job.getId());
+        return toResponse(job);
+    }
+
+    public BackfillProgressResponse pause(Long jobId) {
+        BackfillJob job = findJob(jobId);
+        if (job.getStatus() == BackfillStatus.RUNNING) {
+            // 진행 중인 배치가 커밋된 뒤 멈춘다
+            pauseRequested.add(jobId);
+        }
+        return toResponse(job);
+    }
+
+    public BackfillProgressResponse resume(Long jobId) {
+        pauseRequested.remove(jobId);
+        BackfillJob job = findJob(jobId);
+        if (job.getStatus() != BackfillStatus.PAUSED && job.getStatus() != BackfillStatus.FAILED) {
+            return toResponse(job);
+        }
+        BackfillJob resumed = transactionTemplate.execute(status -> {
+            if (jobRepository.existsByStatus(BackfillStatus.RUNNING)) {
+                throw new BusinessException(ErrorMessage.BACKFILL_ALREADY_RUNNING);
+            }
+            BackfillJob found = findJob(jobId);
+            found.changeStatus(BackfillStatus.RUNNING);
+            return found;
+        });
+        launch(jobId);
+        return toResponse(resumed);
+    }
+
+    public BackfillProgressResponse get(Long jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    public List<BackfillProgressResponse> list() {
+        return jobRepository.findAll().stream().map(this::toResponse).toList();
+    }
+
+    // 서버가 재시작되면 RUNNING 으로 남아 있던 작업을 체크포인트부터 이어서 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (BackfillJob job : jobRepository.findByStatus(BackfillStatus.RUNNING)) {
+            log.info("중단된 정규화 재생성 작업 재개 - 작업 ID: {}, 체크포인트: {}", job.getId(), job.getCursorId());
+            launch(job.getId());
+        }
+    }
+
+    private void launch(Long jobId) {
+        runner.submit(() -> run(jobId));
+    }
+
+    private void run(Long jobId) {
+        BackfillJob job = findJob(jobId);
+        if (job.getStatus() != BackfillStatus.RUNNING) {
+            return;
+        }
+        RateLimiter limiter = RateLimiter.of("backfill-" + jobId, RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofNanos((long) (1_000_000_000L / job.getRatePerSecond())))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+        ExecutorService workers = Executors.newFixedThreadPool(job.getParallelism());
+        Throughput meter = throughput.computeIfAbsent(jobId, id -> new Throughput());
+        meter.restart();
+
+        try {
+            long cursor = job.getCursorId();
+            while (true) {
+                if (pauseRequested.remove(jobId)) {
+                    pause(jobId, cursor);
+                    return;
+                }
+
+                List<Source> batch = backfillRepository.findSources(cursor, job.getToId(), job.getBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                long batchStart = System.nanoTime();
+                BatchResult result = processBatch(batch, limiter, workers);
+                long lastId = batch.get(batch.size() - 1).id();
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    save(jobId, result);
+                    BackfillJob current = findJob(jobId);
+                    current.advance(lastId, result.rows().size(), result.failures().size(), result.lastError());
+                });
+                cursor = lastId;
+                meter.record(batch.size(), System.nanoTime() - batchStart);
+            }
+
+            // 구간을 다 돌았으면 실패로 남은 민원을 다시 시도한 뒤 완료
+            for (int round = 1; round <= failureRetryRounds; round++) {
+                long afterId = 0;
+                int recovered = 0;
+                List<Source> batch;
+                while (!(batch = backfillRepository.findFailedSources(jobId, afterId, job.getBatchSize())).isEmpty()) {
+                    if (pauseRequested.remove(jobId)) {
+                        pause(jobId, cursor);
+                        return;
+                    }
+                    long batchStart = System.nanoTime();
+                    BatchResult result = processBatch(batch, limiter, workers);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        save(jobId, result);
+                        findJob(jobId).recover(result.rows().size(), result.lastError());
+                    });
+                    afterId = batch.get(batch.size() - 1).id();
+                    recovered += result.rows().size();
+                    meter.record(batch.size(), System.nanoTime() - batchStart);
+                }
+                if (afterId == 0) {
+                    break;
+                }
+                log.info("정규화 재생성 실패 민원 재시도 - 작업 ID: {}, {}회차, 복구 {}건", jobId, round, recovered);
+            }
+
+            updateStatus(jobId, BackfillStatus.COMPLETED);
+            log.info("정규화 재생성 작업 완료 - 작업 ID: {}, 끝내 실패 {}건", jobId, findJob(jobId).getFailed());
+            // 임베딩이 바뀌었으므로 유사 민원 그래프도 다시 계산
+            neighborGraph.rebuild();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("정규화 재생성 작업 중단 - 작업 ID: {} (재시작 시 체크포인트부터 재개)", jobId);
+        } catch (Exception e) {
+            log.error("정규화 재생성 작업 실패 - 작업 ID: {}: {}", jobId, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> findJob(jobId).fail(e.getMessage()));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // 정규화 행 교체와 실패 기록 갱신 (호출하는 쪽 트랜잭션에서 체크포인트와 함께 커밋)
+    private void save(Long jobId, BatchResult result) {
+        backfillRepository.replaceCurrent(result.rows());
+        chunkEmbeddingRepository.replace(result.rows());
+        backfillRepository.updateFailures(jobId, result.rows(), result.failures());
+    }
+
+    private void pause(Long jobId, long cursor) {
+        updateStatus(jobId, BackfillStatus.PAUSED);
+        log.info("정규화 재생성 작업 일시정지 - 작업 ID: {}, 체크포인트: {}", jobId, cursor);
+    }
+
+    private BatchResult processBatch(List<Source> batch, RateLimiter limiter, ExecutorService workers)
+            throws InterruptedException {
+        List<Future<NormalizationRow>> futures = new ArrayList<>(batch.size());
+        for (Source source : batch) {
+            futures.add(workers.submit(() -> analyze(source, limiter)));
+        }
+
+        List<NormalizationRow> rows = new ArrayList<>(batch.size());
+        List<Failure> failures = new ArrayList<>();
+        String lastError = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                rows.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                failures.add(new Failure(batch.get(i).id(), e.getCause().getMessage()));
+                lastError = "민원 " + batch.get(i).id() + ": " + e.getCause().getMessage();
+                log.warn("정규화 재생성 실패 - {}", lastError);
+            }
+        }
+        return new BatchResult(rows, failures, lastError);
+    }
+
+    private NormalizationRow analyze(Source source, RateLimiter limiter) throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("id", source.id());
+        request.put("title", source.title());
+        request.put("body", source.body());
+        request.put("addressText", source.addressText());
+        request.put("lat", source.lat());
+        request.put("lon", source.lon());
+        request.put("applicantId", source.applicantId());
+        request.put("districtId", 3);
+
+        for (int attempt = 1;; attempt++) {
+            awaitAiServer();
+            // 허가는 timeoutDuration(1분)까지 기다린다. 그래도 못 받으면 실패한 시도로 세고,
+            // 시도를 다 쓰면 실패 기록(backfill_job_failures)으로 넘겨 구간 끝에서 다시 시도한다
+            if (!limiter.acquirePermission()) {
+                if (attempt >= maxAttempts) {
+                    throw new BusinessException(ErrorMessage.AI_SERVER_BUSY);
+                }
+                continue;
+            }
+            try {
+                AiDto.Preprocessed preprocessed = aiResponseParser.parse(aiServerClient.preprocess(request));
+                return NormalizationRow.of(source.id(), preprocessed, objectMapper);
+            } catch (BusinessException e) {
+                // 서킷 오픈/동시 호출 한도 초과는 실시간 트래픽 보호 신호 - 건너뛰지 않고 기다렸다 다시 시도
+                boolean retryable = e.getErrorMessage() == ErrorMessage.AI_SERVER_UNAVAILABLE
+                        || e.getErrorMessage() == ErrorMessage.AI_SERVER_BUSY;
+                if (!retryable || attempt >= maxAttempts) {
+                    throw e;
+                }
+                Thread.sleep(unavailableWaitMs);
+            }
+        }
+    }
+
+    private void awaitAiServer() throws InterruptedException {
+        while (!aiServerClient.isAvailable()) {
+            Thread.sleep(unavailableWaitMs);
+        }
+    }
+
+    private void updateStatus(Long jobId, BackfillStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> findJob(jobId).changeStatus(status));
+    }
+
+    private BackfillJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.BACKFILL_JOB_NOT_FOUND));
+    }
+
+    private BackfillProgressResponse toResponse(BackfillJob job) {
+        long span = Math.max(1, job.getToId() - job.getFromId() + 1);
+        long done = Math.max(0, job.getCursorId() - job.getFromId() + 1);
+        double percent = Math.min(100.0, Math.round(done * 1000.0 / span) / 10.0);
+
+        Throughput meter = throughput.get(job.getId());
+        double average = meter != null ? meter.averagePerSecond() : 0.0;
+        double recent = meter != null ? meter.recentPerSecond() : 0.0;
+        Long eta = null;
+        if (job.getStatus() == BackfillStatus.RUNNING && average > 0) {
+            // ID 가 조밀하다고 보고 남은 ID 구간으로 추정
+            eta = Math.round((span - done) / average);
+        }
+
+        return new BackfillProgressResponse(job.getId(), job.getStatus(), job.getFromId(), job.getToId(),
+                job.getCursorId(), job.getProcessed(), job.getFailed(), percent, round(average), round(recent),
+                eta, job.getLastError(), job.getStartedAt(), job.getUpdatedAt(), job.getFinishedAt());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static int positiveOr(Integer value, int fallback) {
+        return value != null && value > 0 ? value : fallback;
+    }
+
+    private record BatchResult(List<NormalizationRow> rows, List<Failure> failures, String lastError) {
+    }
+
+    // 이번 실행 기준 처리량 (메모리에만 보관)
+    private static final class Throughput {
+        private volatile long startNanos = System.nanoTime();
+        private volatile long count;
+        private volatile double recentPerSecond;
+
+        void restart() {
+            startNanos = System.nanoTime();
+            count = 0;
+            recentPerSecond = 0.0;
+        }
+
+        void record(int items, long elapsedNanos) {
+            count += items;
+            recentPerSecond = elapsedNanos > 0 ? items * 1e9 / elapsedNanos : 0.0;
+        }
+
+        double averagePerSecond() {
+            long elapsed = System.nanoTime() - startNanos;
+            return elapsed > 0 ? count * 1e9 / elapsed : 0.0;
+        }
+
+        double recentPerSecond() {
+            return recentPerSecond;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.smart.complaint.routing_system.applicant.service.duplicate;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 LSH 색인. 민원 수백만 건에서도 객체/박싱 없이 원시 배열만 쓴다.
+ * <p>
+ * - 민원 칸(slot): 민원 ID(long)와 8비트 스케치(HASHES 바이트)
+ * - 밴드 항목(entry): 밴드 키(int), 민원 칸 번호, 같은 버킷의 다음 항목 - 버킷 머리(heads)에서 연결 리스트로 따라간다
+ * 민원 한 건당 약 8 + 64 + 밴드 수 × 12 + ID 집합 16~32 바이트. 조회는 밴드 수만큼 버킷을 따라가 후보 최대 maxCandidates 개의 스케치만 비교한다.
+ * 추가는 쓰기 잠금, 조회는 읽기 잠금으로 동시에 돈다.
+ * 기동 적재와 커밋 후 추가가 같은 민원을 겹쳐 넣을 수 있어 민원 ID 집합(열린 주소법, 민원 ID 는 1 이상)으로 한 번만 넣는다.
+ */
+public final class LshIndex {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private final int maxCandidates;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] complaintIds = new long[INITIAL_CAPACITY];
+    private byte[] sketches = new byte[INITIAL_CAPACITY * MinHasher.HASHES];
+    private int size;
+
+    private int[] heads = newHeads(INITIAL_CAPACITY * MinHasher.BANDS * 2);
+    private int[] entryKeys = new int[INITIAL_CAPACITY * MinHasher.BANDS];
+    private int[] entrySlots = new int[INITIAL_CAPACITY * MinHasher.BANDS];
+    private int[] entryNext = new int[INITIAL_CAPACITY * MinHasher.BANDS];
+    private int entries;
+
+    // 민원 ID 집합 (0 = 빈 자리), 채움률 1/2 이하
+    private long[] idTable = new long[INITIAL_CAPACITY * 2];
+
+    public record Match(long complaintId, double similarity) {
+    }
+
+    public LshIndex(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    /** 이미 들어 있는 민원이면 넣지 않고 false */
+    public boolean add(long complaintId, int[] bandKeys, byte[] sketch) {
+        lock.writeLock().lock();
+        try {
+            if (!insertId(complaintId)) {
+                return false;
+            }
+            if (size == complaintIds.length) {
+                complaintIds = Arrays.copyOf(complaintIds, size * 2);
+                sketches = Arrays.copyOf(sketches, size * 2 * MinHasher.HASHES);
+            }
+            int slot = size++;
+            complaintIds[slot] = complaintId;
+            System.arraycopy(sketch, 0, sketches, slot * MinHasher.HASHES, MinHasher.HASHES);
+
+            if (entries + bandKeys.length > entryKeys.length) {
+                int capacity = entryKeys.length * 2;
+                entryKeys = Arrays.copyOf(entryKeys, capacity);
+                entrySlots = Arrays.copyOf(entrySlots, capacity);
+                entryNext = Arrays.copyOf(entryNext, capacity);
+                rehash(capacity * 2);
+            }
+            for (int key : bandKeys) {
+                int entry = entries++;
+                int bucket = bucket(key);
+                entryKeys[entry] = key;
+                entrySlots[entry] = slot;
+                entryNext[entry] = heads[bucket];
+                heads[bucket] = entry;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 밴드가 하나라도 겹치는 후보 중 추정 유사도가 가장 높은 민원 (minSimilarity 미만이면 null) */
+    public Match findBest(int[] bandKeys, byte[] sketch, double minSimilarity) {
+        lock.readLock().lock();
+        try {
+            int[] seen = new int[maxCandidates];
+            int checked = 0;
+            Match best = null;
+            for (int key : bandKeys) {
+                for (int entry = heads[bucket(key)]; entry >= 0 && checked < maxCandidates; entry = entryNext[entry]) {
+                    if (entryKeys[entry] != key || contains(seen, checked, entrySlots[entry])) {
+                        continue;
+                    }
+                    int slot = entrySlots[entry];
+                    seen[checked++] = slot;
+                    double similarity = MinHasher.similarity(sketch, sketches, slot * MinHasher.HASHES);
+                    if (similarity >= minSimilarity && (best == null || similarity > best.similarity())) {
+                        best = new Match(complaintIds[slot], similarity);
+                    }
+                }
+            }
+            return best;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean insertId(long complaintId) {
+        if ((size + 1) * 2 > idTable.length) {
+            long[] grown = new long[idTable.length * 2];
+            for (int slot = 0; slot < size; slot++) {
+                placeId(grown, complaintIds[slot]);
+            }
+            idTable = grown;
+        }
+        return placeId(idTable, complaintId);
+    }
+
+    private static boolean placeId(long[] table, long complaintId) {
+        int mask = table.length - 1;
+        long h = complaintId * 0x9E3779B97F4A7C15L;
+        for (int i = (int) (h ^ (h >>> 32)) & mask; ; i = (i + 1) & mask) {
+            if (table[i] == 0) {
+                table[i] = complaintId;
+                return true;
+            }
+            if (table[i] == complaintId) {
+                return false;
+            }
+        }
+    }
+
+    private void rehash(int bucketCount) {
+        heads = newHeads(bucketCount);
+        for (int entry = 0; entry < entries; entry++) {
+            int bucket = bucket(entryKeys[entry]);
+            entryNext[entry] = heads[bucket];
+            heads[bucket] = entry;
+        }
+    }
+
+    private int bucket(int key) {
+        return (key ^ (key >>> 16)) & (heads.length - 1);
+    }
+
+    private static int[] newHeads(int bucketCount) {
+        int[] heads = new int[bucketCount];
+        Arrays.fill(heads, -1);
+        return heads;
+    }
+
+    // 후보는 많아야 maxCandidates 개라 선형 검사로 충분하다
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
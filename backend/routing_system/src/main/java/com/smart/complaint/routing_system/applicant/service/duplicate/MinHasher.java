@@ -0,0 +1,119 @@
+package com.smart.complaint.routing_system.applicant.service.duplicate;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 문자 shingle MinHash 서명.
+ * <p>
+ * 제목+본문에서 공백/문장부호를 빼고 소문자로 만든 뒤 shingleSize 글자씩 겹쳐 잘라 64비트 해시를 만들고,
+ * 해시 함수 HASHES 개(h * a_i + b_i 의 상위 32비트)마다 최솟값을 서명으로 쓴다.
+ * 서명은 그대로 두지 않고 LSH 밴드 키(BANDS 개, 밴드당 ROWS 개를 묶은 해시)와 후보 비교용 8비트 스케치로 줄인다.
+ * 계수는 고정 시드로 만들어 재기동 후에도 저장된 밴드 키와 같은 값이 나온다.
+ */
+public final class MinHasher {
+
+    public static final int BANDS = 8;
+    public static final int ROWS = 8;
+    public static final int HASHES = BANDS * ROWS;
+
+    private static final long[] A = new long[HASHES];
+    private static final long[] B = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < HASHES; i++) {
+            A[i] = random.nextLong() | 1L;
+            B[i] = random.nextLong();
+        }
+    }
+
+    // bandKeys: 밴드별 키 BANDS 개, sketch: 해시마다 최솟값의 하위 8비트 HASHES 개
+    public record Signature(int[] bandKeys, byte[] sketch) {
+    }
+
+    private MinHasher() {
+    }
+
+    /** 글자가 하나도 없으면 null */
+    public static Signature sign(String text, int shingleSize) {
+        char[] chars = normalize(text);
+        if (chars.length == 0) {
+            return null;
+        }
+        int width = Math.min(shingleSize, chars.length);
+        long[] mins = new long[HASHES];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        for (int start = 0; start + width <= chars.length; start++) {
+            long h = shingleHash(chars, start, width);
+            for (int i = 0; i < HASHES; i++) {
+                long v = (h * A[i] + B[i]) >>> 32;
+                if (v < mins[i]) {
+                    mins[i] = v;
+                }
+            }
+        }
+
+        int[] bandKeys = new int[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long h = mix(band + 1L);
+            for (int row = 0; row < ROWS; row++) {
+                h = mix(h ^ mins[band * ROWS + row]);
+            }
+            bandKeys[band] = (int) (h ^ (h >>> 32));
+        }
+        byte[] sketch = new byte[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            sketch[i] = (byte) mins[i];
+        }
+        return new Signature(bandKeys, sketch);
+    }
+
+    /**
+     * 8비트 스케치 두 개로 Jaccard 유사도를 추정한다.
+     * 하위 8비트는 서로 다른 최솟값끼리도 1/256 확률로 같으므로 그만큼 보정한다.
+     */
+    public static double similarity(byte[] a, byte[] sketches, int offset) {
+        int matches = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == sketches[offset + i]) {
+                matches++;
+            }
+        }
+        double raw = (double) matches / HASHES;
+        return Math.max(0.0, (raw - 1.0 / 256) / (1 - 1.0 / 256));
+    }
+
+    private static char[] normalize(String text) {
+        if (text == null) {
+            return new char[0];
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        char[] chars = new char[sb.length()];
+        sb.getChars(0, sb.length(), chars, 0);
+        return chars;
+    }
+
+    // FNV-1a 64 후 섞기
+    private static long shingleHash(char[] chars, int start, int width) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = start; i < start + width; i++) {
+            h ^= chars[i];
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // splitmix64 마무리 함수
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
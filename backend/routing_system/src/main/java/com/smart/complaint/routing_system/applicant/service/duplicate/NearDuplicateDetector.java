@@ -0,0 +1,157 @@
+package com.smart.complaint.routing_system.applicant.service.duplicate;
+
+import com.smart.complaint.routing_system.applicant.config.TransactionCallbacks;
+import com.smart.complaint.routing_system.applicant.domain.GeoDistance;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintMinHashRepository;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintMinHashRepository.Entry;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintMinHashRepository.Origin;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintMinHashRepository.Text;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 접수 시점의 거의 같은 민원(재제출, 이웃끼리 복사 붙여넣기) 감지.
+ * <p>
+ * 제목+본문의 MinHash 서명을 메모리 LSH 색인(LshIndex)에서 찾는다. AI 분석 전에 DB 조회 없이 끝나고,
+ * 찾은 뒤에만 원 민원의 사건/부서를 한 번 읽는다.
+ * 서명(밴드 키/스케치)은 complaint_minhash 에 같이 저장해 두고 재기동 때 그대로 다시 적재하며,
+ * 서명이 없는 민원(기존 민원, 다른 경로로 들어온 민원)은 적재 뒤에 계산해 채운다. 적재는 별도 스레드에서 돌고 그동안의 감지는 적재된 만큼만 본다.
+ */
+@Slf4j
+@Service
+public class NearDuplicateDetector {
+
+    private final ComplaintMinHashRepository minHashRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int shingleSize;
+    private final double minSimilarity;
+    private final double linkSimilarity;
+    private final long linkMaxAgeDays;
+    private final double linkRadiusM;
+    private final int backfillBatchSize;
+    private final LshIndex index;
+
+    public NearDuplicateDetector(ComplaintMinHashRepository minHashRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.duplicate.shingle-size:4}") int shingleSize,
+            @Value("${app.duplicate.min-similarity:0.85}") double minSimilarity,
+            @Value("${app.duplicate.link-similarity:0.9}") double linkSimilarity,
+            @Value("${app.duplicate.link-max-age-days:30}") long linkMaxAgeDays,
+            @Value("${app.duplicate.link-radius-m:500}") double linkRadiusM,
+            @Value("${app.duplicate.max-candidates:64}") int maxCandidates,
+            @Value("${app.duplicate.backfill-batch-size:1000}") int backfillBatchSize) {
+        this.minHashRepository = minHashRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.shingleSize = shingleSize;
+        this.minSimilarity = minSimilarity;
+        this.linkSimilarity = linkSimilarity;
+        this.linkMaxAgeDays = linkMaxAgeDays;
+        this.linkRadiusM = linkRadiusM;
+        this.backfillBatchSize = backfillBatchSize;
+        this.index = new LshIndex(maxCandidates);
+        Gauge.builder("duplicate.index.size", index, LshIndex::size)
+                .description("거의 같은 민원 LSH 색인에 들어 있는 민원 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param originalId 원 민원 (후보가 이미 다른 민원의 사본이면 그 원 민원)
+     * @param link       원 민원의 사건에 바로 붙여도 되는지 (canLink)
+     */
+    public record Match(Long originalId, Long incidentId, Long departmentId, double similarity, boolean link) {
+    }
+
+    /**
+     * 새 민원과 가장 비슷한 이전 민원을 찾는다. 새 민원의 서명은 호출한 트랜잭션에서 저장하고 커밋된 뒤에 색인에 넣는다.
+     */
+    public Optional<Match> register(Long complaintId, String title, String body, BigDecimal lat, BigDecimal lon) {
+        MinHasher.Signature signature = MinHasher.sign(text(title, body), shingleSize);
+        if (signature == null) {
+            return Optional.empty();
+        }
+        LshIndex.Match best = index.findBest(signature.bandKeys(), signature.sketch(), minSimilarity);
+        minHashRepository.insert(complaintId, signature.bandKeys(), signature.sketch());
+        TransactionCallbacks.afterCommit(() -> index.add(complaintId, signature.bandKeys(), signature.sketch()));
+        if (best == null) {
+            return Optional.empty();
+        }
+        return minHashRepository.findOrigin(best.complaintId())
+                .map(origin -> new Match(origin.complaintId(), origin.incidentId(), origin.departmentId(),
+                        best.similarity(), canLink(origin, best.similarity(), lat, lon)));
+    }
+
+    /**
+     * 글이 같아도 오래전에 해결된 사안의 재제출이거나 다른 곳의 같은 유형 민원일 수 있어,
+     * OPEN 사건이고 원 민원이 link-max-age-days 이내이며 두 민원 좌표가 link-radius-m 안일 때만 붙인다. 나머지는 표시만 한다.
+     */
+    private boolean canLink(Origin origin, double similarity, BigDecimal lat, BigDecimal lon) {
+        if (similarity < linkSimilarity || origin.incidentId() == null || !origin.incidentOpen()) {
+            return false;
+        }
+        if (origin.receivedAt() == null || origin.receivedAt().isBefore(LocalDateTime.now().minusDays(linkMaxAgeDays))) {
+            return false;
+        }
+        if (lat == null || lon == null || origin.lat() == null || origin.lon() == null) {
+            return false;
+        }
+        return GeoDistance.haversine(lat.doubleValue(), lon.doubleValue(),
+                origin.lat().doubleValue(), origin.lon().doubleValue()) <= linkRadiusM;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Thread loader = new Thread(this::loadAndBackfill, "near-duplicate-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadAndBackfill() {
+        try {
+            long start = System.currentTimeMillis();
+            transactionTemplate.executeWithoutResult(status -> minHashRepository
+                    .forEach(e -> index.add(e.complaintId(), e.bandKeys(), e.sketch())));
+            int loaded = index.size();
+
+            long afterId = 0;
+            int computed = 0;
+            List<Text> batch;
+            while (!(batch = minHashRepository.findMissing(afterId, backfillBatchSize)).isEmpty()) {
+                List<Entry> entries = new ArrayList<>(batch.size());
+                for (Text text : batch) {
+                    afterId = text.complaintId();
+                    MinHasher.Signature signature = MinHasher.sign(text(text.title(), text.body()), shingleSize);
+                    if (signature != null) {
+                        entries.add(new Entry(text.complaintId(), signature.bandKeys(), signature.sketch()));
+                    }
+                }
+                minHashRepository.insertAll(entries);
+                entries.forEach(e -> index.add(e.complaintId(), e.bandKeys(), e.sketch()));
+                computed += entries.size();
+            }
+            log.info("거의 같은 민원 색인 적재 완료 - 저장분 {}건, 새로 계산 {}건, {}ms", loaded, computed,
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("거의 같은 민원 색인 적재 실패 - 적재된 만큼만 감지: {}", e.getMessage());
+        }
+    }
+
+    private static String text(String title, String body) {
+        return (title != null ? title : "") + " " + (body != null ? body : "");
+    }
+}
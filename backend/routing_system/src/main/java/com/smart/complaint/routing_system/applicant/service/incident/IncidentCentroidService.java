@@ -0,0 +1,219 @@
+package com.smart.complaint.routing_system.applicant.service.incident;
+
+import com.smart.complaint.routing_system.applicant.config.TransactionCallbacks;
+import com.smart.complaint.routing_system.applicant.domain.CentroidSum;
+import com.smart.complaint.routing_system.applicant.repository.IncidentCentroidRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentCentroidRepository.Member;
+import com.smart.complaint.routing_system.applicant.repository.IncidentMoveRepository.SourceGroup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 사건 중심값(incident_centroids) 증분 유지.
+ * <p>
+ * 민원이 사건에 들어오고 나갈 때 그 민원의 현재 임베딩/좌표만 읽어 사건 행의 누적 합에 더하고 뺀다.
+ * 실시간 연결(더하기)은 커밋 직전에 원자적 덧셈 한 문장으로, 사건 간 이동은 관련 행을 잠그고 반영한다.
+ * 사건 소속 전체를 다시 읽는 재계산은 아래 경우에만 한다.
+ * - 중심값 행이 없는 사건 (마이그레이션 직후, 군집 루프가 새로 만든 사건)
+ * - 군집 루프(외부 프로세스)가 민원을 붙인 사건: incident_linked_at 워터마크로 찾는다
+ * - 빼기 결과가 음수가 된 사건 (행이 소속과 어긋난 상태) 과 매일 새벽 OPEN 사건 전체 (재분석으로 바뀐 임베딩 반영)
+ */
+@Slf4j
+@Service
+public class IncidentCentroidService {
+
+    // 군집 루프의 커밋이 늦게 보일 수 있어 워터마크를 조금 겹쳐 읽는다
+    private static final long WATERMARK_OVERLAP_SECONDS = 60;
+
+    private final IncidentCentroidRepository centroidRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean reconciling = new AtomicBoolean(false);
+    private volatile LocalDateTime watermark;
+
+    public IncidentCentroidService(IncidentCentroidRepository centroidRepository,
+            PlatformTransactionManager transactionManager) {
+        this.centroidRepository = centroidRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 커밋 후 콜백에서도 불리므로 항상 새 트랜잭션으로 연다
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 사건 간 이동 전에 관련 사건의 중심값 행을 ID 순서로 잠근다 (없으면 빈 행을 만든다).
+     * 이동은 이 잠금으로 직렬화되므로, 소속을 잠근 뒤에 읽으면 먼저 끝난 이동(반대 방향 병합 등)의 결과를 보게 된다.
+     */
+    @Transactional
+    public void lock(Collection<Long> incidentIds) {
+        new TreeSet<>(incidentIds).forEach(centroidRepository::lock);
+    }
+
+    /**
+     * 민원 묶음을 사건 사이에서 옮긴다. 관련 사건 행을 ID 순서로 모두 잠근 뒤(교착 방지) 증감분을 반영한다.
+     * 원래 사건의 소속이 전부 옮겨지는 묶음(병합)은 누적 합을 행째로 넘겨 민원 수와 상관없이 차원 수만큼만 계산하고,
+     * 일부만 옮겨지는 묶음만 해당 민원의 임베딩을 한 번의 조회로 읽어 빼고 더한다.
+     */
+    @Transactional
+    public void move(Long targetIncidentId, List<SourceGroup> sources) {
+        Set<Long> incidentIds = new TreeSet<>();
+        incidentIds.add(targetIncidentId);
+        sources.stream().map(SourceGroup::incidentId).filter(Objects::nonNull).forEach(incidentIds::add);
+        Map<Long, CentroidSum> locked = new LinkedHashMap<>();
+        for (Long id : incidentIds) {
+            locked.put(id, centroidRepository.lock(id));
+        }
+
+        CentroidSum target = locked.get(targetIncidentId);
+        Map<Long, Long> partialSource = new HashMap<>();
+        for (SourceGroup group : sources) {
+            if (group.whole()) {
+                target.merge(locked.get(group.incidentId()));
+                locked.put(group.incidentId(), new CentroidSum());
+            } else {
+                group.complaintIds().forEach(id -> partialSource.put(id, group.incidentId()));
+            }
+        }
+        for (Member m : centroidRepository.findMembers(partialSource.keySet())) {
+            Long sourceId = partialSource.get(m.complaintId());
+            if (sourceId != null) {
+                locked.get(sourceId).remove(m.embedding(), m.lat(), m.lon());
+            }
+            target.add(m.embedding(), m.lat(), m.lon());
+        }
+
+        locked.forEach((incidentId, sum) -> {
+            if (!sum.isConsistent()) {
+                // 중심값 행이 아직 소속을 반영하지 못한 사건 - 커밋 후 소속 전체로 다시 계산한다
+                log.warn("사건 중심값 어긋남 - 사건 ID: {}, 커밋 후 재계산", incidentId);
+                TransactionCallbacks.afterCommit(() -> rebuildQuietly(incidentId));
+                return;
+            }
+            centroidRepository.save(incidentId, sum);
+        });
+    }
+
+    /**
+     * 실시간 연결처럼 임베딩을 이미 들고 있는 민원 한 건을 더한다.
+     * 접수 트랜잭션 동안 사건 행을 잠그지 않도록 증감분은 트랜잭션에 모아 두었다가 커밋 직전에 사건 ID 순서로
+     * 사건마다 한 문장씩 더한다. 같은 사건에 동시에 들어오는 접수끼리는 그 한 문장 동안만 기다린다.
+     */
+    public void add(Long incidentId, float[] embedding, BigDecimal lat, BigDecimal lon) {
+        CentroidSum delta = new CentroidSum();
+        delta.add(embedding, lat, lon);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            centroidRepository.addDelta(incidentId, delta);
+            return;
+        }
+        pendingDeltas().merge(incidentId, delta, (current, more) -> {
+            current.merge(more);
+            return current;
+        });
+    }
+
+    // 현재 트랜잭션에 묶인 사건별 증감분 (처음 부를 때 커밋 직전 반영을 등록한다)
+    @SuppressWarnings("unchecked")
+    private Map<Long, CentroidSum> pendingDeltas() {
+        Map<Long, CentroidSum> pending = (Map<Long, CentroidSum>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<Long, CentroidSum> created = new TreeMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                created.forEach(centroidRepository::addDelta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(IncidentCentroidService.this);
+            }
+        });
+        return created;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initMissing() {
+        watermark = LocalDateTime.now().minusSeconds(WATERMARK_OVERLAP_SECONDS);
+        List<Long> missing = centroidRepository.findIncidentsWithoutCentroid();
+        missing.forEach(this::rebuildQuietly);
+        if (!missing.isEmpty()) {
+            log.info("사건 중심값 초기 계산 완료 - {}건", missing.size());
+        }
+    }
+
+    /** 군집 루프가 민원을 붙인 사건과 중심값 행이 없는 사건만 다시 계산한다 */
+    @Scheduled(fixedDelayString = "${app.incident.centroid.reconcile-ms:60000}",
+            initialDelayString = "${app.incident.centroid.reconcile-ms:60000}")
+    public void reconcile() {
+        if (watermark == null || !reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime next = LocalDateTime.now().minusSeconds(WATERMARK_OVERLAP_SECONDS);
+            Set<Long> targets = new HashSet<>(centroidRepository.findIncidentsLinkedSince(watermark));
+            targets.addAll(centroidRepository.findIncidentsWithoutCentroid());
+            targets.forEach(this::rebuildQuietly);
+            watermark = next;
+            if (!targets.isEmpty()) {
+                log.debug("사건 중심값 재계산 - {}건", targets.size());
+            }
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    // 공유 스케줄러 스레드를 붙잡지 않도록 maintenanceExecutor 에서 돈다
+    @Async("maintenanceExecutor")
+    @Scheduled(cron = "${app.incident.centroid.rebuild-cron:0 0 4 * * *}")
+    public void rebuildOpen() {
+        List<Long> open = centroidRepository.findOpenIncidentIds();
+        long start = System.currentTimeMillis();
+        open.forEach(this::rebuildQuietly);
+        log.info("OPEN 사건 중심값 전체 재계산 - {}건, {}ms", open.size(), System.currentTimeMillis() - start);
+    }
+
+    // 소속 민원을 한 번 훑어 합을 새로 만든다. 행 잠금을 잡고 계산하므로 그 사이 증분 갱신과 섞이지 않는다
+    public void rebuild(Long incidentId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            centroidRepository.lock(incidentId);
+            CentroidSum sum = new CentroidSum();
+            centroidRepository.forEachMember(incidentId, m -> sum.add(m.embedding(), m.lat(), m.lon()));
+            centroidRepository.save(incidentId, sum);
+        });
+    }
+
+    private void rebuildQuietly(Long incidentId) {
+        try {
+            rebuild(incidentId);
+        } catch (Exception e) {
+            log.warn("사건 중심값 재계산 실패 - 사건 ID: {}, 사유: {}", incidentId, e.getMessage());
+        }
+    }
+}
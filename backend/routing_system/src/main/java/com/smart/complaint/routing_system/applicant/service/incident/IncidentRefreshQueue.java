@@ -0,0 +1,92 @@
+package com.smart.complaint.routing_system.applicant.service.incident;
+
+import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 사건 상태 갱신 대기열 (사건 ID 중복 제거).
+ * <p>
+ * 민원 상태가 진행 중 ↔ 종료로 바뀌면 요청 트랜잭션은 사건 ID 만 넣고 끝난다 (사건 행 잠금/갱신 없음).
+ * 커밋된 뒤에야 대기열에 들어가므로 롤백된 전이는 반영되지 않고, 워커가 window 마다 모인 사건을
+ * 한 문장으로 재집계한다. 같은 사건의 민원 50건을 연달아 종결해도 그 window 안에서는 사건당 1번만 계산한다.
+ * 재집계는 complaints 에서 직접 세므로 전이가 몇 번 겹쳤는지와 상관없이 결과가 맞고,
+ * 서버가 내려가 대기열이 사라져도 IncidentService 의 주기 재집계가 바로잡는다.
+ */
+@Slf4j
+@Component
+public class IncidentRefreshQueue {
+
+    private final IncidentRepository incidentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    public IncidentRefreshQueue(IncidentRepository incidentRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.incidentRepository = incidentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("incident.refresh.pending", pending, Set::size)
+                .description("상태 재집계를 기다리는 사건 수")
+                .register(meterRegistry);
+    }
+
+    /** 호출한 트랜잭션이 커밋되면 사건 ID 를 대기열에 넣는다 (트랜잭션 밖이면 바로) */
+    public void enqueue(Long incidentId) {
+        if (incidentId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(incidentId);
+                }
+            });
+        } else {
+            pending.add(incidentId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.incident.refresh.window-ms:2000}")
+    public void drain() {
+        if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        List<Long> batch = new ArrayList<>();
+        try {
+            // 꺼내는 동안 새로 들어온 ID 는 이번에 같이 처리되거나 다음 window 로 남는다
+            for (Iterator<Long> it = pending.iterator(); it.hasNext();) {
+                batch.add(it.next());
+                it.remove();
+            }
+            Integer updated = transactionTemplate.execute(status -> incidentRepository.recountMembers(batch));
+            log.debug("사건 상태 재집계 - 대상 {}건, 변경 {}건", batch.size(), updated);
+        } catch (Exception e) {
+            // 다음 window 에 다시 시도한다
+            pending.addAll(batch);
+            log.warn("사건 상태 재집계 실패 - {}건 재시도 예정: {}", batch.size(), e.getMessage());
+        } finally {
+            draining.set(false);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.smart.complaint.routing_system.applicant.service.incident;
+
+import com.smart.complaint.routing_system.applicant.config.TransactionCallbacks;
+import com.smart.complaint.routing_system.applicant.domain.CentroidSum;
+import com.smart.complaint.routing_system.applicant.domain.GeoDistance;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.repository.IncidentCentroidRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
+import com.smart.complaint.routing_system.applicant.service.similarity.Vectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 접수 직후 실시간 사건 연결.
+ * 외부 군집 루프(cluster/Daily_cluster.py, 30초 주기)를 기다리지 않고, 정규화가 저장되는 자리에서
+ * OPEN 사건들의 메모리 중심값과 비교해 기준 점수를 넘으면 바로 사건에 묶는다.
+ * <p>
+ * 점수 = 임베딩 코사인 × vectorWeight + 겹치는 키워드 수 × keywordWeight (최대 keywordMax)
+ *        + 중심 좌표와의 거리 보너스 (geoRadius 안에서 geoWeight → 0 선형 감소)
+ * 군집 루프의 하이브리드 점수(벡터 0.6 + 키워드 0.1/개 + 지역 보너스 0.2, 기준 0.65)와 같은 척도다.
+ * <p>
+ * 민원마다 DB 를 훑지 않도록 사건별 누적 합(incident_centroids)을 메모리에 들고,
+ * 연결되면 DB 행과 메모리 합에 그 민원만 더한다. 군집 루프가 만든 새 사건/종결은 주기적 재적재로 반영한다.
+ */
+@Slf4j
+@Component
+public class OnlineIncidentLinker {
+
+    private final IncidentCentroidRepository centroidRepository;
+    private final IncidentRepository incidentRepository;
+    private final IncidentCentroidService incidentCentroidService;
+    private final TransactionTemplate refreshTemplate;
+    private final double threshold;
+    private final double vectorWeight;
+    private final double keywordWeight;
+    private final double keywordMax;
+    private final double geoWeight;
+    private final double geoRadiusM;
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+    private volatile List<Centroid> centroids = List.of();
+
+    public OnlineIncidentLinker(IncidentCentroidRepository centroidRepository,
+            IncidentRepository incidentRepository,
+            IncidentCentroidService incidentCentroidService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.incident.link.threshold:0.65}") double threshold,
+            @Value("${app.incident.link.vector-weight:0.6}") double vectorWeight,
+            @Value("${app.incident.link.keyword-weight:0.1}") double keywordWeight,
+            @Value("${app.incident.link.keyword-max:0.2}") double keywordMax,
+            @Value("${app.incident.link.geo-weight:0.2}") double geoWeight,
+            @Value("${app.incident.link.geo-radius-m:1000}") double geoRadiusM) {
+        this.centroidRepository = centroidRepository;
+        this.incidentRepository = incidentRepository;
+        this.incidentCentroidService = incidentCentroidService;
+        // 커밋 후 콜백에서 읽으므로 끝난 트랜잭션에 끼지 않게 새 읽기 전용 트랜잭션을 연다
+        this.refreshTemplate = new TransactionTemplate(transactionManager);
+        this.refreshTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTemplate.setReadOnly(true);
+        this.threshold = threshold;
+        this.vectorWeight = vectorWeight;
+        this.keywordWeight = keywordWeight;
+        this.keywordMax = keywordMax;
+        this.geoWeight = geoWeight;
+        this.geoRadiusM = geoRadiusM;
+    }
+
+    public record Link(Long incidentId, double score) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.incident.link.refresh-ms:60000}", initialDelayString = "${app.incident.link.refresh-ms:60000}")
+    public void reload() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            List<Centroid> loaded = new ArrayList<>();
+            centroidRepository.forEachOpenIncident(row -> loaded.add(Centroid.of(row)));
+            this.centroids = List.copyOf(loaded);
+            log.info("사건 중심값 적재 완료 - OPEN {}건, {}ms", loaded.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("사건 중심값 적재 실패 - 기존 중심값 유지: {}", e.getMessage());
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    /**
+     * 이미 사건에 묶인 민원이 아니면 가장 점수가 높은 OPEN 사건에 연결한다.
+     * 호출하는 쪽 트랜잭션에서 complaints.incident_id, 사건 집계(민원 수/접수 시각/상태), 사건 중심값 행이 같이 커밋되고,
+     * 메모리 중심값은 커밋 후에만 반영한다 (롤백된 연결이 중심값에 남지 않게).
+     */
+    public Optional<Link> link(Complaint complaint, float[] embedding, List<String> keywords) {
+        if (complaint.getIncident() != null || embedding == null) {
+            return Optional.empty();
+        }
+        Optional<Scored> best = findBest(embedding, keywords, complaint.getLat(), complaint.getLon());
+        if (best.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Centroid target = best.get().centroid();
+        double score = best.get().score();
+        complaint.linkIncident(incidentRepository.getReferenceById(target.incidentId), score);
+        boolean terminal = complaint.getStatus() != null && complaint.getStatus().isTerminal();
+        incidentRepository.applyLinkedMember(target.incidentId, complaint.getReceivedAt(),
+                terminal ? 0 : 1, terminal ? 1 : 0);
+        incidentRepository.refreshIfLoaded(target.incidentId);
+
+        float[] vector = embedding;
+        BigDecimal lat = complaint.getLat();
+        BigDecimal lon = complaint.getLon();
+        incidentCentroidService.add(target.incidentId, vector, lat, lon);
+        TransactionCallbacks.afterCommit(() -> target.add(vector, lat, lon));
+
+        log.info("실시간 사건 연결 - 민원 ID: {}, 사건 ID: {}, 점수: {}", complaint.getId(), target.incidentId,
+                String.format("%.4f", score));
+        return Optional.of(new Link(target.incidentId, score));
+    }
+
+    /**
+     * 병합/분리/되돌리기로 소속이 바뀐 사건을 커밋 후 DB 에서 다시 읽어 다음 적재를 기다리지 않고 바꿔 끼운다.
+     * 되돌리기로 다시 열린 원래 사건과 분리로 새로 생긴 사건은 연결 후보로 들어가고, 비워져 닫힌 사건은 빠진다.
+     */
+    public void refresh(Collection<Long> incidentIds) {
+        if (incidentIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(incidentIds);
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                List<Centroid> loaded = refreshTemplate.execute(status -> centroidRepository.findOpenIncidents(ids)
+                        .stream().map(Centroid::of).toList());
+                replace(ids, loaded);
+            } catch (Exception e) {
+                log.warn("사건 중심값 다시 읽기 실패 - 다음 적재 때 반영, 사건 ID: {}", ids, e);
+            }
+        });
+    }
+
+    // 같은 사건을 동시에 바꿔 끼워도 한쪽 결과가 다른 쪽 목록을 덮지 않게 교체만 직렬화한다
+    private synchronized void replace(Set<Long> ids, List<Centroid> loaded) {
+        List<Centroid> next = new ArrayList<>(centroids.size() + loaded.size());
+        for (Centroid c : centroids) {
+            if (!ids.contains(c.incidentId)) {
+                next.add(c);
+            }
+        }
+        next.addAll(loaded);
+        this.centroids = List.copyOf(next);
+    }
+
+    // 메모리 중심값만 훑는다 (OPEN 사건 수 × 1024 곱셈, DB 조회 없음)
+    Optional<Scored> findBest(float[] embedding, List<String> keywords, BigDecimal lat, BigDecimal lon) {
+        List<Centroid> snapshot = centroids;
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        float[] query = Vectors.normalize(embedding);
+        Set<String> keywordSet = keywords != null ? new HashSet<>(keywords) : Set.of();
+        boolean hasGeo = lat != null && lon != null;
+        double qLat = hasGeo ? lat.doubleValue() : 0.0;
+        double qLon = hasGeo ? lon.doubleValue() : 0.0;
+
+        Centroid best = null;
+        double bestScore = threshold;
+        for (Centroid c : snapshot) {
+            float[] unit = c.unit;
+            if (unit == null || unit.length != query.length) {
+                continue;
+            }
+            double score = vectorWeight * dot(unit, query);
+            // 벡터 점수만으로도 기준에 한참 못 미치면 키워드/좌표 계산을 건너뛴다
+            if (score + keywordMax + geoWeight <= bestScore) {
+                continue;
+            }
+            score += Math.min(keywordMax, keywordWeight * c.overlap(keywordSet));
+            if (hasGeo && c.hasGeo()) {
+                double distance = GeoDistance.haversine(qLat, qLon, c.lat(), c.lon());
+                score += geoWeight * Math.max(0.0, 1.0 - distance / geoRadiusM);
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best != null ? Optional.of(new Scored(best, bestScore)) : Optional.empty();
+    }
+
+    record Scored(Centroid centroid, double score) {
+    }
+
+    /**
+     * 사건 하나의 중심값. 누적 합을 들고 있다가 민원이 더해지면 정규화된 방향(unit)과 중심 좌표만 새로 바꿔 끼운다.
+     * 읽는 쪽은 잠금 없이 volatile 필드만 읽으므로 연결 중에도 점수 계산이 막히지 않는다.
+     */
+    static final class Centroid {
+        private final Long incidentId;
+        private final Set<String> keywords;
+        private final CentroidSum sum;
+        private volatile float[] unit;
+        private volatile boolean hasGeo;
+        private volatile double lat;
+        private volatile double lon;
+
+        private Centroid(Long incidentId, Set<String> keywords, CentroidSum sum) {
+            this.incidentId = incidentId;
+            this.keywords = keywords;
+            this.sum = sum;
+        }
+
+        static Centroid of(IncidentCentroidRepository.Row row) {
+            Centroid c = new Centroid(row.incidentId(), parseKeywords(row.keywords()), row.sum());
+            c.publish();
+            return c;
+        }
+
+        synchronized void add(float[] embedding, BigDecimal lat, BigDecimal lon) {
+            sum.add(embedding, lat, lon);
+            publish();
+        }
+
+        private void publish() {
+            float[] v = sum.unit();
+            if (v != null) {
+                unit = v;
+            }
+            if (sum.hasGeo()) {
+                lat = sum.centroidLat().doubleValue();
+                lon = sum.centroidLon().doubleValue();
+                hasGeo = true;
+            }
+        }
+
+        boolean hasGeo() {
+            return hasGeo;
+        }
+
+        double lat() {
+            return lat;
+        }
+
+        double lon() {
+            return lon;
+        }
+
+        int overlap(Set<String> other) {
+            int n = 0;
+            for (String k : other) {
+                if (keywords.contains(k)) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        // incidents.keywords 는 군집 루프가 "키워드1, 키워드2, ..." 형태로 저장한다
+        private static Set<String> parseKeywords(String keywords) {
+            if (keywords == null || keywords.isBlank()) {
+                return Set.of();
+            }
+            Set<String> result = new HashSet<>();
+            for (String k : keywords.split(",")) {
+                String trimmed = k.trim();
+                if (!trimmed.isEmpty()) {
+                    result.add(trimmed);
+                }
+            }
+            return Set.copyOf(result);
+        }
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double s = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            s += a[i] * b[i];
+        }
+        return s;
+    }
+}
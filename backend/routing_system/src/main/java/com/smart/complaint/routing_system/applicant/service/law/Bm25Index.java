@@ -0,0 +1,113 @@
+package com.smart.complaint.routing_system.applicant.service.law;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 조문 텍스트 위의 BM25 역색인 (불변, 빌더로 한 번 만든다).
+ * 한국어는 조사/어미가 붙어 어절 단위로는 잘 안 맞으므로 어절 안의 글자 2-gram 을 색인어로 쓴다.
+ * 두 글자 이하 어절은 어절 그대로 넣는다.
+ */
+final class Bm25Index {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final Map<String, Postings> postings;
+    private final int[] docLength;
+    private final float avgDocLength;
+
+    private record Postings(int[] docs, short[] freqs, float idf) {
+    }
+
+    private Bm25Index(Map<String, Postings> postings, int[] docLength) {
+        this.postings = postings;
+        this.docLength = docLength;
+        long total = 0L;
+        for (int len : docLength) {
+            total += len;
+        }
+        this.avgDocLength = docLength.length == 0 ? 1f : Math.max(1f, (float) total / docLength.length);
+    }
+
+    int size() {
+        return docLength.length;
+    }
+
+    // 질의 토큰마다 posting 을 따라가며 점수를 누적한다 (0 인 문서는 후보가 아님)
+    float[] score(List<String> queryTerms) {
+        float[] scores = new float[docLength.length];
+        for (String term : queryTerms) {
+            Postings p = postings.get(term);
+            if (p == null) {
+                continue;
+            }
+            for (int i = 0; i < p.docs.length; i++) {
+                int doc = p.docs[i];
+                float tf = p.freqs[i];
+                float norm = K1 * (1f - B + B * docLength[doc] / avgDocLength);
+                scores[doc] += p.idf * tf * (K1 + 1f) / (tf + norm);
+            }
+        }
+        return scores;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() <= 2) {
+                terms.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                terms.add(word.substring(i, i + 2));
+            }
+        }
+        return terms;
+    }
+
+    static final class Builder {
+        private final Map<String, List<int[]>> raw = new HashMap<>();
+        private final List<Integer> lengths = new ArrayList<>();
+
+        // 문서 번호는 add 순서 (0부터)
+        void add(String text) {
+            int doc = lengths.size();
+            List<String> terms = tokenize(text);
+            lengths.add(terms.size());
+            Map<String, Integer> tf = new HashMap<>();
+            for (String t : terms) {
+                tf.merge(t, 1, Integer::sum);
+            }
+            tf.forEach((term, freq) -> raw.computeIfAbsent(term, k -> new ArrayList<>())
+                    .add(new int[] { doc, Math.min(freq, Short.MAX_VALUE) }));
+        }
+
+        Bm25Index build() {
+            int n = lengths.size();
+            Map<String, Postings> postings = new HashMap<>(raw.size() * 2);
+            raw.forEach((term, list) -> {
+                int[] docs = new int[list.size()];
+                short[] freqs = new short[list.size()];
+                for (int i = 0; i < docs.length; i++) {
+                    docs[i] = list.get(i)[0];
+                    freqs[i] = (short) list.get(i)[1];
+                }
+                // Lucene 식 idf (항상 양수)
+                float idf = (float) Math.log(1.0 + (n - docs.length + 0.5) / (docs.length + 0.5));
+                postings.put(term, new Postings(docs, freqs, idf));
+            });
+            int[] docLength = lengths.stream().mapToInt(Integer::intValue).toArray();
+            return new Bm25Index(postings, docLength);
+        }
+    }
+}
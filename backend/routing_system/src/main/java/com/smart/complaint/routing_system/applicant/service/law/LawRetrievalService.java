@@ -0,0 +1,244 @@
+package com.smart.complaint.routing_system.applicant.service.law;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.dto.LawArticleDto;
+import com.smart.complaint.routing_system.applicant.repository.LawChunkRepository;
+import com.smart.complaint.routing_system.applicant.service.similarity.Float16Codec;
+import com.smart.complaint.routing_system.applicant.service.similarity.HalfVectorKernels;
+import com.smart.complaint.routing_system.applicant.service.similarity.Vectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * 법령 조문 검색 (AI 서버를 거치지 않는 백엔드 내장 버전).
+ * law_chunks 전체를 메모리에 올려 두고 민원의 정규화 임베딩(벡터)과 키워드(BM25)로 각각 순위를 매긴 뒤
+ * RRF(Reciprocal Rank Fusion)로 합친다. 두 점수의 척도가 달라 순위만 합치는 쪽이 가중치 조정이 덜 민감하다.
+ * <p>
+ * 법령은 거의 바뀌지 않으므로 기동 시 한 번 적재하고, 필요하면 reload-cron 으로 다시 읽는다.
+ * 임베딩은 half 로 저장하고(메모리 절반) 적재 시 L2 정규화해 두어 질의 때는 내적만 계산한다.
+ */
+@Slf4j
+@Service
+public class LawRetrievalService {
+
+    private static final int RRF_K = 60;
+    private static final int PARALLEL_THRESHOLD = 20_000;
+
+    private final LawChunkRepository lawChunkRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int candidates;
+    private final double vectorWeight;
+    private final double lexicalWeight;
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public LawRetrievalService(LawChunkRepository lawChunkRepository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.law.candidates:100}") int candidates,
+            @Value("${app.law.vector-weight:1.0}") double vectorWeight,
+            @Value("${app.law.lexical-weight:1.0}") double lexicalWeight) {
+        this.lawChunkRepository = lawChunkRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.candidates = candidates;
+        this.vectorWeight = vectorWeight;
+        this.lexicalWeight = lexicalWeight;
+    }
+
+    private record Snapshot(String[] titles, String[] articleNos, String[] texts, short[][] embeddings,
+            Bm25Index bm25) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new String[0], new String[0], new short[0][],
+                new Bm25Index.Builder().build());
+
+        int size() {
+            return titles.length;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.law.reload-cron:-}")
+    public void reload() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            List<String> titles = new ArrayList<>();
+            List<String> articleNos = new ArrayList<>();
+            List<String> texts = new ArrayList<>();
+            List<short[]> embeddings = new ArrayList<>();
+            Bm25Index.Builder bm25 = new Bm25Index.Builder();
+
+            transactionTemplate.executeWithoutResult(status -> lawChunkRepository.forEachChunk(chunk -> {
+                titles.add(chunk.lawTitle());
+                articleNos.add(chunk.articleNo());
+                texts.add(chunk.chunkText());
+                embeddings.add(chunk.embedding() != null ? Float16Codec.encode(Vectors.normalize(chunk.embedding())) : null);
+                // 법령명도 색인해 "도로법" 같은 키워드가 조문 본문에 없어도 걸리게 한다
+                bm25.add(chunk.lawTitle() + " " + chunk.chunkText());
+            }));
+
+            this.snapshot = new Snapshot(titles.toArray(new String[0]), articleNos.toArray(new String[0]),
+                    texts.toArray(new String[0]), embeddings.toArray(new short[0][]), bm25.build());
+            log.info("법령 조문 적재 완료 - {}건, {}ms", titles.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 테이블이 없거나 AI 서버가 아직 적재 전이면 이전 스냅샷(처음엔 빈 목록)을 유지
+            log.warn("법령 조문 적재 실패 - 기존 인덱스 유지: {}", e.getMessage());
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    public List<LawArticleDto> searchForComplaint(Long complaintId, int limit) {
+        Snapshot s = snapshot;
+        if (s.size() == 0) {
+            return List.of();
+        }
+        return lawChunkRepository.findQuerySource(complaintId)
+                .map(source -> search(s, source.embedding(), queryText(source), limit))
+                .orElse(List.of());
+    }
+
+    private List<LawArticleDto> search(Snapshot s, float[] embedding, String queryText, int limit) {
+        float[] vector = embedding != null ? vectorScores(s, Vectors.normalize(embedding)) : null;
+        float[] lexical = s.bm25.score(Bm25Index.tokenize(queryText));
+
+        Map<Integer, Double> fused = new HashMap<>();
+        if (vector != null) {
+            int[] ranked = topK(vector, candidates, Float.NEGATIVE_INFINITY);
+            for (int r = 0; r < ranked.length; r++) {
+                fused.merge(ranked[r], vectorWeight / (RRF_K + r + 1), Double::sum);
+            }
+        }
+        int[] lexicalRanked = topK(lexical, candidates, 0f);
+        for (int r = 0; r < lexicalRanked.length; r++) {
+            fused.merge(lexicalRanked[r], lexicalWeight / (RRF_K + r + 1), Double::sum);
+        }
+
+        return fused.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(limit)
+                .map(e -> {
+                    int doc = e.getKey();
+                    return new LawArticleDto(s.titles[doc], s.articleNos[doc], s.texts[doc], e.getValue(),
+                            vector != null && Float.isFinite(vector[doc]) ? (double) vector[doc] : null,
+                            (double) lexical[doc]);
+                })
+                .toList();
+    }
+
+    // 조문이 많으면 구간을 나눠 병렬로 내적 (질의 하나당 N × 1024 곱셈)
+    private static float[] vectorScores(Snapshot s, float[] query) {
+        float[] scores = new float[s.size()];
+        IntStream range = IntStream.range(0, s.size());
+        if (s.size() >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(i -> {
+            short[] e = s.embeddings[i];
+            scores[i] = e != null && e.length == query.length ? HalfVectorKernels.dot(e, query)
+                    : Float.NEGATIVE_INFINITY;
+        });
+        return scores;
+    }
+
+    // 점수가 floor 이하인 문서는 제외하고 상위 k 개 문서 번호 (크기 k 최소 힙, 점수 내림차순으로 반환)
+    private static int[] topK(float[] scores, int k, float floor) {
+        int[] heap = new int[Math.min(k, scores.length)];
+        int size = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] <= floor) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = i;
+                siftUp(heap, size++, scores);
+            } else if (size > 0 && scores[i] > scores[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        return IntStream.of(Arrays.copyOf(heap, size))
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static void siftUp(int[] heap, int pos, float[] scores) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[heap[pos]]) {
+                return;
+            }
+            swap(heap, parent, pos);
+            pos = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int pos = 0;
+        while (true) {
+            int smallest = pos;
+            int left = 2 * pos + 1;
+            int right = left + 1;
+            if (left < size && scores[heap[left]] < scores[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < size && scores[heap[right]] < scores[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == pos) {
+                return;
+            }
+            swap(heap, smallest, pos);
+            pos = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int t = heap[a];
+        heap[a] = heap[b];
+        heap[b] = t;
+    }
+
+    private String queryText(LawChunkRepository.QuerySource source) {
+        StringBuilder text = new StringBuilder();
+        if (source.keywordsJson() != null) {
+            try {
+                List<String> keywords = objectMapper.readValue(source.keywordsJson(), new TypeReference<>() {
+                });
+                keywords.forEach(k -> text.append(k).append(' '));
+            } catch (Exception e) {
+                text.append(source.keywordsJson().replaceAll("[\\[\\]\"']", " ")).append(' ');
+            }
+        }
+        if (source.targetObject() != null) {
+            text.append(source.targetObject()).append(' ');
+        }
+        if (source.coreRequest() != null) {
+            text.append(source.coreRequest());
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,7 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import java.util.Map;
+
+// 로컬 라우팅으로 배정이 끝난 민원의 LLM 분석을 커밋 이후로 미룰 때 발행
+public record DeferredAnalysisEvent(Long complaintId, Map<String, Object> aiRequest, String text) {
+}
@@ -0,0 +1,25 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import com.smart.complaint.routing_system.applicant.service.ComplaintService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 로컬 배정이 커밋된 뒤 별도 스레드에서 LLM 분석을 돌린다.
+ * ComplaintService 프록시를 거쳐 호출되므로 분석 저장은 자체 트랜잭션에서 실행된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeferredAnalysisListener {
+
+    private final ComplaintService complaintService;
+
+    @Async("aiAnalysisExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeferredAnalysis(DeferredAnalysisEvent event) {
+        complaintService.requestAiAnalysis(event.complaintId(), event.aiRequest(), event.text());
+    }
+}
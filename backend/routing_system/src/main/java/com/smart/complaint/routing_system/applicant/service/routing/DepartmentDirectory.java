@@ -0,0 +1,267 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import com.smart.complaint.routing_system.applicant.repository.DepartmentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * departments 테이블의 메모리 사본.
+ * LLM 이 돌려준 부서 문자열("국 과", 띄어쓰기/표기 차이 등)을 DB 조회 없이 부서 ID 로 바꿔준다.
+ * 정확 일치(정규화 이름, 국+과 경로, 접미사 생략 별칭) → 토큰 단위 일치 → 글자 bigram 유사도 순으로 찾는다.
+ * 부서를 고치는 API 가 없으므로 기동 시와 department-refresh-ms 마다 다시 읽는 것으로 충분하다.
+ */
+@Slf4j
+@Component
+public class DepartmentDirectory {
+
+    public static final String UNASSIGNED_NAME = "미정";
+
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double fuzzyThreshold;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of(), 1.0);
+
+    public DepartmentDirectory(DepartmentRepository departmentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.routing.department-fuzzy-threshold:0.6}") double fuzzyThreshold) {
+        this.departmentRepository = departmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fuzzyThreshold = fuzzyThreshold;
+    }
+
+    public record Entry(Long id, String name, String category, Long parentId, boolean active) {
+    }
+
+    public record Match(Long departmentId, double score, boolean exact) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.routing.department-refresh-ms:300000}", initialDelayString = "${app.routing.department-refresh-ms:300000}")
+    public void refresh() {
+        // 기동 이벤트 리스너에서도 불리므로 @Transactional 대신 직접 읽기 전용 트랜잭션을 연다
+        List<Entry> entries = transactionTemplate.execute(status -> departmentRepository.findAllWithParent().stream()
+                .map(d -> new Entry(d.getId(), d.getName(), d.getCategory(),
+                        d.getParent() != null ? d.getParent().getId() : null,
+                        Boolean.TRUE.equals(d.getIsActive())))
+                .toList());
+        this.snapshot = Snapshot.build(entries, fuzzyThreshold);
+        log.info("부서 디렉터리 적재 완료 - {}개 부서", entries.size());
+    }
+
+    public Optional<Match> resolve(String llmDeptName) {
+        return snapshot.resolve(llmDeptName);
+    }
+
+    // 매칭 실패 시 배정되는 "미정" 부서
+    public Long unassignedId() {
+        return snapshot.unassignedId;
+    }
+
+    public Long resolveOrUnassigned(String llmDeptName) {
+        return snapshot.resolveOrUnassigned(llmDeptName);
+    }
+
+    public Optional<Entry> get(Long departmentId) {
+        return Optional.ofNullable(snapshot.byId.get(departmentId));
+    }
+
+    public List<Entry> children(Long parentId) {
+        return snapshot.children.getOrDefault(parentId, List.of());
+    }
+
+    static String normalize(String s) {
+        if (s == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                sb.append(Character.toLowerCase(ch));
+            }
+        }
+        return sb.toString();
+    }
+
+    // 불변 스냅샷. 재적재 시 통째로 교체되므로 조회 쪽은 락이 필요 없다.
+    static final class Snapshot {
+
+        private static final String[] SUFFIXES = { "과", "국", "팀", "실", "단", "센터", "사업소" };
+
+        private final Map<Long, Entry> byId = new HashMap<>();
+        private final Map<Long, List<Entry>> children = new HashMap<>();
+        private final Map<String, Long> exact = new HashMap<>();
+        private final List<String> fuzzyKeys = new ArrayList<>();
+        private final List<Long> fuzzyIds = new ArrayList<>();
+        private final Map<String, List<Integer>> bigramIndex = new HashMap<>();
+        private final double fuzzyThreshold;
+        private Long unassignedId = 1L;
+
+        private Snapshot(double fuzzyThreshold) {
+            this.fuzzyThreshold = fuzzyThreshold;
+        }
+
+        static Snapshot build(List<Entry> entries, double fuzzyThreshold) {
+            Snapshot s = new Snapshot(fuzzyThreshold);
+            for (Entry e : entries) {
+                s.byId.put(e.id(), e);
+                if (e.parentId() != null) {
+                    s.children.computeIfAbsent(e.parentId(), k -> new ArrayList<>()).add(e);
+                }
+                if (UNASSIGNED_NAME.equals(e.name())) {
+                    s.unassignedId = e.id();
+                }
+            }
+            // 정식 이름 → 국+과 경로 → 접미사 생략 순으로 등록해, 별칭이 다른 부서의 정식 이름을 가리지 않게 한다.
+            List<Entry> routable = entries.stream()
+                    .filter(e -> e.active() && !UNASSIGNED_NAME.equals(e.name()))
+                    .toList();
+            for (Entry e : routable) {
+                s.register(normalize(e.name()), e.id());
+            }
+            for (Entry e : routable) {
+                Entry parent = e.parentId() != null ? s.byId.get(e.parentId()) : null;
+                if (parent != null) {
+                    s.register(normalize(parent.name()) + normalize(e.name()), e.id());
+                }
+            }
+            for (Entry e : routable) {
+                String stripped = stripSuffix(normalize(e.name()));
+                if (stripped != null) {
+                    s.register(stripped, e.id());
+                }
+            }
+            return s;
+        }
+
+        private static String stripSuffix(String name) {
+            for (String suffix : SUFFIXES) {
+                if (name.length() > suffix.length() + 1 && name.endsWith(suffix)) {
+                    return name.substring(0, name.length() - suffix.length());
+                }
+            }
+            return null;
+        }
+
+        private void register(String alias, Long id) {
+            if (alias.isEmpty() || exact.putIfAbsent(alias, id) != null) {
+                return;
+            }
+            addFuzzyKey(alias, id);
+        }
+
+        private void addFuzzyKey(String key, Long id) {
+            int idx = fuzzyKeys.size();
+            fuzzyKeys.add(key);
+            fuzzyIds.add(id);
+            for (String bigram : bigrams(key)) {
+                bigramIndex.computeIfAbsent(bigram, k -> new ArrayList<>()).add(idx);
+            }
+        }
+
+        Optional<Match> resolve(String raw) {
+            if (raw == null || raw.isBlank()) {
+                return Optional.empty();
+            }
+
+            // 1. 문자열 전체 (예: "도시교통국 주차관리과" → 경로 별칭)
+            Long id = exact.get(normalize(raw));
+            if (id != null) {
+                return Optional.of(new Match(id, 1.0, true));
+            }
+
+            // 2. 마지막 토큰 (기존 "마지막 단어" 규칙)
+            String[] tokens = raw.trim().split("[\\s/>,·]+");
+            id = exact.get(normalize(tokens[tokens.length - 1]));
+            if (id != null) {
+                return Optional.of(new Match(id, 1.0, true));
+            }
+
+            // 3. bigram Dice 유사도 (마지막 토큰과 전체 문자열 중 더 잘 맞는 쪽)
+            Match best = fuzzy(normalize(raw));
+            if (tokens.length > 1) {
+                Match last = fuzzy(normalize(tokens[tokens.length - 1]));
+                if (last != null && (best == null || last.score() > best.score())) {
+                    best = last;
+                }
+            }
+            if (best != null) {
+                return Optional.of(best);
+            }
+
+            // 4. 과 이름을 못 찾으면 앞쪽 토큰(국 이름 등)이라도 사용
+            for (int i = tokens.length - 2; i >= 0; i--) {
+                id = exact.get(normalize(tokens[i]));
+                if (id != null) {
+                    return Optional.of(new Match(id, 1.0, true));
+                }
+            }
+            return Optional.empty();
+        }
+
+        // 매칭과 "미정" 대체를 같은 스냅샷에서 읽어, 그 사이 재적재가 끼어도 섞이지 않게 한다
+        Long resolveOrUnassigned(String raw) {
+            return resolve(raw).map(Match::departmentId).orElse(unassignedId);
+        }
+
+        private Match fuzzy(String key) {
+            List<String> queryBigrams = bigrams(key);
+            if (queryBigrams.isEmpty()) {
+                return null;
+            }
+
+            Map<Integer, Integer> overlap = new HashMap<>();
+            for (String bigram : queryBigrams) {
+                List<Integer> postings = bigramIndex.get(bigram);
+                if (postings == null) {
+                    continue;
+                }
+                for (Integer idx : postings) {
+                    overlap.merge(idx, 1, Integer::sum);
+                }
+            }
+
+            int bestIdx = -1;
+            double bestScore = 0.0;
+            for (Map.Entry<Integer, Integer> e : overlap.entrySet()) {
+                int candidateSize = Math.max(1, fuzzyKeys.get(e.getKey()).length() - 1);
+                double dice = 2.0 * e.getValue() / (queryBigrams.size() + candidateSize);
+                if (dice > bestScore) {
+                    bestScore = dice;
+                    bestIdx = e.getKey();
+                }
+            }
+
+            if (bestIdx < 0 || bestScore < fuzzyThreshold) {
+                return null;
+            }
+            return new Match(fuzzyIds.get(bestIdx), bestScore, false);
+        }
+
+        private static List<String> bigrams(String key) {
+            if (key.length() < 2) {
+                return key.isEmpty() ? List.of() : List.of(key);
+            }
+            List<String> result = new ArrayList<>(key.length() - 1);
+            for (int i = 0; i < key.length() - 1; i++) {
+                result.add(key.substring(i, i + 2));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import com.smart.complaint.routing_system.applicant.domain.RoutingEngine;
+import com.smart.complaint.routing_system.applicant.dto.RoutingNeighborDto;
+import com.smart.complaint.routing_system.applicant.dto.RoutingSampleDto;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * AI 서버 없이 동작하는 로컬 라우팅 엔진.
+ * 과거 민원 중 가장 비슷한 k건을 찾아, 그 민원들의 최종 부서(current_department_id)에
+ * 유사도 × 최신성 가중치로 투표한다.
+ * <p>
+ * - 임베딩이 있으면 pgvector 로 이웃을 찾고 (KNN_EMBEDDING),
+ * - 없거나 시간 예산 안에 못 끝나면 메모리의 글자 n-gram 인덱스로 찾는다 (KNN_TEXT).
+ */
+@Slf4j
+@Component
+public class LocalRoutingEngine {
+
+    private final ComplaintRepository complaintRepository;
+    private final DepartmentDirectory departmentDirectory;
+    private final int k;
+    private final long budgetMs;
+    private final double minSimilarity;
+    private final double recencyHalfLifeDays;
+    private final int textWindow;
+
+    private final ExecutorService lookupExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(64), r -> {
+                Thread t = new Thread(r, "local-routing");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private volatile TextIndex textIndex = TextIndex.EMPTY;
+
+    public LocalRoutingEngine(ComplaintRepository complaintRepository,
+            DepartmentDirectory departmentDirectory,
+            @Value("${app.routing.local.k:15}") int k,
+            @Value("${app.routing.local.budget-ms:80}") long budgetMs,
+            @Value("${app.routing.local.min-similarity:0.3}") double minSimilarity,
+            @Value("${app.routing.local.recency-half-life-days:180}") double recencyHalfLifeDays,
+            @Value("${app.routing.local.text-window:20000}") int textWindow) {
+        this.complaintRepository = complaintRepository;
+        this.departmentDirectory = departmentDirectory;
+        this.k = k;
+        this.budgetMs = budgetMs;
+        this.minSimilarity = minSimilarity;
+        this.recencyHalfLifeDays = recencyHalfLifeDays;
+        this.textWindow = textWindow;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    // 텍스트 인덱스는 최근 민원 window 건으로 주기적으로 다시 만든다 (재이관으로 바뀐 최종 부서 반영).
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.routing.local.text-refresh-ms:600000}", initialDelayString = "${app.routing.local.text-refresh-ms:600000}")
+    public void refreshTextIndex() {
+        List<RoutingSampleDto> samples = complaintRepository.findRecentRoutedSamples(textWindow,
+                departmentDirectory.unassignedId());
+        this.textIndex = TextIndex.build(samples);
+        log.info("로컬 라우팅 텍스트 인덱스 적재 완료 - {}건", samples.size());
+    }
+
+    public Optional<LocalRoutingResult> route(Long complaintId, float[] embedding, String text) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (embedding != null) {
+            List<RoutingNeighborDto> neighbors = findEmbeddingNeighbors(complaintId, embedding, deadline);
+            Optional<Vote> vote = vote(neighbors, now);
+            if (vote.isPresent()) {
+                return vote.map(v -> v.toResult(RoutingEngine.KNN_EMBEDDING, start));
+            }
+        }
+
+        if (text != null && !text.isBlank()) {
+            List<RoutingNeighborDto> neighbors = textIndex.search(TextVector.of(text), k, complaintId, deadline);
+            return vote(neighbors, now).map(v -> v.toResult(RoutingEngine.KNN_TEXT, start));
+        }
+        return Optional.empty();
+    }
+
+    private List<RoutingNeighborDto> findEmbeddingNeighbors(Long complaintId, float[] embedding, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return List.of();
+        }
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> complaintRepository.findRoutedNeighbors(embedding, k, complaintId,
+                            departmentDirectory.unassignedId()), lookupExecutor)
+                    .get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("로컬 라우팅 벡터 검색이 시간 예산({}ms)을 초과해 텍스트 검색으로 전환", budgetMs);
+        } catch (RejectedExecutionException e) {
+            log.warn("로컬 라우팅 벡터 검색 대기열 초과 - 텍스트 검색으로 전환");
+        } catch (Exception e) {
+            log.warn("로컬 라우팅 벡터 검색 실패: {}", e.getMessage());
+        }
+        return List.of();
+    }
+
+    // 가중치 = 유사도 × 0.5^(경과일/반감기). 신뢰도 = 1위 부서 득표율 × 1위 부서 이웃들의 평균 유사도.
+    Optional<Vote> vote(List<RoutingNeighborDto> neighbors, LocalDateTime now) {
+        Map<Long, double[]> tally = new HashMap<>();
+        double total = 0.0;
+        int used = 0;
+        for (RoutingNeighborDto n : neighbors) {
+            if (n.similarity() == null || n.similarity() < minSimilarity || n.departmentId() == null) {
+                continue;
+            }
+            double ageDays = n.receivedAt() != null
+                    ? Math.max(0, Duration.between(n.receivedAt(), now).toHours() / 24.0)
+                    : recencyHalfLifeDays;
+            double weight = n.similarity() * Math.pow(0.5, ageDays / recencyHalfLifeDays);
+            double[] acc = tally.computeIfAbsent(n.departmentId(), id -> new double[3]);
+            acc[0] += weight;
+            acc[1] += n.similarity();
+            acc[2] += 1;
+            total += weight;
+            used++;
+        }
+        if (tally.isEmpty() || total <= 0.0) {
+            return Optional.empty();
+        }
+
+        Map.Entry<Long, double[]> best = null;
+        for (Map.Entry<Long, double[]> e : tally.entrySet()) {
+            if (best == null || e.getValue()[0] > best.getValue()[0]) {
+                best = e;
+            }
+        }
+        double share = best.getValue()[0] / total;
+        double meanSimilarity = best.getValue()[1] / best.getValue()[2];
+        return Optional.of(new Vote(best.getKey(), share * meanSimilarity, used));
+    }
+
+    record Vote(Long departmentId, double confidence, int neighborCount) {
+
+        LocalRoutingResult toResult(RoutingEngine engine, long startNanos) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return new LocalRoutingResult(departmentId, confidence, engine, neighborCount, elapsedMs);
+        }
+    }
+
+    // 최근 민원의 TextVector 를 배열로 들고 있는 단순 전수 탐색 인덱스 (수만 건 기준 수 ms)
+    static final class TextIndex {
+
+        static final TextIndex EMPTY = new TextIndex(new long[0], new long[0], new LocalDateTime[0],
+                new TextVector[0]);
+
+        private final long[] complaintIds;
+        private final long[] departmentIds;
+        private final LocalDateTime[] receivedAt;
+        private final TextVector[] vectors;
+
+        private TextIndex(long[] complaintIds, long[] departmentIds, LocalDateTime[] receivedAt,
+                TextVector[] vectors) {
+            this.complaintIds = complaintIds;
+            this.departmentIds = departmentIds;
+            this.receivedAt = receivedAt;
+            this.vectors = vectors;
+        }
+
+        static TextIndex build(List<RoutingSampleDto> samples) {
+            int n = samples.size();
+            long[] ids = new long[n];
+            long[] depts = new long[n];
+            LocalDateTime[] times = new LocalDateTime[n];
+            TextVector[] vectors = new TextVector[n];
+            for (int i = 0; i < n; i++) {
+                RoutingSampleDto s = samples.get(i);
+                ids[i] = s.complaintId();
+                depts[i] = s.departmentId();
+                times[i] = s.receivedAt();
+                vectors[i] = TextVector.of(s.title() + " " + s.body());
+            }
+            return new TextIndex(ids, depts, times, vectors);
+        }
+
+        List<RoutingNeighborDto> search(TextVector query, int k, Long excludeId, long deadline) {
+            if (query.isEmpty() || vectors.length == 0) {
+                return List.of();
+            }
+            long exclude = excludeId != null ? excludeId : -1L;
+
+            PriorityQueue<double[]> top = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(a[0], b[0]));
+            for (int i = 0; i < vectors.length; i++) {
+                // 예산을 넘기면 그때까지 본 후보로 투표 (최신 민원부터 정렬돼 있음)
+                if ((i & 1023) == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                if (complaintIds[i] == exclude) {
+                    continue;
+                }
+                double sim = query.cosine(vectors[i]);
+                if (top.size() < k) {
+                    top.add(new double[] { sim, i });
+                } else if (sim > top.peek()[0]) {
+                    top.poll();
+                    top.add(new double[] { sim, i });
+                }
+            }
+
+            List<RoutingNeighborDto> result = new ArrayList<>(top.size());
+            for (double[] entry : top) {
+                int i = (int) entry[1];
+                result.add(new RoutingNeighborDto(complaintIds[i], departmentIds[i], receivedAt[i], entry[0]));
+            }
+            return result;
+        }
+    }
+}
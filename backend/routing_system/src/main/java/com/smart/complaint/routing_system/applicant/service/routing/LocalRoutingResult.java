@@ -0,0 +1,12 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import com.smart.complaint.routing_system.applicant.domain.RoutingEngine;
+
+// 로컬 kNN 투표 결과
+public record LocalRoutingResult(
+        Long departmentId,
+        double confidence,
+        RoutingEngine engine,
+        int neighborCount,
+        long elapsedMs) {
+}
@@ -0,0 +1,43 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 값싼 판단부터 시도하는 라우팅 단계.
+ * 로컬 kNN 투표의 신뢰도가 임계값 이상이면 LLM 을 기다리지 않고 바로 배정하고,
+ * 아니면 비워서 돌려줘 기존처럼 LLM 이 부서를 정하게 한다.
+ * 임계값은 대시보드의 엔진별 일치율(routingAgreement)을 보고 조정한다.
+ */
+@Slf4j
+@Component
+public class RoutingCascade {
+
+    private final LocalRoutingEngine localRoutingEngine;
+    private final boolean enabled;
+    private final double confidenceThreshold;
+    private final int minNeighbors;
+
+    public RoutingCascade(LocalRoutingEngine localRoutingEngine,
+            @Value("${app.routing.cascade.enabled:true}") boolean enabled,
+            @Value("${app.routing.cascade.confidence-threshold:0.5}") double confidenceThreshold,
+            @Value("${app.routing.cascade.min-neighbors:5}") int minNeighbors) {
+        this.localRoutingEngine = localRoutingEngine;
+        this.enabled = enabled;
+        this.confidenceThreshold = confidenceThreshold;
+        this.minNeighbors = minNeighbors;
+    }
+
+    public Optional<LocalRoutingResult> tryLocalFirst(Long complaintId, String text) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<LocalRoutingResult> result = localRoutingEngine.route(complaintId, null, text);
+        result.ifPresent(r -> log.debug("로컬 우선 라우팅 후보 - 민원 ID: {}, 부서 ID: {}, 신뢰도: {}, 이웃 {}건",
+                complaintId, r.departmentId(), r.confidence(), r.neighborCount()));
+        return result.filter(r -> r.confidence() >= confidenceThreshold && r.neighborCount() >= minNeighbors);
+    }
+}
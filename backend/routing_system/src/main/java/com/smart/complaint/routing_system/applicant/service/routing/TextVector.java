@@ -0,0 +1,122 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import java.util.Arrays;
+
+/**
+ * 임베딩이 없을 때 쓰는 값싼 로컬 텍스트 표현.
+ * 글자 2-gram / 3-gram 을 2^18 버킷으로 해싱한 희소 벡터 (가중치 1 + log tf, L2 정규화).
+ * 인덱스는 오름차순으로 정렬돼 있어 내적은 병합 한 번으로 끝난다.
+ */
+public final class TextVector {
+
+    private static final int DIM_BITS = 18;
+    private static final int MASK = (1 << DIM_BITS) - 1;
+
+    private static final TextVector EMPTY = new TextVector(new int[0], new float[0]);
+
+    private final int[] indices;
+    private final float[] weights;
+
+    private TextVector(int[] indices, float[] weights) {
+        this.indices = indices;
+        this.weights = weights;
+    }
+
+    public static TextVector of(String text) {
+        char[] chars = normalize(text);
+        if (chars.length < 2) {
+            return EMPTY;
+        }
+
+        int[] hashes = new int[(chars.length - 1) + Math.max(0, chars.length - 2)];
+        int n = 0;
+        for (int i = 0; i + 1 < chars.length; i++) {
+            int h2 = chars[i] * 31 + chars[i + 1];
+            hashes[n++] = mix(h2, 0x9E3779B9) & MASK;
+            if (i + 2 < chars.length) {
+                hashes[n++] = mix(h2 * 31 + chars[i + 2], 0x85EBCA6B) & MASK;
+            }
+        }
+        Arrays.sort(hashes, 0, n);
+
+        int[] indices = new int[n];
+        float[] weights = new float[n];
+        int unique = 0;
+        for (int i = 0; i < n;) {
+            int j = i;
+            while (j < n && hashes[j] == hashes[i]) {
+                j++;
+            }
+            indices[unique] = hashes[i];
+            weights[unique] = (float) (1.0 + Math.log(j - i));
+            unique++;
+            i = j;
+        }
+
+        double norm = 0.0;
+        for (int i = 0; i < unique; i++) {
+            norm += weights[i] * weights[i];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < unique; i++) {
+            weights[i] *= inv;
+        }
+        return new TextVector(Arrays.copyOf(indices, unique), Arrays.copyOf(weights, unique));
+    }
+
+    // 두 벡터 모두 L2 정규화돼 있으므로 내적 = 코사인 유사도
+    public double cosine(TextVector other) {
+        int[] a = indices;
+        int[] b = other.indices;
+        int i = 0;
+        int j = 0;
+        double dot = 0.0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                dot += weights[i++] * other.weights[j++];
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return dot;
+    }
+
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    private static char[] normalize(String text) {
+        if (text == null) {
+            return new char[0];
+        }
+        char[] out = new char[text.length()];
+        int n = 0;
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                out[n++] = Character.toLowerCase(ch);
+                space = false;
+            } else if (!space) {
+                out[n++] = ' ';
+                space = true;
+            }
+        }
+        if (n > 0 && out[n - 1] == ' ') {
+            n--;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int mix(int h, int seed) {
+        h ^= seed;
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        h ^= h >>> 15;
+        h *= 0x846CA68B;
+        h ^= h >>> 16;
+        return h;
+    }
+}
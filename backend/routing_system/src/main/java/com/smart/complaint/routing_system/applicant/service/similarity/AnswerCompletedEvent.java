@@ -0,0 +1,5 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+// 민원 최종 답변이 확정됨 (completeAnswer)
+public record AnswerCompletedEvent(Long complaintId) {
+}
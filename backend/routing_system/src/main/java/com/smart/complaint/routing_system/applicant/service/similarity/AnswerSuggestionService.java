@@ -0,0 +1,118 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.dto.AnswerSuggestionDto;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 거의 같은 내용으로 이미 처리된 민원의 최종 답변을 초안 후보로 돌려준다.
+ * 유사도 임계값을 높게 잡아 "그대로 고쳐 쓸 수 있는" 답변만 고르고, 유사도 × 최신성 가중치로 정렬한다.
+ * <p>
+ * 결과는 민원별로 메모리에 캐시한다. 새 답변이 확정되면 그 민원과 임계값 이상으로 가까운 민원들의
+ * 캐시만 지운다 (코사인 유사도는 대칭이라, 새 답변이 추천에 들어갈 수 있는 민원이 정확히 그 집합이다).
+ * 취소/재오픈 같은 나머지 변화는 TTL 로 흡수한다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class AnswerSuggestionService {
+
+    private static final int INVALIDATION_LIMIT = 500;
+
+    private final ComplaintRepository complaintRepository;
+    private final double minSimilarity;
+    private final int limit;
+    private final int candidates;
+    private final double halfLifeDays;
+    private final long ttlMillis;
+
+    private final Map<Long, CachedSuggestions> cache;
+
+    private record CachedSuggestions(List<AnswerSuggestionDto> suggestions, long expiresAt) {
+    }
+
+    public AnswerSuggestionService(ComplaintRepository complaintRepository,
+            @Value("${app.similarity.answer-reuse.min-similarity:0.92}") double minSimilarity,
+            @Value("${app.similarity.answer-reuse.limit:3}") int limit,
+            @Value("${app.similarity.answer-reuse.candidates:20}") int candidates,
+            @Value("${app.similarity.answer-reuse.recency-half-life-days:365}") double halfLifeDays,
+            @Value("${app.similarity.answer-reuse.cache-ttl-ms:600000}") long ttlMillis,
+            @Value("${app.similarity.answer-reuse.cache-size:2000}") int cacheSize) {
+        this.complaintRepository = complaintRepository;
+        this.minSimilarity = minSimilarity;
+        this.limit = limit;
+        this.candidates = Math.max(candidates, limit);
+        this.halfLifeDays = halfLifeDays;
+        this.ttlMillis = ttlMillis;
+        // 접근 순서 LinkedHashMap = 단순 LRU
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSuggestions> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public List<AnswerSuggestionDto> suggest(Long complaintId) {
+        long now = System.currentTimeMillis();
+        CachedSuggestions cached = cache.get(complaintId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.suggestions();
+        }
+
+        List<AnswerSuggestionDto> suggestions = rank(
+                complaintRepository.findAnsweredNeighbors(complaintId, minSimilarity, candidates));
+        // 분석 전이라 임베딩이 아직 없는 민원도 비어 나오므로 빈 결과는 캐시하지 않는다
+        if (!suggestions.isEmpty()) {
+            cache.put(complaintId, new CachedSuggestions(suggestions, now + ttlMillis));
+        }
+        return suggestions;
+    }
+
+    // 답변 확정 트랜잭션이 커밋된 뒤 영향받는 캐시만 비운다
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onAnswerCompleted(AnswerCompletedEvent event) {
+        cache.remove(event.complaintId());
+        List<Long> affected = complaintRepository.findComplaintIdsWithin(event.complaintId(), minSimilarity,
+                INVALIDATION_LIMIT);
+        affected.forEach(cache::remove);
+        if (affected.size() >= INVALIDATION_LIMIT) {
+            // 범위를 다 훑지 못했으면 전체를 비워 오래된 추천이 남지 않게 한다
+            cache.clear();
+        }
+        log.debug("답변 추천 캐시 무효화 - 민원 ID: {}, 대상 {}건", event.complaintId(), affected.size());
+    }
+
+    private List<AnswerSuggestionDto> rank(List<AnswerSuggestionDto> candidates) {
+        LocalDateTime now = LocalDateTime.now();
+        return candidates.stream()
+                .map(c -> new AnswerSuggestionDto(c.complaintId(), c.title(), c.answer(), c.closedAt(),
+                        c.similarity(), c.similarity() * recencyWeight(c.closedAt(), now)))
+                .sorted(Comparator.comparingDouble(AnswerSuggestionDto::score).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private double recencyWeight(LocalDateTime closedAt, LocalDateTime now) {
+        if (closedAt == null || halfLifeDays <= 0) {
+            return 1.0;
+        }
+        double ageDays = Math.max(0.0, Duration.between(closedAt, now).toHours() / 24.0);
+        return Math.pow(0.5, ageDays / halfLifeDays);
+    }
+}
@@ -0,0 +1,112 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import com.smart.complaint.routing_system.applicant.repository.ComplaintNeighborRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 유사 민원 kNN 그래프 관리.
+ * - 정규화가 저장되면 (커밋 후) 그 민원의 top-K 를 구하고, 이웃들의 top-K 에 역방향으로 끼워 넣는다.
+ * - 증분 갱신은 이웃의 이웃까지는 따라가지 않으므로, 주기적으로 전체를 병렬 재계산해 어긋남을 바로잡는다.
+ */
+@Slf4j
+@Component
+public class ComplaintNeighborGraph {
+
+    private final ComplaintNeighborRepository neighborRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor rebuildExecutor;
+    private final int k;
+    private final int rebuildChunkSize;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    public ComplaintNeighborGraph(ComplaintNeighborRepository neighborRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("graphRebuildExecutor") ThreadPoolTaskExecutor rebuildExecutor,
+            @Value("${app.similarity.graph.k:10}") int k,
+            @Value("${app.similarity.graph.rebuild-chunk-size:200}") int rebuildChunkSize) {
+        this.neighborRepository = neighborRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildExecutor = rebuildExecutor;
+        this.k = k;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public int k() {
+        return k;
+    }
+
+    @Async("aiAnalysisExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onNormalizationSaved(NormalizationSavedEvent event) {
+        link(event.complaintId());
+    }
+
+    // 새 민원을 그래프에 연결: 정방향 top-K 계산 + 이웃들의 목록에 역방향 반영
+    public void link(Long complaintId) {
+        int forward = neighborRepository.replaceForwardEdges(complaintId, k);
+        int pruned = neighborRepository.mergeReverseEdges(complaintId, k);
+        log.debug("유사 민원 그래프 갱신 - 민원 ID: {}, 이웃 {}건, 밀려난 간선 {}건", complaintId, forward, pruned);
+    }
+
+    // 새벽 시간대 전체 재계산. 임베딩이 없어진 민원의 간선을 먼저 지우고, 민원 묶음 단위로 트랜잭션을 나눠
+    // graphRebuildExecutor 에서 병렬 실행한다.
+    // 공유 스케줄러 스레드를 붙잡지 않도록 maintenanceExecutor 에서 돈다
+    @Async("maintenanceExecutor")
+    @Scheduled(cron = "${app.similarity.graph.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.warn("유사 민원 그래프 재계산이 이미 진행 중입니다.");
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            long start = System.currentTimeMillis();
+            Integer orphaned = transactionTemplate.execute(status -> neighborRepository.deleteOrphanedEdges());
+            List<Long> ids = neighborRepository.findEmbeddedComplaintIds();
+            AtomicInteger done = new AtomicInteger();
+
+            for (int from = 0; from < ids.size(); from += rebuildChunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + rebuildChunkSize, ids.size()));
+                futures.add(rebuildExecutor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    for (Long id : chunk) {
+                        neighborRepository.replaceForwardEdges(id, k);
+                    }
+                    done.addAndGet(chunk.size());
+                })));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            log.info("유사 민원 그래프 재계산 완료 - {}건, 끊긴 간선 {}건 삭제, {}ms", done.get(), orphaned,
+                    System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("유사 민원 그래프 재계산 중단");
+        } catch (Exception e) {
+            log.error("유사 민원 그래프 재계산 실패", e);
+        } finally {
+            // 스프링이 관리하는 풀이라 종료하지 않고, 중단/실패 시 남은 묶음만 취소한다 (끝난 작업은 영향 없음)
+            futures.forEach(f -> f.cancel(true));
+            rebuilding.set(false);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * float32 ↔ IEEE 754 binary16(half) 변환 (pgvector halfvec 과 같은 형식).
+ * 박싱 없이 short[] / ByteBuffer 로만 다룬다. half → float 은 65536칸 표로 바로 찾는다.
+ */
+public final class Float16Codec {
+
+    private static final float[] DECODE_TABLE = new float[1 << 16];
+
+    static {
+        for (int i = 0; i < DECODE_TABLE.length; i++) {
+            DECODE_TABLE[i] = slowDecode((short) i);
+        }
+    }
+
+    private Float16Codec() {
+    }
+
+    public static float decode(short half) {
+        return DECODE_TABLE[half & 0xFFFF];
+    }
+
+    // 가장 가까운 값으로 반올림 (동률이면 짝수 쪽), 범위 밖은 ±Inf, NaN 은 NaN 유지
+    public static short encode(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int exp = (bits >>> 23) & 0xFF;
+        int mantissa = bits & 0x7FFFFF;
+
+        if (exp == 0xFF) {
+            return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 | (mantissa >>> 13) : 0));
+        }
+
+        int halfExp = exp - 127 + 15;
+        if (halfExp >= 0x1F) {
+            return (short) (sign | 0x7C00);
+        }
+
+        if (halfExp <= 0) {
+            // half 의 비정규 범위 (또는 0 으로 떨어지는 값)
+            if (halfExp < -10) {
+                return (short) sign;
+            }
+            int m = mantissa | 0x800000;
+            int shift = 14 - halfExp;
+            int halfMantissa = m >>> shift;
+            int remainder = m & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (halfMantissa & 1) != 0)) {
+                halfMantissa++;
+            }
+            return (short) (sign | halfMantissa);
+        }
+
+        int halfMantissa = mantissa >>> 13;
+        int remainder = mantissa & 0x1FFF;
+        int result = sign | (halfExp << 10) | halfMantissa;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (halfMantissa & 1) != 0)) {
+            // 가수부 자리올림이 지수로 넘어가도 비트 배치상 그대로 맞는 값(최대값 초과 시 Inf)이 된다
+            result++;
+        }
+        return (short) result;
+    }
+
+    public static short[] encode(float[] src) {
+        short[] dst = new short[src.length];
+        encode(src, dst);
+        return dst;
+    }
+
+    public static void encode(float[] src, short[] dst) {
+        for (int i = 0; i < src.length; i++) {
+            dst[i] = encode(src[i]);
+        }
+    }
+
+    public static float[] decode(short[] src) {
+        float[] dst = new float[src.length];
+        decode(src, dst);
+        return dst;
+    }
+
+    public static void decode(short[] src, float[] dst) {
+        for (int i = 0; i < src.length; i++) {
+            dst[i] = DECODE_TABLE[src[i] & 0xFFFF];
+        }
+    }
+
+    // 버퍼의 byte order 를 그대로 따른다 (halfvec 바이너리 전송은 big-endian)
+    public static void write(ByteBuffer buffer, short[] src) {
+        buffer.asShortBuffer().put(src);
+        buffer.position(buffer.position() + src.length * Short.BYTES);
+    }
+
+    public static short[] read(ByteBuffer buffer, int dim) {
+        short[] dst = new short[dim];
+        buffer.asShortBuffer().get(dst);
+        buffer.position(buffer.position() + dim * Short.BYTES);
+        return dst;
+    }
+
+    // CAST(:query AS halfvec) 에 넘길 텍스트 표현
+    public static String toLiteral(short[] src) {
+        StringBuilder sb = new StringBuilder(src.length * 8 + 2).append('[');
+        for (int i = 0; i < src.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(DECODE_TABLE[src[i] & 0xFFFF]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static float slowDecode(short half) {
+        int h = half & 0xFFFF;
+        int sign = (h & 0x8000) << 16;
+        int exp = (h >>> 10) & 0x1F;
+        int mantissa = h & 0x3FF;
+
+        if (exp == 0x1F) {
+            return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+        }
+        if (exp == 0) {
+            if (mantissa == 0) {
+                return Float.intBitsToFloat(sign);
+            }
+            // 비정규수: mantissa × 2^-24
+            float value = mantissa * 0x1p-24f;
+            return sign != 0 ? -value : value;
+        }
+        return Float.intBitsToFloat(sign | ((exp - 15 + 127) << 23) | (mantissa << 13));
+    }
+}
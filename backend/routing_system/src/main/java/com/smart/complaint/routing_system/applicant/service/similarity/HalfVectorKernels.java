@@ -0,0 +1,110 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+/**
+ * half(short[]) 벡터를 float 배열로 풀지 않고 바로 계산하는 유사도 커널.
+ * 누적은 float 으로 하고 4칸씩 펼쳐 JIT 가 루프를 벡터화하기 쉽게 둔다.
+ */
+public final class HalfVectorKernels {
+
+    private HalfVectorKernels() {
+    }
+
+    public static float dot(short[] a, short[] b) {
+        checkLength(a.length, b.length);
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        int bound = a.length & ~3;
+        for (; i < bound; i += 4) {
+            s0 += Float16Codec.decode(a[i]) * Float16Codec.decode(b[i]);
+            s1 += Float16Codec.decode(a[i + 1]) * Float16Codec.decode(b[i + 1]);
+            s2 += Float16Codec.decode(a[i + 2]) * Float16Codec.decode(b[i + 2]);
+            s3 += Float16Codec.decode(a[i + 3]) * Float16Codec.decode(b[i + 3]);
+        }
+        for (; i < a.length; i++) {
+            s0 += Float16Codec.decode(a[i]) * Float16Codec.decode(b[i]);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // 저장된 half 벡터 vs float32 질의 벡터 (질의 쪽 정밀도는 유지)
+    public static float dot(short[] a, float[] q) {
+        checkLength(a.length, q.length);
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        int bound = a.length & ~3;
+        for (; i < bound; i += 4) {
+            s0 += Float16Codec.decode(a[i]) * q[i];
+            s1 += Float16Codec.decode(a[i + 1]) * q[i + 1];
+            s2 += Float16Codec.decode(a[i + 2]) * q[i + 2];
+            s3 += Float16Codec.decode(a[i + 3]) * q[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += Float16Codec.decode(a[i]) * q[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    public static float norm(short[] a) {
+        return (float) Math.sqrt(dot(a, a));
+    }
+
+    // pgvector 의 <=> 와 같은 정의(1 - cosine distance). 원소를 한 번만 풀어 내적과 두 노름을 같이 누적한다.
+    public static float cosine(short[] a, short[] b) {
+        checkLength(a.length, b.length);
+        float dot0 = 0f, dot1 = 0f, aa0 = 0f, aa1 = 0f, bb0 = 0f, bb1 = 0f;
+        int i = 0;
+        int bound = a.length & ~1;
+        for (; i < bound; i += 2) {
+            float x0 = Float16Codec.decode(a[i]);
+            float y0 = Float16Codec.decode(b[i]);
+            float x1 = Float16Codec.decode(a[i + 1]);
+            float y1 = Float16Codec.decode(b[i + 1]);
+            dot0 += x0 * y0;
+            aa0 += x0 * x0;
+            bb0 += y0 * y0;
+            dot1 += x1 * y1;
+            aa1 += x1 * x1;
+            bb1 += y1 * y1;
+        }
+        for (; i < a.length; i++) {
+            float x = Float16Codec.decode(a[i]);
+            float y = Float16Codec.decode(b[i]);
+            dot0 += x * y;
+            aa0 += x * x;
+            bb0 += y * y;
+        }
+        float denom = (float) Math.sqrt((double) (aa0 + aa1) * (bb0 + bb1));
+        return denom == 0f ? 0f : (dot0 + dot1) / denom;
+    }
+
+    public static float cosine(short[] a, float[] q) {
+        checkLength(a.length, q.length);
+        float dot0 = 0f, dot1 = 0f, aa0 = 0f, aa1 = 0f, qq0 = 0f, qq1 = 0f;
+        int i = 0;
+        int bound = a.length & ~1;
+        for (; i < bound; i += 2) {
+            float x0 = Float16Codec.decode(a[i]);
+            float x1 = Float16Codec.decode(a[i + 1]);
+            dot0 += x0 * q[i];
+            aa0 += x0 * x0;
+            qq0 += q[i] * q[i];
+            dot1 += x1 * q[i + 1];
+            aa1 += x1 * x1;
+            qq1 += q[i + 1] * q[i + 1];
+        }
+        for (; i < a.length; i++) {
+            float x = Float16Codec.decode(a[i]);
+            dot0 += x * q[i];
+            aa0 += x * x;
+            qq0 += q[i] * q[i];
+        }
+        float denom = (float) Math.sqrt((double) (aa0 + aa1) * (qq0 + qq1));
+        return denom == 0f ? 0f : (dot0 + dot1) / denom;
+    }
+
+    private static void checkLength(int a, int b) {
+        if (a != b) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + a + " vs " + b);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+// 민원 정규화(임베딩 포함)가 새로 저장됨
+public record NormalizationSavedEvent(Long complaintId) {
+}
@@ -0,0 +1,29 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import java.util.Arrays;
+
+/**
+ * float 임베딩 공용 연산. 코사인을 내적 한 번으로 구하려고 미리 단위 벡터로 맞출 때 쓴다.
+ */
+public final class Vectors {
+
+    private Vectors() {
+    }
+
+    // 단위 길이로 맞춘 사본. 영벡터는 방향이 없으므로 그대로 돌려준다
+    public static float[] normalize(float[] v) {
+        double norm = 0.0;
+        for (float x : v) {
+            norm += x * x;
+        }
+        if (norm == 0.0) {
+            return v;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        float[] out = Arrays.copyOf(v, v.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] *= inv;
+        }
+        return out;
+    }
+}
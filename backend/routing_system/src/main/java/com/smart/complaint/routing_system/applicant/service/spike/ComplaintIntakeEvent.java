@@ -0,0 +1,18 @@
+package com.smart.complaint.routing_system.applicant.service.spike;
+
+import java.util.List;
+
+// 민원 유입 (접수 직후: 전체 유입만, 분석 저장 후: 지역·대상물/키워드). 커밋된 뒤 급증 감지기에 반영된다
+public record ComplaintIntakeEvent(Long complaintId, boolean analyzed, Integer districtId, String targetObject,
+        List<String> keywords) {
+
+    public static ComplaintIntakeEvent received(Long complaintId) {
+        return new ComplaintIntakeEvent(complaintId, false, null, null, List.of());
+    }
+
+    public static ComplaintIntakeEvent analyzed(Long complaintId, Integer districtId, String targetObject,
+            List<String> keywords) {
+        return new ComplaintIntakeEvent(complaintId, true, districtId, targetObject,
+                keywords != null ? keywords : List.of());
+    }
+}
@@ -0,0 +1,54 @@
+package com.smart.complaint.routing_system.applicant.service.spike;
+
+import com.smart.complaint.routing_system.applicant.dto.SpikeAlert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 급증 알림을 구독 중인 관리자 화면으로 SSE 푸시한다 (이벤트 이름: spike).
+ * 전송은 spikeAlertExecutor 스레드에서 하므로 느린 브라우저가 민원 접수 요청을 붙잡지 않는다.
+ */
+@Slf4j
+@Component
+public class SpikeAlertBroadcaster {
+
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final long emitterTimeoutMs;
+
+    public SpikeAlertBroadcaster(@Value("${app.spike.emitter-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        return emitter;
+    }
+
+    @Async("spikeAlertExecutor")
+    @EventListener
+    public void onAlert(SpikeAlert alert) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("spike").data(alert, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 화면은 빼고 나머지에는 계속 보낸다
+                emitters.remove(emitter);
+                log.debug("급증 알림 전송 실패 - 구독 해제: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.smart.complaint.routing_system.applicant.service.spike;
+
+import com.smart.complaint.routing_system.applicant.dto.SpikeAlert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 민원 유입 급증 감지 (스트리밍).
+ * <p>
+ * 전체 유입, (지역, 대상물), 키워드마다 시간 구간(bucket-seconds)별 건수를 링 버퍼에 두고,
+ * 구간이 닫힐 때마다 그 건수를 EWMA 평균/분산에 접어 넣는다. 현재 구간 건수가 평소보다 z-threshold 표준편차 이상 많으면 알린다.
+ * <p>
+ * 상태는 기동 시 한 번 잡는 고정 크기 표(capacity 칸, 4칸씩 묶음)뿐이다. 키는 해시로 묶음을 고르고 그 안에서만 찾으며,
+ * 자리가 없으면 가장 오래 안 들어온 키를 내보낸다. 민원 한 건당 키 수(1 + 키워드 최대 MAX_KEYWORDS)만큼만 상수 시간 갱신한다.
+ * <p>
+ * 닫힌 구간이 warmup-buckets 보다 적은 키(새 키, 재기동 직후, 밀려났다 돌아온 키)는 EWMA 가 아직 믿을 만하지 않아,
+ * 모자란 구간을 prior-mean 건으로 채운 평균을 평소 건수로 보고 포아송 기준(분산 = 평균)으로 판정한다.
+ * 그래서 처음 보는 키워드가 한 구간에 몰려 들어와도 알린다. 전체 유입(TOTAL)은 사전값을 둘 수 없어 자기 이력이 MIN_TOTAL_HISTORY 구간 쌓인 뒤부터 같은 방식으로 본다.
+ */
+@Slf4j
+@Component
+public class SpikeDetector {
+
+    public static final String TOTAL = "TOTAL";
+    public static final String DISTRICT_TARGET = "DISTRICT_TARGET";
+    public static final String KEYWORD = "KEYWORD";
+
+    private static final int WAYS = 4;
+    private static final int MAX_KEYWORDS = 5;
+    // 오래 비어 있던 키도 이만큼만 0 건 구간을 접는다 (그 뒤로는 평균/분산이 사실상 0)
+    private static final int MAX_IDLE_STEPS = 256;
+    // 워밍업 전 전체 유입은 이만큼 닫힌 구간의 평균으로 판정 (기동 직후 첫 구간은 일부만 세어져 낮게 잡힌다)
+    private static final int MIN_TOTAL_HISTORY = 3;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long bucketMillis;
+    private final int ringSize;
+    private final double alpha;
+    private final double zThreshold;
+    private final int minCount;
+    private final int warmupBuckets;
+    private final double priorMean;
+
+    private final Slot[][] sets;
+    private final SpikeAlert[] recent;
+    private int recentNext;
+
+    public SpikeDetector(ApplicationEventPublisher eventPublisher,
+            @Value("${app.spike.bucket-seconds:600}") long bucketSeconds,
+            @Value("${app.spike.ring-buckets:24}") int ringSize,
+            @Value("${app.spike.alpha:0.1}") double alpha,
+            @Value("${app.spike.z-threshold:4.0}") double zThreshold,
+            @Value("${app.spike.min-count:5}") int minCount,
+            @Value("${app.spike.warmup-buckets:12}") int warmupBuckets,
+            @Value("${app.spike.prior-mean:1.0}") double priorMean,
+            @Value("${app.spike.capacity:4096}") int capacity,
+            @Value("${app.spike.alert-history:200}") int alertHistory) {
+        this.eventPublisher = eventPublisher;
+        this.bucketMillis = bucketSeconds * 1000;
+        this.ringSize = ringSize;
+        this.alpha = alpha;
+        this.zThreshold = zThreshold;
+        this.minCount = minCount;
+        this.warmupBuckets = warmupBuckets;
+        this.priorMean = priorMean;
+        int setCount = Integer.highestOneBit(Math.max(1, capacity / WAYS));
+        this.sets = new Slot[setCount][WAYS];
+        for (Slot[] set : sets) {
+            for (int i = 0; i < WAYS; i++) {
+                set[i] = new Slot(ringSize);
+            }
+        }
+        this.recent = new SpikeAlert[alertHistory];
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIntake(ComplaintIntakeEvent event) {
+        long now = System.currentTimeMillis();
+        if (!event.analyzed()) {
+            observe(TOTAL, "전체", now);
+            return;
+        }
+        if (event.targetObject() != null && !event.targetObject().isBlank()) {
+            String district = event.districtId() != null ? String.valueOf(event.districtId()) : "-";
+            observe(DISTRICT_TARGET, district + "/" + event.targetObject().trim(), now);
+        }
+        event.keywords().stream()
+                .map(String::trim)
+                .filter(k -> !k.isEmpty())
+                .distinct()
+                .limit(MAX_KEYWORDS)
+                .forEach(k -> observe(KEYWORD, k, now));
+    }
+
+    /** 키 하나에 한 건을 더하고, 급증이면 알림을 남기고 발행한다 */
+    public void observe(String dimension, String label, long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        String key = dimension + ":" + label;
+        int hash = key.hashCode();
+        Slot[] set = sets[(hash ^ (hash >>> 16)) & (sets.length - 1)];
+        SpikeAlert alert;
+        synchronized (set) {
+            Slot slot = claim(set, key, dimension, label, bucket);
+            slot.advance(bucket);
+            int count = ++slot.ring[ringIndex(bucket)];
+            alert = check(slot, count, bucket, nowMillis);
+        }
+        if (alert != null) {
+            synchronized (recent) {
+                recent[recentNext] = alert;
+                recentNext = (recentNext + 1) % recent.length;
+            }
+            log.warn("민원 급증 감지 - {} {}: {}건 (평소 {}, z={})", dimension, label, alert.count(),
+                    String.format("%.1f", alert.expected()), String.format("%.1f", alert.zScore()));
+            eventPublisher.publishEvent(alert);
+        }
+    }
+
+    /** 최근 알림 (since 이후, 최신 순) */
+    public List<SpikeAlert> recentAlerts(LocalDateTime since) {
+        List<SpikeAlert> result = new ArrayList<>();
+        synchronized (recent) {
+            for (int i = 1; i <= recent.length; i++) {
+                SpikeAlert alert = recent[Math.floorMod(recentNext - i, recent.length)];
+                if (alert == null || (since != null && alert.detectedAt().isBefore(since))) {
+                    break;
+                }
+                result.add(alert);
+            }
+        }
+        return result;
+    }
+
+    // 같은 키 → 빈 칸 → 가장 오래 안 들어온 키 순으로 칸을 고른다
+    private Slot claim(Slot[] set, String key, String dimension, String label, long bucket) {
+        Slot victim = null;
+        for (Slot slot : set) {
+            if (key.equals(slot.key)) {
+                return slot;
+            }
+            if (victim == null || victim.key != null && (slot.key == null || slot.bucket < victim.bucket)) {
+                victim = slot;
+            }
+        }
+        victim.reset(key, dimension, label, bucket);
+        return victim;
+    }
+
+    private SpikeAlert check(Slot slot, int count, long bucket, long nowMillis) {
+        if (count < minCount || slot.alertedBucket == bucket) {
+            return null;
+        }
+        double expected;
+        double std;
+        if (slot.closed >= warmupBuckets) {
+            // 건수는 대략 포아송이라 분산이 평균보다 작게 잡히면 평균을, 그것도 1 미만이면 1 을 쓴다
+            expected = slot.mean;
+            std = Math.sqrt(Math.max(1.0, Math.max(slot.var, slot.mean)));
+        } else {
+            expected = coldBaseline(slot);
+            if (Double.isNaN(expected)) {
+                return null;
+            }
+            std = Math.sqrt(Math.max(1.0, expected));
+        }
+        double z = (count - expected) / std;
+        if (z < zThreshold) {
+            return null;
+        }
+        slot.alertedBucket = bucket;
+        int[] history = new int[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            history[i] = slot.ring[ringIndex(bucket - ringSize + 1 + i)];
+        }
+        return new SpikeAlert(slot.dimension, slot.label, toLocalDateTime(bucket * bucketMillis), count,
+                expected, z, toLocalDateTime(nowMillis), history);
+    }
+
+    // 워밍업 전 평소 건수: 닫힌 구간 합 + 모자란 구간은 prior-mean 건. 전체 유입은 자기 이력만 (부족하면 NaN = 판정 보류)
+    private double coldBaseline(Slot slot) {
+        if (TOTAL.equals(slot.dimension)) {
+            return slot.closed >= MIN_TOTAL_HISTORY ? (double) slot.warmupSum / slot.closed : Double.NaN;
+        }
+        return (slot.warmupSum + (warmupBuckets - slot.closed) * priorMean) / warmupBuckets;
+    }
+
+    private int ringIndex(long bucket) {
+        return (int) Math.floorMod(bucket, (long) ringSize);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private final class Slot {
+        private String key;
+        private String dimension;
+        private String label;
+        private long bucket;
+        private final int[] ring;
+        private double mean;
+        private double var;
+        private int closed;
+        // 워밍업 동안 닫힌 구간 건수 합 (coldBaseline)
+        private long warmupSum;
+        private long alertedBucket = -1;
+
+        private Slot(int ringSize) {
+            this.ring = new int[ringSize];
+        }
+
+        private void reset(String key, String dimension, String label, long bucket) {
+            this.key = key;
+            this.dimension = dimension;
+            this.label = label;
+            this.bucket = bucket;
+            Arrays.fill(ring, 0);
+            mean = 0;
+            var = 0;
+            closed = 0;
+            warmupSum = 0;
+            alertedBucket = -1;
+        }
+
+        // 현재 구간을 닫고 그 사이 빈 구간(0 건)까지 EWMA 에 접은 뒤 새 구간으로 넘어간다. 시계가 뒤로 가면 현재 구간에 센다
+        private void advance(long now) {
+            if (now <= bucket) {
+                return;
+            }
+            long steps = now - bucket;
+            fold(ring[ringIndex(bucket)]);
+            for (long i = 1; i < Math.min(steps, MAX_IDLE_STEPS); i++) {
+                fold(0);
+            }
+            if (steps >= ringSize) {
+                Arrays.fill(ring, 0);
+            } else {
+                for (long b = bucket + 1; b <= now; b++) {
+                    ring[ringIndex(b)] = 0;
+                }
+            }
+            bucket = now;
+        }
+
+        // EWMA 평균/분산 증분 갱신
+        private void fold(int count) {
+            double diff = count - mean;
+            double increment = alpha * diff;
+            mean += increment;
+            var = (1 - alpha) * (var + diff * increment);
+            if (closed < warmupBuckets) {
+                warmupSum += count;
+            }
+            if (closed < Integer.MAX_VALUE) {
+                closed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+-- 사건 목록/검색/주요 사건 조회를 소속 민원 GROUP BY 없이 사건 행만으로 하기 위한 집계 컬럼.
+-- 소속 민원 수는 complaint_count, 진행 중 민원 수는 open_member_count(V8)를 그대로 쓰고,
+-- 최초/최근 접수 시각만 새로 둔다. 연결/이동 때 DB 에서 갱신하고, 군집 루프가 붙인 민원은 주기 재집계가 반영한다.
+ALTER TABLE incidents
+    ADD COLUMN IF NOT EXISTS first_received_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS last_received_at  TIMESTAMP;
+
+WITH s AS (
+    SELECT c.incident_id,
+           COUNT(*)           AS member_count,
+           MIN(c.received_at) AS first_received_at,
+           MAX(c.received_at) AS last_received_at
+    FROM complaints c
+    WHERE c.incident_id IS NOT NULL
+    GROUP BY c.incident_id
+)
+UPDATE incidents i
+SET complaint_count   = s.member_count,
+    first_received_at = s.first_received_at,
+    last_received_at  = s.last_received_at
+FROM s
+WHERE i.id = s.incident_id;
+
+UPDATE incidents i
+SET complaint_count = 0
+WHERE COALESCE(i.complaint_count, 0) <> 0
+  AND NOT EXISTS (SELECT 1 FROM complaints c WHERE c.incident_id = i.id);
+
+-- 사건 목록: 민원 3건 이상 사건을 최근 접수 순으로
+CREATE INDEX IF NOT EXISTS idx_incidents_list_recent
+    ON incidents (last_received_at DESC NULLS LAST, id DESC)
+    WHERE complaint_count >= 3;
+
+-- 주요 사건: 민원 5건 이상 OPEN 사건을 최근 접수 순으로
+CREATE INDEX IF NOT EXISTS idx_incidents_major_recent
+    ON incidents (last_received_at DESC NULLS LAST, id DESC)
+    WHERE status = 'OPEN' AND complaint_count >= 5;
@@ -0,0 +1,17 @@
+-- 사건 병합/분리 되돌리기 기록. 민원별 이전 사건 ID 를 원래 사건 단위 묶음(run)으로 압축해 둔다.
+-- complaint_ids 는 원래 사건별로 연속해 있고, source_incident_ids[k] 사건에서 온 민원이 source_sizes[k] 개씩 이어진다.
+-- 되돌리기는 묶음마다 민원 이동 한 번(집합 단위)으로 재생한다.
+CREATE TABLE IF NOT EXISTS incident_operations (
+    id                  BIGSERIAL   PRIMARY KEY,
+    op_type             VARCHAR(10) NOT NULL,
+    target_incident_id  BIGINT      NOT NULL,
+    created_incident    BOOLEAN     NOT NULL DEFAULT FALSE,
+    complaint_ids       BIGINT[]    NOT NULL,
+    source_incident_ids BIGINT[]    NOT NULL,
+    source_sizes        INTEGER[]   NOT NULL,
+    created_at          TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    undone_at           TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_incident_operations_target
+    ON incident_operations (target_incident_id, created_at DESC);
@@ -0,0 +1,18 @@
+-- 접수 시 거의 같은 민원(재제출, 복사 붙여넣기) 감지용 MinHash 서명.
+-- 서버 메모리의 LSH 색인을 재기동 때 다시 채우는 원본으로, 서명 전체 대신 색인에 쓰는 값만 둔다.
+-- band_keys: LSH 밴드 키(밴드 수만큼), sketch: 서명 해시마다 하위 8비트 (후보 유사도 추정용)
+CREATE TABLE IF NOT EXISTS complaint_minhash (
+    complaint_id BIGINT    PRIMARY KEY REFERENCES complaints (id) ON DELETE CASCADE,
+    band_keys    INTEGER[] NOT NULL,
+    sketch       BYTEA     NOT NULL,
+    created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 거의 같은 민원으로 판정된 원 민원과 추정 유사도
+ALTER TABLE complaints
+    ADD COLUMN IF NOT EXISTS duplicate_of_id      BIGINT,
+    ADD COLUMN IF NOT EXISTS duplicate_similarity NUMERIC(5, 4);
+
+CREATE INDEX IF NOT EXISTS idx_complaints_duplicate_of
+    ON complaints (duplicate_of_id)
+    WHERE duplicate_of_id IS NOT NULL;
@@ -0,0 +1,15 @@
+-- 민원별 현재 정규화 행(is_current)은 하나뿐이어야 한다.
+-- 재생성 작업은 내림 + INSERT 를 한 트랜잭션에서 하지만, 내리지 않고 INSERT 만 하던 경로가 남긴 중복이 있을 수 있어
+-- 민원마다 가장 최근 행(id 최대)만 현재로 두고 나머지를 내린 뒤 부분 유니크 인덱스를 건다
+UPDATE complaint_normalizations cn
+SET is_current = false
+WHERE cn.is_current = true
+  AND EXISTS (SELECT 1
+              FROM complaint_normalizations n
+              WHERE n.complaint_id = cn.complaint_id
+                AND n.is_current = true
+                AND n.id > cn.id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_complaint_normalizations_current
+    ON complaint_normalizations (complaint_id)
+    WHERE is_current = true;
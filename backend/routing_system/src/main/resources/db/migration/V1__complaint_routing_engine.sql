@@ -0,0 +1,3 @@
+-- 최초 배정 부서(ai_predicted_department_id)를 어떤 엔진이 결정했는지와 그 신뢰도
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS routing_engine VARCHAR(20);
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS routing_confidence NUMERIC(5, 4);
@@ -0,0 +1,11 @@
+-- 민원별 top-K 유사 민원 그래프 (정규화 저장 시 증분 갱신, 주기적으로 전체 재계산)
+CREATE TABLE IF NOT EXISTS complaint_neighbors (
+    complaint_id BIGINT           NOT NULL REFERENCES complaints (id) ON DELETE CASCADE,
+    neighbor_id  BIGINT           NOT NULL REFERENCES complaints (id) ON DELETE CASCADE,
+    score        DOUBLE PRECISION NOT NULL,
+    updated_at   TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (complaint_id, neighbor_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_complaint_neighbors_score
+    ON complaint_neighbors (complaint_id, score DESC);
@@ -0,0 +1,11 @@
+-- 임베딩 half(float16) 사본과 그 위의 HNSW 인덱스.
+-- 1단계: float32 컬럼(embedding)은 그대로 두고 halfvec 사본을 자동 생성한다. AI 서버의 INSERT 는 손대지 않아도 된다.
+-- 2단계: app.similarity.embedding-precision=half 로 검색 쿼리를 사본으로 전환해 재현율을 확인한다.
+-- 3단계: 문제가 없으면 AI 서버 쿼리까지 halfvec 으로 바꾼 뒤 float32 컬럼을 제거한다 (별도 마이그레이션).
+ALTER TABLE complaint_normalizations
+    ADD COLUMN IF NOT EXISTS embedding_half halfvec(1024)
+        GENERATED ALWAYS AS (embedding::halfvec(1024)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_complaint_normalizations_embedding_half
+    ON complaint_normalizations USING hnsw (embedding_half halfvec_cosine_ops)
+    WHERE is_current = true;
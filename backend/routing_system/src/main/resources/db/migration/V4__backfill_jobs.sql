@@ -0,0 +1,28 @@
+-- 정규화/임베딩 재생성 작업과 체크포인트 (cursor_id 까지는 커밋 완료)
+CREATE TABLE IF NOT EXISTS backfill_jobs (
+    id               BIGSERIAL PRIMARY KEY,
+    status           VARCHAR(20)      NOT NULL,
+    from_id          BIGINT           NOT NULL,
+    to_id            BIGINT           NOT NULL,
+    cursor_id        BIGINT           NOT NULL,
+    batch_size       INTEGER          NOT NULL,
+    parallelism      INTEGER          NOT NULL,
+    rate_per_second  DOUBLE PRECISION NOT NULL,
+    processed        BIGINT           NOT NULL DEFAULT 0,
+    failed           BIGINT           NOT NULL DEFAULT 0,
+    last_error       TEXT,
+    started_at       TIMESTAMP        NOT NULL,
+    updated_at       TIMESTAMP        NOT NULL,
+    finished_at      TIMESTAMP
+);
+
+-- 정규화 재생성 작업에서 실패한 민원. 체크포인트(cursor_id)는 실패한 민원도 지나가므로,
+-- 여기 남긴 민원을 구간 끝에서 다시 시도하고 성공하면 지운다 (작업 완료 뒤 남은 행 = 끝내 실패한 민원)
+CREATE TABLE IF NOT EXISTS backfill_job_failures (
+    job_id       BIGINT    NOT NULL REFERENCES backfill_jobs (id) ON DELETE CASCADE,
+    complaint_id BIGINT    NOT NULL,
+    attempts     INTEGER   NOT NULL DEFAULT 1,
+    last_error   TEXT,
+    updated_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id, complaint_id)
+);
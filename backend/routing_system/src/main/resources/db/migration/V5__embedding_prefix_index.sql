@@ -0,0 +1,6 @@
+-- 2단계 유사 민원 검색의 1단계용 인덱스: 임베딩 앞 256차원에 대한 코사인 HNSW (표현식 인덱스, 별도 컬럼 없음).
+-- text-embedding-3 계열은 앞쪽 차원만 잘라 써도 의미가 유지되도록 학습돼 있어 후보 추리기에 충분하다.
+-- 쿼리의 식(subvector(embedding, 1, 256)::vector(256))이 이 식과 똑같아야 인덱스를 탄다.
+CREATE INDEX IF NOT EXISTS idx_complaint_normalizations_embedding_prefix256
+    ON complaint_normalizations USING hnsw ((subvector(embedding, 1, 256)::vector(256)) vector_cosine_ops)
+    WHERE is_current = true;
@@ -0,0 +1,14 @@
+-- 긴 민원(한 건에 여러 사안)의 본문 조각별 임베딩. 민원 전체 임베딩(complaint_normalizations.embedding)과 별도로 두고,
+-- 유사 민원 검색/로컬 라우팅은 "전체 + 조각" 중 가장 가까운 거리(max-sim)로 민원 점수를 매긴다.
+-- 조각은 검색 전용이라 halfvec 사본에만 HNSW 를 건다 (조각 수만큼 늘어나는 인덱스 크기를 절반으로).
+CREATE TABLE IF NOT EXISTS complaint_chunk_embeddings (
+    complaint_id   BIGINT       NOT NULL REFERENCES complaints (id) ON DELETE CASCADE,
+    chunk_index    SMALLINT     NOT NULL,
+    embedding      vector(1024) NOT NULL,
+    embedding_half halfvec(1024) GENERATED ALWAYS AS (embedding::halfvec(1024)) STORED,
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (complaint_id, chunk_index)
+);
+
+CREATE INDEX IF NOT EXISTS idx_complaint_chunk_embeddings_half
+    ON complaint_chunk_embeddings USING hnsw (embedding_half halfvec_cosine_ops);
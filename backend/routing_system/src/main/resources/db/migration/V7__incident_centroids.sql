@@ -0,0 +1,18 @@
+-- 사건별 중심값 누적 합. 민원이 사건에 들어오고 나갈 때마다 그 민원만큼 더하고 빼서(O(1)) 유지하고,
+-- 실시간 연결/사건 상세 지도는 소속 민원을 다시 집계하지 않고 이 행과 incidents.centroid_lat/lon 만 읽는다.
+-- 임베딩 합은 성분마다 round(x * 2^36) 고정소수점 정수로 더한다. 정수 덧셈이라 더한 민원을 빼면
+-- 정확히 원래 합으로 돌아간다 (float 합은 순서에 따라 오차가 쌓여 이동이 반복될수록 어긋난다).
+CREATE TABLE IF NOT EXISTS incident_centroids (
+    incident_id     BIGINT         PRIMARY KEY REFERENCES incidents (id) ON DELETE CASCADE,
+    embedding_sum   BIGINT[],
+    embedding_count INTEGER        NOT NULL DEFAULT 0,
+    lat_sum         NUMERIC(20, 7) NOT NULL DEFAULT 0,
+    lon_sum         NUMERIC(20, 7) NOT NULL DEFAULT 0,
+    geo_count       INTEGER        NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 군집 루프(외부 프로세스)가 붙인 연결을 재계산 대상으로 찾는 용도
+CREATE INDEX IF NOT EXISTS idx_complaints_incident_linked_at
+    ON complaints (incident_linked_at)
+    WHERE incident_id IS NOT NULL;
@@ -0,0 +1,20 @@
+-- 사건 상태(OPEN/CLOSED)를 소속 민원 전체를 읽지 않고 정하기 위한 소속 민원 수.
+-- open_member_count: 진행 중(CLOSED/CANCELED 가 아닌) 민원 수, terminal_member_count: CLOSED/CANCELED 민원 수.
+-- 민원 상태 전이/사건 이동 때 DB 에서 더하고 빼며, 군집 루프가 붙인 민원 등으로 어긋난 값은 주기적 재집계가 바로잡는다.
+ALTER TABLE incidents
+    ADD COLUMN IF NOT EXISTS open_member_count     INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS terminal_member_count INTEGER NOT NULL DEFAULT 0;
+
+WITH s AS (
+    SELECT c.incident_id,
+           COUNT(*) FILTER (WHERE c.status NOT IN ('CLOSED', 'CANCELED')) AS open_count,
+           COUNT(*) FILTER (WHERE c.status IN ('CLOSED', 'CANCELED'))     AS terminal_count
+    FROM complaints c
+    WHERE c.incident_id IS NOT NULL
+    GROUP BY c.incident_id
+)
+UPDATE incidents i
+SET open_member_count     = s.open_count,
+    terminal_member_count = s.terminal_count
+FROM s
+WHERE i.id = s.incident_id;
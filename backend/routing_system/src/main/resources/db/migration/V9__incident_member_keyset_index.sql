@@ -0,0 +1,5 @@
+-- 사건 상세 민원 목록 키셋 페이지 (received_at DESC, id DESC) 와 상단 집계(건수/최초/최근 접수)를
+-- 사건 소속 행만 인덱스 순서대로 읽도록 한다.
+CREATE INDEX IF NOT EXISTS idx_complaints_incident_received
+    ON complaints (incident_id, received_at DESC, id DESC)
+    WHERE incident_id IS NOT NULL;
@@ -0,0 +1,22 @@
+package com.smart.complaint.routing_system;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * DB 테스트용 PostgreSQL(pgvector) 컨테이너. 같은 설정을 쓰는 테스트끼리는 컨텍스트 캐시로 컨테이너 하나를 공유한다.
+ * 스키마는 db/testbase (Flyway 도입 전 기본 스키마) → db/migration 순으로 올린다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>(
+                DockerImageName.parse("pgvector/pgvector:pg16").asCompatibleSubstituteFor("postgres"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.smart.complaint.routing_system.applicant.controller;
+
+import com.smart.complaint.routing_system.applicant.domain.ComplaintStatus;
+import com.smart.complaint.routing_system.applicant.dto.IncidentMemberRow;
+import com.smart.complaint.routing_system.applicant.repository.IncidentRepository;
+import com.smart.complaint.routing_system.applicant.service.IncidentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 사건 소속 민원 키셋 커서가 응답에서 다음 요청으로 그대로 돌아가는지 확인한다 (접수 시각이 없는 민원 포함).
+ */
+@WebMvcTest(IncidentController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class IncidentControllerTest {
+
+    private static final LocalDateTime RECEIVED = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IncidentRepository incidentRepository;
+    @MockitoBean
+    private IncidentService incidentService;
+
+    @Test
+    void cursorOfMemberWithoutReceivedAtRoundTrips() throws Exception {
+        when(incidentRepository.findMembers(eq(7L), isNull(), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(row(30L, null), row(20L, RECEIVED)));
+
+        mockMvc.perform(get("/api/agent/incidents/7/complaints").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complaints[0].receivedAt").value("-"))
+                .andExpect(jsonPath("$.nextCursor").value("null_30"));
+
+        mockMvc.perform(get("/api/agent/incidents/7/complaints").param("size", "1").param("cursor", "null_30"))
+                .andExpect(status().isOk());
+        verify(incidentRepository).findMembers(eq(7L), isNull(), eq(30L), isNull(), isNull(), eq(2));
+    }
+
+    @Test
+    void cursorOfMemberWithReceivedAtRoundTrips() throws Exception {
+        when(incidentRepository.findMembers(eq(7L), isNull(), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(row(20L, RECEIVED), row(10L, RECEIVED.minusDays(1))));
+
+        mockMvc.perform(get("/api/agent/incidents/7/complaints").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(RECEIVED + "_20"));
+
+        mockMvc.perform(get("/api/agent/incidents/7/complaints").param("size", "1")
+                .param("cursor", RECEIVED + "_20"))
+                .andExpect(status().isOk());
+        verify(incidentRepository).findMembers(eq(7L), eq(RECEIVED), eq(20L), isNull(), isNull(), eq(2));
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        when(incidentRepository.findMembers(eq(7L), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(row(20L, RECEIVED)));
+
+        mockMvc.perform(get("/api/agent/incidents/7/complaints").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    private static IncidentMemberRow row(Long id, LocalDateTime receivedAt) {
+        return new IncidentMemberRow(id, "민원", receivedAt, ComplaintStatus.RECEIVED);
+    }
+}
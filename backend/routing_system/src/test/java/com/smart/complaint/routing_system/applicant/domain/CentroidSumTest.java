@@ -0,0 +1,155 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CentroidSumTest {
+
+    private static final int DIM = 1024;
+
+    // 민원을 여러 건 더한 뒤 다른 순서로 빼도 남은 민원만 더한 합과 비트 단위로 같다
+    @Test
+    void addRemoveRoundTripIsExact() {
+        Random random = new Random(42);
+        float[][] vectors = new float[200][];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomUnit(random);
+        }
+
+        CentroidSum sum = new CentroidSum();
+        for (float[] v : vectors) {
+            sum.add(v, new BigDecimal("37.5665123"), new BigDecimal("126.9780456"));
+        }
+        for (int i = vectors.length - 1; i > 0; i -= 2) {
+            sum.remove(vectors[i], new BigDecimal("37.5665123"), new BigDecimal("126.9780456"));
+        }
+        for (int i = vectors.length - 2; i > 0; i -= 2) {
+            sum.remove(vectors[i], new BigDecimal("37.5665123"), new BigDecimal("126.9780456"));
+        }
+
+        CentroidSum only = new CentroidSum();
+        only.add(vectors[0], new BigDecimal("37.5665123"), new BigDecimal("126.9780456"));
+        assertArrayEquals(only.getEmbedding(), sum.getEmbedding());
+        assertEquals(1, sum.getEmbeddingCount());
+        assertEquals(0, new BigDecimal("37.5665123").compareTo(sum.getLatSum()));
+        assertEquals(1, sum.getGeoCount());
+        assertArrayEquals(only.unit(), sum.unit());
+    }
+
+    // 모두 빼면 합이 정확히 0 으로 돌아와 비워지고, 다음 민원은 그 차원으로 새로 시작한다
+    @Test
+    void removingEverythingClearsSum() {
+        Random random = new Random(7);
+        float[] a = randomUnit(random);
+        float[] b = randomUnit(random);
+        CentroidSum sum = new CentroidSum();
+        sum.add(a, new BigDecimal("37.1000000"), new BigDecimal("127.1000000"));
+        sum.add(b, new BigDecimal("37.2000000"), new BigDecimal("127.2000000"));
+        sum.remove(a, new BigDecimal("37.1000000"), new BigDecimal("127.1000000"));
+        sum.remove(b, new BigDecimal("37.2000000"), new BigDecimal("127.2000000"));
+
+        assertEquals(0, sum.getEmbeddingCount());
+        assertNull(sum.getEmbedding());
+        assertNull(sum.unit());
+        assertFalse(sum.hasGeo());
+        assertEquals(BigDecimal.ZERO, sum.getLatSum());
+        assertEquals(BigDecimal.ZERO, sum.getLonSum());
+
+        sum.add(new float[] {0.6f, 0.8f}, null, null);
+        assertEquals(2, sum.getEmbedding().length);
+        assertArrayEquals(new float[] {0.6f, 0.8f}, sum.unit(), 1e-6f);
+    }
+
+    // 하나 더하고 하나 뺀 증감분은 개수가 0 이어도 합을 지우지 않는다
+    @Test
+    void zeroCountDeltaKeepsItsSums() {
+        Random random = new Random(11);
+        float[] a = randomUnit(random);
+        float[] c = randomUnit(random);
+        CentroidSum delta = new CentroidSum();
+        delta.add(c, new BigDecimal("37.3000000"), new BigDecimal("127.3000000"));
+        delta.remove(a, new BigDecimal("37.1000000"), new BigDecimal("127.1000000"));
+
+        assertEquals(0, delta.getEmbeddingCount());
+        assertEquals(CentroidSum.quantize(c[0]) - CentroidSum.quantize(a[0]), delta.getEmbedding()[0]);
+        assertEquals(0, new BigDecimal("0.2").compareTo(delta.getLatSum()));
+        assertEquals(0, delta.getGeoCount());
+    }
+
+    // 증감분(음수 포함)을 merge 한 결과는 바뀐 소속으로 처음부터 더한 합과 같다
+    @Test
+    void mergeOfDeltaMatchesRecomputation() {
+        Random random = new Random(3);
+        float[] a = randomUnit(random);
+        float[] b = randomUnit(random);
+        float[] c = randomUnit(random);
+
+        CentroidSum stored = new CentroidSum();
+        stored.add(a, new BigDecimal("37.1000000"), new BigDecimal("127.1000000"));
+        stored.add(b, new BigDecimal("37.2000000"), new BigDecimal("127.2000000"));
+
+        CentroidSum delta = new CentroidSum();
+        delta.add(c, new BigDecimal("37.3000000"), new BigDecimal("127.3000000"));
+        delta.remove(a, new BigDecimal("37.1000000"), new BigDecimal("127.1000000"));
+        stored.merge(delta);
+
+        CentroidSum expected = new CentroidSum();
+        expected.add(b, new BigDecimal("37.2000000"), new BigDecimal("127.2000000"));
+        expected.add(c, new BigDecimal("37.3000000"), new BigDecimal("127.3000000"));
+        assertArrayEquals(expected.getEmbedding(), stored.getEmbedding());
+        assertEquals(2, stored.getEmbeddingCount());
+        assertEquals(new BigDecimal("37.2500000"), stored.centroidLat());
+        assertEquals(new BigDecimal("127.2500000"), stored.centroidLon());
+        assertTrue(stored.isConsistent());
+    }
+
+    @Test
+    void mergeToZeroClearsSums() {
+        float[] a = randomUnit(new Random(5));
+        CentroidSum stored = new CentroidSum();
+        stored.add(a, new BigDecimal("37.1"), new BigDecimal("127.1"));
+
+        CentroidSum delta = new CentroidSum();
+        delta.remove(a, new BigDecimal("37.1"), new BigDecimal("127.1"));
+        stored.merge(delta);
+
+        assertNull(stored.getEmbedding());
+        assertFalse(stored.hasGeo());
+        assertEquals(0, BigDecimal.ZERO.compareTo(stored.getLatSum()));
+        assertNull(stored.centroidLat());
+        assertTrue(stored.isConsistent());
+    }
+
+    // 소속보다 많이 빼는 증감분은 음수 개수로 드러난다
+    @Test
+    void negativeCountIsInconsistent() {
+        CentroidSum stored = new CentroidSum();
+        CentroidSum delta = new CentroidSum();
+        delta.remove(randomUnit(new Random(9)), new BigDecimal("37.1"), new BigDecimal("127.1"));
+        stored.merge(delta);
+
+        assertFalse(stored.isConsistent());
+    }
+
+    private static float[] randomUnit(Random random) {
+        float[] v = new float[DIM];
+        double norm = 0.0;
+        for (int i = 0; i < DIM; i++) {
+            v[i] = (float) random.nextGaussian();
+            norm += v[i] * v[i];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < DIM; i++) {
+            v[i] *= inv;
+        }
+        return v;
+    }
+}
@@ -0,0 +1,29 @@
+package com.smart.complaint.routing_system.applicant.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeoDistanceTest {
+
+    @Test
+    void samePointIsZero() {
+        assertEquals(0.0, GeoDistance.haversine(37.5665, 126.9780, 37.5665, 126.9780), 0.0);
+    }
+
+    // 위도 1도 ≈ 111.19km (지구 반지름 6371km 기준)
+    @Test
+    void oneDegreeOfLatitude() {
+        assertEquals(111_194.9, GeoDistance.haversine(37.0, 127.0, 38.0, 127.0), 0.1);
+    }
+
+    // 서울시청 ↔ 부산시청 대원 거리 약 325km, 방향과 상관없다
+    @Test
+    void symmetricCityDistance() {
+        double there = GeoDistance.haversine(37.5665, 126.9780, 35.1798, 129.0750);
+        double back = GeoDistance.haversine(35.1798, 129.0750, 37.5665, 126.9780);
+
+        assertEquals(325_000, there, 3_000);
+        assertEquals(there, back, 1e-6);
+    }
+}
@@ -0,0 +1,91 @@
+package com.smart.complaint.routing_system.applicant.repository;
+
+import com.smart.complaint.routing_system.TestcontainersConfiguration;
+import com.smart.complaint.routing_system.applicant.dto.NormalizationRow;
+import com.smart.complaint.routing_system.applicant.repository.NormalizationBackfillRepository.Source;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 정규화 재생성 작업의 키셋 읽기와 현재 행 교체를 실제 PostgreSQL 에서 확인한다.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.locations=classpath:db/testbase,classpath:db/migration",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, NormalizationBackfillRepository.class})
+class NormalizationBackfillRepositoryTest {
+
+    @Autowired
+    private NormalizationBackfillRepository backfillRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 커밋된 체크포인트 다음부터 구간 끝까지, 빠지거나 겹치는 민원 없이 이어서 읽는다 (중간에 지워진 ID 는 건너뛴다)
+    @Test
+    void resumesFromCheckpointWithoutSkippingOrRepeating() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(complaint());
+        }
+        long checkpoint = ids.get(2);
+        long toId = ids.get(6);
+        jdbcTemplate.update("DELETE FROM complaints WHERE id = ?", ids.get(4));
+
+        List<Long> read = new ArrayList<>();
+        long cursor = checkpoint;
+        List<Source> batch;
+        while (!(batch = backfillRepository.findSources(cursor, toId, 2)).isEmpty()) {
+            batch.forEach(source -> read.add(source.id()));
+            cursor = batch.get(batch.size() - 1).id();
+        }
+
+        assertEquals(List.of(ids.get(3), ids.get(5), ids.get(6)), read);
+        assertEquals(toId, cursor);
+    }
+
+    @Test
+    void replaceCurrentKeepsOneCurrentRowPerComplaint() {
+        Long complaintId = complaint();
+        jdbcTemplate.update("INSERT INTO complaint_normalizations (complaint_id, is_current) VALUES (?, true)",
+                complaintId);
+
+        backfillRepository.replaceCurrent(List.of(row(complaintId, "첫 재생성")));
+        backfillRepository.replaceCurrent(List.of(row(complaintId, "두 번째 재생성")));
+
+        assertEquals(3, count("SELECT COUNT(*) FROM complaint_normalizations WHERE complaint_id = ?", complaintId));
+        assertEquals(List.of("두 번째 재생성"), jdbcTemplate.queryForList("SELECT neutral_summary " +
+                "FROM complaint_normalizations WHERE complaint_id = ? AND is_current = true", String.class, complaintId));
+
+        // 내리지 않고 현재 행을 하나 더 넣으면 부분 유니크 인덱스가 막는다
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO complaint_normalizations (complaint_id, is_current) VALUES (?, true)", complaintId));
+    }
+
+    private Long complaint() {
+        return jdbcTemplate.queryForObject("INSERT INTO complaints (title, body, received_at) " +
+                "VALUES ('민원', '본문', ?) RETURNING id", Long.class, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    private static NormalizationRow row(Long complaintId, String neutralSummary) {
+        return new NormalizationRow(complaintId, "도로과", neutralSummary, "보수 요청", "도로", "[]", "[]", null, null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.domain.RoutingEngine;
+import com.smart.complaint.routing_system.applicant.dto.ComplaintSubmitDto;
+import com.smart.complaint.routing_system.applicant.entity.Complaint;
+import com.smart.complaint.routing_system.applicant.repository.ComplaintRepository;
+import com.smart.complaint.routing_system.applicant.service.ai.AiServerClient;
+import com.smart.complaint.routing_system.applicant.service.routing.DeferredAnalysisEvent;
+import com.smart.complaint.routing_system.applicant.service.routing.LocalRoutingEngine;
+import com.smart.complaint.routing_system.applicant.service.routing.LocalRoutingResult;
+import com.smart.complaint.routing_system.applicant.service.routing.RoutingCascade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ComplaintServiceTest {
+
+    private static final Long COMPLAINT_ID = 1L;
+    private static final String TEXT = "가로등 고장 골목 가로등이 꺼져 있습니다";
+
+    @Mock
+    private ComplaintRepository complaintRepository;
+    @Mock
+    private RoutingCascade routingCascade;
+    @Mock
+    private LocalRoutingEngine localRoutingEngine;
+    @Mock
+    private AiServerClient aiServerClient;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ComplaintService complaintService;
+
+    private Complaint complaint;
+    private ComplaintSubmitDto submit;
+
+    @BeforeEach
+    void setUp() {
+        complaint = Complaint.builder().id(COMPLAINT_ID).title("가로등 고장").body("골목 가로등이 꺼져 있습니다").build();
+        submit = new ComplaintSubmitDto();
+        submit.setTitle(complaint.getTitle());
+        submit.setBody(complaint.getBody());
+        when(complaintRepository.findById(COMPLAINT_ID)).thenReturn(Optional.of(complaint));
+    }
+
+    // 로컬 kNN 이 확신하면 AI 서버를 부르지 않고 배정한 뒤, LLM 분석만 커밋 후로 미룬다
+    @Test
+    void confidentLocalResultSkipsRemoteCall() {
+        when(routingCascade.tryLocalFirst(COMPLAINT_ID, TEXT))
+                .thenReturn(Optional.of(new LocalRoutingResult(11L, 0.8, RoutingEngine.KNN_TEXT, 8, 3)));
+
+        complaintService.analyzeComplaint(COMPLAINT_ID, "applicant", submit);
+
+        verify(aiServerClient, never()).preprocess(anyMap());
+        verify(eventPublisher).publishEvent(any(DeferredAnalysisEvent.class));
+        assertEquals(Long.valueOf(11L), complaint.getCurrentDepartmentId());
+        assertEquals(RoutingEngine.KNN_TEXT, complaint.getRoutingEngine());
+    }
+
+    @Test
+    void unconfidentLocalResultCallsRemote() {
+        when(routingCascade.tryLocalFirst(COMPLAINT_ID, TEXT)).thenReturn(Optional.empty());
+        when(aiServerClient.preprocess(anyMap())).thenThrow(new BusinessException(ErrorMessage.AI_SERVER_BUSY));
+        when(localRoutingEngine.route(COMPLAINT_ID, null, TEXT)).thenReturn(Optional.empty());
+
+        complaintService.analyzeComplaint(COMPLAINT_ID, "applicant", submit);
+
+        verify(aiServerClient).preprocess(anyMap());
+        verify(eventPublisher, never()).publishEvent(any(DeferredAnalysisEvent.class));
+        assertNull(complaint.getCurrentDepartmentId());
+    }
+}
@@ -0,0 +1,113 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.applicant.domain.CentroidSum;
+import com.smart.complaint.routing_system.applicant.repository.IncidentCentroidRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사건 DB 테스트용 데이터. 사건/민원/현재 임베딩을 JDBC 로 넣고, 사건 행 집계와 중심값을 소속으로 맞춰 둔다.
+ */
+class IncidentFixture {
+
+    static final LocalDateTime RECEIVED = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    private static final int DIMENSIONS = 1024;
+
+    private static final String RECOUNT = "UPDATE incidents i SET complaint_count = s.total, " +
+            "open_member_count = s.total - s.terminal, terminal_member_count = s.terminal, " +
+            "first_received_at = s.first_received_at, last_received_at = s.last_received_at " +
+            "FROM (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE status IN ('CLOSED', 'CANCELED')) AS terminal, " +
+            "MIN(received_at) AS first_received_at, MAX(received_at) AS last_received_at " +
+            "FROM complaints WHERE incident_id = ?) s WHERE i.id = ?";
+
+    private static final String SELECT_STATE = "SELECT i.complaint_count, i.open_member_count, " +
+            "i.terminal_member_count, i.status::text, i.first_received_at, i.last_received_at, " +
+            "ic.embedding_sum, ic.embedding_count, ic.lat_sum, ic.lon_sum, ic.geo_count " +
+            "FROM incidents i LEFT JOIN incident_centroids ic ON ic.incident_id = i.id WHERE i.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IncidentCentroidRepository centroidRepository;
+
+    IncidentFixture(JdbcTemplate jdbcTemplate, IncidentCentroidRepository centroidRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.centroidRepository = centroidRepository;
+    }
+
+    // 사건 소속, 집계 컬럼, 중심값 누적 합 (임베딩 합은 고정소수점 정수라 되돌리면 정확히 같아야 한다)
+    record State(List<Long> members, int complaintCount, int openCount, int terminalCount, String status,
+            LocalDateTime firstReceivedAt, LocalDateTime lastReceivedAt, List<Long> embeddingSum,
+            int embeddingCount, BigDecimal latSum, BigDecimal lonSum, int geoCount) {
+    }
+
+    Long incident(String title) {
+        return jdbcTemplate.queryForObject("INSERT INTO incidents (title, status, complaint_count, opened_at) " +
+                "VALUES (?, 'OPEN', 0, CURRENT_TIMESTAMP) RETURNING id", Long.class, title);
+    }
+
+    // axis 번째 성분 근처를 가리키는 단위 임베딩과 서로 다른 좌표를 가진 민원
+    Long complaint(Long incidentId, String status, int day, int axis) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO complaints " +
+                "(title, body, status, lat, lon, incident_id, received_at) " +
+                "VALUES ('민원', '본문', CAST(? AS complaint_status), ?, ?, ?, ?) RETURNING id", Long.class,
+                status, new BigDecimal("37.5000000").add(BigDecimal.valueOf(axis, 3)),
+                new BigDecimal("127.0000000").add(BigDecimal.valueOf(axis, 3)), incidentId,
+                Timestamp.valueOf(RECEIVED.plusDays(day)));
+        jdbcTemplate.update("INSERT INTO complaint_normalizations (complaint_id, embedding, is_current) " +
+                "VALUES (?, CAST(? AS vector), true)", id, embedding(axis));
+        return id;
+    }
+
+    // 집계 컬럼과 중심값 행을 소속으로 맞춰 둔다 (운영에서는 재집계/재계산이 하는 일)
+    void seal(Long... incidentIds) {
+        for (Long id : incidentIds) {
+            jdbcTemplate.update(RECOUNT, id, id);
+            centroidRepository.save(id, rebuilt(id));
+        }
+    }
+
+    // 소속 민원으로 새로 계산한 중심값 합
+    CentroidSum rebuilt(Long incidentId) {
+        CentroidSum sum = new CentroidSum();
+        centroidRepository.forEachMember(incidentId, m -> sum.add(m.embedding(), m.lat(), m.lon()));
+        return sum;
+    }
+
+    State state(Long incidentId) {
+        List<Long> members = jdbcTemplate.queryForList("SELECT id FROM complaints WHERE incident_id = ? ORDER BY id",
+                Long.class, incidentId);
+        return jdbcTemplate.queryForObject(SELECT_STATE, (rs, rowNum) -> new State(members, rs.getInt(1),
+                rs.getInt(2), rs.getInt(3), rs.getString(4), rs.getObject(5, LocalDateTime.class),
+                rs.getObject(6, LocalDateTime.class), longs(rs.getArray(7)), rs.getInt(8), rs.getBigDecimal(9),
+                rs.getBigDecimal(10), rs.getInt(11)), incidentId);
+    }
+
+    private static String embedding(int axis) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < DIMENSIONS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(i == axis ? "0.6" : i == axis + 1 ? "0.8" : "0");
+        }
+        return sb.append(']').toString();
+    }
+
+    private static List<Long> longs(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        List<Long> values = new ArrayList<>();
+        for (Object value : (Object[]) array.getArray()) {
+            values.add(((Number) value).longValue());
+        }
+        return values;
+    }
+}
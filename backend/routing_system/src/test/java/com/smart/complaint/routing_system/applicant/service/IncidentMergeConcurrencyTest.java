@@ -0,0 +1,135 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.TestcontainersConfiguration;
+import com.smart.complaint.routing_system.applicant.config.QuerydslConfig;
+import com.smart.complaint.routing_system.applicant.domain.CentroidSum;
+import com.smart.complaint.routing_system.applicant.dto.IncidentOperationResponse;
+import com.smart.complaint.routing_system.applicant.repository.IncidentCentroidRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentMoveRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentOperationRepository;
+import com.smart.complaint.routing_system.applicant.service.incident.IncidentCentroidService;
+import com.smart.complaint.routing_system.applicant.service.incident.IncidentRefreshQueue;
+import com.smart.complaint.routing_system.applicant.service.incident.OnlineIncidentLinker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 같은 두 사건을 서로 반대 방향으로 동시에 병합해도 교착 없이 끝나고, 한쪽 사건에 민원이 모두 모이며
+ * 집계 컬럼과 중심값 누적 합이 소속과 맞는지 확인한다. 병합이 실제로 커밋돼야 하므로 테스트 트랜잭션을 쓰지 않는다.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.locations=classpath:db/testbase,classpath:db/migration",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, QuerydslConfig.class, IncidentService.class,
+        IncidentMoveRepository.class, IncidentOperationRepository.class, IncidentCentroidService.class,
+        IncidentCentroidRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IncidentMergeConcurrencyTest {
+
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private IncidentService incidentService;
+    @Autowired
+    private IncidentCentroidRepository centroidRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private IncidentRefreshQueue incidentRefreshQueue;
+    @MockitoBean
+    private OnlineIncidentLinker incidentLinker;
+
+    private IncidentFixture fixture;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new IncidentFixture(jdbcTemplate, centroidRepository);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.execute("TRUNCATE incident_operations, complaints, incidents CASCADE");
+    }
+
+    @Test
+    void oppositeMergesDoNotDeadlockAndKeepSumsConsistent() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Long a = fixture.incident("A");
+            fixture.complaint(a, "RECEIVED", 0, 0);
+            fixture.complaint(a, "RECEIVED", 1, 2);
+            fixture.complaint(a, "CLOSED", 2, 4);
+            Long b = fixture.incident("B");
+            fixture.complaint(b, "RECEIVED", 3, 6);
+            fixture.complaint(b, "IN_PROGRESS", 4, 8);
+            fixture.seal(a, b);
+
+            CyclicBarrier start = new CyclicBarrier(2);
+            Future<IncidentOperationResponse> forward = executor.submit(() -> {
+                start.await();
+                return incidentService.mergeIncidents(a, List.of(b));
+            });
+            Future<IncidentOperationResponse> backward = executor.submit(() -> {
+                start.await();
+                return incidentService.mergeIncidents(b, List.of(a));
+            });
+            // 교착이면 DB 가 한쪽을 실패시키거나 (deadlock detected) 여기서 시간 초과로 끝난다
+            forward.get(30, TimeUnit.SECONDS);
+            backward.get(30, TimeUnit.SECONDS);
+
+            boolean heldByA = !fixture.state(a).members().isEmpty();
+            Long holderId = heldByA ? a : b;
+            IncidentFixture.State holder = fixture.state(holderId);
+            IncidentFixture.State emptied = fixture.state(heldByA ? b : a);
+
+            assertEquals(5, holder.members().size(), "round " + round);
+            assertEquals(5, holder.complaintCount());
+            assertEquals(4, holder.openCount());
+            assertEquals(1, holder.terminalCount());
+            assertEquals("OPEN", holder.status());
+            assertEquals(IncidentFixture.RECEIVED, holder.firstReceivedAt());
+            assertEquals(IncidentFixture.RECEIVED.plusDays(4), holder.lastReceivedAt());
+
+            assertEquals(List.of(), emptied.members());
+            assertEquals(0, emptied.complaintCount());
+            assertEquals(0, emptied.openCount());
+            assertEquals(0, emptied.terminalCount());
+            assertEquals("CLOSED", emptied.status());
+            assertEquals(0, emptied.embeddingCount());
+            assertEquals(0, emptied.geoCount());
+
+            // 누적 합이 소속으로 새로 계산한 값과 정확히 같아야 한다 (한쪽 병합이 옛 소속을 보고 덮었으면 어긋난다)
+            CentroidSum expected = fixture.rebuilt(holderId);
+            assertArrayEquals(expected.getEmbedding(),
+                    holder.embeddingSum().stream().mapToLong(Long::longValue).toArray());
+            assertEquals(expected.getEmbeddingCount(), holder.embeddingCount());
+            assertEquals(0, expected.getLatSum().compareTo(holder.latSum()));
+            assertEquals(0, expected.getLonSum().compareTo(holder.lonSum()));
+            assertEquals(expected.getGeoCount(), holder.geoCount());
+        }
+    }
+}
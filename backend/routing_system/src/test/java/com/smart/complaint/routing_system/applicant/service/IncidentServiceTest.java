@@ -0,0 +1,169 @@
+package com.smart.complaint.routing_system.applicant.service;
+
+import com.smart.complaint.routing_system.TestcontainersConfiguration;
+import com.smart.complaint.routing_system.applicant.config.BusinessException;
+import com.smart.complaint.routing_system.applicant.config.QuerydslConfig;
+import com.smart.complaint.routing_system.applicant.domain.ErrorMessage;
+import com.smart.complaint.routing_system.applicant.dto.IncidentOperationResponse;
+import com.smart.complaint.routing_system.applicant.repository.IncidentCentroidRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentMoveRepository;
+import com.smart.complaint.routing_system.applicant.repository.IncidentOperationRepository;
+import com.smart.complaint.routing_system.applicant.service.incident.IncidentCentroidService;
+import com.smart.complaint.routing_system.applicant.service.incident.IncidentRefreshQueue;
+import com.smart.complaint.routing_system.applicant.service.incident.OnlineIncidentLinker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 사건 병합/분리 되돌리기를 실제 PostgreSQL 에서 확인한다 (민원 재지정, 사건 집계 컬럼, incident_centroids 누적 합).
+ * 테스트마다 트랜잭션을 롤백하므로 커밋 후 콜백은 돌지 않고, 실시간 연결기는 호출 여부만 본다.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.locations=classpath:db/testbase,classpath:db/migration",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, QuerydslConfig.class, IncidentService.class,
+        IncidentMoveRepository.class, IncidentOperationRepository.class, IncidentCentroidService.class,
+        IncidentCentroidRepository.class})
+class IncidentServiceTest {
+
+    @Autowired
+    private IncidentService incidentService;
+    @Autowired
+    private IncidentCentroidRepository centroidRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private IncidentRefreshQueue incidentRefreshQueue;
+    @MockitoBean
+    private OnlineIncidentLinker incidentLinker;
+
+    private IncidentFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new IncidentFixture(jdbcTemplate, centroidRepository);
+    }
+
+    @Test
+    void mergeThenUndoRestoresMembershipAndCounts() {
+        Long a = fixture.incident("A");
+        fixture.complaint(a, "RECEIVED", 0, 0);
+        fixture.complaint(a, "CLOSED", 3, 2);
+        Long b = fixture.incident("B");
+        fixture.complaint(b, "IN_PROGRESS", 1, 4);
+        Long target = fixture.incident("T");
+        fixture.complaint(target, "RECEIVED", 5, 6);
+        fixture.seal(a, b, target);
+        IncidentFixture.State beforeA = fixture.state(a);
+        IncidentFixture.State beforeB = fixture.state(b);
+        IncidentFixture.State beforeTarget = fixture.state(target);
+
+        IncidentOperationResponse merged = incidentService.mergeIncidents(target, List.of(a, b));
+
+        assertEquals(3, merged.movedCount());
+        assertEquals(4, fixture.state(target).complaintCount());
+        assertEquals(List.of(), fixture.state(a).members());
+        assertEquals("CLOSED", fixture.state(a).status());
+        assertEquals("CLOSED", fixture.state(b).status());
+
+        clearInvocations(incidentLinker);
+        IncidentOperationResponse undone = incidentService.undoOperation(merged.operationId());
+
+        assertEquals(3, undone.movedCount());
+        assertEquals(beforeA, fixture.state(a));
+        assertEquals(beforeB, fixture.state(b));
+        assertEquals(beforeTarget, fixture.state(target));
+        // 다시 열린 원래 사건도 커밋 후 실시간 연결 후보로 다시 읽도록 넘긴다
+        verify(incidentLinker).refresh(Set.of(target, a, b));
+    }
+
+    @Test
+    void splitThenUndoRestoresOriginalAndClosesSplit() {
+        Long original = fixture.incident("A");
+        Long first = fixture.complaint(original, "RECEIVED", 0, 0);
+        Long second = fixture.complaint(original, "RECEIVED", 2, 2);
+        Long third = fixture.complaint(original, "CLOSED", 4, 4);
+        fixture.seal(original);
+        IncidentFixture.State before = fixture.state(original);
+
+        IncidentOperationResponse split = incidentService.splitIncident(original, List.of(second, third), "분리");
+        Long splitId = split.incidentId();
+
+        assertEquals(List.of(first), fixture.state(original).members());
+        assertEquals(List.of(second, third), fixture.state(splitId).members());
+        IncidentFixture.State splitState = fixture.state(splitId);
+        assertEquals(1, splitState.openCount());
+        assertEquals(1, splitState.terminalCount());
+        assertEquals(IncidentFixture.RECEIVED.plusDays(2), splitState.firstReceivedAt());
+
+        incidentService.undoOperation(split.operationId());
+
+        assertEquals(before, fixture.state(original));
+        IncidentFixture.State emptied = fixture.state(splitId);
+        assertEquals(List.of(), emptied.members());
+        assertEquals(0, emptied.complaintCount());
+        assertEquals("CLOSED", emptied.status());
+    }
+
+    // 병합 뒤 다른 사건으로 옮겨진 민원은 되돌리기가 건드리지 않는다
+    @Test
+    void undoLeavesComplaintsMovedAfterTheOperation() {
+        Long a = fixture.incident("A");
+        Long stays = fixture.complaint(a, "RECEIVED", 0, 0);
+        Long movedAway = fixture.complaint(a, "RECEIVED", 1, 2);
+        Long target = fixture.incident("T");
+        fixture.complaint(target, "RECEIVED", 2, 4);
+        Long other = fixture.incident("C");
+        fixture.complaint(other, "RECEIVED", 3, 6);
+        fixture.seal(a, target, other);
+
+        IncidentOperationResponse merged = incidentService.mergeIncidents(target, List.of(a));
+        incidentService.moveComplaints(other, List.of(movedAway));
+        IncidentOperationResponse undone = incidentService.undoOperation(merged.operationId());
+
+        assertEquals(1, undone.movedCount());
+        assertEquals(List.of(stays), fixture.state(a).members());
+        assertEquals("OPEN", fixture.state(a).status());
+        assertEquals(2, fixture.state(other).complaintCount());
+        assertEquals(1, fixture.state(target).complaintCount());
+    }
+
+    @Test
+    void undoingTwiceIsRejected() {
+        Long a = fixture.incident("A");
+        fixture.complaint(a, "RECEIVED", 0, 0);
+        Long target = fixture.incident("T");
+        fixture.complaint(target, "RECEIVED", 1, 2);
+        fixture.seal(a, target);
+
+        IncidentOperationResponse merged = incidentService.mergeIncidents(target, List.of(a));
+        incidentService.undoOperation(merged.operationId());
+        IncidentFixture.State afterUndo = fixture.state(a);
+
+        BusinessException stale = assertThrows(BusinessException.class,
+                () -> incidentService.undoOperation(merged.operationId()));
+        assertEquals(ErrorMessage.INCIDENT_OPERATION_ALREADY_UNDONE, stale.getErrorMessage());
+        assertEquals(afterUndo, fixture.state(a));
+
+        BusinessException missing = assertThrows(BusinessException.class,
+                () -> incidentService.undoOperation(Long.MAX_VALUE));
+        assertEquals(ErrorMessage.INCIDENT_OPERATION_NOT_FOUND, missing.getErrorMessage());
+    }
+}
@@ -0,0 +1,160 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RTT 는 직접 돌리는 시계로 잰다 (실제 sleep 없이 호출마다 정해진 지연을 준다).
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long CALL_MS = 5;
+
+    private final FakeClock clock = new FakeClock();
+
+    // 지연이 기준 안이고 한도를 꽉 채워 쓰면 한도가 늘어난다 (상한까지)
+    @Test
+    void limitGrowsUnderFullLoadWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 32, 60_000);
+
+        for (int round = 0; round < 40; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (int i = limiter.limit(); i > 0; i--) {
+                permits.add(limiter.acquire());
+            }
+            clock.advance(CALL_MS);
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+        }
+
+        assertEquals(32, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    // 한가할 때(한도 절반도 안 씀)는 늘리지 않는다
+    @Test
+    void limitStaysWhenUnderused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 32, 60_000);
+
+        for (int i = 0; i < 20; i++) {
+            call(limiter, CALL_MS);
+        }
+
+        assertEquals(8, limiter.limit());
+    }
+
+    // 무부하 기준보다 지연이 크게 늘면 (AI 서버 안에 큐) 한도를 줄인다
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(32, 1, 64, 60_000);
+        for (int i = 0; i < 10; i++) {
+            call(limiter, CALL_MS);
+        }
+        assertEquals(32, limiter.limit());
+
+        for (int i = 0; i < 5; i++) {
+            call(limiter, CALL_MS * 10);
+        }
+
+        assertTrue(limiter.limit() < 20, "limit=" + limiter.limit());
+    }
+
+    // 지연이 계속 높게 유지되면 두 구간 뒤에는 기준 RTT 가 따라 올라가, 다시 한도를 채워 쓰면 늘어난다
+    @Test
+    void baselineFollowsPersistentLatencyAfterTwoWindows() {
+        AdaptiveConcurrencyLimiter limiter = limiter(32, 1, 64, 100);
+        for (int i = 0; i < 10; i++) {
+            call(limiter, CALL_MS);
+        }
+        for (int i = 0; i < 10; i++) {
+            call(limiter, CALL_MS * 10);
+        }
+        int shrunk = limiter.limit();
+        assertTrue(shrunk < 20, "limit=" + shrunk);
+
+        for (int round = 0; round < 20; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (int i = limiter.limit(); i > 0; i--) {
+                permits.add(limiter.acquire());
+            }
+            clock.advance(CALL_MS * 10);
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+        }
+
+        assertEquals(64, limiter.limit());
+    }
+
+    // 타임아웃/5xx 는 곧바로 곱으로 줄이고, 하한 아래로는 내려가지 않는다
+    @Test
+    void droppedCallsBackOffToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 32, 60_000);
+
+        limiter.acquire().dropped();
+        assertEquals(9, limiter.limit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire().dropped();
+        }
+        assertEquals(2, limiter.limit());
+        assertEquals(51, limiter.droppedCount());
+    }
+
+    // 부하와 무관한 실패는 한도 계산에 넣지 않고, 같은 슬롯을 두 번 반납해도 한 번만 센다
+    @Test
+    void ignoredAndRepeatedReleasesDoNotChangeLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 32, 60_000);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        permit.ignore();
+        permit.dropped();
+
+        assertEquals(4, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+        assertEquals(0, limiter.droppedCount());
+    }
+
+    @Test
+    void rejectsWhenLimitAndQueueAreFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 60_000);
+
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+        assertThrows(AdaptiveConcurrencyLimiter.LimitExceededException.class, limiter::acquire);
+        assertEquals(1, limiter.rejectedCount());
+
+        held.success();
+        limiter.acquire().success();
+        assertEquals(0, limiter.inFlight());
+    }
+
+    // 대기 없음(maxWait 0, 대기열 0), 허용 배율 2.0, 평활 0.5
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit, long baselineWindowMs) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 0, 0, 2.0, 0.5, baselineWindowMs,
+                clock);
+    }
+
+    private void call(AdaptiveConcurrencyLimiter limiter, long millis) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        clock.advance(millis);
+        permit.success();
+    }
+
+    private static final class FakeClock implements LongSupplier {
+        private long nanos;
+
+        void advance(long millis) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long getAsLong() {
+            return nanos;
+        }
+    }
+}
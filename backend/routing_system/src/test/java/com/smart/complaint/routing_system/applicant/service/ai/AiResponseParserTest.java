@@ -0,0 +1,71 @@
+package com.smart.complaint.routing_system.applicant.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smart.complaint.routing_system.applicant.dto.AiDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AiResponseParserTest {
+
+    private final AiResponseParser parser = new AiResponseParser(new ObjectMapper());
+
+    // 지수, 음수, 비정규수, 긴 가수, 반올림 경계값
+    private static final String[] NUMBERS = {
+            "0", "-0.0", "1", "-1", "0.1", "-0.1", "0.5", "123.456",
+            "1e10", "1E+10", "-2.5e-3", "6.02214076e23", "3.4028235e38", "-3.4028235e38",
+            "1.17549435e-38", "1.1754942e-38", "1.4e-45", "1e-45", "7.006492321624085e-46", "2.8e-45",
+            "0.30000001192092896", "1.0000000596046448", "1.00000005960464477539062500000001",
+            "0.012345678901234567890123456789", "123456789012345678901234567890",
+            "-0.0000000000000000000000000000123456789", "9.999999e-39"
+    };
+
+    @Test
+    void embeddingMatchesFloatParseFloat() throws Exception {
+        float[] embedding = parser.parse(response(String.join(",", NUMBERS))).embedding();
+
+        assertEquals(NUMBERS.length, embedding.length);
+        for (int i = 0; i < NUMBERS.length; i++) {
+            assertEquals(Float.floatToRawIntBits(Float.parseFloat(NUMBERS[i])), Float.floatToRawIntBits(embedding[i]),
+                    NUMBERS[i]);
+        }
+    }
+
+    @Test
+    void embeddingLongerThanDimensionGrows() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        float[] expected = new float[AiResponseParser.EMBEDDING_DIM + 3];
+        for (int i = 0; i < expected.length; i++) {
+            String number = (i % 2 == 0 ? "-" : "") + "0.0" + i + "e-" + (i % 40);
+            expected[i] = Float.parseFloat(number);
+            sb.append(i > 0 ? "," : "").append(number);
+        }
+
+        assertArrayEquals(expected, parser.parse(response(sb.toString())).embedding());
+    }
+
+    @Test
+    void fencedAnalysisIsUnwrapped() throws Exception {
+        AiDto.Preprocessed result = parser.parse("{\"status\":\"success\",\"data\":"
+                + "\"```json\\n{\\\"recommendations\\\":[],\\\"original_analysis\\\":null}\\n```\","
+                + "\"embedding\":[0.25]}");
+
+        assertEquals("success", result.status());
+        assertEquals(0, result.analysis().recommendations().size());
+        assertArrayEquals(new float[] { 0.25f }, result.embedding());
+    }
+
+    @Test
+    void missingAnalysisFails() {
+        assertThrows(IOException.class, () -> parser.parse("{\"status\":\"error\",\"embedding\":[1]}"));
+    }
+
+    private static String response(String embedding) {
+        return "{\"status\":\"success\",\"data\":{\"recommendations\":[],\"original_analysis\":null},"
+                + "\"embedding\":[" + embedding + "]}";
+    }
+}
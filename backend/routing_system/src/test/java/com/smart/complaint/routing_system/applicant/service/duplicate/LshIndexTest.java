@@ -0,0 +1,71 @@
+package com.smart.complaint.routing_system.applicant.service.duplicate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LshIndexTest {
+
+    private static final String CHARS = "가나다라마바사아자차카타파하거너더러머버서어저처커터퍼허고노도로모보소오조초코토포호";
+
+    @Test
+    void findsCopyAndIgnoresUnrelated() {
+        LshIndex index = new LshIndex(64);
+        MinHasher.Signature original = MinHasher.sign("아파트 단지 앞 도로에 싱크홀이 생겨 차량 통행이 위험합니다", 4);
+        index.add(1L, original.bandKeys(), original.sketch());
+
+        MinHasher.Signature copy = MinHasher.sign("아파트 단지 앞 도로에 싱크홀이 생겨 차량 통행이 위험합니다", 4);
+        LshIndex.Match match = index.findBest(copy.bandKeys(), copy.sketch(), 0.85);
+        assertNotNull(match);
+        assertEquals(1L, match.complaintId());
+        assertEquals(1.0, match.similarity(), 1e-9);
+
+        MinHasher.Signature other = MinHasher.sign("공원 화장실 청소가 안 되어 있어 악취가 심합니다", 4);
+        assertNull(index.findBest(other.bandKeys(), other.sketch(), 0.85));
+    }
+
+    // 초기 용량(4096 건)을 여러 번 넘겨 배열 확장과 버킷 재해시가 일어나도 처음 넣은 민원을 찾는다
+    @Test
+    void entriesSurviveRehashGrowth() {
+        LshIndex index = new LshIndex(64);
+        Random random = new Random(7);
+        String[] texts = new String[20_000];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = randomText(random, 80);
+            MinHasher.Signature s = MinHasher.sign(texts[i], 4);
+            assertTrue(index.add(i + 1, s.bandKeys(), s.sketch()));
+        }
+        assertEquals(texts.length, index.size());
+
+        for (int i : new int[] { 0, 1, 4095, 4096, 10_000, texts.length - 1 }) {
+            MinHasher.Signature s = MinHasher.sign(texts[i], 4);
+            LshIndex.Match match = index.findBest(s.bandKeys(), s.sketch(), 0.85);
+            assertNotNull(match);
+            assertEquals(i + 1, match.complaintId());
+        }
+    }
+
+    @Test
+    void sameComplaintIsAddedOnce() {
+        LshIndex index = new LshIndex(64);
+        MinHasher.Signature s = MinHasher.sign("가로등이 꺼져 있어 밤길이 어둡습니다", 4);
+
+        assertTrue(index.add(42L, s.bandKeys(), s.sketch()));
+        assertFalse(index.add(42L, s.bandKeys(), s.sketch()));
+        assertEquals(1, index.size());
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(CHARS.charAt(random.nextInt(CHARS.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.smart.complaint.routing_system.applicant.service.duplicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHasherTest {
+
+    private static final String TEXT = "아파트 단지 앞 도로에 싱크홀이 생겨 차량 통행이 위험합니다. 빠른 보수 부탁드립니다.";
+
+    @Test
+    void identicalTextIsFullySimilar() {
+        MinHasher.Signature a = MinHasher.sign(TEXT, 4);
+        MinHasher.Signature b = MinHasher.sign(TEXT, 4);
+
+        assertArrayEquals(a.bandKeys(), b.bandKeys());
+        assertEquals(1.0, MinHasher.similarity(a.sketch(), b.sketch(), 0), 1e-9);
+    }
+
+    @Test
+    void whitespaceAndPunctuationAreIgnored() {
+        MinHasher.Signature a = MinHasher.sign(TEXT, 4);
+        MinHasher.Signature b = MinHasher.sign(TEXT.replace(" ", "  ").replace(".", "!"), 4);
+
+        assertEquals(1.0, MinHasher.similarity(a.sketch(), b.sketch(), 0), 1e-9);
+    }
+
+    @Test
+    void unrelatedTextFallsBelowThreshold() {
+        MinHasher.Signature a = MinHasher.sign(TEXT, 4);
+        MinHasher.Signature b = MinHasher.sign("공원 화장실 청소가 안 되어 있어 악취가 심합니다. 확인 부탁드립니다.", 4);
+
+        assertTrue(MinHasher.similarity(a.sketch(), b.sketch(), 0) < 0.3);
+    }
+
+    @Test
+    void emptyTextHasNoSignature() {
+        assertNull(MinHasher.sign("  ... !! ", 4));
+        assertNull(MinHasher.sign(null, 4));
+        assertNotNull(MinHasher.sign("가", 4));
+    }
+
+    // 계수가 고정 시드라 재기동 후에도 complaint_minhash 에 저장된 밴드 키와 같아야 한다
+    @Test
+    void bandKeysAreStableAcrossRestarts() {
+        MinHasher.Signature signature = MinHasher.sign("도로에 싱크홀이 생겼습니다", 4);
+
+        assertArrayEquals(new int[] { 94291992, 2092472940, 123471422, 196963241,
+                1592550732, 1317676540, 1777926140, -262530951 }, signature.bandKeys());
+    }
+}
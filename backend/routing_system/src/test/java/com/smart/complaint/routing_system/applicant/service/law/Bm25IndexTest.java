@@ -0,0 +1,84 @@
+package com.smart.complaint.routing_system.applicant.service.law;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Bm25IndexTest {
+
+    @Test
+    void tokenizeUsesBigramsInsideWords() {
+        assertEquals(List.of("도로", "파손", "신고", "고합", "합니", "니다"), Bm25Index.tokenize("도로 파손, 신고합니다!"));
+        assertEquals(List.of("ab", "bc", "제1", "1조"), Bm25Index.tokenize("ABC 제1조"));
+        assertTrue(Bm25Index.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void moreMatchingTermsScoreHigher() {
+        Bm25Index index = build(
+                "도로 보수 공사",
+                "도로 포장 보수 공사 기간",
+                "공원 관리");
+
+        float[] scores = index.score(Bm25Index.tokenize("도로 포장 보수"));
+
+        assertTrue(scores[1] > scores[0]);
+        assertTrue(scores[0] > 0f);
+        assertEquals(0f, scores[2]);
+    }
+
+    // 흔한 색인어보다 드문 색인어가 맞는 문서가 위로 온다 (idf)
+    @Test
+    void rareTermOutweighsCommonTerm() {
+        Bm25Index index = build(
+                "민원 처리 민원",
+                "민원 처리 절차",
+                "민원 처리 기준",
+                "소음 처리 기준");
+
+        float[] scores = index.score(Bm25Index.tokenize("민원 소음"));
+
+        assertTrue(scores[3] > scores[0]);
+        assertTrue(scores[3] > scores[1]);
+    }
+
+    // 같은 색인어 빈도면 짧은 문서가 위로 온다 (길이 정규화)
+    @Test
+    void shorterDocumentWinsOnEqualFrequency() {
+        Bm25Index index = build(
+                "가로등 고장",
+                "가로등 고장 신고 접수 처리 기간 안내 절차 기준 담당",
+                "공원 관리");
+
+        float[] scores = index.score(Bm25Index.tokenize("가로등"));
+
+        assertTrue(scores[0] > scores[1]);
+        assertEquals(3, index.size());
+    }
+
+    // 같은 문서 안에서 색인어가 반복되면 점수가 오르지만 k1 로 포화된다
+    @Test
+    void termFrequencySaturates() {
+        Bm25Index index = build(
+                "하천 하천 하천 하천 하천 하천 하천 하천",
+                "하천 하천 하천 하천 하천 하천 하천 하천 하천 하천 하천 하천 하천 하천 하천 하천",
+                "하천 공원 도로 관리 기준 안내 절차 처리",
+                "공원 관리");
+
+        float[] scores = index.score(Bm25Index.tokenize("하천"));
+
+        assertTrue(scores[0] > scores[2]);
+        assertTrue(scores[0] < 3 * scores[2]);
+    }
+
+    private static Bm25Index build(String... documents) {
+        Bm25Index.Builder builder = new Bm25Index.Builder();
+        for (String document : documents) {
+            builder.add(document);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepartmentDirectoryTest {
+
+    private static final Long UNASSIGNED = 1L;
+
+    private final DepartmentDirectory.Snapshot snapshot = DepartmentDirectory.Snapshot.build(List.of(
+            new DepartmentDirectory.Entry(UNASSIGNED, DepartmentDirectory.UNASSIGNED_NAME, null, null, true),
+            new DepartmentDirectory.Entry(10L, "도시교통국", null, null, true),
+            new DepartmentDirectory.Entry(11L, "주차관리과", null, 10L, true),
+            new DepartmentDirectory.Entry(12L, "교통정책과", null, 10L, true),
+            new DepartmentDirectory.Entry(13L, "총무과", null, 10L, true),
+            new DepartmentDirectory.Entry(20L, "환경국", null, null, true),
+            new DepartmentDirectory.Entry(21L, "총무과", null, 20L, true),
+            new DepartmentDirectory.Entry(22L, "청소행정과", null, 20L, false)), 0.6);
+
+    @Test
+    void exactNameIgnoresSpacingAndPunctuation() {
+        assertExact(11L, "주차 관리과");
+        assertExact(11L, "주차관리과.");
+    }
+
+    // 전체 문자열이 안 맞으면 마지막 토큰으로 찾는다
+    @Test
+    void lastTokenMatches() {
+        assertExact(11L, "교통국 주차관리과");
+    }
+
+    // 같은 이름의 과는 국+과 경로로 구분하고, 이름만 오면 먼저 등록된 쪽으로 간다
+    @Test
+    void parentAndNameDisambiguates() {
+        assertExact(21L, "환경국 총무과");
+        assertExact(13L, "도시교통국 총무과");
+        assertExact(13L, "총무과");
+    }
+
+    @Test
+    void suffixStrippedAliasMatches() {
+        assertExact(11L, "주차관리");
+        assertExact(20L, "환경");
+    }
+
+    @Test
+    void bigramDiceMatchesNearMiss() {
+        // "주차관리소" vs 별칭 "주차관리": 공통 bigram 3개 → 2 × 3 / (4 + 3)
+        DepartmentDirectory.Match match = snapshot.resolve("주차관리소").orElseThrow();
+
+        assertEquals(Long.valueOf(11L), match.departmentId());
+        assertFalse(match.exact());
+        assertEquals(6.0 / 7, match.score(), 1e-9);
+    }
+
+    @Test
+    void diceBelowThresholdFallsBackToUnassigned() {
+        // "주차장" vs "주차관리": 2 × 1 / (2 + 3) = 0.4 < 0.6
+        assertTrue(snapshot.resolve("주차장").isEmpty());
+        assertEquals(UNASSIGNED, snapshot.resolveOrUnassigned("주차장"));
+    }
+
+    // 과를 못 찾으면 앞쪽 국 이름이라도 쓴다
+    @Test
+    void leadingTokenIsLastResort() {
+        assertExact(20L, "환경국 없는팀");
+    }
+
+    @Test
+    void inactiveAndUnassignedAreNotRoutable() {
+        assertEquals(UNASSIGNED, snapshot.resolveOrUnassigned("청소행정과"));
+        assertTrue(snapshot.resolve(DepartmentDirectory.UNASSIGNED_NAME).isEmpty());
+        assertEquals(UNASSIGNED, snapshot.resolveOrUnassigned(null));
+        assertEquals(UNASSIGNED, snapshot.resolveOrUnassigned("  "));
+    }
+
+    private void assertExact(Long expectedId, String raw) {
+        DepartmentDirectory.Match match = snapshot.resolve(raw).orElseThrow();
+        assertEquals(expectedId, match.departmentId(), raw);
+        assertTrue(match.exact(), raw);
+        assertEquals(1.0, match.score(), 0.0);
+    }
+}
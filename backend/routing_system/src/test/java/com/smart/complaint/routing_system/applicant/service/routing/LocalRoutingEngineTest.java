@@ -0,0 +1,117 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import com.smart.complaint.routing_system.applicant.dto.RoutingNeighborDto;
+import com.smart.complaint.routing_system.applicant.dto.RoutingSampleDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRoutingEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    // k=15, 예산 80ms, 최소 유사도 0.3, 반감기 180일
+    private final LocalRoutingEngine engine = new LocalRoutingEngine(null, null, 15, 80, 0.3, 180, 20_000);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    // 신뢰도 = 1위 부서 득표율 × 1위 부서 이웃들의 평균 유사도
+    @Test
+    void confidenceIsVoteShareTimesMeanSimilarity() {
+        LocalRoutingEngine.Vote vote = engine.vote(List.of(
+                neighbor(1L, 10L, NOW, 0.9),
+                neighbor(2L, 10L, NOW, 0.7),
+                neighbor(3L, 20L, NOW, 0.5)), NOW).orElseThrow();
+
+        assertEquals(Long.valueOf(10L), vote.departmentId());
+        assertEquals((1.6 / 2.1) * 0.8, vote.confidence(), 1e-9);
+        assertEquals(3, vote.neighborCount());
+    }
+
+    // 반감기 두 번(360일) 지난 이웃은 가중치가 1/4 로 줄어 더 최근 이웃에게 진다
+    @Test
+    void olderNeighborsWeighLess() {
+        LocalRoutingEngine.Vote vote = engine.vote(List.of(
+                neighbor(1L, 10L, NOW.minusDays(360), 0.8),
+                neighbor(2L, 20L, NOW, 0.5)), NOW).orElseThrow();
+
+        assertEquals(Long.valueOf(20L), vote.departmentId());
+        assertEquals((0.5 / (0.5 + 0.8 * 0.25)) * 0.5, vote.confidence(), 1e-9);
+    }
+
+    // 접수일이 없으면 반감기 한 번 지난 것으로 본다
+    @Test
+    void missingReceivedAtCountsAsOneHalfLife() {
+        LocalRoutingEngine.Vote vote = engine.vote(List.of(
+                neighbor(1L, 10L, null, 0.8),
+                neighbor(2L, 20L, NOW, 0.5)), NOW).orElseThrow();
+
+        assertEquals(Long.valueOf(20L), vote.departmentId());
+        assertEquals((0.5 / 0.9) * 0.5, vote.confidence(), 1e-9);
+    }
+
+    @Test
+    void neighborsBelowMinSimilarityAreDropped() {
+        LocalRoutingEngine.Vote vote = engine.vote(List.of(
+                neighbor(1L, 10L, NOW, 0.6),
+                neighbor(2L, 20L, NOW, 0.29),
+                neighbor(3L, 20L, NOW, 0.25),
+                neighbor(4L, null, NOW, 0.9),
+                neighbor(5L, 20L, NOW, null)), NOW).orElseThrow();
+
+        assertEquals(Long.valueOf(10L), vote.departmentId());
+        assertEquals(0.6, vote.confidence(), 1e-9);
+        assertEquals(1, vote.neighborCount());
+
+        assertTrue(engine.vote(List.of(neighbor(1L, 10L, NOW, 0.1)), NOW).isEmpty());
+        assertTrue(engine.vote(List.of(), NOW).isEmpty());
+    }
+
+    // 텍스트 인덱스가 아직 비어 있으면 (임베딩도 없을 때) 결정을 내리지 않는다
+    @Test
+    void emptyIndexGivesNoDecision() {
+        assertTrue(LocalRoutingEngine.TextIndex.EMPTY.search(TextVector.of("가로등 고장"), 15, null, Long.MAX_VALUE)
+                .isEmpty());
+        assertTrue(engine.route(1L, null, "가로등이 고장났습니다").isEmpty());
+        assertTrue(engine.route(1L, null, " ").isEmpty());
+    }
+
+    @Test
+    void textIndexReturnsTopKExcludingSelf() {
+        LocalRoutingEngine.TextIndex index = LocalRoutingEngine.TextIndex.build(List.of(
+                sample(1L, "가로등 고장", "골목 가로등이 고장나서 밤에 어둡습니다", 10L),
+                sample(2L, "가로등 고장 신고", "집 앞 가로등이 고장났습니다", 10L),
+                sample(3L, "불법 주차", "소화전 앞 불법 주차 차량 단속 요청", 20L),
+                sample(4L, "쓰레기 무단투기", "공원 입구 쓰레기 무단투기", 30L)));
+
+        List<RoutingNeighborDto> top = index.search(TextVector.of("가로등이 고장나서 어둡습니다"), 2, 1L,
+                Long.MAX_VALUE);
+
+        Set<Long> ids = top.stream().map(RoutingNeighborDto::complaintId).collect(Collectors.toSet());
+        assertEquals(2, top.size());
+        assertTrue(ids.contains(2L), ids.toString());
+        assertFalse(ids.contains(1L), ids.toString());
+        RoutingNeighborDto best = top.stream().filter(n -> n.complaintId() == 2L).findFirst().orElseThrow();
+        assertEquals(Long.valueOf(10L), best.departmentId());
+        assertTrue(top.stream().allMatch(n -> n.similarity() <= best.similarity()));
+    }
+
+    private static RoutingNeighborDto neighbor(Long id, Long departmentId, LocalDateTime receivedAt, Double similarity) {
+        return new RoutingNeighborDto(id, departmentId, receivedAt, similarity);
+    }
+
+    private static RoutingSampleDto sample(Long id, String title, String body, Long departmentId) {
+        return new RoutingSampleDto(id, title, body, departmentId, NOW);
+    }
+}
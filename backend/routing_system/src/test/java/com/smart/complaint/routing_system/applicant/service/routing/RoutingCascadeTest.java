@@ -0,0 +1,68 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import com.smart.complaint.routing_system.applicant.domain.RoutingEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingCascadeTest {
+
+    private static final String TEXT = "가로등 고장 신고";
+
+    @Mock
+    private LocalRoutingEngine localRoutingEngine;
+
+    @Test
+    void belowConfidenceFallsThroughToRemote() {
+        when(localRoutingEngine.route(1L, null, TEXT)).thenReturn(Optional.of(result(0.49, 10)));
+
+        assertTrue(cascade(true).tryLocalFirst(1L, TEXT).isEmpty());
+    }
+
+    @Test
+    void tooFewNeighborsFallsThroughToRemote() {
+        when(localRoutingEngine.route(1L, null, TEXT)).thenReturn(Optional.of(result(0.9, 4)));
+
+        assertTrue(cascade(true).tryLocalFirst(1L, TEXT).isEmpty());
+    }
+
+    // 임계값과 최소 이웃 수는 경계값을 포함한다
+    @Test
+    void confidentLocalResultIsUsed() {
+        LocalRoutingResult confident = result(0.5, 5);
+        when(localRoutingEngine.route(1L, null, TEXT)).thenReturn(Optional.of(confident));
+
+        assertEquals(Optional.of(confident), cascade(true).tryLocalFirst(1L, TEXT));
+    }
+
+    @Test
+    void noLocalCandidateFallsThrough() {
+        when(localRoutingEngine.route(1L, null, TEXT)).thenReturn(Optional.empty());
+
+        assertTrue(cascade(true).tryLocalFirst(1L, TEXT).isEmpty());
+    }
+
+    @Test
+    void disabledCascadeSkipsLocalLookup() {
+        assertTrue(cascade(false).tryLocalFirst(1L, TEXT).isEmpty());
+        verifyNoInteractions(localRoutingEngine);
+    }
+
+    // 신뢰도 0.5 이상, 이웃 5건 이상
+    private RoutingCascade cascade(boolean enabled) {
+        return new RoutingCascade(localRoutingEngine, enabled, 0.5, 5);
+    }
+
+    private static LocalRoutingResult result(double confidence, int neighborCount) {
+        return new LocalRoutingResult(11L, confidence, RoutingEngine.KNN_TEXT, neighborCount, 3);
+    }
+}
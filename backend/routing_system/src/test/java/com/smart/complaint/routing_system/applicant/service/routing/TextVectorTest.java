@@ -0,0 +1,45 @@
+package com.smart.complaint.routing_system.applicant.service.routing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextVectorTest {
+
+    @Test
+    void sameTextHasUnitSimilarity() {
+        TextVector v = TextVector.of("가로등이 고장나서 밤에 어둡습니다");
+
+        assertEquals(1.0, v.cosine(v), 1e-6);
+    }
+
+    // 대소문자, 문장부호, 연속 공백 차이는 무시한다
+    @Test
+    void normalizationIgnoresCaseAndPunctuation() {
+        TextVector a = TextVector.of("CCTV 설치 요청!!  (골목길)");
+        TextVector b = TextVector.of("cctv 설치 요청 골목길");
+
+        assertEquals(1.0, a.cosine(b), 1e-6);
+    }
+
+    @Test
+    void overlappingTextScoresBetweenUnrelatedAndIdentical() {
+        TextVector query = TextVector.of("가로등 고장 신고");
+        double related = query.cosine(TextVector.of("가로등이 고장났습니다"));
+        double unrelated = query.cosine(TextVector.of("불법 주차 단속 요청"));
+
+        assertTrue(related > 0.3, "related=" + related);
+        assertTrue(unrelated < 0.1, "unrelated=" + unrelated);
+        assertEquals(related, TextVector.of("가로등이 고장났습니다").cosine(query), 1e-9);
+    }
+
+    @Test
+    void tooShortTextIsEmpty() {
+        assertTrue(TextVector.of(null).isEmpty());
+        assertTrue(TextVector.of("").isEmpty());
+        assertTrue(TextVector.of("!?").isEmpty());
+        assertTrue(TextVector.of("가").isEmpty());
+        assertEquals(0.0, TextVector.of("가").cosine(TextVector.of("가로등")));
+    }
+}
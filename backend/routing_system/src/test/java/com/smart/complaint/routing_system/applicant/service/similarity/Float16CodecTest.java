@@ -0,0 +1,111 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Float16CodecTest {
+
+    // half 로 표현되는 값은 모두 (NaN 제외) float 을 거쳐 같은 비트로 돌아온다
+    @Test
+    void everyRepresentableValueRoundTrips() {
+        for (int h = 0; h < 1 << 16; h++) {
+            float value = Float16Codec.decode((short) h);
+            if (Float.isNaN(value)) {
+                continue;
+            }
+            assertEquals(h, Float16Codec.encode(value) & 0xFFFF, Integer.toHexString(h));
+        }
+    }
+
+    @Test
+    void knownEncodings() {
+        assertEquals(0x3C00, bits(1.0f));
+        assertEquals(0xC000, bits(-2.0f));
+        assertEquals(0x3800, bits(0.5f));
+        assertEquals(0x3555, bits(1.0f / 3));
+        assertEquals(0x7BFF, bits(65504f));
+        assertEquals(0x0400, bits(0x1p-14f));
+    }
+
+    // 정확히 가운데인 값은 가수부가 짝수인 쪽으로 간다
+    @Test
+    void tiesRoundToEven() {
+        assertEquals(0x3C00, bits(1.0f + 0x1p-11f));
+        assertEquals(0x3C02, bits(1.0f + 3 * 0x1p-11f));
+        assertEquals(0x3C01, bits(1.0f + 0x1p-11f + 0x1p-20f));
+        // 자리올림이 지수까지 넘어간다: 2 - 2^-11 → 2.0
+        assertEquals(0x4000, bits(2.0f - 0x1p-11f));
+        // 비정규 범위의 동률: 2^-25 → 0, 3 × 2^-25 → 2 × 2^-24
+        assertEquals(0x0000, bits(0x1p-25f));
+        assertEquals(0x0002, bits(3 * 0x1p-25f));
+        assertEquals(0x0001, bits(1.5f * 0x1p-25f));
+    }
+
+    @Test
+    void subnormalBounds() {
+        assertEquals(0x0001, bits(0x1p-24f));
+        assertEquals(0x1p-24f, Float16Codec.decode((short) 0x0001));
+        assertEquals(0x03FF, bits(1023 * 0x1p-24f));
+        assertEquals(1023 * 0x1p-24f, Float16Codec.decode((short) 0x03FF));
+        assertEquals(0x8001, bits(-0x1p-24f));
+        // 가장 작은 비정규수의 절반보다 작으면 부호만 남은 0
+        assertEquals(0x0000, bits(0x1p-26f));
+        assertEquals(0x8000, bits(-0x1p-26f));
+        assertEquals(0x0000, bits(Float.MIN_VALUE));
+    }
+
+    @Test
+    void overflowBecomesInfinity() {
+        assertEquals(0x7BFF, bits(65519f));
+        // 65504 와 65536 의 가운데는 짝수 쪽인 Inf 로 간다
+        assertEquals(0x7C00, bits(65520f));
+        assertEquals(0x7C00, bits(1e5f));
+        assertEquals(0xFC00, bits(-1e5f));
+        assertEquals(0x7C00, bits(Float.MAX_VALUE));
+        assertEquals(0x7C00, bits(Float.POSITIVE_INFINITY));
+        assertEquals(0xFC00, bits(Float.NEGATIVE_INFINITY));
+        assertEquals(Float.POSITIVE_INFINITY, Float16Codec.decode((short) 0x7C00));
+        assertEquals(Float.NEGATIVE_INFINITY, Float16Codec.decode((short) 0xFC00));
+    }
+
+    @Test
+    void nanStaysNan() {
+        assertTrue(Float.isNaN(Float16Codec.decode(Float16Codec.encode(Float.NaN))));
+        // 가수부 상위 비트가 잘려 나가는 NaN 도 Inf 가 되지 않는다
+        assertTrue(Float.isNaN(Float16Codec.decode(Float16Codec.encode(Float.intBitsToFloat(0x7F800001)))));
+        assertTrue(Float.isNaN(Float16Codec.decode(Float16Codec.encode(Float.intBitsToFloat(0xFF800001)))));
+        assertTrue(Float.isNaN(Float16Codec.decode((short) 0x7E00)));
+        assertTrue(Float.isNaN(Float16Codec.decode((short) 0xFC01)));
+    }
+
+    @Test
+    void signedZerosKeepSign() {
+        assertEquals(0x0000, bits(0.0f));
+        assertEquals(0x8000, bits(-0.0f));
+        assertEquals(Float.floatToRawIntBits(0.0f), Float.floatToRawIntBits(Float16Codec.decode((short) 0x0000)));
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(Float16Codec.decode((short) 0x8000)));
+    }
+
+    @Test
+    void bufferAndLiteralRoundTrip() {
+        short[] half = Float16Codec.encode(new float[] { 1.0f, -0.5f, 0.25f });
+        ByteBuffer buffer = ByteBuffer.allocate(2 + half.length * Short.BYTES);
+        buffer.putShort((short) 3);
+        Float16Codec.write(buffer, half);
+        assertEquals(buffer.capacity(), buffer.position());
+
+        buffer.flip();
+        buffer.getShort();
+        assertArrayEquals(half, Float16Codec.read(buffer, half.length));
+        assertEquals("[1.0,-0.5,0.25]", Float16Codec.toLiteral(half));
+    }
+
+    private static int bits(float value) {
+        return Float16Codec.encode(value) & 0xFFFF;
+    }
+}
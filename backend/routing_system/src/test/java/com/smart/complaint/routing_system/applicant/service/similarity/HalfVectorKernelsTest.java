@@ -0,0 +1,86 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HalfVectorKernelsTest {
+
+    // half 반올림 오차는 원소당 상대 2^-11 이라 단위 벡터 내적 오차는 그 두 배 남짓을 넘지 않는다
+    private static final float QUANTIZATION_TOLERANCE = 2e-3f;
+
+    @Test
+    void dotMatchesFloatDotWithinHalfPrecision() {
+        Random random = new Random(11);
+        // 1023 은 4칸 펼침 뒤에 남는 원소까지 지나가게 한다
+        for (int dim : new int[] { 1024, 1023, 3 }) {
+            for (int trial = 0; trial < 20; trial++) {
+                float[] a = randomUnit(random, dim);
+                float[] b = randomUnit(random, dim);
+                short[] ha = Float16Codec.encode(a);
+                short[] hb = Float16Codec.encode(b);
+                float expected = floatDot(a, b);
+
+                assertEquals(expected, HalfVectorKernels.dot(ha, hb), QUANTIZATION_TOLERANCE);
+                assertEquals(expected, HalfVectorKernels.dot(ha, b), QUANTIZATION_TOLERANCE);
+                assertEquals(expected, HalfVectorKernels.cosine(ha, hb), QUANTIZATION_TOLERANCE);
+                assertEquals(expected, HalfVectorKernels.cosine(ha, b), QUANTIZATION_TOLERANCE);
+            }
+        }
+    }
+
+    // 같은 half 값을 float 으로 풀어 계산한 것과는 누적 순서 차이만큼만 다르다
+    @Test
+    void dotMatchesDecodedFloatDot() {
+        Random random = new Random(17);
+        float[] a = randomUnit(random, 1024);
+        float[] b = randomUnit(random, 1024);
+        short[] ha = Float16Codec.encode(a);
+        short[] hb = Float16Codec.encode(b);
+
+        float decoded = floatDot(Float16Codec.decode(ha), Float16Codec.decode(hb));
+        assertEquals(decoded, HalfVectorKernels.dot(ha, hb), 1e-5f);
+        assertEquals(Math.sqrt(floatDot(Float16Codec.decode(ha), Float16Codec.decode(ha))),
+                HalfVectorKernels.norm(ha), 1e-5f);
+    }
+
+    @Test
+    void zeroVectorCosineIsZero() {
+        short[] zero = new short[8];
+        short[] one = Float16Codec.encode(new float[] { 1, 0, 0, 0, 0, 0, 0, 0 });
+
+        assertEquals(0f, HalfVectorKernels.cosine(zero, one));
+        assertEquals(0f, HalfVectorKernels.cosine(zero, new float[8]));
+    }
+
+    @Test
+    void dimensionMismatchFails() {
+        assertThrows(IllegalArgumentException.class, () -> HalfVectorKernels.dot(new short[3], new short[4]));
+        assertThrows(IllegalArgumentException.class, () -> HalfVectorKernels.cosine(new short[3], new float[4]));
+    }
+
+    private static float floatDot(float[] a, float[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += (double) a[i] * b[i];
+        }
+        return (float) sum;
+    }
+
+    private static float[] randomUnit(Random random, int dim) {
+        float[] v = new float[dim];
+        double norm = 0.0;
+        for (int i = 0; i < dim; i++) {
+            v[i] = (float) random.nextGaussian();
+            norm += v[i] * v[i];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dim; i++) {
+            v[i] *= inv;
+        }
+        return v;
+    }
+}
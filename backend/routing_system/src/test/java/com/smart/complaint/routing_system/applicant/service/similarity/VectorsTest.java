@@ -0,0 +1,28 @@
+package com.smart.complaint.routing_system.applicant.service.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VectorsTest {
+
+    @Test
+    void normalizeReturnsUnitCopy() {
+        float[] v = {3f, 0f, 4f};
+
+        float[] unit = Vectors.normalize(v);
+
+        assertArrayEquals(new float[] {0.6f, 0f, 0.8f}, unit, 1e-7f);
+        assertNotSame(v, unit);
+        assertArrayEquals(new float[] {3f, 0f, 4f}, v);
+    }
+
+    @Test
+    void zeroVectorIsReturnedAsIs() {
+        float[] zero = new float[4];
+
+        assertSame(zero, Vectors.normalize(zero));
+    }
+}
@@ -0,0 +1,84 @@
+package com.smart.complaint.routing_system.applicant.service.spike;
+
+import com.smart.complaint.routing_system.applicant.dto.SpikeAlert;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpikeDetectorTest {
+
+    private static final long BUCKET_MS = 600_000;
+    private static final long START = 1_000 * BUCKET_MS;
+
+    private final List<Object> published = new ArrayList<>();
+    private final SpikeDetector detector = new SpikeDetector(published::add,
+            600, 24, 0.1, 4.0, 5, 12, 1.0, 256, 50);
+
+    @Test
+    void freshKeywordBurstAlertsBeforeWarmup() {
+        observe(SpikeDetector.KEYWORD, "싱크홀", START, 5);
+
+        assertEquals(1, published.size());
+        SpikeAlert alert = (SpikeAlert) published.get(0);
+        assertEquals("싱크홀", alert.label());
+        assertEquals(5, alert.count());
+        assertEquals(1.0, alert.expected(), 1e-9);
+    }
+
+    @Test
+    void coldKeyBelowPriorThresholdStaysQuiet() {
+        observe(SpikeDetector.KEYWORD, "가로등", START, 4);
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void coldKeyUsesItsOwnClosedBuckets() {
+        // 닫힌 구간 4개에 6 건씩 → 평소 (24 + 8 × 1.0) / 12 = 2.67 건, 같은 6 건은 급증이 아니다
+        for (int b = 0; b < 4; b++) {
+            observe(SpikeDetector.KEYWORD, "소음", START + b * BUCKET_MS, 6);
+        }
+        published.clear();
+        observe(SpikeDetector.KEYWORD, "소음", START + 4 * BUCKET_MS, 6);
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void totalWaitsForOwnHistory() {
+        observe(SpikeDetector.TOTAL, "전체", START, 50);
+        assertTrue(published.isEmpty());
+
+        for (int b = 1; b <= 3; b++) {
+            observe(SpikeDetector.TOTAL, "전체", START + b * BUCKET_MS, 10);
+        }
+        published.clear();
+        // 닫힌 구간 평균 (50 + 10 × 3) / 4 = 20 건 대비 60 건
+        observe(SpikeDetector.TOTAL, "전체", START + 4 * BUCKET_MS, 60);
+
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    void warmedKeyUsesEwma() {
+        for (int b = 0; b < 12; b++) {
+            observe(SpikeDetector.KEYWORD, "악취", START + b * BUCKET_MS, 5);
+        }
+        published.clear();
+        observe(SpikeDetector.KEYWORD, "악취", START + 12 * BUCKET_MS, 6);
+        assertTrue(published.isEmpty());
+
+        observe(SpikeDetector.KEYWORD, "악취", START + 12 * BUCKET_MS, 14);
+        assertEquals(1, published.size());
+    }
+
+    private void observe(String dimension, String label, long nowMillis, int times) {
+        for (int i = 0; i < times; i++) {
+            detector.observe(dimension, label, nowMillis);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+-- 테스트용 기본 스키마. 운영 DB 는 Flyway 도입 전에 만든 스키마 위에 baseline 으로 올라가므로,
+-- 빈 테스트 DB 에서는 db/migration 이 기대하는 테이블/타입 중 사건·민원 쪽 테스트에 필요한 부분만 먼저 만든다.
+-- (V1 이후 마이그레이션이 추가하는 컬럼은 여기 두지 않는다)
+CREATE EXTENSION IF NOT EXISTS vector;
+
+CREATE TYPE complaint_status AS ENUM
+    ('RECEIVED', 'NORMALIZED', 'RECOMMENDED', 'IN_PROGRESS', 'CLOSED', 'RESOLVED', 'CANCELED');
+
+CREATE TYPE incident_status AS ENUM ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED');
+
+CREATE TABLE incidents (
+    id              BIGSERIAL       PRIMARY KEY,
+    title           VARCHAR(200),
+    complaint_count INTEGER,
+    status          incident_status NOT NULL DEFAULT 'OPEN',
+    district_id     INTEGER,
+    centroid_lat    NUMERIC(10, 7),
+    centroid_lon    NUMERIC(10, 7),
+    opened_at       TIMESTAMP,
+    closed_at       TIMESTAMP,
+    keywords        TEXT
+);
+
+CREATE TABLE complaints (
+    id                         BIGSERIAL        PRIMARY KEY,
+    applicant_id               BIGINT,
+    title                      VARCHAR(200)     NOT NULL,
+    body                       TEXT             NOT NULL,
+    answerd_by                 BIGINT,
+    answer                     TEXT,
+    address_text               VARCHAR(255),
+    lat                        NUMERIC(10, 7),
+    lon                        NUMERIC(10, 7),
+    district_id                INTEGER,
+    status                     complaint_status NOT NULL DEFAULT 'RECEIVED',
+    current_department_id      BIGINT,
+    ai_predicted_department_id BIGINT,
+    incident_id                BIGINT REFERENCES incidents (id),
+    incident_linked_at         TIMESTAMP,
+    incident_link_score        NUMERIC(6, 4),
+    received_at                TIMESTAMP        NOT NULL,
+    created_at                 TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at                 TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    closed_at                  TIMESTAMP
+);
+
+CREATE TABLE complaint_normalizations (
+    id              BIGSERIAL    PRIMARY KEY,
+    complaint_id    BIGINT       NOT NULL REFERENCES complaints (id) ON DELETE CASCADE,
+    resp_dept       VARCHAR(100),
+    neutral_summary TEXT,
+    core_request    TEXT,
+    target_object   TEXT,
+    keywords_jsonb  JSONB,
+    routing_rank    JSONB,
+    embedding       vector(1024),
+    is_current      BOOLEAN      NOT NULL DEFAULT TRUE,
+    created_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -171,6 +171,26 @@ export const AgentComplaintApi = {
     return await response.json(); // { status: "success", data: "..." } 반환
   },
 
+  // AI 초안 스트리밍 (백엔드 SSE 중계) - 토큰이 올 때마다 onToken 호출, 완료/실패 시 Promise 종료
+  streamAiDraft: (id: number, onToken: (token: string) => void) => {
+    return new Promise<void>((resolve, reject) => {
+      const source = new EventSource(`/api/agent/complaints/${id}/draft/stream`, { withCredentials: true });
+
+      source.addEventListener("token", (e) => {
+        onToken(JSON.parse((e as MessageEvent).data).token);
+      });
+      source.addEventListener("done", () => {
+        source.close();
+        resolve();
+      });
+      source.addEventListener("error", (e) => {
+        source.close();
+        const data = (e as MessageEvent).data;
+        reject(new Error(data ? JSON.parse(data).message : "AI 서버 연결 실패"));
+      });
+    });
+  },
+
   // 10. 채팅 기록 가져오기
   getChatHistory: async (id: number) => {
     const response = await fetch(`/api/v2/complaints/${id}/chat-history`);
@@ -200,18 +200,15 @@ export function ComplaintDetailPage({ complaintId, onBack }: ComplaintDetailPage
     setIsDrafting(true);
 
     try {
-      // 3. API 호출
-      const result = await AgentComplaintApi.generateAiDraft(complaint.originalId, bodyText);
-
-      if (result.status === "success") {
-        setAnswerContent(result.data);
-        toast.success("AI 초안이 작성되었습니다.");
-      } else {
-        toast.error("초안 생성 실패: " + result.status);
-      }
+      // 3. API 호출 (토큰이 도착하는 대로 답변란에 이어 붙임)
+      setAnswerContent("");
+      await AgentComplaintApi.streamAiDraft(complaint.originalId, (token) => {
+        setAnswerContent((prev) => prev + token);
+      });
+      toast.success("AI 초안이 작성되었습니다.");
     } catch (error) {
       console.error("Draft Error:", error);
-      toast.error("AI 서버 연결 실패");
+      toast.error(error instanceof Error ? error.message : "AI 서버 연결 실패");
     } finally {
       setIsDrafting(false);
     }
@@ -1,4 +1,4 @@
-import { useState, useEffect, useMemo, useCallback } from 'react';
+import { useState, useEffect, useCallback } from 'react';
 import axios from 'axios';
 import {
   ArrowLeft, Calendar, Users, Clock, Eye, AlertCircle,
@@ -26,6 +26,8 @@ interface IncidentDetailPageProps {
 }
 
 const ITEMS_PER_PAGE = 8;
+// 소속 민원은 서버에서 최근 접수 순으로 이만큼씩 이어 받는다 (키셋 페이지)
+const MEMBER_FETCH_SIZE = 50;
 
 const cleanTitle = (title: string) => title?.replace(/\[.*?\]/g, '').trim() || "";
 
@@ -47,6 +49,10 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
   const [incidentData, setIncidentData] = useState<any>(null);
   const [loading, setLoading] = useState(true);
 
+  const [members, setMembers] = useState<any[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
   const [complaintPage, setComplaintPage] = useState(1);
   const [searchQuery, setSearchQuery] = useState("");
   const [activeSearch, setActiveSearch] = useState("");
@@ -75,7 +81,6 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
 
   const fetchDetail = useCallback(async () => {
     try {
-      if (!incidentData) setLoading(true);
       const response = await axios.get(`/api/agent/incidents/${incidentId}`);
       setIncidentData(response.data);
 
@@ -89,12 +94,39 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
     } finally {
       setLoading(false);
     }
-  }, [incidentId, incidentData, isEditingTitle]);
+  }, [incidentId, isEditingTitle]);
 
   useEffect(() => {
     fetchDetail();
   }, [fetchDetail]);
 
+  // cursor 가 없으면 검색/상태 조건으로 처음부터 다시 받고, 있으면 이어 붙인다
+  const fetchMembers = useCallback(async (cursor: string | null) => {
+    try {
+      if (cursor) setLoadingMore(true);
+      const response = await axios.get(`/api/agent/incidents/${incidentId}/complaints`, {
+        params: {
+          cursor: cursor || undefined,
+          search: activeSearch || undefined,
+          status: statusFilter === 'all' ? undefined : statusFilter,
+          size: MEMBER_FETCH_SIZE
+        }
+      });
+      const page = response.data.complaints || [];
+      setMembers(prev => cursor ? [...prev, ...page] : page);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (error) {
+      console.error("민원 목록 조회 실패");
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [incidentId, activeSearch, statusFilter]);
+
+  useEffect(() => {
+    setComplaintPage(1);
+    fetchMembers(null);
+  }, [fetchMembers]);
+
   const showDialog = (type: 'alert' | 'confirm', title: string, message: string, onConfirm?: () => void) => {
     setDialogConfig({ isOpen: true, type, title, message, onConfirm });
   };
@@ -178,6 +210,7 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
 
         setIsMoveModalOpen(false);
         setSelectedIds([]);
+        fetchMembers(null);
         const updatedData = await fetchDetail();
         checkEmptyAndExit(updatedData);
 
@@ -201,6 +234,7 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
         });
 
         setSelectedIds([]);
+        fetchMembers(null);
         const updatedData = await fetchDetail();
 
         if (updatedData && updatedData.complaintCount === 0) {
@@ -224,20 +258,11 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
     searchTargetIncidents(targetSearchQuery, newPage);
   };
 
-  const filteredComplaints = useMemo(() => {
-    if (!incidentData) return [];
-    return incidentData.complaints.filter((c: any) => {
-      const matchesSearch =
-        (c.title?.toLowerCase().includes(activeSearch.toLowerCase()) ||
-          c.id?.toLowerCase().includes(activeSearch.toLowerCase()));
-      const matchesStatus = statusFilter === 'all' || c.status === statusFilter;
-      return matchesSearch && matchesStatus;
-    });
-  }, [incidentData, activeSearch, statusFilter]);
-
-  const totalItems = filteredComplaints.length;
-  const totalPages = Math.ceil(totalItems / ITEMS_PER_PAGE);
-  const visibleComplaints = filteredComplaints.slice(
+  // 검색/상태 조건은 서버에서 걸러 오므로 여기서는 받아 둔 만큼만 화면 페이지로 나눈다
+  const isFiltered = activeSearch !== "" || statusFilter !== "all";
+  const totalItems = isFiltered || !incidentData ? members.length : incidentData.complaintCount;
+  const totalPages = Math.ceil(members.length / ITEMS_PER_PAGE);
+  const visibleComplaints = members.slice(
     (complaintPage - 1) * ITEMS_PER_PAGE,
     complaintPage * ITEMS_PER_PAGE
   );
@@ -262,6 +287,11 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
           <Button key={p} variant={p === complaintPage ? "default" : "outline"} size="sm" className={`h-8 w-8 p-0 ${p === complaintPage ? 'bg-blue-600 text-white' : ''}`} onClick={() => setComplaintPage(p)}>{p}</Button>
         ))}
         <Button variant="outline" size="icon" className="h-8 w-8" onClick={() => setComplaintPage(Math.min(totalPages, complaintPage + 1))} disabled={complaintPage === totalPages}><ChevronRight className="h-4 w-4" /></Button>
+        {nextCursor && (
+          <Button variant="outline" size="sm" className="h-8 ml-2" onClick={() => fetchMembers(nextCursor)} disabled={loadingMore}>
+            {loadingMore ? <Loader2 className="h-4 w-4 animate-spin" /> : '더 보기'}
+          </Button>
+        )}
       </div>
     );
   };
@@ -333,17 +363,17 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
             <div className="flex flex-wrap gap-2 items-center">
               <Select value={statusFilter} onValueChange={setStatusFilter}>
                 <SelectTrigger className="w-32 bg-white"><SelectValue placeholder="상태" /></SelectTrigger>
-                <SelectContent><SelectItem value="all">전체</SelectItem><SelectItem value="RECEIVED">접수</SelectItem><SelectItem value="PROCESSING">처리중</SelectItem><SelectItem value="DONE">완료</SelectItem><SelectItem value="CLOSED">종결</SelectItem></SelectContent>
+                <SelectContent><SelectItem value="all">전체</SelectItem><SelectItem value="RECEIVED">접수</SelectItem><SelectItem value="IN_PROGRESS">처리중</SelectItem><SelectItem value="RESOLVED">완료</SelectItem><SelectItem value="CLOSED">종결</SelectItem></SelectContent>
               </Select>
               <Button variant="ghost" size="sm" className="ml-auto" onClick={handleReset}><X className="h-4 w-4 mr-1" /> 필터 초기화</Button>
             </div>
-            <div className="flex items-center h-10 ml-2"><div className="h-4 w-px bg-slate-300 mr-4"></div><span className="text-sm font-medium text-slate-600">총 <span className="text-blue-600 font-bold">{totalItems}</span>건</span></div>
+            <div className="flex items-center h-10 ml-2"><div className="h-4 w-px bg-slate-300 mr-4"></div><span className="text-sm font-medium text-slate-600">총 <span className="text-blue-600 font-bold">{totalItems}{isFiltered && nextCursor ? '+' : ''}</span>건</span></div>
           </div>
           <Card className="flex-1 flex flex-col border-none shadow-sm bg-white rounded-md overflow-hidden">
             <Table>
               <TableHeader className="bg-slate-300 border-b-2 sticky top-0 z-10">
                 <TableRow>
-                  <TableHead className="w-[50px] text-center border-r border-slate-100"><input type="checkbox" onChange={(e) => setSelectedIds(e.target.checked ? visibleComplaints.map(c => c.id) : [])} /></TableHead>
+                  <TableHead className="w-[50px] text-center border-r border-slate-100"><input type="checkbox" onChange={(e) => setSelectedIds(e.target.checked ? visibleComplaints.map((c: any) => c.id) : [])} /></TableHead>
                   <TableHead className="w-[120px] text-center font-bold text-slate-700 border-r border-slate-100">ID</TableHead>
                   <TableHead className="text-center font-bold text-slate-700 border-r border-slate-100 w-auto">민원 제목</TableHead>
                   <TableHead className="w-[100px] text-center font-bold text-slate-700 border-r border-slate-100">상태</TableHead>
@@ -352,7 +382,7 @@ export function IncidentDetailPage({ incidentId, onBack }: IncidentDetailPagePro
                 </TableRow>
               </TableHeader>
               <TableBody>
-                {visibleComplaints.length > 0 ? visibleComplaints.map((c) => (
+                {visibleComplaints.length > 0 ? visibleComplaints.map((c: any) => (
                   <TableRow key={c.id} className={`${selectedIds.includes(c.id) ? 'bg-blue-50/50' : 'hover:bg-slate-50'} border-b border-slate-100 h-[50px]`}>
                     <TableCell className="text-center py-0"><input type="checkbox" checked={selectedIds.includes(c.id)} onChange={() => setSelectedIds(prev => prev.includes(c.id) ? prev.filter(i => i !== c.id) : [...prev, c.id])} /></TableCell>
                     <TableCell className="text-xs font-mono text-center text-slate-500">{c.id}</TableCell>